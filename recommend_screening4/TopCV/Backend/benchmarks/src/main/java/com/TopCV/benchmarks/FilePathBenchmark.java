@@ -0,0 +1,63 @@
+package com.TopCV.benchmarks;
+
+import com.TopCV.service.impl.FileServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Xử lý tên file và đường dẫn của FileServiceImpl: generateUniqueFileName khi upload,
+ * normalizeFilePath trên mỗi lần đọc/xoá/tạo presigned URL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilePathBenchmark {
+    private static final MethodHandle GENERATE_UNIQUE_FILE_NAME = Internals.privateMethod(FileServiceImpl.class,
+            "generateUniqueFileName", String.class, String.class);
+    private static final MethodHandle NORMALIZE_FILE_PATH = Internals.privateMethod(FileServiceImpl.class,
+            "normalizeFilePath", String.class, String.class);
+
+    FileServiceImpl fileService;
+    String originalFilename;
+
+    @Setup
+    public void setUp() {
+        fileService = new FileServiceImpl(null, ObservationRegistry.NOOP, new SimpleMeterRegistry());
+        originalFilename = "CV Nguyễn Văn A - Java Developer (2024) final.pdf";
+    }
+
+    @Benchmark
+    public String generateUniqueFileName() throws Throwable {
+        return (String) GENERATE_UNIQUE_FILE_NAME.invokeExact(fileService, originalFilename);
+    }
+
+    @Benchmark
+    public String normalizeFilePath(StoredPath path) throws Throwable {
+        return (String) NORMALIZE_FILE_PATH.invokeExact(fileService, path.value);
+    }
+
+    // Tách riêng để generateUniqueFileName không bị chạy lặp theo từng dạng đường dẫn
+    @State(Scope.Benchmark)
+    public static class StoredPath {
+        // Ba dạng đường dẫn đang có trong DB: có prefix uploads/, resume/..., chỉ tên file
+        @Param({"uploads/resume/cv-nguyen-van-a.pdf", "resume/cv-nguyen-van-a.pdf", "cv-nguyen-van-a.pdf"})
+        String value;
+    }
+}
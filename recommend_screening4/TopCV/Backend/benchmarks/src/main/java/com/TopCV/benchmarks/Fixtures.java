@@ -0,0 +1,91 @@
+package com.TopCV.benchmarks;
+
+import com.TopCV.entity.Company;
+import com.TopCV.entity.CompanyCategory;
+import com.TopCV.entity.JobLevel;
+import com.TopCV.entity.JobPost;
+import com.TopCV.entity.JobType;
+import com.TopCV.entity.Skill;
+import com.TopCV.entity.User;
+import com.TopCV.enums.JobPostStatus;
+import com.TopCV.enums.Role;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Dữ liệu mẫu có kích thước gần với tin tuyển dụng thật */
+final class Fixtures {
+    private static final String PARAGRAPH = "Tham gia phát triển hệ thống tuyển dụng phục vụ hàng triệu ứng viên, "
+            + "làm việc với Java, Spring Boot, PostgreSQL và Redis trong môi trường Agile. ";
+
+    private Fixtures() {
+    }
+
+    static JobPost jobPost(int skillCount) {
+        List<Skill> skills = new ArrayList<>(skillCount);
+        List<Skill> inferredSkills = new ArrayList<>(skillCount);
+        for (int i = 1; i <= skillCount; i++) {
+            skills.add(Skill.builder().id(i).name("Skill " + i).build());
+            inferredSkills.add(Skill.builder().id(100 + i).name("Inferred skill " + i).build());
+        }
+
+        Company company = Company.builder()
+                .id(7)
+                .name("Công ty Cổ phần TopCV Việt Nam")
+                .description(PARAGRAPH.repeat(4))
+                .logo("company/logo/7.png")
+                .logoVariantsSource("company/logo/7.png")
+                .categories(List.of(
+                        CompanyCategory.builder().id(1).name("Công nghệ thông tin").build(),
+                        CompanyCategory.builder().id(2).name("Nhân sự").build()))
+                .jobPosts(List.of())
+                .ratingAverage(4.3)
+                .ratingCount(128)
+                .build();
+
+        return JobPost.builder()
+                .id(42)
+                .title("Senior Java Backend Developer")
+                .description(PARAGRAPH.repeat(10))
+                .requirements(PARAGRAPH.repeat(6))
+                .benefits(PARAGRAPH.repeat(4))
+                .location("Hà Nội")
+                .workingTime("Thứ 2 - Thứ 6, 8:30 - 17:30")
+                .salary("25 - 35 triệu")
+                .experienceRequired("3 năm")
+                .deadline(LocalDate.now().plusDays(30))
+                .appliedCount(57)
+                .hiringQuota(3)
+                .status(JobPostStatus.ACTIVE)
+                .company(company)
+                .type(JobType.builder().id(1).name("Toàn thời gian").build())
+                .level(JobLevel.builder().id(3).name("Senior").build())
+                .skills(skills)
+                .inferredSkills(inferredSkills)
+                .createdAt(LocalDateTime.now().minusDays(3))
+                .updatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    static User user() {
+        return User.builder()
+                .id("b3c1f0de-5a7e-4c1b-9a55-0f4d6d2a9e11")
+                .email("candidate@topcv.test")
+                .role(Role.USER)
+                .build();
+    }
+
+    static String screeningPointsJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("\"Có ").append(i + 1)
+                    .append(" năm kinh nghiệm với Spring Boot và thiết kế REST API \\\"production\\\"\"");
+        }
+        return json.append(']').toString();
+    }
+}
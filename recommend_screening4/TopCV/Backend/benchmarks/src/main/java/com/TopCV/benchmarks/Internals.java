@@ -0,0 +1,41 @@
+package com.TopCV.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Truy cập method/field private của class backend để đo đúng đoạn code cần đo,
+ * thay vì mở rộng phạm vi truy cập trong code production.
+ */
+final class Internals {
+    private Internals() {
+    }
+
+    static MethodHandle privateMethod(Class<?> type, String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup())
+                    .findVirtual(type, name, MethodType.methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot access " + type.getSimpleName() + "." + name, e);
+        }
+    }
+
+    // Thay cho @Value/@Autowired khi dựng bean không qua Spring
+    static void setField(Object target, String name, Object value) {
+        for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+            try {
+                Field field = type.getDeclaredField(name);
+                field.setAccessible(true);
+                field.set(target, value);
+                return;
+            } catch (NoSuchFieldException e) {
+                // tìm tiếp ở class cha
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot set " + name, e);
+            }
+        }
+        throw new IllegalStateException("No field " + name + " on " + target.getClass().getSimpleName());
+    }
+}
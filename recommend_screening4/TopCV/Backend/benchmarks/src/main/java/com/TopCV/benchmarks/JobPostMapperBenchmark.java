@@ -0,0 +1,59 @@
+package com.TopCV.benchmarks;
+
+import com.TopCV.dto.response.JobPost.JobPostDashboardResponse;
+import com.TopCV.dto.response.JobPost.JobPostResponse;
+import com.TopCV.entity.JobPost;
+import com.TopCV.mapper.CompanyCategoryMapperImpl;
+import com.TopCV.mapper.JobLevelMapperImpl;
+import com.TopCV.mapper.JobTypeMapperImpl;
+import com.TopCV.mapper.SkillMapperImpl;
+import com.TopCV.mapper.Impl.CompanyMapperImpl;
+import com.TopCV.mapper.Impl.JobPostMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping JobPost sang response: toResponse cho màn chi tiết, toJobPostDashboard cho mỗi dòng
+ * của danh sách và tìm kiếm (một trang gọi nó pageSize lần).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobPostMapperBenchmark {
+    @Param({"3", "15"})
+    int skillCount;
+
+    JobPostMapperImpl mapper;
+    JobPost jobPost;
+
+    @Setup
+    public void setUp() {
+        mapper = new JobPostMapperImpl(new CompanyMapperImpl(new CompanyCategoryMapperImpl()),
+                new JobTypeMapperImpl(), new JobLevelMapperImpl(), new SkillMapperImpl());
+        jobPost = Fixtures.jobPost(skillCount);
+    }
+
+    @Benchmark
+    public JobPostResponse toResponse() {
+        return mapper.toResponse(jobPost);
+    }
+
+    @Benchmark
+    public JobPostDashboardResponse toJobPostDashboard() {
+        return mapper.toJobPostDashboard(jobPost);
+    }
+}
@@ -0,0 +1,74 @@
+package com.TopCV.benchmarks;
+
+import com.TopCV.dto.response.ApplicationResponse;
+import com.TopCV.entity.Application;
+import com.TopCV.entity.ScreeningPoints;
+import com.TopCV.mapper.Impl.ApplicationMapperImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.MethodHandle;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ApplicationMapperImpl.buildScreeningInfo: màn chi tiết parse hai mảng jsonb matching/not matching points,
+ * màn danh sách bỏ qua. ScreeningPoints cache kết quả parse nên mỗi lần đo gắn một instance mới
+ * như khi Hibernate vừa đọc dòng từ DB.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScreeningInfoBenchmark {
+    private static final MethodHandle BUILD_SCREENING_INFO = Internals.privateMethod(ApplicationMapperImpl.class,
+            "buildScreeningInfo", ApplicationResponse.CVScreeningInfo.class, Application.class, boolean.class);
+
+    @Param({"5", "20"})
+    int pointCount;
+
+    ApplicationMapperImpl mapper;
+    Application application;
+    String matchingJson;
+    String notMatchingJson;
+
+    @Setup
+    public void setUp() {
+        // buildScreeningInfo không dùng các mapper con
+        mapper = new ApplicationMapperImpl(null, null, null);
+        matchingJson = Fixtures.screeningPointsJson(pointCount);
+        notMatchingJson = Fixtures.screeningPointsJson(Math.max(1, pointCount / 2));
+        application = Application.builder()
+                .id(1001)
+                .screeningDecision("REVIEW")
+                .screeningScore(3.4)
+                .screeningRecommendation("Ứng viên phù hợp phần lớn yêu cầu, nên phỏng vấn kỹ thuật.")
+                .screenedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Benchmark
+    public ApplicationResponse.CVScreeningInfo detailWithPoints() throws Throwable {
+        application.setMatchingPoints(ScreeningPoints.ofJson(matchingJson));
+        application.setNotMatchingPoints(ScreeningPoints.ofJson(notMatchingJson));
+        return (ApplicationResponse.CVScreeningInfo) BUILD_SCREENING_INFO.invokeExact(mapper, application, true);
+    }
+
+    @Benchmark
+    public ApplicationResponse.CVScreeningInfo summaryWithoutPoints() throws Throwable {
+        application.setMatchingPoints(ScreeningPoints.ofJson(matchingJson));
+        application.setNotMatchingPoints(ScreeningPoints.ofJson(notMatchingJson));
+        return (ApplicationResponse.CVScreeningInfo) BUILD_SCREENING_INFO.invokeExact(mapper, application, false);
+    }
+}
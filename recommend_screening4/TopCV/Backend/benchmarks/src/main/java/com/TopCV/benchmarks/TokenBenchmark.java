@@ -0,0 +1,93 @@
+package com.TopCV.benchmarks;
+
+import com.TopCV.configuration.SecurityConfig.CustomJwtDecoder;
+import com.TopCV.entity.User;
+import com.TopCV.repository.InvalidatedTokenRepository;
+import com.TopCV.service.impl.AuthenticationServiceImpl;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.observation.ObservationRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chi phí CPU của access token: ký khi login/refresh, verify và decode trên mọi request có Bearer token.
+ * Bảng invalidated_tokens được thay bằng stub luôn trả "chưa bị thu hồi" để không đo round trip tới PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBenchmark {
+    private static final String SIGNER_KEY =
+            "benchmark-signer-key-that-is-long-enough-for-hs512-0123456789abcdefghijklmnopqrstuvwxyz";
+    private static final MethodHandle GENERATE_ACCESS_TOKEN = Internals.privateMethod(AuthenticationServiceImpl.class,
+            "generateAccessToken", String.class, User.class);
+    private static final MethodHandle VERIFY_TOKEN = Internals.privateMethod(AuthenticationServiceImpl.class,
+            "verifyToken", SignedJWT.class, String.class);
+
+    AuthenticationServiceImpl authenticationService;
+    CustomJwtDecoder jwtDecoder;
+    User user;
+    String accessToken;
+
+    @Setup
+    public void setUp() throws Throwable {
+        authenticationService = new AuthenticationServiceImpl(
+                null, notRevoked(), null, null, null, null);
+        Internals.setField(authenticationService, "SIGNER_KEY", SIGNER_KEY);
+
+        jwtDecoder = new CustomJwtDecoder();
+        Internals.setField(jwtDecoder, "signerKey", SIGNER_KEY);
+        Internals.setField(jwtDecoder, "authenticationService", authenticationService);
+        Internals.setField(jwtDecoder, "observationRegistry", ObservationRegistry.NOOP);
+
+        user = Fixtures.user();
+        // Token hết hạn sau 15 phút, đủ cho một trial
+        accessToken = (String) GENERATE_ACCESS_TOKEN.invokeExact(authenticationService, user);
+        // NimbusJwtDecoder được dựng ở lần decode đầu, không tính vào phép đo
+        jwtDecoder.decode(accessToken);
+    }
+
+    @Benchmark
+    public String generateAccessToken() throws Throwable {
+        return (String) GENERATE_ACCESS_TOKEN.invokeExact(authenticationService, user);
+    }
+
+    @Benchmark
+    public SignedJWT verifyToken() throws Throwable {
+        return (SignedJWT) VERIFY_TOKEN.invokeExact(authenticationService, accessToken);
+    }
+
+    // Gồm introspect (verifyToken) rồi NimbusJwtDecoder parse và verify lại lần nữa
+    @Benchmark
+    public Jwt customJwtDecoderDecode() {
+        return jwtDecoder.decode(accessToken);
+    }
+
+    private static InvalidatedTokenRepository notRevoked() {
+        return (InvalidatedTokenRepository) Proxy.newProxyInstance(
+                InvalidatedTokenRepository.class.getClassLoader(),
+                new Class<?>[]{InvalidatedTokenRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("existsByIdAndExpiryTime")) {
+                        return false;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -4,9 +4,13 @@ import com.TopCV.configuration.PythonServiceConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableConfigurationProperties(PythonServiceConfig.class)
+@EnableScheduling
+@EnableAsync
 public class TopCvApplication {
 
 	public static void main(String[] args) {
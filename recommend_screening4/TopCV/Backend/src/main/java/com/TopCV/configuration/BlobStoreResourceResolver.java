@@ -0,0 +1,30 @@
+package com.TopCV.configuration;
+
+import com.TopCV.service.storage.BlobStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.web.servlet.resource.ResourceResolver;
+import org.springframework.web.servlet.resource.ResourceResolverChain;
+
+import java.util.List;
+
+/**
+ * Phục vụ /uploads/** từ BlobStore thay vì thư mục upload-dir, để ảnh và file vẫn xem được khi
+ * app.storage.type=gcs. Đường dẫn sau /uploads/ chính là key đang lưu trong DB.
+ */
+@RequiredArgsConstructor
+class BlobStoreResourceResolver implements ResourceResolver {
+    private final BlobStore blobStore;
+
+    @Override
+    public Resource resolveResource(HttpServletRequest request, String requestPath,
+                                    List<? extends Resource> locations, ResourceResolverChain chain) {
+        return blobStore.exists(requestPath) ? blobStore.get(requestPath) : null;
+    }
+
+    @Override
+    public String resolveUrlPath(String resourcePath, List<? extends Resource> locations, ResourceResolverChain chain) {
+        return blobStore.exists(resourcePath) ? resourcePath : null;
+    }
+}
@@ -0,0 +1,178 @@
+package com.TopCV.configuration;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    @Value("${app.security.password-hashing.pool-size:0}")
+    private int hashingPoolSize;
+
+    @Value("${app.security.password-hashing.queue-capacity:64}")
+    private int hashingQueueCapacity;
+
+    @Value("${app.mail.outbox.sender-threads:2}")
+    private int mailSenderThreads;
+
+    @Value("${app.storage.upload-threads:2}")
+    private int blobUploadThreads;
+
+    @Value("${app.storage.chunk-upload-threads:4}")
+    private int blobChunkUploadThreads;
+
+    @Value("${app.image.derivative-threads:2}")
+    private int imageDerivativeThreads;
+
+    @Value("${app.resume.extraction.threads:2}")
+    private int resumeExtractionThreads;
+
+    @Value("${app.export.async-threads:4}")
+    private int mvcAsyncThreads;
+
+    @Value("${app.export.async-queue-capacity:20}")
+    private int mvcAsyncQueueCapacity;
+
+    @Value("${app.notification.executor.pool-size:2}")
+    private int notificationPoolSize;
+
+    @Value("${app.notification.executor.queue-capacity:500}")
+    private int notificationQueueCapacity;
+
+    /**
+     * Pool riêng cho BCrypt, giới hạn theo số core để một đợt login dồn dập
+     * không chiếm hết thread của Tomcat. Queue đầy thì từ chối ngay.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor passwordHashingExecutor(MeterRegistry meterRegistry) {
+        int poolSize = hashingPoolSize > 0 ? hashingPoolSize : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(hashingQueueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.initialize();
+
+        Gauge.builder("auth.password.hashing.queue.size", executor, ThreadPoolTaskExecutor::getQueueSize)
+                .description("Password hashing tasks waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .description("Password hashing tasks currently running")
+                .register(meterRegistry);
+
+        return executor;
+    }
+
+    /** Pool gửi mail của MailOutboxDispatcher, không dùng common ForkJoinPool */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor mailSenderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mailSenderThreads);
+        executor.setMaxPoolSize(mailSenderThreads);
+        executor.setQueueCapacity(mailSenderThreads * 2);
+        executor.setThreadNamePrefix("mail-sender-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool cho listener @Async tạo thông báo. Queue đầy thì thread gọi tự chạy
+     * (chậm lại) thay vì làm mất thông báo.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor notificationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(notificationPoolSize);
+        executor.setMaxPoolSize(notificationPoolSize);
+        executor.setQueueCapacity(notificationQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("notification-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Pool cho request async của Spring MVC (StreamingResponseBody của export). Khai báo pool riêng
+     * ở đây làm Boot bỏ qua applicationTaskExecutor, MVC sẽ rơi về SimpleAsyncTaskExecutor không giới hạn
+     * nên WebConfig gắn pool này vào. Queue đầy thì từ chối thay vì mở thêm thread.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor mvcAsyncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(mvcAsyncThreads);
+        executor.setMaxPoolSize(mvcAsyncThreads);
+        executor.setQueueCapacity(mvcAsyncQueueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /** Đẩy file từ staging lên BlobStore sau khi transaction upload đã commit */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor blobUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(blobUploadThreads);
+        executor.setMaxPoolSize(blobUploadThreads);
+        executor.setQueueCapacity(100);
+        executor.setThreadNamePrefix("blob-upload-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
+
+    /** Resize logo/avatar sau upload. Queue đầy thì thread gọi tự làm, không bỏ variant */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor imageDerivativeExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(imageDerivativeThreads);
+        executor.setMaxPoolSize(imageDerivativeThreads);
+        executor.setQueueCapacity(100);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("image-derivative-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /** Trích text CV sau upload. Queue đầy thì bỏ qua, scheduler sẽ trích lại */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor resumeExtractionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(resumeExtractionThreads);
+        executor.setMaxPoolSize(resumeExtractionThreads);
+        executor.setQueueCapacity(200);
+        executor.setThreadNamePrefix("resume-extract-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /** Upload song song từng phần của file lớn (object storage) */
+    @Bean(destroyMethod = "shutdown")
+    public ThreadPoolTaskExecutor blobChunkUploadExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(blobChunkUploadThreads);
+        executor.setMaxPoolSize(blobChunkUploadThreads);
+        executor.setQueueCapacity(64);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("blob-chunk-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,22 @@
+package com.TopCV.configuration;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+
+import java.io.IOException;
+
+/** Resource là file trên đĩa thì ghi bằng FileChannelTransfer thay vì copy qua InputStream */
+public class FileChannelResourceHttpMessageConverter extends ResourceHttpMessageConverter {
+
+    @Override
+    protected void writeContent(Resource resource, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!resource.isFile()) {
+            super.writeContent(resource, outputMessage);
+            return;
+        }
+        FileChannelTransfer.transfer(resource.getFile().toPath(), 0, resource.contentLength(), outputMessage);
+    }
+}
@@ -0,0 +1,33 @@
+package com.TopCV.configuration;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+
+import java.io.IOException;
+
+/** Phản hồi 206 cho một Range: chỉ gửi đúng đoạn được yêu cầu từ file */
+public class FileChannelResourceRegionHttpMessageConverter extends ResourceRegionHttpMessageConverter {
+
+    @Override
+    protected void writeResourceRegion(ResourceRegion region, HttpOutputMessage outputMessage) throws IOException {
+        Resource resource = region.getResource();
+        if (!resource.isFile()) {
+            super.writeResourceRegion(region, outputMessage);
+            return;
+        }
+
+        long resourceLength = resource.contentLength();
+        long start = region.getPosition();
+        long end = Math.min(start + region.getCount() - 1, resourceLength - 1);
+        long rangeLength = end - start + 1;
+
+        HttpHeaders headers = outputMessage.getHeaders();
+        headers.add(HttpHeaders.CONTENT_RANGE, "bytes " + start + '-' + end + '/' + resourceLength);
+        headers.setContentLength(rangeLength);
+
+        FileChannelTransfer.transfer(resource.getFile().toPath(), start, rangeLength, outputMessage);
+    }
+}
@@ -0,0 +1,65 @@
+package com.TopCV.configuration;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Ghi một đoạn file ra response mà không đọc cả file lên heap.
+ * Tomcat NIO hỗ trợ sendfile thì giao luôn cho connector (zero-copy),
+ * không thì dùng FileChannel.transferTo.
+ */
+final class FileChannelTransfer {
+    private static final String SENDFILE_SUPPORTED_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
+
+    private FileChannelTransfer() {
+    }
+
+    static void transfer(Path file, long position, long count, HttpOutputMessage outputMessage) throws IOException {
+        if (trySendfile(file, position, count)) {
+            // Tomcat tự gửi file sau khi response commit, body phải để trống
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(outputMessage.getBody());
+            long sent = 0;
+            while (sent < count) {
+                long written = channel.transferTo(position + sent, count - sent, target);
+                if (written <= 0) {
+                    break;
+                }
+                sent += written;
+            }
+        }
+    }
+
+    private static boolean trySendfile(Path file, long position, long count) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return false;
+        }
+
+        HttpServletRequest request = servletAttributes.getRequest();
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTR))) {
+            return false;
+        }
+
+        request.setAttribute(SENDFILE_FILENAME_ATTR, file.toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START_ATTR, position);
+        request.setAttribute(SENDFILE_END_ATTR, position + count);
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package com.TopCV.configuration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Các bảng ghi nhiều đã chuyển từ IDENTITY sang sequence (allocationSize 50, pooled)
+ * để Hibernate gom INSERT thành batch. Sequence do ddl-auto tạo bắt đầu từ 1, nên trên
+ * database cũ phải đẩy sequence vượt qua id lớn nhất trước khi có INSERT đầu tiên.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class IdSequenceInitializer {
+    JdbcTemplate jdbcTemplate;
+
+    // Phải khớp allocationSize của @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "job_posts_seq", "job_posts",
+            "applications_seq", "applications",
+            "resumes_seq", "resumes",
+            "companies_seq", "companies",
+            "cv_screening_results_seq", "cv_screening_results",
+            "notifications_seq", "notifications",
+            "mail_outbox_seq", "mail_outbox");
+
+    @PostConstruct
+    public void alignSequences() {
+        SEQUENCES.forEach((sequence, table) -> {
+            // Pooled optimizer cấp id trong (giá trị - 50, giá trị], nên sequence phải >= max(id) + 50.
+            // Lấy GREATEST với last_value để lần khởi động sau không kéo sequence lùi lại.
+            Long value = jdbcTemplate.queryForObject(
+                    "SELECT setval('" + sequence + "', GREATEST(" +
+                            "(SELECT COALESCE(MAX(id), 0) FROM " + table + ") + " + ALLOCATION_SIZE + ", " +
+                            "(SELECT last_value FROM " + sequence + ")))",
+                    Long.class);
+            log.debug("Sequence {} aligned to {}", sequence, value);
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.TopCV.configuration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * INSERT ... ON CONFLICT của follow/favorite cần unique constraint trên follow_company và favor_job.
+ * ddl-auto update chỉ log cảnh báo khi bảng cũ đã có dòng trùng, nên ở đây xoá dòng trùng rồi thêm constraint.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class JoinTableConstraintInitializer {
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate transactionTemplate;
+
+    private record UniqueConstraint(String table, String name, String firstColumn, String secondColumn) {}
+
+    private static final List<UniqueConstraint> CONSTRAINTS = List.of(
+            new UniqueConstraint("follow_company", "uk_follow_company_user_company", "user_id", "company_id"),
+            new UniqueConstraint("favor_job", "uk_favor_job_user_job", "user_id", "job_id"));
+
+    @PostConstruct
+    public void ensureConstraints() {
+        for (UniqueConstraint constraint : CONSTRAINTS) {
+            transactionTemplate.executeWithoutResult(status -> ensure(constraint));
+        }
+    }
+
+    private void ensure(UniqueConstraint constraint) {
+        if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NULL", Boolean.class, constraint.table())
+                || exists(constraint)) {
+            return;
+        }
+        // Chặn insert mới trong lúc dọn trùng; node khởi động cùng lúc chờ ở đây rồi thấy constraint đã có
+        jdbcTemplate.execute("LOCK TABLE " + constraint.table() + " IN SHARE ROW EXCLUSIVE MODE");
+        if (exists(constraint)) {
+            return;
+        }
+
+        // Bảng join không có khoá chính, giữ một dòng mỗi cặp theo ctid
+        int deleted = jdbcTemplate.update("DELETE FROM " + constraint.table() + " a USING " + constraint.table() + " b " +
+                "WHERE a.ctid > b.ctid AND a." + constraint.firstColumn() + " = b." + constraint.firstColumn() +
+                " AND a." + constraint.secondColumn() + " = b." + constraint.secondColumn());
+        jdbcTemplate.execute("ALTER TABLE " + constraint.table() + " ADD CONSTRAINT " + constraint.name() +
+                " UNIQUE (" + constraint.firstColumn() + ", " + constraint.secondColumn() + ")");
+        log.info("Added {} on {} after removing {} duplicate rows", constraint.name(), constraint.table(), deleted);
+    }
+
+    private boolean exists(UniqueConstraint constraint) {
+        return jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ? AND conrelid = to_regclass(?))",
+                Boolean.class, constraint.name(), constraint.table());
+    }
+}
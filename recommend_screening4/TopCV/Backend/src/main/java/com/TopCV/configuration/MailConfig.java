@@ -3,8 +3,11 @@ package com.TopCV.configuration;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
 
 import java.util.Properties;
 
@@ -40,8 +43,11 @@ public class MailConfig {
     @Value("${spring.mail.properties.mail.smtp.writetimeout:5000}")
     private int writeTimeout;
 
+    @Value("${spring.mail.properties.mail.smtp.ssl.protocols:TLSv1.2}")
+    private String sslProtocols;
+
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSenderImpl javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
 
         // Basic mail server configuration
@@ -61,8 +67,28 @@ public class MailConfig {
         props.put("mail.smtp.writetimeout", writeTimeout);
 
         // For Gmail
-        props.put("mail.smtp.ssl.protocols", "TLSv1.2");
+        props.put("mail.smtp.ssl.protocols", sslProtocols);
 
         return mailSender;
     }
+
+    /**
+     * Template engine riêng cho email, luôn cache template đã parse và biên dịch SpEL
+     * (không phụ thuộc spring.thymeleaf.cache mà devtools hay tắt).
+     */
+    @Bean
+    public TemplateEngine mailTemplateEngine() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        resolver.setCacheTTLMs(null);
+
+        SpringTemplateEngine engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+        engine.setEnableSpringELCompiler(true);
+        return engine;
+    }
 }
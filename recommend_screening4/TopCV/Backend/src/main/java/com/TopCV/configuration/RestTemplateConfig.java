@@ -18,7 +18,7 @@ public class RestTemplateConfig {
         factory.setConnectTimeout(30000);
         factory.setReadTimeout(30000);
         
-        RestTemplate restTemplate = new RestTemplate(factory);
-        return restTemplate;
+        // Đi qua builder để có observation: metric http.client.requests và header traceparent sang Python service
+        return builder.requestFactory(() -> factory).build();
     }
 } 
\ No newline at end of file
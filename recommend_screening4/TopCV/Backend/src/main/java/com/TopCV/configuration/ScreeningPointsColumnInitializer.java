@@ -0,0 +1,56 @@
+package com.TopCV.configuration;
+
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * matching_points/not_matching_points chuyển từ TEXT sang jsonb. ddl-auto update không đổi kiểu
+ * cột đã có, nên trên database cũ phải ALTER một lần; sau đó tạo GIN index cho lọc theo điểm phù hợp.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ScreeningPointsColumnInitializer {
+    JdbcTemplate jdbcTemplate;
+
+    private static final List<String> TABLES = List.of("applications", "cv_screening_results");
+    private static final List<String> COLUMNS = List.of("matching_points", "not_matching_points");
+
+    @PostConstruct
+    public void convertColumns() {
+        for (String table : TABLES) {
+            for (String column : COLUMNS) {
+                List<String> types = jdbcTemplate.queryForList(
+                        "SELECT data_type FROM information_schema.columns " +
+                                "WHERE table_schema = current_schema() AND table_name = ? AND column_name = ?",
+                        String.class, table, column);
+                if (types.isEmpty() || "jsonb".equals(types.get(0))) {
+                    continue;
+                }
+                // Dữ liệu cũ ghi bằng Jackson nên là JSON hợp lệ; chuỗi rỗng thành NULL
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + column + " TYPE jsonb " +
+                        "USING CAST(NULLIF(btrim(" + column + "), '') AS jsonb)");
+                log.info("Converted {}.{} from {} to jsonb", table, column, types.get(0));
+            }
+        }
+    }
+
+    // jsonb_path_ops gọn hơn jsonb_ops và đủ cho toán tử @>
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndex() {
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_applications_matching_points " +
+                "ON applications USING gin (matching_points jsonb_path_ops)");
+    }
+}
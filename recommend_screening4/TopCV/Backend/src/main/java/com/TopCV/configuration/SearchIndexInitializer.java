@@ -0,0 +1,78 @@
+package com.TopCV.configuration;
+
+import com.TopCV.repository.ApplicationRepository;
+import com.TopCV.repository.UserRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tạo GIN trigram index cho cột search_document của applications và users,
+ * rồi điền search_document cho các dòng có từ trước khi thêm cột.
+ * Hibernate không khai báo được index kiểu gin_trgm_ops nên tạo bằng SQL.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class SearchIndexInitializer {
+    JdbcTemplate jdbcTemplate;
+
+    @NonFinal
+    @Value("${app.search.backfill-batch-size:10000}")
+    int backfillBatchSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        try {
+            jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+        } catch (DataAccessException e) {
+            log.warn("Cannot create pg_trgm extension, admin search will fall back to sequential scans: {}",
+                    e.getMostSpecificCause().getMessage());
+            return;
+        }
+
+        // CONCURRENTLY để không khoá ghi trên bảng lớn; JdbcTemplate chạy autocommit nên được phép
+        createTrigramIndex("idx_applications_search_trgm", "applications");
+        createTrigramIndex("idx_users_search_trgm", "users");
+
+        backfill("applications", Integer.class, 0, "UPDATE applications a SET search_document = " +
+                ApplicationRepository.SEARCH_DOCUMENT_SQL + " " +
+                "FROM users u, job_posts jp, companies c " +
+                "WHERE a.id > ? AND a.id <= ? AND a.search_document IS NULL " +
+                "AND u.id = a.user_id AND jp.id = a.job_id AND c.id = jp.company_id");
+        backfill("users", String.class, "", "UPDATE users SET search_document = " + UserRepository.SEARCH_DOCUMENT_SQL + " " +
+                "WHERE id > ? AND id <= ? AND search_document IS NULL");
+    }
+
+    private void createTrigramIndex(String indexName, String table) {
+        jdbcTemplate.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + indexName + " ON " + table +
+                " USING gin (search_document gin_trgm_ops)");
+    }
+
+    // Chia batch để mỗi transaction ngắn, không giữ lock lâu trên bảng lớn.
+    // Đi theo id nên dòng không cập nhật được (thiếu job/công ty) không làm vòng lặp dừng sớm
+    private <T> void backfill(String table, Class<T> idType, T start, String sql) {
+        String nextBatchEnd = "SELECT max(id) FROM (SELECT id FROM " + table +
+                " WHERE search_document IS NULL AND id > ? ORDER BY id LIMIT ?) batch";
+        long total = 0;
+        T cursor = start;
+        T batchEnd;
+        while ((batchEnd = jdbcTemplate.queryForObject(nextBatchEnd, idType, cursor, backfillBatchSize)) != null) {
+            total += jdbcTemplate.update(sql, cursor, batchEnd);
+            cursor = batchEnd;
+        }
+
+        if (total > 0) {
+            log.info("Backfilled search_document for {} rows in {}", total, table);
+        }
+    }
+}
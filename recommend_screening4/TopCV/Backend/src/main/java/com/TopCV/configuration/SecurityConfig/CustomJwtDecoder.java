@@ -4,6 +4,8 @@ import com.TopCV.dto.request.IntrospectRequest;
 import com.TopCV.exception.JwtAuthenticationException;
 import com.TopCV.service.impl.AuthenticationServiceImpl;
 import com.nimbusds.jose.JOSEException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -27,11 +29,34 @@ public class CustomJwtDecoder implements JwtDecoder {
     @Autowired
     private AuthenticationServiceImpl authenticationService;
 
+    @Autowired
+    private ObservationRegistry observationRegistry;
+
     private NimbusJwtDecoder nimbusJwtDecoder = null;
 
+    // Chạy trên mọi request có Bearer token nên đo riêng, outcome tách token bị từ chối khỏi lỗi hệ thống
     @Override
     public Jwt decode(String token) throws JwtException {
+        Observation observation = Observation.createNotStarted("topcv.jwt.decode", observationRegistry).start();
+        String outcome = "ERROR";
+        try (Observation.Scope scope = observation.openScope()) {
+            Jwt jwt = doDecode(token);
+            outcome = "VALID";
+            return jwt;
+        } catch (JwtException | JwtAuthenticationException e) {
+            // Token sai chữ ký, hết hạn hoặc đã logout: bị từ chối chứ không phải lỗi hệ thống
+            outcome = "REJECTED";
+            throw e;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome);
+            observation.stop();
+        }
+    }
 
+    private Jwt doDecode(String token) {
         var response = authenticationService.introspect(
                 IntrospectRequest.builder().token(token).build());
 
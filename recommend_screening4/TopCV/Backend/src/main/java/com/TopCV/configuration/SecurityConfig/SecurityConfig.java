@@ -1,5 +1,7 @@
 package com.TopCV.configuration.SecurityConfig;
 
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -22,6 +24,11 @@ import java.util.List;
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
+    @Value("${server.port:8080}")
+    private int serverPort;
+
+    @Value("${management.server.port:${server.port:8080}}")
+    private int managementPort;
 
     private static final String[] PUBLIC_ENDPOINTS = {
             "/ws/**",
@@ -50,7 +57,13 @@ public class SecurityConfig {
         httpSecurity
                 .authorizeHttpRequests(auth -> auth
                         .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Request gốc đã được xác thực, lần dispatch ASYNC để hoàn tất StreamingResponseBody (export) thì cho qua
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(HttpMethod.GET, "/uploads/**").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                        // Prometheus scrape không mang token: chỉ mở trên cổng management nội bộ, không qua ingress
+                        .requestMatchers(request -> managementPort != serverPort
+                                && request.getLocalPort() == managementPort).permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/companies", "/api/v1/companies/search").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/companies/{id}").permitAll()
                         .requestMatchers(HttpMethod.GET, "/api/v1/job-posts", "/api/v1/job-posts/search").permitAll()
@@ -0,0 +1,47 @@
+package com.TopCV.configuration;
+
+import com.google.auth.oauth2.GoogleCredentials;
+import com.google.cloud.NoCredentials;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+@Configuration
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "gcs")
+public class StorageConfig {
+
+    @Value("${app.storage.gcs.project-id:}")
+    private String projectId;
+
+    // Đặt endpoint (vd. http://localhost:4443 của fake-gcs-server) để chạy với emulator
+    @Value("${app.storage.gcs.endpoint:}")
+    private String endpoint;
+
+    @Value("${app.storage.gcs.credentials-file:}")
+    private String credentialsFile;
+
+    @Bean
+    public Storage storage() throws IOException {
+        StorageOptions.Builder builder = StorageOptions.newBuilder();
+        if (StringUtils.hasText(projectId)) {
+            builder.setProjectId(projectId);
+        }
+
+        if (StringUtils.hasText(endpoint)) {
+            builder.setHost(endpoint).setCredentials(NoCredentials.getInstance());
+        } else if (StringUtils.hasText(credentialsFile)) {
+            try (InputStream in = new FileInputStream(credentialsFile)) {
+                builder.setCredentials(GoogleCredentials.fromStream(in));
+            }
+        }
+        return builder.build().getService();
+    }
+}
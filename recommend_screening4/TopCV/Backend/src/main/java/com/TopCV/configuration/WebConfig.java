@@ -1,37 +1,61 @@
 package com.TopCV.configuration;
 
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import com.TopCV.service.storage.BlobStore;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.ResourceHttpMessageConverter;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
-@Slf4j
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
-
-    @Value("${file.upload-dir:uploads}")
-    private String uploadDir;
+    private final ThreadPoolTaskExecutor mvcAsyncExecutor;
+    private final BlobStore blobStore;
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        Path uploadPath = Paths.get(uploadDir).toAbsolutePath();
-        String uploadUri = uploadPath.toUri().toString();
-
-        // On Windows, toUri() might not add the trailing slash needed by Spring.
-        if (!uploadUri.endsWith("/")) {
-            uploadUri += "/";
-        }
+        // Đọc qua BlobStore (đĩa local hoặc GCS), không cache Resource vì file ngoài img/ có thể bị ghi đè
+        BlobStoreResourceResolver resolver = new BlobStoreResourceResolver(blobStore);
 
-        log.info("Serving static files from resource location: {}", uploadUri);
+        // Ảnh lưu theo hash nội dung (img/<hash>.png, img/<hash>-card.png): nội dung không bao giờ đổi
+        registry.addResourceHandler("/uploads/*/img/**")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .resourceChain(false)
+                .addResolver(resolver);
 
         registry.addResourceHandler("/uploads/**")
-                .addResourceLocations(uploadUri)
-                .setCachePeriod(3600);
+                .setCachePeriod(3600)
+                .resourceChain(false)
+                .addResolver(resolver);
+    }
+
+    // Thay converter mặc định để file tải về/xem CV được ghi thẳng từ FileChannel
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            Class<?> type = converters.get(i).getClass();
+            if (type == ResourceHttpMessageConverter.class) {
+                converters.set(i, new FileChannelResourceHttpMessageConverter());
+            } else if (type == ResourceRegionHttpMessageConverter.class) {
+                converters.set(i, new FileChannelResourceRegionHttpMessageConverter());
+            }
+        }
+    }
+
+    // Export chạy lâu (timeout 30 phút) nên phải dùng pool có giới hạn, không mở thread mới mỗi request
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
     }
 
     @Override
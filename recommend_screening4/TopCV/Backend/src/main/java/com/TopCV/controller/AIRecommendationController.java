@@ -3,11 +3,13 @@ package com.TopCV.controller;
 import com.TopCV.dto.request.CVAnalysisRequest;
 import com.TopCV.dto.response.CVScreeningResponse;
 import com.TopCV.dto.response.JobRecommendationResponse;
+import com.TopCV.entity.Resume;
 import com.TopCV.service.PythonServiceClient;
 import com.TopCV.service.JobSyncService;
 import com.TopCV.service.ApplicationScreeningService;
 import com.TopCV.service.UserService;
-import com.TopCV.service.FileService;
+import com.TopCV.service.ResumeExtractionService;
+import com.TopCV.service.ResumeService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
@@ -29,7 +31,8 @@ public class AIRecommendationController {
     private final JobSyncService jobSyncService;
     private final ApplicationScreeningService applicationScreeningService;
     private final UserService userService;
-    private final FileService fileService;
+    private final ResumeService resumeService;
+    private final ResumeExtractionService resumeExtractionService;
 
     /**
      * API phân tích CV và gợi ý công việc
@@ -55,9 +58,11 @@ public class AIRecommendationController {
         jobSyncService.syncAllJobsToPython();
         
         // Call Python service for CV analysis and job recommendation
-        JobRecommendationResponse response = pythonServiceClient.analyzeCV(
-            cvFile, topK, minScore, location, jobType
-        );
+        // CV đã từng trích (theo hash) thì dùng lại text, không thì trích tại chỗ; lỗi mới gửi file
+        String cvText = resumeExtractionService.extractText(cvFile);
+        JobRecommendationResponse response = cvText != null
+                ? pythonServiceClient.analyzeCVText(cvText, cvFile.getOriginalFilename(), topK, minScore, location, jobType)
+                : pythonServiceClient.analyzeCV(cvFile, topK, minScore, location, jobType);
         
         log.info("CV analysis completed, found {} recommendations", 
                 response.getRecommendations() != null ? response.getRecommendations().size() : 0);
@@ -103,14 +108,11 @@ public class AIRecommendationController {
         String candidateName = user.getFullname();
         String candidateEmail = user.getEmail();
         
-        // 🔥 LƯU CV FILE VỚI UUID FILENAME TRƯỚC
-        String savedFilePath;
-        String actualFileName;
+        // 🔥 LƯU CV THEO HASH NỘI DUNG: cùng một file nộp nhiều job chỉ có một bản và một Resume
+        Resume resume;
         try {
-            savedFilePath = fileService.uploadFile(cvFile, "resume");
-            // savedFilePath format: "resume/UUID_filename.pdf"
-            actualFileName = savedFilePath.substring(savedFilePath.lastIndexOf("/") + 1);
-            log.info("✅ CV file saved successfully: {}", savedFilePath);
+            resume = resumeService.findOrCreateResume(user, cvFile);
+            log.info("✅ CV file stored as resume {}: {}", resume.getId(), resume.getFilePath());
         } catch (Exception e) {
             log.error("❌ Failed to save CV file: {}", e.getMessage());
             return ResponseEntity.status(500).body(null);
@@ -121,21 +123,19 @@ public class AIRecommendationController {
         jobSyncService.syncJobToPython(jobId);
         
         // Call Python service for CV screening
-        CVScreeningResponse response = pythonServiceClient.screenCV(cvFile, jobId);
+        // Text lưu trên Resume: screening lại cùng CV không phải parse PDF lần nữa
+        String cvText = resumeExtractionService.getOrExtractText(resume);
+        CVScreeningResponse response = cvText != null
+                ? pythonServiceClient.screenCVText(cvText, cvFile.getOriginalFilename(), jobId)
+                : pythonServiceClient.screenCV(cvFile, jobId);
         
         // Enhance response với thông tin bổ sung cho UI
         enhanceScreeningResponse(response, candidateName, candidateEmail, cvFile.getOriginalFilename());
         
         // LƯU KẾT QUẢ SCREENING VÀO DATABASE VỚI ĐÚNG FILENAME
         try {
-            applicationScreeningService.saveScreeningResult(
-                response, 
-                user, 
-                actualFileName, // UUID filename đã lưu
-                cvFile.getOriginalFilename(), // Original filename  
-                cvFile.getSize() // File size
-            );
-            log.info("✅ Screening result saved to database successfully with Resume record - File: {}", actualFileName);
+            applicationScreeningService.saveScreeningResult(response, user, resume);
+            log.info("✅ Screening result saved to database successfully with Resume record: {}", resume.getId());
         } catch (Exception e) {
             log.error("❌ Failed to save screening result to database: {}", e.getMessage());
             // Không throw exception để không ảnh hưởng response cho user
@@ -1,17 +1,31 @@
 package com.TopCV.controller;
 
+import com.TopCV.dto.request.Application.ApplicantInboxRequest;
 import com.TopCV.dto.request.Application.ApplicationRequest;
 import com.TopCV.dto.request.Application.ApplicationStatusUpdateRequest;
 import com.TopCV.dto.response.ApiResponse;
+import com.TopCV.dto.response.ApplicantInboxResponse;
 import com.TopCV.dto.response.ApplicationResponse;
 import com.TopCV.dto.response.PageResponse;
+import com.TopCV.dto.response.ShortlistRankResponse;
+import com.TopCV.dto.response.ShortlistResponse;
+import com.TopCV.enums.ExportFormat;
+import com.TopCV.exception.AppException;
+import com.TopCV.exception.ErrorCode;
+import com.TopCV.service.ApplicationExportService;
 import com.TopCV.service.ApplicationService;
+import com.TopCV.service.ShortlistService;
 import jakarta.validation.Valid;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("api/v1/applications")
@@ -21,6 +35,8 @@ import org.springframework.web.bind.annotation.*;
 public class ApplicationController {
     
     ApplicationService applicationService;
+    ApplicationExportService applicationExportService;
+    ShortlistService shortlistService;
 
     /**
      * Ứng tuyển việc làm với ApplicationRequest
@@ -109,6 +125,119 @@ public class ApplicationController {
                 .build();
     }
 
+    /**
+     * Inbox ứng viên của một job, lọc theo trạng thái/điểm và xếp theo điểm screening (keyset)
+     * GET /api/v1/applications/job/{jobId}/inbox?status=&decision=&minScore=&maxScore=&matchingPoint=&sortBy=score|newest&cursor=
+     */
+    @GetMapping("/job/{jobId}/inbox")
+    public ApiResponse<ApplicantInboxResponse> getJobApplicantInbox(
+            @PathVariable Integer jobId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String decision,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) Double maxScore,
+            @RequestParam(required = false) String matchingPoint,
+            @RequestParam(defaultValue = "score") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        ApplicantInboxRequest request = ApplicantInboxRequest.builder()
+                .status(status)
+                .decision(decision)
+                .minScore(minScore)
+                .maxScore(maxScore)
+                .matchingPoint(matchingPoint)
+                .sortBy(sortBy)
+                .cursor(cursor)
+                .size(size)
+                .build();
+        return ApiResponse.<ApplicantInboxResponse>builder()
+                .result(applicationService.getJobApplicantInbox(jobId, request))
+                .build();
+    }
+
+    /**
+     * Inbox ứng viên trên mọi job của employer (keyset, mặc định mới nhất trước)
+     * GET /api/v1/applications/employer/inbox?status=&decision=&minScore=&maxScore=&matchingPoint=&sortBy=newest|score&cursor=
+     */
+    @GetMapping("/employer/inbox")
+    public ApiResponse<ApplicantInboxResponse> getEmployerApplicantInbox(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String decision,
+            @RequestParam(required = false) Double minScore,
+            @RequestParam(required = false) Double maxScore,
+            @RequestParam(required = false) String matchingPoint,
+            @RequestParam(defaultValue = "newest") String sortBy,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        ApplicantInboxRequest request = ApplicantInboxRequest.builder()
+                .status(status)
+                .decision(decision)
+                .minScore(minScore)
+                .maxScore(maxScore)
+                .matchingPoint(matchingPoint)
+                .sortBy(sortBy)
+                .cursor(cursor)
+                .size(size)
+                .build();
+        return ApiResponse.<ApplicantInboxResponse>builder()
+                .result(applicationService.getEmployerApplicantInbox(request))
+                .build();
+    }
+
+    /**
+     * Top ứng viên của job theo điểm screening (Redis sorted set), lọc theo trạng thái
+     * GET /api/v1/applications/job/{jobId}/shortlist?status=&offset=0&limit=10
+     */
+    @GetMapping("/job/{jobId}/shortlist")
+    public ApiResponse<ShortlistResponse> getJobShortlist(
+            @PathVariable Integer jobId,
+            @RequestParam(required = false) String status,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ApiResponse.<ShortlistResponse>builder()
+                .result(shortlistService.getTopCandidates(jobId, status, offset, limit))
+                .build();
+    }
+
+    /**
+     * Thứ hạng của một đơn trong shortlist của job
+     * GET /api/v1/applications/{applicationId}/shortlist-rank?status=
+     */
+    @GetMapping("/{applicationId}/shortlist-rank")
+    public ApiResponse<ShortlistRankResponse> getShortlistRank(
+            @PathVariable Integer applicationId,
+            @RequestParam(required = false) String status) {
+        return ApiResponse.<ShortlistRankResponse>builder()
+                .result(shortlistService.getRank(applicationId, status))
+                .build();
+    }
+
+    /**
+     * Export toàn bộ ứng viên của job kèm kết quả screening, stream thẳng ra response
+     * GET /api/v1/applications/job/{jobId}/export?format=csv|xlsx
+     */
+    @GetMapping("/job/{jobId}/export")
+    public ResponseEntity<StreamingResponseBody> exportJobApplications(
+            @PathVariable Integer jobId,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.INVALID_EXPORT_FORMAT);
+        }
+
+        // Kiểm tra quyền trên thread request, phần ghi dữ liệu chạy async
+        String filename = applicationExportService.prepareJobExport(jobId, exportFormat);
+        StreamingResponseBody body = out -> applicationExportService.writeJobApplications(jobId, exportFormat, out);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .cacheControl(CacheControl.noStore())
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .body(body);
+    }
+
     /**
      * Cập nhật trạng thái đơn ứng tuyển (cho employer)
      * PUT /api/v1/applications/{applicationId}/status
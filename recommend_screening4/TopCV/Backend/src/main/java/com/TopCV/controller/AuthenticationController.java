@@ -26,8 +26,8 @@ public class AuthenticationController {
 
     @PostMapping("/login")
     ApiResponse<AuthenticationResponse> authenticate(
-            @RequestBody AuthenticationRequest request, HttpServletResponse response) {
-        var result = authenticationService.authenticate(request, response);
+            @RequestBody AuthenticationRequest request, HttpServletRequest httpRequest, HttpServletResponse response) {
+        var result = authenticationService.authenticate(request, httpRequest, response);
         return ApiResponse.<AuthenticationResponse>builder().result(result).build();
     }
 
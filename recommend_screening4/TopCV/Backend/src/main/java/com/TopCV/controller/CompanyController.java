@@ -8,10 +8,8 @@ import com.TopCV.dto.response.CompanyResponse;
 import com.TopCV.dto.response.FileUploadResponse;
 import com.TopCV.dto.response.PageResponse;
 import com.TopCV.service.CompanyService;
-import com.TopCV.service.FileService;
+import com.TopCV.service.ImageService;
 import com.TopCV.enums.FileType;
-import com.TopCV.exception.AppException;
-import com.TopCV.exception.ErrorCode;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -34,7 +32,7 @@ import java.util.List;
 public class CompanyController {
 
     final CompanyService companyService;
-    final FileService fileService;
+    final ImageService imageService;
 
 
     @GetMapping("/search")
@@ -149,34 +147,15 @@ public class CompanyController {
 
     @PostMapping("/{id}/upload-logo")
     public ApiResponse<FileUploadResponse> uploadLogo(@PathVariable Integer id, @RequestParam("file") MultipartFile file) {
-        // Validate file type
-        if (file.isEmpty()) {
-            throw new AppException(ErrorCode.FILE_UPLOAD_FAILED);
-        }
-        
-        String originalFilename = file.getOriginalFilename();
-        if (originalFilename == null) {
-            throw new AppException(ErrorCode.FILE_UPLOAD_FAILED);
-        }
-        
-        String fileExtension = originalFilename.substring(originalFilename.lastIndexOf(".") + 1).toLowerCase();
-        if (!FileType.COMPANY_LOGO.isExtensionAllowed(fileExtension)) {
-            throw new AppException(ErrorCode.FILE_UPLOAD_FAILED);
-        }
-        
-        if (file.getSize() > FileType.COMPANY_LOGO.getMaxFileSize()) {
-            throw new AppException(ErrorCode.FILE_UPLOAD_FAILED);
-        }
-        
-        // Upload file
-        String logoPath = fileService.uploadFile(file, FileType.COMPANY_LOGO.getDirectory());
-        
-        // Update company logo
+        // Validate (đuôi file, dung lượng) và lưu theo hash nội dung
+        String logoPath = imageService.storeImage(file, FileType.COMPANY_LOGO);
+
+        // Update company logo, thumbnail/card được sinh nền sau khi commit
         companyService.updateCompanyLogo(id, logoPath);
-        
+
         return ApiResponse.<FileUploadResponse>builder()
                 .result(FileUploadResponse.builder()
-                        .fileName(originalFilename)
+                        .fileName(file.getOriginalFilename())
                         .filePath(logoPath)
                         .fileType(FileType.COMPANY_LOGO)
                         .fileSize(file.getSize())
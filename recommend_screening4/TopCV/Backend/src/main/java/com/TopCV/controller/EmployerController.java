@@ -2,14 +2,19 @@ package com.TopCV.controller;
 
 import com.TopCV.dto.request.UserCreationRequest;
 import com.TopCV.dto.response.ApiResponse;
+import com.TopCV.dto.response.FunnelResponse;
 import com.TopCV.dto.response.RegistrationResponse;
 import com.TopCV.enums.Role;
+import com.TopCV.service.FunnelStatsService;
 import com.TopCV.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -17,6 +22,7 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class EmployerController {
     private final UserService userService;
+    private final FunnelStatsService funnelStatsService;
 
     @PostMapping("/register")
     public ApiResponse<RegistrationResponse> createEmployer(@Valid @RequestBody UserCreationRequest request) {
@@ -25,4 +31,28 @@ public class EmployerController {
                 .result(userService.createUser(request))
                 .build();
     }
+
+    /**
+     * Funnel tuyển dụng gộp mọi job của employer hiện tại
+     * GET /api/v1/employers/funnel
+     */
+    @GetMapping("/funnel")
+    public ApiResponse<FunnelResponse> getMyFunnel() {
+        return ApiResponse.<FunnelResponse>builder()
+                .result(funnelStatsService.getMyFunnel())
+                .build();
+    }
+
+    /**
+     * Funnel của một job kèm số lượt vào từng trạng thái theo ngày
+     * GET /api/v1/employers/funnel/jobs/{jobId}?days=30
+     */
+    @GetMapping("/funnel/jobs/{jobId}")
+    public ApiResponse<FunnelResponse> getJobFunnel(
+            @PathVariable Integer jobId,
+            @RequestParam(defaultValue = "30") int days) {
+        return ApiResponse.<FunnelResponse>builder()
+                .result(funnelStatsService.getJobFunnel(jobId, days))
+                .build();
+    }
 }
@@ -187,6 +187,17 @@ public class JobPostController {
                 .build();
     }
 
+    /**
+     * Kiểm tra một trang job đã được lưu hay chưa, trả về các id đã lưu
+     * GET /api/v1/job-posts/favorites/check?jobIds=1,2,3
+     */
+    @GetMapping("/favorites/check")
+    public ApiResponse<List<Integer>> findFavoriteJobIds(@RequestParam List<Integer> jobIds) {
+        return ApiResponse.<List<Integer>>builder()
+                .result(jobPostService.findFavoriteJobIds(jobIds))
+                .build();
+    }
+
     @GetMapping("/{jobId}/isFavorite")
     public ApiResponse<Boolean> isFavoriteJob(@PathVariable Integer jobId) {
         return ApiResponse.<Boolean>builder()
@@ -0,0 +1,64 @@
+package com.TopCV.controller;
+
+import com.TopCV.dto.response.ApiResponse;
+import com.TopCV.dto.response.NotificationResponse;
+import com.TopCV.dto.response.PageResponse;
+import com.TopCV.service.NotificationService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("api/v1/notifications")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class NotificationController {
+
+    NotificationService notificationService;
+
+    /**
+     * Thông báo của người dùng hiện tại
+     * GET /api/v1/notifications/my
+     */
+    @GetMapping("/my")
+    public ApiResponse<PageResponse<NotificationResponse>> getMyNotifications(
+            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        return ApiResponse.<PageResponse<NotificationResponse>>builder()
+                .result(notificationService.getMyNotifications(page, size))
+                .build();
+    }
+
+    /**
+     * GET /api/v1/notifications/my/unread-count
+     */
+    @GetMapping("/my/unread-count")
+    public ApiResponse<Long> countMyUnread() {
+        return ApiResponse.<Long>builder()
+                .result(notificationService.countMyUnread())
+                .build();
+    }
+
+    /**
+     * PUT /api/v1/notifications/{notificationId}/read
+     */
+    @PutMapping("/{notificationId}/read")
+    public ApiResponse<Void> markAsRead(@PathVariable Long notificationId) {
+        notificationService.markAsRead(notificationId);
+        return ApiResponse.<Void>builder()
+                .message("Notification marked as read")
+                .build();
+    }
+
+    /**
+     * PUT /api/v1/notifications/my/read-all
+     */
+    @PutMapping("/my/read-all")
+    public ApiResponse<Void> markAllAsRead() {
+        notificationService.markAllAsRead();
+        return ApiResponse.<Void>builder()
+                .message("All notifications marked as read")
+                .build();
+    }
+}
@@ -7,6 +7,8 @@ import com.TopCV.entity.Application;
 import com.TopCV.entity.Resume;
 import com.TopCV.entity.User;
 import com.TopCV.enums.FileType;
+import com.TopCV.exception.AppException;
+import com.TopCV.exception.ErrorCode;
 import com.TopCV.repository.ApplicationRepository;
 import com.TopCV.repository.ResumeRepository;
 import com.TopCV.repository.UserRepository;
@@ -14,7 +16,10 @@ import com.TopCV.service.ResumeService;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -22,6 +27,8 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -68,25 +75,29 @@ public class ResumeController {
     }
 
     @GetMapping("/download/{resumeId}")
-    public ResponseEntity<byte[]> downloadResume(@PathVariable Integer resumeId) {
+    public ResponseEntity<Resource> downloadResume(@PathVariable Integer resumeId) {
 
         // Get resume info first
         ResumeResponse resumeInfo = resumeService.getResumeById(resumeId);
 
-        // Download file data
-        byte[] fileData = resumeService.downloadResume(resumeId);
-
         // Determine filename and content type
         String filename = buildDownloadFilename(resumeInfo);
         String contentType = determineContentType(resumeInfo.getOriginalFileName());
+        String disposition = "attachment; filename=\"" + encodeFilename(filename) + "\"";
+
+        // Object storage: redirect tới presigned URL, backend không phải stream file
+        Optional<URI> directUrl = resumeService.getDirectDownloadUrl(resumeInfo, disposition, contentType);
+        if (directUrl.isPresent()) {
+            return redirectTo(directUrl.get());
+        }
 
+        // File được stream từ đĩa, hỗ trợ Range/ETag
+        Resource file = resumeService.downloadResume(resumeId);
 
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"" + encodeFilename(filename) + "\"")
+        return fileResponse(file)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition)
                 .contentType(MediaType.parseMediaType(contentType))
-                .contentLength(fileData.length)
-                .body(fileData);
+                .body(file);
     }
     
     /**
@@ -94,31 +105,22 @@ public class ResumeController {
      * Endpoint: GET /api/v1/resumes/download-for-ai/{resumeId}
      */
     @GetMapping("/download-for-ai/{resumeId}")
-    public ResponseEntity<byte[]> downloadResumeForAI(@PathVariable Integer resumeId) {
+    public ResponseEntity<Resource> downloadResumeForAI(@PathVariable Integer resumeId) {
         
         log.info("🤖 User downloading resume {} for AI screening", resumeId);
         
-        try {
-            // Get resume info first  
-            ResumeResponse resumeInfo = resumeService.getResumeById(resumeId);
-            log.info("🤖 Found resume: {}", resumeInfo.getOriginalFileName());
+        // Get resume info first  
+        ResumeResponse resumeInfo = resumeService.getResumeById(resumeId);
+        log.info("🤖 Found resume: {}", resumeInfo.getOriginalFileName());
 
-            // Download file data using AI screening method
-            byte[] fileData = resumeService.downloadResumeForAIScreening(resumeId);
-            log.info("🤖 File data size: {} bytes", fileData.length);
+        Resource file = resumeService.downloadResumeForAIScreening(resumeId);
 
-            // Return file data với headers
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .header("X-Filename", resumeInfo.getOriginalFileName())
-                    .header("X-Content-Type", determineContentType(resumeInfo.getOriginalFileName()))
-                    .body(fileData);
-                    
-        } catch (Exception e) {
-            log.error("❌ ERROR in downloadResumeForAI: {}", e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(500).build();
-        }
+        // Return file data với headers
+        return fileResponse(file)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header("X-Filename", resumeInfo.getOriginalFileName())
+                .header("X-Content-Type", determineContentType(resumeInfo.getOriginalFileName()))
+                .body(file);
     }
 
     @GetMapping("/{resumeId}")
@@ -136,37 +138,29 @@ public class ResumeController {
      */
     @GetMapping("/download-candidate/{applicationId}")
     @PreAuthorize("hasRole('EMPLOYER')")
-    public ResponseEntity<byte[]> downloadCandidateResume(@PathVariable Integer applicationId) {
+    public ResponseEntity<Resource> downloadCandidateResume(@PathVariable Integer applicationId) {
         
-        System.out.println("🔥 DEBUG: downloadCandidateResume called with applicationId: " + applicationId);
+        log.info("Employer downloading resume for application: {}", applicationId);
         
-        try {
-            // Get resume info và file data through application ID
-            ResumeResponse resumeInfo = resumeService.getCandidateResumeByApplicationId(applicationId);
-            System.out.println("🔥 DEBUG: Found resume: " + resumeInfo.getOriginalFileName());
-            
-            byte[] fileData = resumeService.downloadCandidateResume(applicationId);
-            System.out.println("🔥 DEBUG: File data size: " + fileData.length + " bytes");
+        // Get resume info và file through application ID
+        ResumeResponse resumeInfo = resumeService.getCandidateResumeByApplicationId(applicationId);
 
-            // Determine filename and content type
-            String filename = buildDownloadFilename(resumeInfo);
-            String contentType = determineContentType(resumeInfo.getOriginalFileName());
-
-            System.out.println("🔥 DEBUG: Returning file: " + filename + ", content-type: " + contentType);
+        // Determine filename and content type
+        String filename = buildDownloadFilename(resumeInfo);
+        String contentType = determineContentType(resumeInfo.getOriginalFileName());
+        String disposition = "attachment; filename=\"" + encodeFilename(filename) + "\"";
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=\"" + encodeFilename(filename) + "\"")
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .contentLength(fileData.length)
-                    .body(fileData);
-        } catch (Exception e) {
-            System.err.println("❌ DEBUG ERROR in downloadCandidateResume: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(500)
-                    .contentType(MediaType.TEXT_PLAIN)
-                    .body(("Error: " + e.getMessage()).getBytes());
+        Optional<URI> directUrl = resumeService.getDirectDownloadUrl(resumeInfo, disposition, contentType);
+        if (directUrl.isPresent()) {
+            return redirectTo(directUrl.get());
         }
+
+        Resource file = resumeService.downloadCandidateResume(applicationId);
+
+        return fileResponse(file)
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition)
+                .contentType(MediaType.parseMediaType(contentType))
+                .body(file);
     }
 
     /**
@@ -175,35 +169,29 @@ public class ResumeController {
      */
     @GetMapping("/view-candidate/{applicationId}")
     @PreAuthorize("hasRole('EMPLOYER')")
-    public ResponseEntity<byte[]> viewCandidateResume(@PathVariable Integer applicationId) {
+    public ResponseEntity<Resource> viewCandidateResume(@PathVariable Integer applicationId) {
         
-        System.out.println("🔥 DEBUG: viewCandidateResume called with applicationId: " + applicationId);
+        log.info("Employer viewing resume for application: {}", applicationId);
         
-        try {
-            // Get resume info và file data through application ID
-            ResumeResponse resumeInfo = resumeService.getCandidateResumeByApplicationId(applicationId);
-            System.out.println("🔥 DEBUG: Found resume for view: " + resumeInfo.getOriginalFileName());
-            
-            byte[] fileData = resumeService.downloadCandidateResume(applicationId);
-            System.out.println("🔥 DEBUG: File data size for view: " + fileData.length + " bytes");
-
-            // Determine content type for viewing
-            String contentType = determineContentType(resumeInfo.getOriginalFileName());
+        // Get resume info và file through application ID
+        ResumeResponse resumeInfo = resumeService.getCandidateResumeByApplicationId(applicationId);
 
-            System.out.println("🔥 DEBUG: Returning view file, content-type: " + contentType);
+        // Determine content type for viewing
+        String contentType = determineContentType(resumeInfo.getOriginalFileName());
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline") // View trong browser, không download
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .contentLength(fileData.length)
-                    .body(fileData);
-        } catch (Exception e) {
-            System.err.println("❌ DEBUG ERROR in viewCandidateResume: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(500)
-                    .contentType(MediaType.TEXT_PLAIN)
-                    .body(("Error: " + e.getMessage()).getBytes());
+        // Object storage cũng hỗ trợ Range nên trình xem PDF dùng thẳng presigned URL
+        Optional<URI> directUrl = resumeService.getDirectDownloadUrl(resumeInfo, "inline", contentType);
+        if (directUrl.isPresent()) {
+            return redirectTo(directUrl.get());
         }
+
+        Resource file = resumeService.downloadCandidateResume(applicationId);
+
+        // Trình xem PDF gửi Range request, Spring trả 206 với đúng đoạn được hỏi
+        return fileResponse(file)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "inline") // View trong browser, không download
+                .contentType(MediaType.parseMediaType(contentType))
+                .body(file);
     }
 
     /**
@@ -454,6 +442,31 @@ public class ResumeController {
         }
     }
 
+    /**
+     * ETag/Last-Modified cho file trả về; Spring dùng chúng để trả 304
+     * và tự xử lý Range (206) khi body là Resource
+     */
+    private ResponseEntity.BodyBuilder fileResponse(Resource file) {
+        try {
+            long lastModified = file.lastModified();
+            String etag = "\"" + Long.toHexString(file.contentLength()) + "-" + Long.toHexString(lastModified) + "\"";
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .cacheControl(CacheControl.noCache().cachePrivate());
+        } catch (IOException e) {
+            throw new AppException(ErrorCode.RESUME_DOWNLOAD_FAILED);
+        }
+    }
+
+    // URL có chữ ký, hết hạn nhanh nên không để browser/proxy cache redirect
+    private ResponseEntity<Resource> redirectTo(URI location) {
+        return ResponseEntity.status(HttpStatus.FOUND)
+                .location(location)
+                .cacheControl(CacheControl.noStore())
+                .build();
+    }
+
     /**
      * Build appropriate filename for download
      */
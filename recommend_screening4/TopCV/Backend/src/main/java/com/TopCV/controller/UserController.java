@@ -11,6 +11,7 @@ import com.TopCV.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
 @RestController
 @RequestMapping("api/v1/users")
@@ -40,6 +41,13 @@ public class UserController {
                 .build();
     }
 
+    @PostMapping("/my-avatar")
+    public ApiResponse<UserResponse> uploadAvatar(@RequestParam("file") MultipartFile file) {
+        return ApiResponse.<UserResponse>builder()
+                .result(userService.updateMyAvatar(file))
+                .build();
+    }
+
     @GetMapping("/{userId}")
     public ApiResponse<UserResponse> getUserById(@PathVariable String userId) {
         return ApiResponse.<UserResponse>builder()
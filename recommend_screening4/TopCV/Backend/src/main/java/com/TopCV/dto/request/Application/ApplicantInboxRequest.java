@@ -0,0 +1,20 @@
+package com.TopCV.dto.request.Application;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ApplicantInboxRequest {
+    String status;
+    String decision; // PASS, FAIL, REVIEW
+    Double minScore;
+    Double maxScore;
+    String matchingPoint; // khớp nguyên văn một điểm phù hợp của screening
+    String sortBy; // score, newest
+    String cursor; // nextCursor của trang trước
+    int size;
+}
@@ -0,0 +1,44 @@
+package com.TopCV.dto.response;
+
+import com.TopCV.enums.ApplicationStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ApplicantInboxResponse {
+    int pageSize;
+
+    // null khi đã hết dữ liệu
+    String nextCursor;
+
+    @Builder.Default
+    List<Item> data = Collections.emptyList();
+
+    // Một dòng gọn cho danh sách ứng viên, chi tiết CV/screening lấy qua getApplicationById
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Item {
+        int applicationId;
+        int jobPostId;
+        String jobTitle;
+        String candidateId;
+        String candidateName;
+        String candidateEmail;
+        Integer resumeId;
+        ApplicationStatus status;
+        String screeningDecision;
+        Double screeningScore;
+        LocalDateTime createdAt;
+    }
+}
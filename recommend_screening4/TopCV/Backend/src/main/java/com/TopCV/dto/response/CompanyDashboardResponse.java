@@ -14,7 +14,11 @@ public class CompanyDashboardResponse {
     Integer id;
     String name;
     String logo;
+    String logoThumbnail; // bằng logo khi variant chưa sinh xong
+    String logoCard;
     String description;
     int jobCount;
+    double averageRating;
+    int totalReviews;
     List<CompanyCategoryResponse> categories;
 }
@@ -15,6 +15,8 @@ public class CompanyResponse {
     private String name;
     private String description;
     private String logo;
+    private String logoThumbnail; // bằng logo khi variant chưa sinh xong
+    private String logoCard;
     private String website;
     private String employeeRange;
     private Integer followerCount;
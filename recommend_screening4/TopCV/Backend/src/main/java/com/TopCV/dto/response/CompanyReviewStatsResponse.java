@@ -3,6 +3,8 @@ package com.TopCV.dto.response;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 
+import java.util.List;
+
 @Data
 @Builder
 @NoArgsConstructor
@@ -11,4 +13,5 @@ import lombok.experimental.FieldDefaults;
 public class CompanyReviewStatsResponse {
     Double averageRating;
     Integer totalReviews;
+    List<Integer> starCounts; // số review 1..5 sao, phần tử 0 là 1 sao
 }
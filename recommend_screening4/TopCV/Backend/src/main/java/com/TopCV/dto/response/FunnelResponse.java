@@ -0,0 +1,49 @@
+package com.TopCV.dto.response;
+
+import com.TopCV.enums.ApplicationStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class FunnelResponse {
+    // null = gộp mọi job của employer
+    Integer jobPostId;
+
+    @Builder.Default
+    List<Stage> stages = Collections.emptyList();
+
+    // Chỉ có khi xem theo job
+    @Builder.Default
+    List<DailyEntry> daily = Collections.emptyList();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Stage {
+        ApplicationStatus status;
+        long currentCount; // số đơn đang ở trạng thái này
+        long enteredCount; // tổng lượt đơn đã vào trạng thái này
+        Double avgHoursToStatus; // null khi chưa có lượt nào
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class DailyEntry {
+        LocalDate day;
+        ApplicationStatus status;
+        long enteredCount;
+    }
+}
@@ -20,6 +20,7 @@ public class JobPostDashboardResponse {
     JobTypeResponse type;
     JobLevelResponse level;
     String logo;
+    String logoCard; // bằng logo khi variant chưa sinh xong
     String companyName;
     int appliedCount;
     String location;
@@ -27,4 +28,8 @@ public class JobPostDashboardResponse {
     LocalDate deadline;
     JobPostStatus status;
     LocalDateTime createdAt;
+
+    // Theo user hiện tại, gắn bởi JobPostUserContextService
+    Boolean isFavorite;
+    Boolean canApply;
 }
@@ -41,6 +41,7 @@ public class JobPostResponse {
     JobTypeResponse jobType;
     JobLevelResponse jobLevel;
     List<SkillResponse> skills;
+    List<SkillResponse> inferredSkills;
 
     // Additional flags for user context
     Boolean isFavorite;
@@ -0,0 +1,27 @@
+package com.TopCV.dto.response;
+
+import com.TopCV.enums.ApplicationStatus;
+import com.TopCV.enums.NotificationType;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class NotificationResponse {
+    Long id;
+    NotificationType type;
+    Integer applicationId;
+    ApplicationStatus applicationStatus;
+    String jobTitle;
+    String companyName;
+    String title;
+    String message;
+    boolean read;
+    LocalDateTime createdAt;
+    LocalDateTime readAt;
+}
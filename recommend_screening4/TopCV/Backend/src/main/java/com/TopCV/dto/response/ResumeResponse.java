@@ -1,9 +1,11 @@
 package com.TopCV.dto.response;
 
+import com.TopCV.enums.ResumeExtractionStatus;
 import lombok.Data;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Getter
@@ -11,8 +13,11 @@ public class ResumeResponse {
     private int resumeId;
     private String userId;
     private String filePath;
+    private String contentHash;
     private String originalFileName;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private String downloadUrl;
+    private ResumeExtractionStatus extractionStatus;
+    private List<String> skills; // skill tìm thấy trong CV (theo bảng skills)
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.TopCV.dto.response;
+
+import com.TopCV.enums.ApplicationStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ShortlistRankResponse {
+    int applicationId;
+    int jobPostId;
+    ApplicationStatus status;
+
+    // null khi đơn chưa có điểm screening hoặc không thuộc trạng thái đang lọc
+    Long rank;
+    long total;
+}
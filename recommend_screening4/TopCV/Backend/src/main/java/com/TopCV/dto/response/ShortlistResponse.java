@@ -0,0 +1,36 @@
+package com.TopCV.dto.response;
+
+import com.TopCV.enums.ApplicationStatus;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.util.Collections;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class ShortlistResponse {
+    int jobPostId;
+
+    // null = mọi trạng thái
+    ApplicationStatus status;
+
+    // Số đơn đã chấm điểm trong shortlist
+    long total;
+
+    @Builder.Default
+    List<Entry> data = Collections.emptyList();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class Entry {
+        long rank; // bắt đầu từ 1
+        ApplicantInboxResponse.Item application;
+    }
+}
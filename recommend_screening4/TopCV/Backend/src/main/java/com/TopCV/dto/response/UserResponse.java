@@ -19,6 +19,7 @@ public class UserResponse {
     String phone;
     String address;
     String avt;
+    String avtThumbnail; // bằng avt khi variant chưa sinh xong
     LocalDateTime createdAt;
     LocalDateTime updatedAt;
     boolean isActive;
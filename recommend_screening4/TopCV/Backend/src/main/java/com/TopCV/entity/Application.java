@@ -4,6 +4,7 @@ import com.TopCV.enums.ApplicationStatus;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.ColumnTransformer;
 
 import java.time.LocalDateTime;
 
@@ -13,10 +14,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "applications")
+@Table(name = "applications", indexes = {
+        @Index(name = "idx_applications_job_status_score", columnList = "job_id, status, screening_score, id"),
+        @Index(name = "idx_applications_employer_created", columnList = "employer_id, created_at, id"),
+        @Index(name = "idx_applications_user_job", columnList = "user_id, job_id")
+})
 public class Application {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "applications_seq")
+    @SequenceGenerator(name = "applications_seq", sequenceName = "applications_seq", allocationSize = 50)
     int id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -51,11 +57,15 @@ public class Application {
     @Column(name = "screening_score")
     Double screeningScore; // 0-5.0
     
-    @Column(name = "matching_points", columnDefinition = "TEXT")
-    String matchingPoints; // JSON array string
+    @Convert(converter = ScreeningPointsConverter.class)
+    @ColumnTransformer(write = "CAST(? AS jsonb)")
+    @Column(name = "matching_points", columnDefinition = "jsonb")
+    ScreeningPoints matchingPoints;
     
-    @Column(name = "not_matching_points", columnDefinition = "TEXT") 
-    String notMatchingPoints; // JSON array string
+    @Convert(converter = ScreeningPointsConverter.class)
+    @ColumnTransformer(write = "CAST(? AS jsonb)")
+    @Column(name = "not_matching_points", columnDefinition = "jsonb")
+    ScreeningPoints notMatchingPoints;
     
     @Column(name = "screening_recommendation", columnDefinition = "TEXT")
     String screeningRecommendation;
@@ -66,6 +76,11 @@ public class Application {
     @Column(name = "cv_file_name")
     String cvFileName;
 
+    // Tên/email ứng viên + tên job + tên công ty (lowercase) cho admin search, có GIN trigram index.
+    // Chỉ ghi bằng SQL trong ApplicationRepository.refreshSearchDocument*
+    @Column(name = "search_document", columnDefinition = "TEXT", insertable = false, updatable = false)
+    String searchDocument;
+
     @PrePersist
     void createdAt() {
         this.createdAt = LocalDateTime.now();
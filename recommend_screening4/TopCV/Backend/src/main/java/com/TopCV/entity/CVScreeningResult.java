@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnTransformer;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -19,7 +20,8 @@ import java.time.LocalDateTime;
 public class CVScreeningResult {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cv_screening_results_seq")
+    @SequenceGenerator(name = "cv_screening_results_seq", sequenceName = "cv_screening_results_seq", allocationSize = 50)
     private Long id;
     
     @Column(name = "job_id", nullable = false)
@@ -40,11 +42,15 @@ public class CVScreeningResult {
     @Column(name = "overall_score")
     private Double overallScore;
     
-    @Column(name = "matching_points", columnDefinition = "TEXT")
-    private String matchingPoints; // JSON string
+    @Convert(converter = ScreeningPointsConverter.class)
+    @ColumnTransformer(write = "CAST(? AS jsonb)")
+    @Column(name = "matching_points", columnDefinition = "jsonb")
+    private ScreeningPoints matchingPoints;
     
-    @Column(name = "not_matching_points", columnDefinition = "TEXT")
-    private String notMatchingPoints; // JSON string
+    @Convert(converter = ScreeningPointsConverter.class)
+    @ColumnTransformer(write = "CAST(? AS jsonb)")
+    @Column(name = "not_matching_points", columnDefinition = "jsonb")
+    private ScreeningPoints notMatchingPoints;
     
     @Column(name = "recommendation", columnDefinition = "TEXT")
     private String recommendation;
@@ -15,10 +15,13 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "companies")
+@Table(name = "companies", indexes = {
+        @Index(name = "idx_companies_rating_average", columnList = "rating_average")
+})
 public class Company {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "companies_seq")
+    @SequenceGenerator(name = "companies_seq", sequenceName = "companies_seq", allocationSize = 50)
     int id;
 
     String name;
@@ -29,15 +32,47 @@ public class Company {
     @Column(name = "logo_url")
     String logo;
 
+    // Ảnh gốc đã sinh xong thumbnail/card; khác logo hiện tại nghĩa là variant chưa sẵn sàng
+    @Column(name = "logo_variants_source")
+    String logoVariantsSource;
+
     @Column(name = "website_url")
     String website;
 
     @Column(name = "employee_range")
     String employeeRange;
 
-    @Column(name = "follower_count")
+    // Chỉ đổi qua CompanyRepository.addFollowerCount, save entity không ghi đè cột này
+    @Column(name = "follower_count", updatable = false)
     int followerCount;
 
+    // Tổng hợp đánh giá, chỉ đổi qua CompanyRepository.applyRatingChange (UPDATE cộng delta nguyên tử)
+    @Column(name = "rating_sum", updatable = false, columnDefinition = "bigint not null default 0")
+    long ratingSum;
+
+    @Column(name = "rating_count", updatable = false, columnDefinition = "integer not null default 0")
+    int ratingCount;
+
+    // = ratingSum / ratingCount, lưu sẵn để sort/index theo điểm
+    @Column(name = "rating_average", updatable = false, columnDefinition = "double precision not null default 0")
+    double ratingAverage;
+
+    // Histogram số review theo số sao
+    @Column(name = "rating_star_1", updatable = false, columnDefinition = "integer not null default 0")
+    int ratingStar1;
+
+    @Column(name = "rating_star_2", updatable = false, columnDefinition = "integer not null default 0")
+    int ratingStar2;
+
+    @Column(name = "rating_star_3", updatable = false, columnDefinition = "integer not null default 0")
+    int ratingStar3;
+
+    @Column(name = "rating_star_4", updatable = false, columnDefinition = "integer not null default 0")
+    int ratingStar4;
+
+    @Column(name = "rating_star_5", updatable = false, columnDefinition = "integer not null default 0")
+    int ratingStar5;
+
     String address;
 
     @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
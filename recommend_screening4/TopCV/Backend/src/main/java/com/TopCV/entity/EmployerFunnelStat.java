@@ -0,0 +1,44 @@
+package com.TopCV.entity;
+
+import com.TopCV.enums.ApplicationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/** Funnel gộp mọi job của một employer, để dashboard đọc tối đa một dòng mỗi trạng thái */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@IdClass(EmployerFunnelStat.Key.class)
+@Table(name = "employer_funnel_stats")
+public class EmployerFunnelStat {
+    @Id
+    @Column(name = "employer_id")
+    String employerId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    ApplicationStatus status;
+
+    @Column(name = "current_count", nullable = false)
+    long currentCount;
+
+    @Column(name = "entered_count", nullable = false)
+    long enteredCount;
+
+    @Column(name = "time_to_status_seconds", nullable = false)
+    long timeToStatusSeconds;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        String employerId;
+        ApplicationStatus status;
+    }
+}
@@ -0,0 +1,53 @@
+package com.TopCV.entity;
+
+import com.TopCV.enums.BlobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Một file vật lý, định danh bằng SHA-256 của nội dung.
+ * refCount = số bản ghi (Resume, ...) đang trỏ tới file này.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "file_blobs", indexes = {
+        @Index(name = "idx_file_blobs_orphaned_at", columnList = "orphaned_at"),
+        @Index(name = "idx_file_blobs_status", columnList = "status")
+})
+public class FileBlob {
+    @Id
+    @Column(length = 64)
+    String hash;
+
+    @Column(name = "storage_path", nullable = false)
+    String storagePath;
+
+    @Column(nullable = false)
+    Long size;
+
+    @Column(name = "content_type")
+    String contentType;
+
+    @Column(name = "ref_count", nullable = false)
+    int refCount;
+
+    // PENDING: file mới nằm ở staging trên node nhận upload, chưa có trên BlobStore
+    // Default để các blob tạo trước khi có cột này (đã nằm trên đĩa) được coi là AVAILABLE
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, columnDefinition = "varchar(16) default 'AVAILABLE'")
+    BlobStatus status;
+
+    @Column(name = "created_at")
+    LocalDateTime createdAt;
+
+    // Thời điểm refCount về 0, GC xóa file sau một khoảng chờ
+    @Column(name = "orphaned_at")
+    LocalDateTime orphanedAt;
+}
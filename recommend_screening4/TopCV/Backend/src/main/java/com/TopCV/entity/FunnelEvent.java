@@ -0,0 +1,53 @@
+package com.TopCV.entity;
+
+import com.TopCV.enums.ApplicationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+/**
+ * Một lần đơn ứng tuyển đổi trạng thái, ghi cùng transaction với thay đổi đó.
+ * Chỉ INSERT nên không tranh dòng; FunnelStatsAggregator định kỳ gom vào các bảng thống kê rồi xóa.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "funnel_events")
+public class FunnelEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "funnel_events_seq")
+    @SequenceGenerator(name = "funnel_events_seq", sequenceName = "funnel_events_seq", allocationSize = 50)
+    Long id;
+
+    @Column(name = "job_post_id", nullable = false)
+    int jobPostId;
+
+    @Column(name = "employer_id")
+    String employerId;
+
+    // null = đơn mới nộp
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    ApplicationStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    ApplicationStatus toStatus;
+
+    // Đơn bị xoá (rút đơn): vẫn tính lượt vào toStatus nhưng không còn nằm trong trạng thái nào
+    @Column(nullable = false)
+    boolean removed;
+
+    @Column(name = "occurred_at", nullable = false)
+    LocalDateTime occurredAt;
+
+    // Từ lúc nộp đơn tới lúc đổi trạng thái
+    @Column(name = "seconds_since_applied", nullable = false)
+    long secondsSinceApplied;
+}
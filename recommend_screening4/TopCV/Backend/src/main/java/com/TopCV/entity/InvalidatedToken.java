@@ -1,5 +1,6 @@
 package com.TopCV.entity;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -8,6 +9,10 @@ import lombok.experimental.FieldDefaults;
 
 import java.util.Date;
 
+/**
+ * Bảng thật được partition theo expiry_time (xem InvalidatedTokenPartitionScheduler),
+ * ghi qua InvalidatedTokenRepository.invalidateAll.
+ */
 @Entity
 @Data
 @Builder
@@ -19,5 +24,6 @@ public class InvalidatedToken {
     @Id
     String id;
 
+    @Column(name = "expiry_time", nullable = false)
     Date expiryTime;
 }
@@ -0,0 +1,43 @@
+package com.TopCV.entity;
+
+import com.TopCV.enums.ApplicationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/** Số lượt đơn vào từng trạng thái theo ngày của một job */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@IdClass(JobFunnelDaily.Key.class)
+@Table(name = "job_funnel_daily")
+public class JobFunnelDaily {
+    @Id
+    @Column(name = "job_post_id")
+    int jobPostId;
+
+    @Id
+    LocalDate day;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    ApplicationStatus status;
+
+    @Column(name = "entered_count", nullable = false)
+    long enteredCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        int jobPostId;
+        LocalDate day;
+        ApplicationStatus status;
+    }
+}
@@ -0,0 +1,52 @@
+package com.TopCV.entity;
+
+import com.TopCV.enums.ApplicationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/** Funnel của một job theo trạng thái, cộng dồn từ funnel_events */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@IdClass(JobFunnelStat.Key.class)
+@Table(name = "job_funnel_stats", indexes = {
+        @Index(name = "idx_job_funnel_stats_employer", columnList = "employer_id")
+})
+public class JobFunnelStat {
+    @Id
+    @Column(name = "job_post_id")
+    int jobPostId;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    ApplicationStatus status;
+
+    @Column(name = "employer_id")
+    String employerId;
+
+    // Số đơn đang ở trạng thái này
+    @Column(name = "current_count", nullable = false)
+    long currentCount;
+
+    // Tổng số lượt đơn đi vào trạng thái này
+    @Column(name = "entered_count", nullable = false)
+    long enteredCount;
+
+    // Tổng thời gian từ lúc nộp tới lúc vào trạng thái, chia enteredCount ra trung bình
+    @Column(name = "time_to_status_seconds", nullable = false)
+    long timeToStatusSeconds;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        int jobPostId;
+        ApplicationStatus status;
+    }
+}
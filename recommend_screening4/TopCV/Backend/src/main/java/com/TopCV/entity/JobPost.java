@@ -19,7 +19,8 @@ import java.util.List;
 @Table(name = "job_posts")
 public class JobPost {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "job_posts_seq")
+    @SequenceGenerator(name = "job_posts_seq", sequenceName = "job_posts_seq", allocationSize = 50)
     int id;
 
     String title;
@@ -45,7 +46,8 @@ public class JobPost {
 
     LocalDate deadline;
 
-    @Column(name = "applied_count")
+    // Chỉ đổi qua AppliedCountService (UPDATE nguyên tử), save entity không ghi đè cột này
+    @Column(name = "applied_count", updatable = false)
     int appliedCount;
 
     @Column(name = "hiring_quota")
@@ -71,8 +73,23 @@ public class JobPost {
             name = "job_skills",
             joinColumns = @JoinColumn(name = "job_id"),
             inverseJoinColumns = @JoinColumn(name = "skill_id"))
+    @Builder.Default
     List<Skill> skills = new ArrayList<>();
 
+    // Skill suy ra từ tiêu đề, mô tả và yêu cầu, không gồm skill employer đã khai báo
+    @ManyToMany
+    @JoinTable(
+            name = "job_inferred_skills",
+            joinColumns = @JoinColumn(name = "job_id"),
+            inverseJoinColumns = @JoinColumn(name = "skill_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_job_inferred_skills", columnNames = {"job_id", "skill_id"}))
+    @Builder.Default
+    List<Skill> inferredSkills = new ArrayList<>();
+
+    // Version từ điển của SkillMatcher lúc gắn inferredSkills, khác version hiện tại thì backfill gắn lại
+    @Column(name = "skill_tags_version")
+    Long skillTagsVersion;
+
     @Column(name = "created_at")
     LocalDateTime createdAt;
 
@@ -0,0 +1,40 @@
+package com.TopCV.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.io.Serializable;
+
+/**
+ * Phần chênh lệch applied_count chưa cộng vào job_posts, chia thành nhiều shard
+ * để các lượt apply đồng thời vào cùng một job không tranh nhau một dòng.
+ * AppliedCountAggregator định kỳ gom về job_posts.applied_count rồi xóa.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@IdClass(JobPostCounterShard.Key.class)
+@Table(name = "job_post_counter_shards")
+public class JobPostCounterShard {
+    @Id
+    @Column(name = "job_post_id")
+    int jobPostId;
+
+    @Id
+    short shard;
+
+    @Column(name = "applied_delta", nullable = false)
+    int appliedDelta;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        int jobPostId;
+        short shard;
+    }
+}
@@ -0,0 +1,72 @@
+package com.TopCV.entity;
+
+import com.TopCV.enums.MailStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "mail_outbox", indexes = {
+        @Index(name = "idx_mail_outbox_status_next_attempt", columnList = "status, next_attempt_at")
+})
+public class MailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "mail_outbox_seq")
+    @SequenceGenerator(name = "mail_outbox_seq", sequenceName = "mail_outbox_seq", allocationSize = 50)
+    Long id;
+
+    @Column(nullable = false)
+    String recipient;
+
+    @Column(nullable = false)
+    String subject;
+
+    // Template Thymeleaf, null nếu là mail text thường
+    @Column(name = "template_name")
+    String templateName;
+
+    @Column(name = "template_variables", columnDefinition = "TEXT")
+    String templateVariables; // JSON object
+
+    @Column(columnDefinition = "TEXT")
+    String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    MailStatus status;
+
+    int attempts;
+
+    @Column(name = "next_attempt_at")
+    LocalDateTime nextAttemptAt;
+
+    @Column(name = "locked_at")
+    LocalDateTime lockedAt;
+
+    @Column(name = "last_error", length = 1000)
+    String lastError;
+
+    @Column(name = "created_at")
+    LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    LocalDateTime sentAt;
+
+    @PrePersist
+    void createdAt() {
+        this.createdAt = LocalDateTime.now();
+        if (this.status == null) {
+            this.status = MailStatus.PENDING;
+        }
+        if (this.nextAttemptAt == null) {
+            this.nextAttemptAt = this.createdAt;
+        }
+    }
+}
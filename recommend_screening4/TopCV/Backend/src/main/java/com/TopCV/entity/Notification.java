@@ -0,0 +1,75 @@
+package com.TopCV.entity;
+
+import com.TopCV.enums.ApplicationStatus;
+import com.TopCV.enums.NotificationEmailStatus;
+import com.TopCV.enums.NotificationType;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_notifications_email_status", columnList = "email_status, created_at")
+})
+public class Notification {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
+    Long id;
+
+    // Chỉ lưu id người nhận để insert hàng loạt không phải load User
+    @Column(name = "user_id", nullable = false)
+    String userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    NotificationType type;
+
+    @Column(name = "application_id")
+    Integer applicationId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "application_status")
+    ApplicationStatus applicationStatus;
+
+    @Column(name = "job_title")
+    String jobTitle;
+
+    @Column(name = "company_name")
+    String companyName;
+
+    @Column(nullable = false)
+    String title;
+
+    @Column(columnDefinition = "TEXT")
+    String message;
+
+    @Column(name = "is_read")
+    boolean read;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "email_status", nullable = false)
+    NotificationEmailStatus emailStatus;
+
+    @Column(name = "created_at")
+    LocalDateTime createdAt;
+
+    @Column(name = "read_at")
+    LocalDateTime readAt;
+
+    @PrePersist
+    void createdAt() {
+        this.createdAt = LocalDateTime.now();
+        if (this.emailStatus == null) {
+            this.emailStatus = NotificationEmailStatus.PENDING;
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.TopCV.entity;
 
 import jakarta.persistence.*;
+import com.TopCV.enums.ResumeExtractionStatus;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Data
@@ -12,10 +16,15 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @FieldDefaults(level = AccessLevel.PRIVATE)
-@Table(name = "resumes")
+@Table(name = "resumes", indexes = {
+        @Index(name = "idx_resumes_user_content_hash", columnList = "user_id, content_hash"),
+        @Index(name = "idx_resumes_content_hash", columnList = "content_hash"),
+        @Index(name = "idx_resumes_extraction_status", columnList = "extraction_status")
+})
 public class Resume {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resumes_seq")
+    @SequenceGenerator(name = "resumes_seq", sequenceName = "resumes_seq", allocationSize = 50)
     int id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -31,6 +40,35 @@ public class Resume {
     @Column(name = "file_size")
     Long fileSize;
 
+    // SHA-256 của nội dung, khóa sang file_blobs. Null với resume tải lên trước khi có dedup
+    @Column(name = "content_hash", length = 64)
+    String contentHash;
+
+    // Text trích một lần sau upload, gửi sang Python thay cho file
+    @Column(name = "extracted_text", columnDefinition = "TEXT")
+    String extractedText;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "extraction_status", length = 16)
+    ResumeExtractionStatus extractionStatus;
+
+    @Column(name = "extracted_at")
+    LocalDateTime extractedAt;
+
+    // Lúc một thread nhận trích resume này, để upload và job nền không parse cùng một file hai lần
+    @Column(name = "extraction_claimed_at")
+    LocalDateTime extractionClaimedAt;
+
+    // Skill chuẩn hóa theo bảng skills, tìm thấy trong extractedText
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+            name = "resume_skills",
+            joinColumns = @JoinColumn(name = "resume_id"),
+            inverseJoinColumns = @JoinColumn(name = "skill_id"))
+    @BatchSize(size = 50)
+    @Builder.Default
+    List<Skill> skills = new ArrayList<>();
+
     @Column(name = "created_at")
     LocalDateTime createdAt;
 
@@ -0,0 +1,75 @@
+package com.TopCV.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.annotations.Immutable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Danh sách điểm phù hợp/không phù hợp của screening, lưu cột jsonb.
+ * Giữ nguyên chuỗi JSON đọc từ DB, chỉ parse khi gọi values() nên các màn danh sách không tốn Jackson.
+ */
+@Immutable
+@Slf4j
+public final class ScreeningPoints {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<String>> STRING_LIST = new TypeReference<>() {};
+
+    private final String json;
+    private List<String> values;
+
+    private ScreeningPoints(String json, List<String> values) {
+        this.json = json;
+        this.values = values;
+    }
+
+    public static ScreeningPoints of(List<String> values) {
+        List<String> copy = values != null ? List.copyOf(values) : List.of();
+        try {
+            return new ScreeningPoints(MAPPER.writeValueAsString(copy), copy);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize screening points", e);
+        }
+    }
+
+    public static ScreeningPoints ofJson(String json) {
+        return json == null || json.isBlank() ? null : new ScreeningPoints(json, null);
+    }
+
+    public String json() {
+        return json;
+    }
+
+    public List<String> values() {
+        List<String> parsed = values;
+        if (parsed == null) {
+            try {
+                parsed = List.copyOf(MAPPER.readValue(json, STRING_LIST));
+            } catch (JsonProcessingException e) {
+                log.error("Error parsing screening points: {}", e.getMessage());
+                parsed = List.of();
+            }
+            values = parsed;
+        }
+        return parsed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof ScreeningPoints other && json.equals(other.json);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(json);
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
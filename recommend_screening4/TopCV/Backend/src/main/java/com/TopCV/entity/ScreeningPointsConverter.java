@@ -0,0 +1,19 @@
+package com.TopCV.entity;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// Chỉ chuyển chuỗi, không parse; cột jsonb đọc ra text và ghi qua CAST(? AS jsonb)
+@Converter
+public class ScreeningPointsConverter implements AttributeConverter<ScreeningPoints, String> {
+
+    @Override
+    public String convertToDatabaseColumn(ScreeningPoints points) {
+        return points != null ? points.json() : null;
+    }
+
+    @Override
+    public ScreeningPoints convertToEntityAttribute(String json) {
+        return ScreeningPoints.ofJson(json);
+    }
+}
@@ -4,10 +4,14 @@ import com.TopCV.enums.Role;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.ColumnTransformer;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Entity
 @Data
@@ -38,6 +42,10 @@ public class User {
 
         String avt;
 
+        // Avatar gốc đã sinh xong variant, khác avt thì client dùng ảnh gốc
+        @Column(name = "avt_variants_source")
+        String avtVariantsSource;
+
         @Column(name = "created_at")
         LocalDateTime createdAt;
 
@@ -51,23 +59,34 @@ public class User {
         @Column(name = "is_email_verified")
         boolean emailVerified;
 
+        // Họ tên + email + username cho admin search, có GIN trigram index.
+        // lower() chạy trong SQL như UserRepository.SEARCH_DOCUMENT_SQL, không dùng toLowerCase của Java
+        @ColumnTransformer(write = "lower(?)")
+        @Column(name = "search_document", columnDefinition = "TEXT")
+        String searchDocument;
+
         LocalDateTime dob;
 
 //        @OneToOne(mappedBy = "user")
 //        Company company;
 
+        // Thêm/xoá qua JobPostRepository (ghi thẳng bảng nối), unique để ON CONFLICT và EXISTS đi theo index
         @ManyToMany
         @JoinTable(
                 name = "favor_job",
                 joinColumns = @JoinColumn(name = "user_id"),
-                inverseJoinColumns = @JoinColumn(name = "job_id"))
+                inverseJoinColumns = @JoinColumn(name = "job_id"),
+                uniqueConstraints = @UniqueConstraint(name = "uk_favor_job_user_job", columnNames = {"user_id", "job_id"}))
         List<JobPost> favoriteJobs = new ArrayList<>();
 
+        // Thêm/xoá qua CompanyRepository
         @ManyToMany
         @JoinTable(
                 name = "follow_company",
                 joinColumns = @JoinColumn(name = "user_id"),
-                inverseJoinColumns = @JoinColumn(name = "company_id"))
+                inverseJoinColumns = @JoinColumn(name = "company_id"),
+                uniqueConstraints = @UniqueConstraint(name = "uk_follow_company_user_company",
+                        columnNames = {"user_id", "company_id"}))
         List<Company> followCompanies = new ArrayList<>();
 
         @OneToMany(mappedBy = "user")
@@ -83,9 +102,18 @@ public class User {
         void createdAt() {
                 this.createdAt = LocalDateTime.now();
                 this.updatedAt = LocalDateTime.now();
+                this.searchDocument = buildSearchDocument();
         }
         @PreUpdate
         void updatedAt() {
                 this.updatedAt = LocalDateTime.now();
+                this.searchDocument = buildSearchDocument();
+        }
+
+        // Bỏ giá trị null giống concat_ws
+        private String buildSearchDocument() {
+                return Stream.of(fullname, email, userName)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.joining(" "));
         }
 }
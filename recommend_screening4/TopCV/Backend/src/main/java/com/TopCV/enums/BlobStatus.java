@@ -0,0 +1,6 @@
+package com.TopCV.enums;
+
+public enum BlobStatus {
+    PENDING, // đã nhận file, đang đẩy lên storage
+    AVAILABLE
+}
@@ -0,0 +1,52 @@
+package com.TopCV.enums;
+
+import lombok.Getter;
+
+/**
+ * Các kích thước ảnh thu nhỏ sinh ra từ logo/avatar gốc.
+ * Ảnh gốc lưu theo hash nội dung nên key của variant cũng bất biến.
+ */
+@Getter
+public enum ImageVariant {
+    THUMBNAIL("thumb", 64),   // avatar nhỏ, danh sách công ty theo dõi
+    CARD("card", 240);        // job card trong kết quả tìm kiếm
+
+    private final String suffix;
+    private final int maxSize; // cạnh dài nhất (px)
+
+    ImageVariant(String suffix, int maxSize) {
+        this.suffix = suffix;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * "company-logos/img/ab12...png" -> "company-logos/img/ab12...-card.png".
+     * JPEG giữ JPEG, còn lại (png, gif) xuất PNG để không mất nền trong suốt.
+     */
+    public String keyFor(String originalKey) {
+        int dot = originalKey.lastIndexOf('.');
+        String base = dot > 0 ? originalKey.substring(0, dot) : originalKey;
+        return base + "-" + suffix + "." + formatFor(originalKey);
+    }
+
+    /**
+     * Trả về key variant khi variantsSource trùng ảnh hiện tại (đã sinh xong), ngược lại trả ảnh gốc
+     */
+    public String resolve(String originalKey, String variantsSource) {
+        if (originalKey == null || !originalKey.equals(variantsSource)) {
+            return originalKey;
+        }
+        return keyFor(originalKey);
+    }
+
+    public static String formatFor(String originalKey) {
+        String lower = originalKey.toLowerCase();
+        return lower.endsWith(".jpg") || lower.endsWith(".jpeg") ? "jpg" : "png";
+    }
+
+    public static boolean supports(String originalKey) {
+        String lower = originalKey.toLowerCase();
+        return lower.endsWith(".jpg") || lower.endsWith(".jpeg")
+                || lower.endsWith(".png") || lower.endsWith(".gif");
+    }
+}
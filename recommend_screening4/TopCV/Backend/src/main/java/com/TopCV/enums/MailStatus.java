@@ -0,0 +1,8 @@
+package com.TopCV.enums;
+
+public enum MailStatus {
+    PENDING,
+    SENDING,
+    SENT,
+    FAILED
+}
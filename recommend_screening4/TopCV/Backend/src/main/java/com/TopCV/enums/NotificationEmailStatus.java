@@ -0,0 +1,7 @@
+package com.TopCV.enums;
+
+public enum NotificationEmailStatus {
+    PENDING, // chờ gom vào mail digest
+    SENT,
+    SKIPPED // không cần gửi mail
+}
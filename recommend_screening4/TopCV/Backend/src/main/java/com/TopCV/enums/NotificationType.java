@@ -0,0 +1,5 @@
+package com.TopCV.enums;
+
+public enum NotificationType {
+    APPLICATION_STATUS_CHANGED
+}
@@ -0,0 +1,8 @@
+package com.TopCV.enums;
+
+public enum OtpVerificationResult {
+    VALID,
+    INVALID,
+    EXPIRED,
+    LOCKED
+}
@@ -0,0 +1,7 @@
+package com.TopCV.enums;
+
+public enum ResumeExtractionStatus {
+    PENDING, // chờ trích text ở background
+    COMPLETED,
+    FAILED   // file hỏng/scan ảnh, Python tự đọc file như cũ
+}
@@ -0,0 +1,12 @@
+package com.TopCV.event;
+
+import com.TopCV.enums.ApplicationStatus;
+
+import java.util.List;
+
+/**
+ * Phát ra trong transaction đổi trạng thái đơn ứng tuyển,
+ * listener chỉ xử lý sau khi transaction đã commit.
+ */
+public record ApplicationStatusChangedEvent(List<Integer> applicationIds, ApplicationStatus newStatus) {
+}
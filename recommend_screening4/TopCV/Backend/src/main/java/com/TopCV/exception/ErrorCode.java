@@ -20,6 +20,7 @@ public enum ErrorCode {
     UNAUTHORIZED(1102, "You do not have permission", HttpStatus.FORBIDDEN),
     EXPIRED_TOKEN(1103, "Token has expired", HttpStatus.UNAUTHORIZED),
     INVALID_CURRENT_PASSWORD(1104, "Current password is incorrect", HttpStatus.BAD_REQUEST),
+    TOO_MANY_LOGIN_ATTEMPTS(1105, "Too many login attempts, please try again later", HttpStatus.TOO_MANY_REQUESTS),
 
     // Email verification errors
     EMAIL_NOT_VERIFIED(1201, "Email address not verified", HttpStatus.FORBIDDEN),
@@ -28,6 +29,7 @@ public enum ErrorCode {
     // OTP related errors
     INVALID_OTP(1301, "Invalid or incorrect OTP code", HttpStatus.BAD_REQUEST),
     OTP_SEND_FAILED(1302, "otp send failed", HttpStatus.TOO_MANY_REQUESTS),
+    OTP_ATTEMPTS_EXCEEDED(1303, "Too many incorrect OTP attempts, please request a new code", HttpStatus.TOO_MANY_REQUESTS),
 
     // Validation errors
     EMAIL_REQUIRED(1401, "Email is required", HttpStatus.BAD_REQUEST),
@@ -40,6 +42,7 @@ public enum ErrorCode {
     // System errors
     EMAIL_SEND_FAILED(1501, "Failed to send email", HttpStatus.INTERNAL_SERVER_ERROR),
     ROLE_NOT_EXISTED(1502, "Role not found", HttpStatus.BAD_REQUEST),
+    SERVER_BUSY(1503, "Server is busy, please try again later", HttpStatus.SERVICE_UNAVAILABLE),
 
     COMPANY_NAME_EXISTED(1601, "Company name already exists", HttpStatus.BAD_REQUEST),
     COMPANY_NOT_EXISTED(1602, "Company not exists", HttpStatus.BAD_REQUEST),
@@ -73,6 +76,7 @@ public enum ErrorCode {
     JOB_POST_NOT_ACTIVE(2208, "Job post not active", HttpStatus.BAD_REQUEST),
     ALREADY_FAVORITED_JOB(2209, "Job already favorited", HttpStatus.BAD_REQUEST),
     NOT_FAVORITED_JOB(2210, "Job not favorited", HttpStatus.BAD_REQUEST),
+    TOO_MANY_JOB_IDS(2211, "Too many job ids in one request", HttpStatus.BAD_REQUEST),
 
     ALREADY_APPLIED_JOB(2301, "Job already applied", HttpStatus.BAD_REQUEST),
     APPLICATION_NOT_EXISTED(2302, "Application not exists", HttpStatus.BAD_REQUEST),
@@ -81,6 +85,8 @@ public enum ErrorCode {
     INVALID_STATUS_TRANSITION(2305, "Invalid status transition", HttpStatus.BAD_REQUEST),
     APPLICATION_IDS_REQUIRED(2306,"Application ids required", HttpStatus.BAD_REQUEST),
     SOME_APPLICATIONS_NOT_FOUND(2307, "Some applications not found", HttpStatus.BAD_REQUEST),
+    INVALID_INBOX_CURSOR(2308, "Invalid inbox cursor", HttpStatus.BAD_REQUEST),
+    INVALID_EXPORT_FORMAT(2309, "Export format must be csv or xlsx", HttpStatus.BAD_REQUEST),
 
     RESUME_NOT_EXISTED(2401, "Resume not existed", HttpStatus.BAD_REQUEST),
     RESUME_NOT_BELONGS_TO_USER(2402, "Resume not belongs to user", HttpStatus.BAD_REQUEST),
@@ -103,6 +109,8 @@ public enum ErrorCode {
     INVALID_DOC_FILE(2511, "Invalid document file", HttpStatus.BAD_REQUEST),
     INVALID_DOCX_FILE(2512, "Invalid document file", HttpStatus.BAD_REQUEST),
 
+    NOTIFICATION_NOT_EXISTED(2601, "Notification not exists", HttpStatus.NOT_FOUND),
+
     EXTERNAL_SERVICE_ERROR(1030, "External service error", HttpStatus.SERVICE_UNAVAILABLE),
     PYTHON_SERVICE_UNAVAILABLE(1031, "Python AI service is not available", HttpStatus.SERVICE_UNAVAILABLE),
     CV_ANALYSIS_FAILED(1032, "CV analysis failed", HttpStatus.INTERNAL_SERVER_ERROR),
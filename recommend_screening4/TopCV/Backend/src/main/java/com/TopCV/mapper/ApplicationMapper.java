@@ -1,9 +1,17 @@
 package com.TopCV.mapper;
 
+import com.TopCV.dto.response.ApplicantInboxResponse;
 import com.TopCV.dto.response.ApplicationResponse;
 import com.TopCV.entity.Application;
+import com.TopCV.repository.projection.ApplicantInboxRow;
 
 public interface ApplicationMapper {
     ApplicationResponse toResponse(Application application);
     ApplicationResponse toResponseForEmployer(Application application);
+
+    // Cho trang danh sách: bỏ matching points để không parse jsonb từng dòng
+    ApplicationResponse toSummaryResponse(Application application);
+    ApplicationResponse toSummaryResponseForEmployer(Application application);
+
+    ApplicantInboxResponse.Item toInboxItem(ApplicantInboxRow row);
 }
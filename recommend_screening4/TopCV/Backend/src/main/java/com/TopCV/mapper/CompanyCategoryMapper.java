@@ -3,6 +3,7 @@ package com.TopCV.mapper;
 import com.TopCV.dto.response.CompanyCategoryResponse;
 import com.TopCV.dto.request.CompanyCategoryRequest;
 import com.TopCV.entity.CompanyCategory;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
 
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
@@ -11,5 +12,6 @@ import org.mapstruct.MappingTarget;
 public interface CompanyCategoryMapper {
     CompanyCategory toEntity(CompanyCategoryRequest request);
     CompanyCategoryResponse toResponse(CompanyCategory companyCategory);
+    CompanyCategoryResponse toResponse(ReferenceDataSnapshot.Entry entry);
     void updateEntity(@MappingTarget CompanyCategory category, CompanyCategoryRequest request);
 }
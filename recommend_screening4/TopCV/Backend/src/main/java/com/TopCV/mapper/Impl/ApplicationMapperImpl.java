@@ -1,13 +1,14 @@
 package com.TopCV.mapper.Impl;
 
+import com.TopCV.dto.response.ApplicantInboxResponse;
 import com.TopCV.dto.response.ApplicationResponse;
 import com.TopCV.entity.Application;
+import com.TopCV.entity.ScreeningPoints;
 import com.TopCV.mapper.ApplicationMapper;
 import com.TopCV.mapper.JobPostMapper;
 import com.TopCV.mapper.UserMapper;
 import com.TopCV.mapper.ResumeMapper;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.TopCV.repository.projection.ApplicantInboxRow;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -22,9 +23,24 @@ public class ApplicationMapperImpl implements ApplicationMapper {
     private final JobPostMapper jobPostMapper;
     private final UserMapper userMapper;
     private final ResumeMapper resumeMapper;
-    private final ObjectMapper objectMapper;
 
     public ApplicationResponse toResponse(Application application){
+        return toResponse(application, true);
+    }
+
+    public ApplicationResponse toSummaryResponse(Application application) {
+        return toResponse(application, false);
+    }
+
+    public ApplicationResponse toResponseForEmployer(Application application){
+        return toResponseForEmployer(application, true);
+    }
+
+    public ApplicationResponse toSummaryResponseForEmployer(Application application) {
+        return toResponseForEmployer(application, false);
+    }
+
+    private ApplicationResponse toResponse(Application application, boolean withPoints) {
         if (application == null) {
             return null;
         }
@@ -35,23 +51,15 @@ public class ApplicationMapperImpl implements ApplicationMapper {
                 .status(application.getStatus())
                 .coverLetter(application.getCoverLetter())
                 .resume(application.getResumes() != null ? resumeMapper.toResponse(application.getResumes()) : null)
-                .screeningResult(buildScreeningInfo(application))
+                .screeningResult(buildScreeningInfo(application, withPoints))
                 .build();
     }
 
-    public ApplicationResponse toResponseForEmployer(Application application){
+    private ApplicationResponse toResponseForEmployer(Application application, boolean withPoints) {
         if (application == null) {
             return null;
         }
-        
-        log.info("Mapping application {} for employer view", application.getId());
-        log.info("Application has resume: {}", application.getResumes() != null);
-        if (application.getResumes() != null) {
-            log.info("Resume ID: {}, Original filename: {}", 
-                application.getResumes().getId(), 
-                application.getResumes().getOriginalFilename());
-        }
-        
+
         return ApplicationResponse.builder()
                 .id(application.getId())
                 .jobPost(jobPostMapper.toJobPostDashboard(application.getJobPost()))
@@ -60,18 +68,35 @@ public class ApplicationMapperImpl implements ApplicationMapper {
                 .status(application.getStatus())
                 .coverLetter(application.getCoverLetter())
                 .resume(application.getResumes() != null ? resumeMapper.toResponse(application.getResumes()) : null)
-                .screeningResult(buildScreeningInfo(application))
+                .screeningResult(buildScreeningInfo(application, withPoints))
+                .build();
+    }
+
+    public ApplicantInboxResponse.Item toInboxItem(ApplicantInboxRow row) {
+        return ApplicantInboxResponse.Item.builder()
+                .applicationId(row.applicationId())
+                .jobPostId(row.jobPostId())
+                .jobTitle(row.jobTitle())
+                .candidateId(row.candidateId())
+                .candidateName(row.candidateName())
+                .candidateEmail(row.candidateEmail())
+                .resumeId(row.resumeId())
+                .status(row.status())
+                .screeningDecision(row.screeningDecision())
+                .screeningScore(row.screeningScore())
+                .createdAt(row.createdAt())
                 .build();
     }
 
-    private ApplicationResponse.CVScreeningInfo buildScreeningInfo(Application application) {
+    // Danh sách không trả matching points, chỉ màn chi tiết mới parse jsonb
+    private ApplicationResponse.CVScreeningInfo buildScreeningInfo(Application application, boolean withPoints) {
         if (application.getScreeningDecision() == null) {
             return null;
         }
 
         try {
-            List<String> matchingPoints = parseJsonStringList(application.getMatchingPoints());
-            List<String> notMatchingPoints = parseJsonStringList(application.getNotMatchingPoints());
+            List<String> matchingPoints = withPoints ? pointsOf(application.getMatchingPoints()) : null;
+            List<String> notMatchingPoints = withPoints ? pointsOf(application.getNotMatchingPoints()) : null;
 
             return ApplicationResponse.CVScreeningInfo.builder()
                     .candidateDecision(application.getScreeningDecision())
@@ -90,17 +115,8 @@ public class ApplicationMapperImpl implements ApplicationMapper {
         }
     }
 
-    private List<String> parseJsonStringList(String jsonString) {
-        if (jsonString == null || jsonString.trim().isEmpty()) {
-            return new ArrayList<>();
-        }
-        
-        try {
-            return objectMapper.readValue(jsonString, new TypeReference<List<String>>() {});
-        } catch (Exception e) {
-            log.error("Error parsing JSON string: {}", e.getMessage());
-            return new ArrayList<>();
-        }
+    private List<String> pointsOf(ScreeningPoints points) {
+        return points != null ? points.values() : new ArrayList<>();
     }
 
     private String determineScoreLevel(Double score) {
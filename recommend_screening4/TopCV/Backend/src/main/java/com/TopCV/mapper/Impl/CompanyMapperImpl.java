@@ -2,6 +2,7 @@ package com.TopCV.mapper.Impl;
 
 import com.TopCV.dto.response.CompanyCategoryResponse;
 import com.TopCV.dto.response.CompanyDashboardResponse;
+import com.TopCV.dto.response.CompanyReviewStatsResponse;
 import com.TopCV.mapper.CompanyCategoryMapper;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
@@ -11,6 +12,7 @@ import com.TopCV.dto.request.CompanyCreationRequest;
 import com.TopCV.dto.response.CompanyResponse;
 import com.TopCV.entity.Company;
 import com.TopCV.entity.CompanyCategory;
+import com.TopCV.enums.ImageVariant;
 import com.TopCV.mapper.CompanyMapper;
 
 import java.util.List;
@@ -31,6 +33,8 @@ public class CompanyMapperImpl implements CompanyMapper {
             companyResponse.name(company.getName());
             companyResponse.description(company.getDescription());
             companyResponse.logo(company.getLogo());
+            companyResponse.logoThumbnail(ImageVariant.THUMBNAIL.resolve(company.getLogo(), company.getLogoVariantsSource()));
+            companyResponse.logoCard(ImageVariant.CARD.resolve(company.getLogo(), company.getLogoVariantsSource()));
             companyResponse.website(company.getWebsite());
             companyResponse.employeeRange(company.getEmployeeRange());
             companyResponse.followerCount(company.getFollowerCount());
@@ -46,6 +50,12 @@ public class CompanyMapperImpl implements CompanyMapper {
             }
 
             companyResponse.jobCount(company.getJobPosts() != null ? company.getJobPosts().size() : 0);
+            companyResponse.reviewStats(CompanyReviewStatsResponse.builder()
+                    .averageRating(company.getRatingAverage())
+                    .totalReviews(company.getRatingCount())
+                    .starCounts(List.of(company.getRatingStar1(), company.getRatingStar2(), company.getRatingStar3(),
+                            company.getRatingStar4(), company.getRatingStar5()))
+                    .build());
             return companyResponse.build();
         }
     }
@@ -83,6 +93,8 @@ public class CompanyMapperImpl implements CompanyMapper {
         response.setDescription(company.getDescription());
         response.setName(company.getName());
         response.setLogo(company.getLogo());
+        response.setLogoThumbnail(ImageVariant.THUMBNAIL.resolve(company.getLogo(), company.getLogoVariantsSource()));
+        response.setLogoCard(ImageVariant.CARD.resolve(company.getLogo(), company.getLogoVariantsSource()));
 
         if (company.getCategories() != null && !company.getCategories().isEmpty()) {
         List<CompanyCategoryResponse> categories = company.getCategories().stream()
@@ -94,6 +106,8 @@ public class CompanyMapperImpl implements CompanyMapper {
         }
 
         response.setJobCount(company.getJobPosts() != null ? company.getJobPosts().size() : 0);
+        response.setAverageRating(company.getRatingAverage());
+        response.setTotalReviews(company.getRatingCount());
         return response;
     }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.TopCV.dto.request.JobPost.JobPostUpdateRequest;
 import com.TopCV.dto.response.JobPost.JobPostDashboardResponse;
 import com.TopCV.dto.response.JobPost.JobPostResponse;
 import com.TopCV.entity.JobPost;
+import com.TopCV.enums.ImageVariant;
 import com.TopCV.mapper.*;
 import com.TopCV.repository.ApplicationRepository;
 import com.TopCV.repository.CompanyRepository;
@@ -73,37 +74,14 @@ public class JobPostMapperImpl implements JobPostMapper {
                 .skills(jobPost.getSkills().stream()
                         .map(skillMapper::toResponse)
                         .collect(Collectors.toList()))
-                .isFavorite(false) // Will be set in context-aware methods
-                .canApply(true)    // Will be set in context-aware methods
+                .inferredSkills(jobPost.getInferredSkills().stream()
+                        .map(skillMapper::toResponse)
+                        .collect(Collectors.toList()))
+                .isFavorite(false) // JobPostUserContextService gắn theo user hiện tại
+                .canApply(true)
                 .build();
     }
 
-//    @Override
-//    public JobPostResponse toResponseWithUserContext(JobPost jobPost, String userEmail) {
-//        JobPostResponse response = toResponse(jobPost);
-//
-//        if (userEmail != null) {
-//            try {
-//                User user = userRepository.findByEmail(userEmail).orElse(null);
-//                if (user != null) {
-//                    // Check if job is in user's favorites
-//                    boolean isFavorite = user.getFavoriteJobs().stream()
-//                            .anyMatch(job -> job.getId().equals(jobPost.getId()));
-//                    response.setIsFavorite(isFavorite);
-//
-//                    // Check if user can apply (not already applied)
-//                    boolean hasApplied = applicationRepository.existsByUserIdAndJobPostId(
-//                            user.getId(), jobPost.getId());
-//                    response.setCanApply(!hasApplied && jobPost.getStatus().name().equals("ACTIVE"));
-//                }
-//            } catch (Exception e) {
-//                log.warn("Error setting user context for job post {}: {}", jobPost.getId(), e.getMessage());
-//            }
-//        }
-//
-//        return response;
-//    }
-
 //    @Override
 //    public JobPostDetailResponse toDetailResponse(JobPost jobPost) {
 //        if (jobPost == null) {
@@ -234,6 +212,8 @@ public class JobPostMapperImpl implements JobPostMapper {
                 .level(jobLevelMapper.toResponse(jobPost.getLevel()))
                 .type(jobTypeMapper.toResponse(jobPost.getType()))
                 .logo(jobPost.getCompany().getLogo())
+                .logoCard(ImageVariant.CARD.resolve(
+                        jobPost.getCompany().getLogo(), jobPost.getCompany().getLogoVariantsSource()))
                 .appliedCount(jobPost.getAppliedCount())
                 .salary(jobPost.getSalary())
                 .deadline(jobPost.getDeadline())
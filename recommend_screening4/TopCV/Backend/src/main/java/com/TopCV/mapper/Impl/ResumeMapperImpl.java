@@ -2,10 +2,13 @@ package com.TopCV.mapper.Impl;
 
 import com.TopCV.dto.response.ResumeResponse;
 import com.TopCV.entity.Resume;
+import com.TopCV.entity.Skill;
 import com.TopCV.mapper.ResumeMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+
 @Component
 @Slf4j
 public class ResumeMapperImpl implements ResumeMapper {
@@ -23,10 +26,15 @@ public class ResumeMapperImpl implements ResumeMapper {
         response.setResumeId(resume.getId());
         response.setUserId(resume.getUser() != null ? resume.getUser().getId() : null);
         response.setFilePath(resume.getFilePath());
+        response.setContentHash(resume.getContentHash());
         response.setOriginalFileName(resume.getOriginalFilename());
         response.setCreatedAt(resume.getCreatedAt());
         response.setUpdatedAt(resume.getUpdatedAt());
         response.setDownloadUrl("/api/v1/resumes/download/" + resume.getId());
+        response.setExtractionStatus(resume.getExtractionStatus());
+        response.setSkills(resume.getSkills() != null
+                ? resume.getSkills().stream().map(Skill::getName).toList()
+                : List.of());
         
         log.info("Mapped resume: ID={}, filename={}, downloadUrl={}", 
             response.getResumeId(), response.getOriginalFileName(), response.getDownloadUrl());
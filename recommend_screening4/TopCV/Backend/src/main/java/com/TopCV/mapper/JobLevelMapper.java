@@ -3,6 +3,7 @@ package com.TopCV.mapper;
 import com.TopCV.dto.request.JobLevelRequest;
 import com.TopCV.dto.response.JobLevelResponse;
 import com.TopCV.entity.JobLevel;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 
@@ -10,5 +11,6 @@ import org.mapstruct.MappingTarget;
 public interface JobLevelMapper {
     JobLevel toEntity(JobLevelRequest request);
     JobLevelResponse toResponse(JobLevel jobLevel);
+    JobLevelResponse toResponse(ReferenceDataSnapshot.Entry entry);
     void updateEntity(@MappingTarget JobLevel jobLevel, JobLevelRequest request);
 }
\ No newline at end of file
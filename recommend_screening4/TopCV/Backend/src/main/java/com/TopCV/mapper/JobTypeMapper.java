@@ -3,6 +3,7 @@ package com.TopCV.mapper;
 import com.TopCV.dto.request.JobTypeRequest;
 import com.TopCV.dto.response.JobTypeResponse;
 import com.TopCV.entity.JobType;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 
@@ -10,5 +11,6 @@ import org.mapstruct.MappingTarget;
 public interface JobTypeMapper {
     JobType toEntity(JobTypeRequest request);
     JobTypeResponse toResponse(JobType jobType);
+    JobTypeResponse toResponse(ReferenceDataSnapshot.Entry entry);
     void updateEntity(@MappingTarget JobType jobType, JobTypeRequest request);
 }
\ No newline at end of file
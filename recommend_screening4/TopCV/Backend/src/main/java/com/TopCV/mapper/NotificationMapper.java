@@ -0,0 +1,10 @@
+package com.TopCV.mapper;
+
+import com.TopCV.dto.response.NotificationResponse;
+import com.TopCV.entity.Notification;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface NotificationMapper {
+    NotificationResponse toResponse(Notification notification);
+}
@@ -4,6 +4,7 @@ package com.TopCV.mapper;
 import com.TopCV.dto.request.SkillRequest;
 import com.TopCV.dto.response.SkillResponse;
 import com.TopCV.entity.Skill;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingTarget;
 
@@ -11,5 +12,6 @@ import org.mapstruct.MappingTarget;
 public interface SkillMapper {
     Skill toEntity(SkillRequest request);
     SkillResponse toResponse(Skill skill);
+    SkillResponse toResponse(ReferenceDataSnapshot.Entry entry);
     void updateEntity(@MappingTarget Skill skill, SkillRequest request);
 }
\ No newline at end of file
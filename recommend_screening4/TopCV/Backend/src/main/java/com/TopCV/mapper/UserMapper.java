@@ -5,19 +5,22 @@ import com.TopCV.dto.request.UserUpdateRequest;
 import com.TopCV.dto.response.UserDashboardResponse;
 import com.TopCV.dto.response.UserResponse;
 import com.TopCV.entity.User;
+import com.TopCV.enums.ImageVariant;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
-@Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+@Mapper(componentModel = "spring", imports = ImageVariant.class, nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface UserMapper {
     User toEntity(UserCreationRequest request);
 
     @Mapping(target = "isEmailVerified", source = "emailVerified")
+    @Mapping(target = "avtThumbnail", expression = "java(ImageVariant.THUMBNAIL.resolve(user.getAvt(), user.getAvtVariantsSource()))")
     UserResponse toResponse(User user);
 
     void updateUser(@MappingTarget User user, UserUpdateRequest request);
 
+    @Mapping(target = "avtThumbnail", expression = "java(ImageVariant.THUMBNAIL.resolve(user.getAvt(), user.getAvtVariantsSource()))")
     UserDashboardResponse toDashBoardUser(User user);
 }
@@ -0,0 +1,24 @@
+package com.TopCV.repository;
+
+import com.TopCV.enums.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bộ lọc và vị trí keyset cho inbox ứng viên.
+ * Sắp theo điểm thì cursor giữ (score, id), score = null nghĩa là đang ở phần chưa chấm điểm.
+ * Sắp theo ngày nộp thì cursor giữ (createdAt, id).
+ */
+public record ApplicantInboxQuery(
+        ApplicationStatus status,
+        String decision,
+        Double minScore,
+        Double maxScore,
+        String matchingPoint,
+        boolean sortByScore,
+        Cursor after,
+        int limit) {
+
+    public record Cursor(Double score, LocalDateTime createdAt, int id) {
+    }
+}
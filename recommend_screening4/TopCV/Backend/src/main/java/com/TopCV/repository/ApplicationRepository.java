@@ -1,19 +1,36 @@
 package com.TopCV.repository;
 
 import com.TopCV.entity.Application;
+import com.TopCV.enums.ApplicationStatus;
+import com.TopCV.repository.projection.ApplicationNotificationView;
+import com.TopCV.repository.projection.ApplicationOwnershipView;
+import com.TopCV.repository.projection.ApplicationShortlistView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ApplicationRepository extends JpaRepository<Application, Integer> {
+public interface ApplicationRepository extends JpaRepository<Application, Integer>, ApplicationRepositoryCustom {
+    // Nơi duy nhất dựng search_document của applications, entity không ghi cột này
+    String SEARCH_DOCUMENT_SQL = "lower(concat_ws(' ', u.full_name, u.email, jp.title, c.name))";
+
     boolean existsByUserIdAndJobPostId(String userId, Integer jobPostId);
 
+    // Các job trong một trang mà user đã ứng tuyển, đi theo idx_applications_user_job
+    @Query("SELECT a.jobPost.id FROM Application a WHERE a.user.id = :userId AND a.jobPost.id IN :jobPostIds")
+    List<Integer> findAppliedJobIds(@Param("userId") String userId,
+                                    @Param("jobPostIds") Collection<Integer> jobPostIds);
+
+    boolean existsByJobPostId(Integer jobPostId);
+
     Page<Application> findByUserId(String userId, Pageable pageable);
 
     Page<Application> findByJobPostId(Integer jobPostId, Pageable pageable);
@@ -21,13 +38,40 @@ public interface ApplicationRepository extends JpaRepository<Application, Intege
     @Query("Select a from Application a WHERE a.employer.id= :employerId")
     Page<Application> findAllByEmployer(@Param("employerId") String employerId, Pageable pageable);
 
-    @Query("SELECT a FROM Application a WHERE " +
-            "LOWER(a.user.fullname) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(a.user.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(a.jobPost.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(a.jobPost.company.name) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    // search_document có GIN trigram index nên LIKE '%kw%' không phải quét + join cả 4 bảng
+    @Query("SELECT a FROM Application a WHERE a.searchDocument LIKE CONCAT('%', LOWER(:keyword), '%')")
     Page<Application> searchApplications(@Param("keyword") String keyword, Pageable pageable);
 
+    // Gọi ngay sau khi lưu đơn mới; flush trước để dòng vừa insert đã có trong DB
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE applications a SET search_document = " + SEARCH_DOCUMENT_SQL + " " +
+            "FROM users u, job_posts jp, companies c " +
+            "WHERE a.id = :applicationId AND u.id = a.user_id AND jp.id = a.job_id AND c.id = jp.company_id",
+            nativeQuery = true)
+    int refreshSearchDocument(@Param("applicationId") Integer applicationId);
+
+    // Dựng lại search_document khi tên/email ứng viên, tên job hoặc tên công ty thay đổi
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE applications a SET search_document = " + SEARCH_DOCUMENT_SQL + " " +
+            "FROM users u, job_posts jp, companies c " +
+            "WHERE a.user_id = :userId AND u.id = a.user_id AND jp.id = a.job_id AND c.id = jp.company_id",
+            nativeQuery = true)
+    int refreshSearchDocumentsForUser(@Param("userId") String userId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE applications a SET search_document = " + SEARCH_DOCUMENT_SQL + " " +
+            "FROM users u, job_posts jp, companies c " +
+            "WHERE a.job_id = :jobPostId AND u.id = a.user_id AND jp.id = a.job_id AND c.id = jp.company_id",
+            nativeQuery = true)
+    int refreshSearchDocumentsForJobPost(@Param("jobPostId") Integer jobPostId);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE applications a SET search_document = " + SEARCH_DOCUMENT_SQL + " " +
+            "FROM users u, job_posts jp, companies c " +
+            "WHERE jp.company_id = :companyId AND u.id = a.user_id AND jp.id = a.job_id AND c.id = jp.company_id",
+            nativeQuery = true)
+    int refreshSearchDocumentsForCompany(@Param("companyId") Integer companyId);
+
     // Fetch application with resume using JOIN FETCH to avoid lazy loading
     @Query("SELECT a FROM Application a " +
            "LEFT JOIN FETCH a.resumes " +
@@ -35,4 +79,31 @@ public interface ApplicationRepository extends JpaRepository<Application, Intege
            "LEFT JOIN FETCH jp.company " +
            "WHERE a.id = :applicationId")
     Optional<Application> findByIdWithResume(@Param("applicationId") Integer applicationId);
+
+    // Chỉ lấy các cột cần để dựng thông báo, không load cả entity graph
+    @Query("SELECT a.id AS applicationId, a.user.id AS userId, jp.title AS jobTitle, c.name AS companyName " +
+           "FROM Application a JOIN a.jobPost jp JOIN jp.company c " +
+           "WHERE a.id IN :applicationIds")
+    List<ApplicationNotificationView> findNotificationViews(@Param("applicationIds") Collection<Integer> applicationIds);
+
+    // Kiểm tra quyền cho cập nhật hàng loạt bằng một query, không load entity graph của từng đơn
+    @Query("SELECT a.id AS applicationId, jp.id AS jobPostId, c.user.id AS ownerId, a.status AS status, " +
+           "a.createdAt AS createdAt FROM Application a JOIN a.jobPost jp JOIN jp.company c " +
+           "WHERE a.id IN :applicationIds")
+    List<ApplicationOwnershipView> findOwnershipViews(@Param("applicationIds") Collection<Integer> applicationIds);
+
+    // Dữ liệu để đẩy đơn vào sorted set shortlist trên Redis
+    @Query("SELECT a.id AS applicationId, a.jobPost.id AS jobPostId, a.screeningScore AS screeningScore, " +
+           "a.createdAt AS createdAt, a.status AS status FROM Application a WHERE a.id IN :applicationIds")
+    List<ApplicationShortlistView> findShortlistViews(@Param("applicationIds") Collection<Integer> applicationIds);
+
+    @Query("SELECT a.id AS applicationId, a.jobPost.id AS jobPostId, a.screeningScore AS screeningScore, " +
+           "a.createdAt AS createdAt, a.status AS status FROM Application a " +
+           "WHERE a.jobPost.id = :jobPostId AND a.screeningScore IS NOT NULL")
+    List<ApplicationShortlistView> findScoredShortlistViews(@Param("jobPostId") Integer jobPostId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Application a SET a.status = :status WHERE a.id IN :applicationIds AND a.status <> :status")
+    int updateStatus(@Param("applicationIds") Collection<Integer> applicationIds,
+                     @Param("status") ApplicationStatus status);
 }
@@ -0,0 +1,14 @@
+package com.TopCV.repository;
+
+import com.TopCV.repository.projection.ApplicantInboxRow;
+
+import java.util.List;
+
+public interface ApplicationRepositoryCustom {
+    List<ApplicantInboxRow> findJobInbox(int jobPostId, ApplicantInboxQuery query);
+
+    List<ApplicantInboxRow> findEmployerInbox(String employerId, ApplicantInboxQuery query);
+
+    // Giữ đúng thứ tự của applicationIds
+    List<ApplicantInboxRow> findInboxRowsByIds(List<Integer> applicationIds);
+}
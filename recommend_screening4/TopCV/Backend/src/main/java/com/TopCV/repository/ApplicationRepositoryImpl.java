@@ -0,0 +1,152 @@
+package com.TopCV.repository;
+
+import com.TopCV.enums.ApplicationStatus;
+import com.TopCV.repository.projection.ApplicantInboxRow;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Inbox ứng viên cho employer: keyset pagination, chỉ đọc các cột hiển thị trên danh sách.
+ * Theo job dùng index (job_id, status, screening_score, id), theo employer dùng (employer_id, created_at, id).
+ */
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class ApplicationRepositoryImpl implements ApplicationRepositoryCustom {
+    NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    private static final String SELECT_INBOX =
+            "SELECT a.id, a.job_id, jp.title, a.user_id, u.full_name, u.email, a.resume_id, " +
+            "a.status, a.screening_decision, a.screening_score, a.created_at " +
+            "FROM applications a " +
+            "JOIN job_posts jp ON jp.id = a.job_id " +
+            "JOIN users u ON u.id = a.user_id ";
+
+    private static final RowMapper<ApplicantInboxRow> ROW_MAPPER = (rs, rowNum) -> {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new ApplicantInboxRow(
+                rs.getInt("id"),
+                rs.getInt("job_id"),
+                rs.getString("title"),
+                rs.getString("user_id"),
+                rs.getString("full_name"),
+                rs.getString("email"),
+                rs.getObject("resume_id", Integer.class),
+                ApplicationStatus.valueOf(rs.getString("status")),
+                rs.getString("screening_decision"),
+                rs.getObject("screening_score", Double.class),
+                createdAt != null ? createdAt.toLocalDateTime() : null);
+    };
+
+    @Override
+    public List<ApplicantInboxRow> findJobInbox(int jobPostId, ApplicantInboxQuery query) {
+        return findInbox("a.job_id = :ownerKey", jobPostId, query);
+    }
+
+    @Override
+    public List<ApplicantInboxRow> findEmployerInbox(String employerId, ApplicantInboxQuery query) {
+        return findInbox("a.employer_id = :ownerKey", employerId, query);
+    }
+
+    @Override
+    public List<ApplicantInboxRow> findInboxRowsByIds(List<Integer> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, ApplicantInboxRow> byId = new HashMap<>();
+        namedParameterJdbcTemplate.query(SELECT_INBOX + "WHERE a.id IN (:ids)",
+                new MapSqlParameterSource("ids", applicationIds),
+                rs -> {
+                    ApplicantInboxRow row = ROW_MAPPER.mapRow(rs, 0);
+                    byId.put(row.applicationId(), row);
+                });
+        return applicationIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private List<ApplicantInboxRow> findInbox(String ownerPredicate, Object ownerKey, ApplicantInboxQuery query) {
+        MapSqlParameterSource params = new MapSqlParameterSource("ownerKey", ownerKey);
+        StringBuilder where = new StringBuilder("WHERE ").append(ownerPredicate);
+        appendFilters(where, params, query);
+
+        ApplicantInboxQuery.Cursor after = query.after();
+        if (!query.sortByScore()) {
+            if (after != null) {
+                where.append(" AND (a.created_at, a.id) < (:afterCreatedAt, :afterId)");
+                params.addValue("afterCreatedAt", Timestamp.valueOf(after.createdAt()));
+                params.addValue("afterId", after.id());
+            }
+            params.addValue("limit", query.limit());
+            return namedParameterJdbcTemplate.query(SELECT_INBOX + where +
+                    " ORDER BY a.created_at DESC, a.id DESC LIMIT :limit", params, ROW_MAPPER);
+        }
+
+        // Sắp theo điểm chia hai phần để cả hai đều đi theo index: đơn đã chấm (score, id) giảm dần,
+        // hết thì tới đơn chưa chấm theo id giảm dần. Tránh NULLS LAST vì index mặc định để NULL cuối khi quét ngược.
+        List<ApplicantInboxRow> rows = new ArrayList<>(query.limit());
+        boolean inUnscored = after != null && after.score() == null;
+
+        if (!inUnscored) {
+            MapSqlParameterSource scoredParams = new MapSqlParameterSource(params.getValues());
+            StringBuilder scored = new StringBuilder(where).append(" AND a.screening_score IS NOT NULL");
+            if (after != null) {
+                scored.append(" AND (a.screening_score, a.id) < (:afterScore, :afterId)");
+                scoredParams.addValue("afterScore", after.score());
+                scoredParams.addValue("afterId", after.id());
+            }
+            scoredParams.addValue("limit", query.limit());
+            rows.addAll(namedParameterJdbcTemplate.query(SELECT_INBOX + scored +
+                    " ORDER BY a.screening_score DESC, a.id DESC LIMIT :limit", scoredParams, ROW_MAPPER));
+        }
+
+        // Lọc theo khoảng điểm thì đơn chưa chấm không bao giờ khớp
+        boolean scoreFiltered = query.minScore() != null || query.maxScore() != null;
+        if (rows.size() < query.limit() && !scoreFiltered) {
+            StringBuilder unscored = new StringBuilder(where).append(" AND a.screening_score IS NULL");
+            if (inUnscored) {
+                unscored.append(" AND a.id < :afterId");
+                params.addValue("afterId", after.id());
+            }
+            params.addValue("limit", query.limit() - rows.size());
+            rows.addAll(namedParameterJdbcTemplate.query(SELECT_INBOX + unscored +
+                    " ORDER BY a.id DESC LIMIT :limit", params, ROW_MAPPER));
+        }
+        return rows;
+    }
+
+    private void appendFilters(StringBuilder where, MapSqlParameterSource params, ApplicantInboxQuery query) {
+        if (query.status() != null) {
+            where.append(" AND a.status = :status");
+            params.addValue("status", query.status().name());
+        }
+        if (query.decision() != null) {
+            where.append(" AND a.screening_decision = :decision");
+            params.addValue("decision", query.decision());
+        }
+        if (query.minScore() != null) {
+            where.append(" AND a.screening_score >= :minScore");
+            params.addValue("minScore", query.minScore());
+        }
+        if (query.maxScore() != null) {
+            where.append(" AND a.screening_score <= :maxScore");
+            params.addValue("maxScore", query.maxScore());
+        }
+        // Containment trên jsonb, đi theo GIN index idx_applications_matching_points
+        if (query.matchingPoint() != null) {
+            where.append(" AND a.matching_points @> jsonb_build_array(CAST(:matchingPoint AS text))");
+            params.addValue("matchingPoint", query.matchingPoint());
+        }
+    }
+}
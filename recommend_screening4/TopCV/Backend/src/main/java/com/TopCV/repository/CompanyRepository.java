@@ -1,10 +1,12 @@
 package com.TopCV.repository;
 
 import com.TopCV.entity.Company;
+import com.TopCV.repository.projection.CompanyRatingView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,4 +22,77 @@ public interface CompanyRepository extends JpaRepository<Company, Integer>, JpaS
     Page<Company> findAllByActiveTrue(Pageable pageable);
 
     Optional<Company> findByUserId(String userId);
+
+    // Chỉ đánh dấu nếu logo chưa bị đổi trong lúc đang resize
+    @Modifying
+    @Query("UPDATE Company c SET c.logoVariantsSource = :logo WHERE c.id = :companyId AND c.logo = :logo")
+    int markLogoVariantsReady(@Param("companyId") Integer companyId, @Param("logo") String logo);
+
+    // ON CONFLICT theo uk_follow_company_user_company: trả về 0 nếu đã follow
+    @Modifying
+    @Query(value = "INSERT INTO follow_company (user_id, company_id) VALUES (:userId, :companyId) " +
+            "ON CONFLICT (user_id, company_id) DO NOTHING",
+            nativeQuery = true)
+    int insertFollower(@Param("userId") String userId, @Param("companyId") Integer companyId);
+
+    @Modifying
+    @Query(value = "DELETE FROM follow_company WHERE user_id = :userId AND company_id = :companyId",
+            nativeQuery = true)
+    int deleteFollower(@Param("userId") String userId, @Param("companyId") Integer companyId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM follow_company WHERE user_id = :userId AND company_id = :companyId)",
+            nativeQuery = true)
+    boolean isFollowing(@Param("userId") String userId, @Param("companyId") Integer companyId);
+
+    @Modifying
+    @Query(value = "UPDATE companies SET follower_count = GREATEST(0, follower_count + :delta) WHERE id = :companyId",
+            nativeQuery = true)
+    void addFollowerCount(@Param("companyId") Integer companyId, @Param("delta") int delta);
+
+    @Query("SELECT c.id AS companyId, c.ratingCount AS ratingCount, c.ratingAverage AS ratingAverage, " +
+           "c.ratingStar1 AS ratingStar1, c.ratingStar2 AS ratingStar2, c.ratingStar3 AS ratingStar3, " +
+           "c.ratingStar4 AS ratingStar4, c.ratingStar5 AS ratingStar5 FROM Company c WHERE c.id = :companyId")
+    Optional<CompanyRatingView> findRatingView(@Param("companyId") Integer companyId);
+
+    /**
+     * Cộng một review addedStar sao và bỏ một review removedStar sao (0 = không có) trong một câu UPDATE.
+     * Vế phải của SET đọc giá trị cũ của dòng nên average tính từ tổng mới ngay trong câu lệnh.
+     */
+    @Modifying
+    @Query(value = "UPDATE companies SET " +
+            "rating_sum = rating_sum + :addedStar - :removedStar, " +
+            "rating_count = rating_count + (CASE WHEN :addedStar > 0 THEN 1 ELSE 0 END) - (CASE WHEN :removedStar > 0 THEN 1 ELSE 0 END), " +
+            "rating_average = CASE WHEN rating_count + (CASE WHEN :addedStar > 0 THEN 1 ELSE 0 END) - (CASE WHEN :removedStar > 0 THEN 1 ELSE 0 END) > 0 " +
+            "THEN CAST(rating_sum + :addedStar - :removedStar AS double precision) " +
+            "/ (rating_count + (CASE WHEN :addedStar > 0 THEN 1 ELSE 0 END) - (CASE WHEN :removedStar > 0 THEN 1 ELSE 0 END)) ELSE 0 END, " +
+            "rating_star_1 = rating_star_1 + (CASE WHEN :addedStar = 1 THEN 1 ELSE 0 END) - (CASE WHEN :removedStar = 1 THEN 1 ELSE 0 END), " +
+            "rating_star_2 = rating_star_2 + (CASE WHEN :addedStar = 2 THEN 1 ELSE 0 END) - (CASE WHEN :removedStar = 2 THEN 1 ELSE 0 END), " +
+            "rating_star_3 = rating_star_3 + (CASE WHEN :addedStar = 3 THEN 1 ELSE 0 END) - (CASE WHEN :removedStar = 3 THEN 1 ELSE 0 END), " +
+            "rating_star_4 = rating_star_4 + (CASE WHEN :addedStar = 4 THEN 1 ELSE 0 END) - (CASE WHEN :removedStar = 4 THEN 1 ELSE 0 END), " +
+            "rating_star_5 = rating_star_5 + (CASE WHEN :addedStar = 5 THEN 1 ELSE 0 END) - (CASE WHEN :removedStar = 5 THEN 1 ELSE 0 END) " +
+            "WHERE id = :companyId",
+            nativeQuery = true)
+    int applyRatingChange(@Param("companyId") Integer companyId,
+                          @Param("addedStar") int addedStar,
+                          @Param("removedStar") int removedStar);
+
+    // Tính lại từ company_reviews, chỉ ghi các công ty bị lệch
+    @Modifying
+    @Query(value = "WITH totals AS (SELECT c.id AS company_id, " +
+            "COALESCE(SUM(r.rate_star), 0) AS rating_sum, COUNT(r.rate_star) AS rating_count, " +
+            "COUNT(*) FILTER (WHERE r.rate_star = 1) AS star_1, COUNT(*) FILTER (WHERE r.rate_star = 2) AS star_2, " +
+            "COUNT(*) FILTER (WHERE r.rate_star = 3) AS star_3, COUNT(*) FILTER (WHERE r.rate_star = 4) AS star_4, " +
+            "COUNT(*) FILTER (WHERE r.rate_star = 5) AS star_5 " +
+            "FROM companies c LEFT JOIN company_reviews r ON r.company_id = c.id GROUP BY c.id) " +
+            "UPDATE companies c SET rating_sum = t.rating_sum, rating_count = t.rating_count, " +
+            "rating_average = CASE WHEN t.rating_count > 0 " +
+            "THEN CAST(t.rating_sum AS double precision) / t.rating_count ELSE 0 END, " +
+            "rating_star_1 = t.star_1, rating_star_2 = t.star_2, rating_star_3 = t.star_3, " +
+            "rating_star_4 = t.star_4, rating_star_5 = t.star_5 " +
+            "FROM totals t WHERE c.id = t.company_id " +
+            "AND (c.rating_sum <> t.rating_sum OR c.rating_count <> t.rating_count " +
+            "OR c.rating_star_1 <> t.star_1 OR c.rating_star_2 <> t.star_2 OR c.rating_star_3 <> t.star_3 " +
+            "OR c.rating_star_4 <> t.star_4 OR c.rating_star_5 <> t.star_5)",
+            nativeQuery = true)
+    int recalculateRatings();
 }
\ No newline at end of file
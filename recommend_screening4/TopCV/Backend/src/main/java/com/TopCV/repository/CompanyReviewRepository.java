@@ -6,7 +6,6 @@ import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.TopCV.entity.CompanyReview;
@@ -19,10 +18,4 @@ public interface CompanyReviewRepository extends JpaRepository<CompanyReview, Co
     boolean existsById(CompanyReviewKey id);
     
     Optional<CompanyReview> findById(CompanyReviewKey id);
-
-    @Query("SELECT AVG(r.rateStar) FROM CompanyReview r WHERE r.company.id = :companyId")
-    Double getAverageRatingByCompanyId(Integer companyId);
-
-    @Query("SELECT COUNT(r.id) FROM CompanyReview r WHERE r.company.id = :companyId")
-    Integer countByCompanyId(Integer companyId);
 }
@@ -0,0 +1,12 @@
+package com.TopCV.repository;
+
+import com.TopCV.entity.EmployerFunnelStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EmployerFunnelStatRepository extends JpaRepository<EmployerFunnelStat, EmployerFunnelStat.Key> {
+    List<EmployerFunnelStat> findByEmployerId(String employerId);
+}
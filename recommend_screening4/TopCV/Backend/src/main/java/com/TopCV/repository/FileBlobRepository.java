@@ -0,0 +1,45 @@
+package com.TopCV.repository;
+
+import com.TopCV.entity.FileBlob;
+import com.TopCV.enums.BlobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FileBlobRepository extends JpaRepository<FileBlob, String> {
+
+    // Upsert giữ row lock tới hết transaction, GC không thể xóa file đang được tham chiếu
+    @Modifying
+    @Query(value = "INSERT INTO file_blobs (hash, storage_path, size, content_type, ref_count, status, created_at) " +
+            "VALUES (:hash, :storagePath, :size, :contentType, 1, 'PENDING', :now) " +
+            "ON CONFLICT (hash) DO UPDATE SET ref_count = file_blobs.ref_count + 1, orphaned_at = NULL",
+            nativeQuery = true)
+    void acquire(@Param("hash") String hash,
+                 @Param("storagePath") String storagePath,
+                 @Param("size") long size,
+                 @Param("contentType") String contentType,
+                 @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "UPDATE file_blobs SET ref_count = ref_count - 1, " +
+            "orphaned_at = CASE WHEN ref_count = 1 THEN :now ELSE orphaned_at END " +
+            "WHERE hash = :hash AND ref_count > 0", nativeQuery = true)
+    int release(@Param("hash") String hash, @Param("now") LocalDateTime now);
+
+    // Gồm cả blob còn PENDING: sau khoảng grace thì upload của nó (thường do node chết giữa chừng) không còn chạy nữa
+    @Query(value = "SELECT * FROM file_blobs WHERE ref_count = 0 AND orphaned_at < :cutoff " +
+            "ORDER BY orphaned_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<FileBlob> lockOrphans(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE FileBlob b SET b.status = :status WHERE b.hash = :hash")
+    void updateStatus(@Param("hash") String hash, @Param("status") BlobStatus status);
+
+    List<FileBlob> findByStatusAndCreatedAtBefore(BlobStatus status, LocalDateTime cutoff);
+}
@@ -0,0 +1,85 @@
+package com.TopCV.repository;
+
+import com.TopCV.entity.FunnelEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface FunnelEventRepository extends JpaRepository<FunnelEvent, Long> {
+
+    /**
+     * Xóa mọi event và cộng vào job_funnel_stats, employer_funnel_stats, job_funnel_daily trong một câu lệnh.
+     * Mỗi event cộng một lượt vào to_status và trừ khỏi from_status; GROUP BY trước khi upsert
+     * để một dòng đích không bị ON CONFLICT cập nhật hai lần.
+     */
+    @Modifying
+    @Query(value = "WITH drained AS (DELETE FROM funnel_events " +
+            "RETURNING job_post_id, employer_id, from_status, to_status, removed, occurred_at, seconds_since_applied), " +
+            "deltas AS (" +
+            "SELECT job_post_id, employer_id, to_status AS status, CASE WHEN removed THEN 0 ELSE 1 END AS current_delta, " +
+            "1 AS entered_delta, seconds_since_applied AS seconds FROM drained " +
+            "UNION ALL " +
+            "SELECT job_post_id, employer_id, from_status, -1, 0, 0 FROM drained WHERE from_status IS NOT NULL), " +
+            "job_upsert AS (INSERT INTO job_funnel_stats " +
+            "(job_post_id, status, employer_id, current_count, entered_count, time_to_status_seconds) " +
+            "SELECT job_post_id, status, MAX(employer_id), GREATEST(0, SUM(current_delta)), SUM(entered_delta), SUM(seconds) " +
+            "FROM deltas GROUP BY job_post_id, status " +
+            "ON CONFLICT (job_post_id, status) DO UPDATE SET " +
+            "employer_id = COALESCE(EXCLUDED.employer_id, job_funnel_stats.employer_id), " +
+            "current_count = GREATEST(0, job_funnel_stats.current_count + EXCLUDED.current_count), " +
+            "entered_count = job_funnel_stats.entered_count + EXCLUDED.entered_count, " +
+            "time_to_status_seconds = job_funnel_stats.time_to_status_seconds + EXCLUDED.time_to_status_seconds), " +
+            "employer_upsert AS (INSERT INTO employer_funnel_stats " +
+            "(employer_id, status, current_count, entered_count, time_to_status_seconds) " +
+            "SELECT employer_id, status, GREATEST(0, SUM(current_delta)), SUM(entered_delta), SUM(seconds) " +
+            "FROM deltas WHERE employer_id IS NOT NULL GROUP BY employer_id, status " +
+            "ON CONFLICT (employer_id, status) DO UPDATE SET " +
+            "current_count = GREATEST(0, employer_funnel_stats.current_count + EXCLUDED.current_count), " +
+            "entered_count = employer_funnel_stats.entered_count + EXCLUDED.entered_count, " +
+            "time_to_status_seconds = employer_funnel_stats.time_to_status_seconds + EXCLUDED.time_to_status_seconds) " +
+            "INSERT INTO job_funnel_daily (job_post_id, day, status, entered_count) " +
+            "SELECT job_post_id, CAST(occurred_at AS date), to_status, COUNT(*) FROM drained " +
+            "GROUP BY job_post_id, CAST(occurred_at AS date), to_status " +
+            "ON CONFLICT (job_post_id, day, status) DO UPDATE " +
+            "SET entered_count = job_funnel_daily.entered_count + EXCLUDED.entered_count",
+            nativeQuery = true)
+    int drainIntoStats();
+
+    /**
+     * Đặt lại current_count theo số đơn thực tế của từng job. entered_count và thời gian là lịch sử,
+     * không tính lại được nên giữ nguyên; job chưa có thống kê thì lấy số hiện tại làm mốc.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_funnel_stats " +
+            "(job_post_id, status, employer_id, current_count, entered_count, time_to_status_seconds) " +
+            "SELECT a.job_id, a.status, MAX(a.employer_id), COUNT(*), COUNT(*), 0 " +
+            "FROM applications a GROUP BY a.job_id, a.status " +
+            "ON CONFLICT (job_post_id, status) DO UPDATE SET " +
+            "employer_id = COALESCE(EXCLUDED.employer_id, job_funnel_stats.employer_id), " +
+            "current_count = EXCLUDED.current_count " +
+            "WHERE job_funnel_stats.current_count <> EXCLUDED.current_count " +
+            "OR job_funnel_stats.employer_id IS DISTINCT FROM EXCLUDED.employer_id",
+            nativeQuery = true)
+    int reconcileJobCounts();
+
+    @Modifying
+    @Query(value = "UPDATE job_funnel_stats s SET current_count = 0 WHERE s.current_count <> 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM applications a WHERE a.job_id = s.job_post_id AND a.status = s.status)",
+            nativeQuery = true)
+    int clearStaleJobCounts();
+
+    // Chạy sau reconcileJobCounts: tổng của employer lấy từ các job của họ
+    @Modifying
+    @Query(value = "WITH totals AS (SELECT employer_id, status, SUM(current_count) AS current_count " +
+            "FROM job_funnel_stats WHERE employer_id IS NOT NULL GROUP BY employer_id, status), " +
+            "stale AS (UPDATE employer_funnel_stats e SET current_count = 0 WHERE e.current_count <> 0 " +
+            "AND NOT EXISTS (SELECT 1 FROM totals t WHERE t.employer_id = e.employer_id AND t.status = e.status)) " +
+            "INSERT INTO employer_funnel_stats (employer_id, status, current_count, entered_count, time_to_status_seconds) " +
+            "SELECT employer_id, status, current_count, current_count, 0 FROM totals " +
+            "ON CONFLICT (employer_id, status) DO UPDATE SET current_count = EXCLUDED.current_count " +
+            "WHERE employer_funnel_stats.current_count <> EXCLUDED.current_count",
+            nativeQuery = true)
+    int reconcileEmployerCounts();
+}
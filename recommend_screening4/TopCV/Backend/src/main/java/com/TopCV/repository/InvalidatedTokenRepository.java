@@ -3,5 +3,9 @@ package com.TopCV.repository;
 import com.TopCV.entity.InvalidatedToken;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String> {
+import java.util.Date;
+
+public interface InvalidatedTokenRepository extends JpaRepository<InvalidatedToken, String>, InvalidatedTokenRepositoryCustom {
+    // Có expiryTime thì Postgres chỉ quét đúng một partition
+    boolean existsByIdAndExpiryTime(String id, Date expiryTime);
 }
@@ -0,0 +1,10 @@
+package com.TopCV.repository;
+
+import com.TopCV.entity.InvalidatedToken;
+
+import java.util.Collection;
+
+public interface InvalidatedTokenRepositoryCustom {
+    /** Insert all tokens in one JDBC batch, ignoring ones already revoked */
+    void invalidateAll(Collection<InvalidatedToken> tokens);
+}
@@ -0,0 +1,36 @@
+package com.TopCV.repository;
+
+import com.TopCV.entity.InvalidatedToken;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class InvalidatedTokenRepositoryImpl implements InvalidatedTokenRepositoryCustom {
+    JdbcTemplate jdbcTemplate;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO invalidated_token (id, expiry_time) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+    @Override
+    public void invalidateAll(Collection<InvalidatedToken> tokens) {
+        // expiry_time là khoá partition, dòng không có exp không thuộc partition nào
+        List<InvalidatedToken> partitioned = tokens.stream()
+                .filter(token -> token.getExpiryTime() != null)
+                .toList();
+        if (partitioned.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, partitioned, partitioned.size(), (ps, token) -> {
+            ps.setString(1, token.getId());
+            ps.setTimestamp(2, new Timestamp(token.getExpiryTime().getTime()));
+        });
+    }
+}
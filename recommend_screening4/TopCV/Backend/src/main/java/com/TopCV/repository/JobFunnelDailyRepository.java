@@ -0,0 +1,13 @@
+package com.TopCV.repository;
+
+import com.TopCV.entity.JobFunnelDaily;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface JobFunnelDailyRepository extends JpaRepository<JobFunnelDaily, JobFunnelDaily.Key> {
+    List<JobFunnelDaily> findByJobPostIdAndDayGreaterThanEqualOrderByDayAsc(int jobPostId, LocalDate from);
+}
@@ -0,0 +1,12 @@
+package com.TopCV.repository;
+
+import com.TopCV.entity.JobFunnelStat;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JobFunnelStatRepository extends JpaRepository<JobFunnelStat, JobFunnelStat.Key> {
+    List<JobFunnelStat> findByJobPostId(int jobPostId);
+}
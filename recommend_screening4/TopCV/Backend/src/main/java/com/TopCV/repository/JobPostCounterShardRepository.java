@@ -0,0 +1,32 @@
+package com.TopCV.repository;
+
+import com.TopCV.entity.JobPostCounterShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface JobPostCounterShardRepository extends JpaRepository<JobPostCounterShard, JobPostCounterShard.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO job_post_counter_shards (job_post_id, shard, applied_delta) " +
+            "VALUES (:jobPostId, :shard, :delta) " +
+            "ON CONFLICT (job_post_id, shard) DO UPDATE " +
+            "SET applied_delta = job_post_counter_shards.applied_delta + EXCLUDED.applied_delta",
+            nativeQuery = true)
+    void addAppliedDelta(@Param("jobPostId") int jobPostId, @Param("shard") short shard, @Param("delta") int delta);
+
+    /**
+     * Xóa mọi shard và cộng tổng vào job_posts trong một câu lệnh. Shard đang bị
+     * upsert dở thì DELETE chờ commit rồi lấy giá trị mới, không mất lượt apply nào.
+     */
+    @Modifying
+    @Query(value = "WITH drained AS (DELETE FROM job_post_counter_shards RETURNING job_post_id, applied_delta), " +
+            "totals AS (SELECT job_post_id, SUM(applied_delta) AS delta FROM drained GROUP BY job_post_id) " +
+            "UPDATE job_posts j SET applied_count = GREATEST(0, j.applied_count + totals.delta) " +
+            "FROM totals WHERE j.id = totals.job_post_id AND totals.delta <> 0",
+            nativeQuery = true)
+    int drainIntoJobPosts();
+}
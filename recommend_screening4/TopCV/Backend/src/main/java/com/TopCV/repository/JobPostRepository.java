@@ -2,15 +2,84 @@ package com.TopCV.repository;
 
 import com.TopCV.entity.JobPost;
 import com.TopCV.enums.JobPostStatus;
+import com.TopCV.repository.projection.JobPostSkillSourceView;
+import com.TopCV.repository.projection.JobSkillView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface JobPostRepository extends JpaRepository<JobPost, Integer>, JpaSpecificationExecutor<JobPost> {
     Page<JobPost> findByCompanyId(Integer companyId, Pageable pageable);
 
     Page<JobPost> findByCompanyIdAndStatus(Integer companyId, JobPostStatus status, Pageable pageable);
+
+    @Modifying
+    @Query(value = "UPDATE job_posts SET applied_count = GREATEST(0, applied_count + :delta) WHERE id = :jobPostId",
+            nativeQuery = true)
+    void addAppliedCount(@Param("jobPostId") int jobPostId, @Param("delta") int delta);
+
+    // Kiểm tra quyền employer mà không load JobPost -> Company -> User
+    @Query("SELECT c.user.id FROM JobPost jp JOIN jp.company c WHERE jp.id = :jobPostId")
+    Optional<String> findOwnerId(@Param("jobPostId") Integer jobPostId);
+
+    // ON CONFLICT theo uk_favor_job_user_job: trả về 0 nếu đã lưu
+    @Modifying
+    @Query(value = "INSERT INTO favor_job (user_id, job_id) VALUES (:userId, :jobPostId) " +
+            "ON CONFLICT (user_id, job_id) DO NOTHING",
+            nativeQuery = true)
+    int insertFavorite(@Param("userId") String userId, @Param("jobPostId") Integer jobPostId);
+
+    @Modifying
+    @Query(value = "DELETE FROM favor_job WHERE user_id = :userId AND job_id = :jobPostId", nativeQuery = true)
+    int deleteFavorite(@Param("userId") String userId, @Param("jobPostId") Integer jobPostId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM favor_job WHERE user_id = :userId AND job_id = :jobPostId)",
+            nativeQuery = true)
+    boolean isFavorite(@Param("userId") String userId, @Param("jobPostId") Integer jobPostId);
+
+    // Kiểm tra cả một trang job trong một query
+    @Query(value = "SELECT job_id FROM favor_job WHERE user_id = :userId AND job_id IN (:jobPostIds)",
+            nativeQuery = true)
+    List<Integer> findFavoriteJobIds(@Param("userId") String userId,
+                                     @Param("jobPostIds") Collection<Integer> jobPostIds);
+
+    // Khoá một lô job cần gắn lại skill, node khác chạy backfill cùng lúc sẽ bỏ qua các dòng này
+    @Query(value = "SELECT id FROM job_posts WHERE skill_tags_version IS DISTINCT FROM :version " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+            nativeQuery = true)
+    List<Integer> lockJobsToTag(@Param("version") long version, @Param("limit") int limit);
+
+    @Query("SELECT jp.id AS id, jp.title AS title, jp.description AS description, jp.requirements AS requirements " +
+            "FROM JobPost jp WHERE jp.id IN :jobPostIds")
+    List<JobPostSkillSourceView> findSkillSources(@Param("jobPostIds") Collection<Integer> jobPostIds);
+
+    @Query(value = "SELECT job_id AS jobId, skill_id AS skillId FROM job_skills WHERE job_id IN (:jobPostIds)",
+            nativeQuery = true)
+    List<JobSkillView> findDeclaredSkills(@Param("jobPostIds") Collection<Integer> jobPostIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM job_inferred_skills WHERE job_id IN (:jobPostIds)", nativeQuery = true)
+    void deleteInferredSkills(@Param("jobPostIds") Collection<Integer> jobPostIds);
+
+    // Join qua skills để bỏ qua skill vừa bị xoá mà snapshot của node này chưa biết
+    @Modifying
+    @Query(value = "INSERT INTO job_inferred_skills (job_id, skill_id) " +
+            "SELECT :jobPostId, s.id FROM skills s WHERE s.id IN (:skillIds) " +
+            "ON CONFLICT (job_id, skill_id) DO NOTHING",
+            nativeQuery = true)
+    void insertInferredSkills(@Param("jobPostId") int jobPostId, @Param("skillIds") Collection<Integer> skillIds);
+
+    @Modifying
+    @Query(value = "UPDATE job_posts SET skill_tags_version = :version WHERE id IN (:jobPostIds)", nativeQuery = true)
+    void markSkillsTagged(@Param("jobPostIds") Collection<Integer> jobPostIds, @Param("version") long version);
 }
@@ -0,0 +1,48 @@
+package com.TopCV.repository;
+
+import com.TopCV.entity.MailOutbox;
+import com.TopCV.enums.MailStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    // SKIP LOCKED để nhiều node cùng drain outbox mà không lấy trùng mail
+    @Query(value = "SELECT * FROM mail_outbox " +
+            "WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<MailOutbox> lockNextBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = :status, m.lockedAt = :now WHERE m.id IN :ids")
+    void markLocked(@Param("ids") Collection<Long> ids,
+                    @Param("status") MailStatus status,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = :status, m.sentAt = :now, m.lockedAt = null, " +
+            "m.attempts = m.attempts + 1 WHERE m.id IN :ids")
+    void markSent(@Param("ids") Collection<Long> ids,
+                  @Param("status") MailStatus status,
+                  @Param("now") LocalDateTime now);
+
+    // Mail kẹt ở SENDING do node chết giữa chừng thì trả về hàng đợi
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = :pending, m.lockedAt = null " +
+            "WHERE m.status = :sending AND m.lockedAt < :cutoff")
+    int releaseStale(@Param("pending") MailStatus pending,
+                     @Param("sending") MailStatus sending,
+                     @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM MailOutbox m WHERE m.status = :status AND m.sentAt < :cutoff")
+    int deleteSentBefore(@Param("status") MailStatus status, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,44 @@
+package com.TopCV.repository;
+
+import com.TopCV.entity.Notification;
+import com.TopCV.enums.NotificationEmailStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface NotificationRepository extends JpaRepository<Notification, Long> {
+    Page<Notification> findByUserId(String userId, Pageable pageable);
+
+    Optional<Notification> findByIdAndUserId(Long id, String userId);
+
+    long countByUserIdAndReadFalse(String userId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :now WHERE n.userId = :userId AND n.read = false")
+    int markAllRead(@Param("userId") String userId, @Param("now") LocalDateTime now);
+
+    // Chỉ lấy thông báo đã "nguội" quá cửa sổ gom để các thay đổi liên tiếp vào chung một mail
+    // Đi tiếp sau con trỏ (user_id, id) để người nhận đang bị giới hạn tốc độ không chặn đầu hàng đợi
+    @Query(value = "SELECT * FROM notifications " +
+            "WHERE email_status = 'PENDING' AND created_at <= :cutoff " +
+            "AND (user_id, id) > (:afterUserId, :afterId) " +
+            "ORDER BY user_id, id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Notification> lockPendingEmails(@Param("cutoff") LocalDateTime cutoff,
+                                         @Param("afterUserId") String afterUserId,
+                                         @Param("afterId") long afterId,
+                                         @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.emailStatus = :status WHERE n.id IN :ids")
+    void updateEmailStatus(@Param("ids") Collection<Long> ids, @Param("status") NotificationEmailStatus status);
+}
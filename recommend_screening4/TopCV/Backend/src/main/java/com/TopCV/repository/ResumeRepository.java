@@ -2,12 +2,39 @@ package com.TopCV.repository;
 
 import com.TopCV.entity.Resume;
 import com.TopCV.entity.User;
+import com.TopCV.enums.ResumeExtractionStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ResumeRepository extends JpaRepository<Resume, Integer> {
     List<Resume> findByUser(User user);
+
+    Optional<Resume> findFirstByUserIdAndContentHash(String userId, String contentHash);
+
+    Optional<Resume> findFirstByContentHashAndExtractionStatus(String contentHash, ResumeExtractionStatus status);
+
+    @Query("SELECT r.id FROM Resume r WHERE (r.extractionStatus IS NULL OR r.extractionStatus = :status) " +
+            "AND (r.createdAt IS NULL OR r.createdAt < :cutoff) ORDER BY r.id")
+    List<Integer> findIdsAwaitingExtraction(@Param("status") ResumeExtractionStatus status,
+                                            @Param("cutoff") LocalDateTime cutoff,
+                                            Pageable pageable);
+
+    // Nhận trích nguyên tử: chỉ một thread thắng, claim quá hạn (node chết giữa chừng) được nhận lại
+    @Modifying
+    @Query("UPDATE Resume r SET r.extractionClaimedAt = :now WHERE r.id = :id " +
+            "AND (r.extractionStatus IS NULL OR r.extractionStatus = :status) " +
+            "AND (r.extractionClaimedAt IS NULL OR r.extractionClaimedAt < :staleBefore)")
+    int claimExtraction(@Param("id") Integer id,
+                        @Param("status") ResumeExtractionStatus status,
+                        @Param("now") LocalDateTime now,
+                        @Param("staleBefore") LocalDateTime staleBefore);
 }
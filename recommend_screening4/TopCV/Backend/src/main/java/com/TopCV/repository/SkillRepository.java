@@ -2,9 +2,17 @@ package com.TopCV.repository;
 
 import com.TopCV.entity.Skill;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface SkillRepository extends JpaRepository<Skill, Integer> {
     boolean existsByName(String name);
-}
\ No newline at end of file
+
+    // Skill suy ra tự động không được chặn việc xoá skill
+    @Modifying
+    @Query(value = "DELETE FROM job_inferred_skills WHERE skill_id = :skillId", nativeQuery = true)
+    void deleteInferredTags(@Param("skillId") Integer skillId);
+}
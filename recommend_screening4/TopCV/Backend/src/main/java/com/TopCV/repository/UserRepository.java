@@ -3,6 +3,8 @@ package com.TopCV.repository;
 import com.TopCV.entity.Company;
 import com.TopCV.entity.JobPost;
 import com.TopCV.entity.User;
+import com.TopCV.repository.projection.UserContactView;
+import com.TopCV.repository.projection.UserRoleView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -12,20 +14,22 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
+    // User.buildSearchDocument nối chuỗi, lower() của cột search_document chạy trong SQL
+    String SEARCH_DOCUMENT_SQL = "lower(concat_ws(' ', full_name, email, user_name))";
+
     Optional<User> findByUserName(String username);
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
 
-    @Query("SELECT u FROM User u WHERE " +
-            "LOWER(u.fullname) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(u.userName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    // search_document có GIN trigram index, thay cho 3 điều kiện LIKE nối bằng OR
+    @Query("SELECT u FROM User u WHERE u.searchDocument LIKE CONCAT('%', LOWER(:keyword), '%')")
     Page<User> searchUsers(@Param("keyword") String keyword, Pageable pageable);
 
     Page<User> findByActiveTrue(Pageable pageable);
@@ -41,9 +45,20 @@ public interface UserRepository extends JpaRepository<User, String> {
     @Query("UPDATE User u SET u.active = false, u.updatedAt = :updatedAt WHERE u.id = :userId")
     void deactivateUser(@Param("userId") String userId, @Param("updatedAt") LocalDateTime updatedAt);
 
+    // Chỉ đánh dấu nếu avatar chưa bị đổi trong lúc đang resize
+    @Modifying
+    @Query("UPDATE User u SET u.avtVariantsSource = :avt WHERE u.id = :userId AND u.avt = :avt")
+    int markAvtVariantsReady(@Param("userId") String userId, @Param("avt") String avt);
+
     @Query("SELECT c FROM User u JOIN u.followCompanies c WHERE u.id = :userId AND c.active = true")
     Page<Company> findFollowedCompaniesByUserId(@Param("userId") String userId, Pageable pageable);
 
     @Query("SELECT j FROM User u JOIN u.favoriteJobs j WHERE u.id = :userId AND j.status = 'ACTIVE' ")
     Page<JobPost> findFavoriteJobsByUserId(@Param("userId") String userId, Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.role AS role FROM User u WHERE u.email = :email")
+    Optional<UserRoleView> findRoleViewByEmail(@Param("email") String email);
+
+    @Query("SELECT u.id AS id, u.email AS email, u.fullname AS fullname FROM User u WHERE u.id IN :ids")
+    List<UserContactView> findContactsByIdIn(@Param("ids") Collection<String> ids);
 }
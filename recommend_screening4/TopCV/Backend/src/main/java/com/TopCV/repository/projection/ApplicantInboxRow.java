@@ -0,0 +1,19 @@
+package com.TopCV.repository.projection;
+
+import com.TopCV.enums.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+public record ApplicantInboxRow(
+        int applicationId,
+        int jobPostId,
+        String jobTitle,
+        String candidateId,
+        String candidateName,
+        String candidateEmail,
+        Integer resumeId,
+        ApplicationStatus status,
+        String screeningDecision,
+        Double screeningScore,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,8 @@
+package com.TopCV.repository.projection;
+
+public interface ApplicationNotificationView {
+    Integer getApplicationId();
+    String getUserId();
+    String getJobTitle();
+    String getCompanyName();
+}
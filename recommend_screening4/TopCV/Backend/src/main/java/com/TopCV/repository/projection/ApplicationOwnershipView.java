@@ -0,0 +1,13 @@
+package com.TopCV.repository.projection;
+
+import com.TopCV.enums.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+public interface ApplicationOwnershipView {
+    Integer getApplicationId();
+    Integer getJobPostId();
+    String getOwnerId();
+    ApplicationStatus getStatus();
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,13 @@
+package com.TopCV.repository.projection;
+
+import com.TopCV.enums.ApplicationStatus;
+
+import java.time.LocalDateTime;
+
+public interface ApplicationShortlistView {
+    Integer getApplicationId();
+    Integer getJobPostId();
+    Double getScreeningScore();
+    LocalDateTime getCreatedAt();
+    ApplicationStatus getStatus();
+}
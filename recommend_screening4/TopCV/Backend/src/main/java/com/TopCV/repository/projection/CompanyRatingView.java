@@ -0,0 +1,12 @@
+package com.TopCV.repository.projection;
+
+public interface CompanyRatingView {
+    Integer getCompanyId();
+    int getRatingCount();
+    double getRatingAverage();
+    int getRatingStar1();
+    int getRatingStar2();
+    int getRatingStar3();
+    int getRatingStar4();
+    int getRatingStar5();
+}
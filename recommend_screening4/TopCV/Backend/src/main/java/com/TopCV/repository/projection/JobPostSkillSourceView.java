@@ -0,0 +1,8 @@
+package com.TopCV.repository.projection;
+
+public interface JobPostSkillSourceView {
+    Integer getId();
+    String getTitle();
+    String getDescription();
+    String getRequirements();
+}
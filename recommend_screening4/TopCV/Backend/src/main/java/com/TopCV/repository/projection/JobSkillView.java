@@ -0,0 +1,6 @@
+package com.TopCV.repository.projection;
+
+public interface JobSkillView {
+    Integer getJobId();
+    Integer getSkillId();
+}
@@ -0,0 +1,7 @@
+package com.TopCV.repository.projection;
+
+public interface UserContactView {
+    String getId();
+    String getEmail();
+    String getFullname();
+}
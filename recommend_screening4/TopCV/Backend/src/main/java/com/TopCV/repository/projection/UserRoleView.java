@@ -0,0 +1,8 @@
+package com.TopCV.repository.projection;
+
+import com.TopCV.enums.Role;
+
+public interface UserRoleView {
+    String getId();
+    Role getRole();
+}
@@ -0,0 +1,29 @@
+package com.TopCV.scheduler;
+
+import com.TopCV.service.AppliedCountService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gom các shard đếm lượt apply về job_posts.applied_count.
+ * Số hiển thị trễ tối đa một chu kỳ.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class AppliedCountAggregator {
+    AppliedCountService appliedCountService;
+
+    @Scheduled(fixedDelayString = "${app.job-post.applied-count.flush-interval-ms:5000}")
+    public void flush() {
+        int updated = appliedCountService.flush();
+        if (updated > 0) {
+            log.debug("Flushed applied-count shards into {} job posts", updated);
+        }
+    }
+}
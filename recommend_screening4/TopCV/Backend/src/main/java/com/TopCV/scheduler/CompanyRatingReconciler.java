@@ -0,0 +1,35 @@
+package com.TopCV.scheduler;
+
+import com.TopCV.repository.CompanyRepository;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Đối chiếu tổng hợp đánh giá trên companies với company_reviews.
+ * Lúc khởi động để điền cho review có từ trước khi thêm cột, sau đó định kỳ để sửa lệch
+ * do review bị xoá ngoài CompanyReviewService (ví dụ xoá user).
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class CompanyRatingReconciler {
+    CompanyRepository companyRepository;
+    TransactionTemplate transactionTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.company.rating.reconcile-cron:0 45 3 * * *}")
+    public void reconcile() {
+        Integer corrected = transactionTemplate.execute(status -> companyRepository.recalculateRatings());
+        if (corrected != null && corrected > 0) {
+            log.info("Recalculated rating aggregates for {} companies", corrected);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.TopCV.scheduler;
+
+import com.TopCV.entity.FileBlob;
+import com.TopCV.repository.FileBlobRepository;
+import com.TopCV.service.FileService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Xóa các blob không còn ai tham chiếu. Chờ một khoảng grace để upload
+ * trùng nội dung ngay sau khi xóa vẫn dùng lại được file cũ.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class FileBlobGarbageCollector {
+    FileBlobRepository fileBlobRepository;
+    FileService fileService;
+    TransactionTemplate transactionTemplate;
+
+    @NonFinal
+    @Value("${app.file.blob-gc.grace-hours:24}")
+    long graceHours;
+
+    @NonFinal
+    @Value("${app.file.blob-gc.batch-size:200}")
+    int batchSize;
+
+    @Scheduled(cron = "${app.file.blob-gc.cron:0 15 4 * * *}")
+    public void collect() {
+        int deleted;
+        int total = 0;
+        do {
+            deleted = transactionTemplate.execute(status -> deleteNextBatch());
+            total += deleted;
+        } while (deleted == batchSize);
+        log.info("Blob GC removed {} orphaned files", total);
+    }
+
+    // Row lock giữ tới khi commit: upload cùng hash phải chờ, sau đó sẽ ghi lại file
+    private int deleteNextBatch() {
+        List<FileBlob> orphans = fileBlobRepository.lockOrphans(
+                LocalDateTime.now().minusHours(graceHours), batchSize);
+        for (FileBlob blob : orphans) {
+            fileService.deleteFile(blob.getStoragePath());
+        }
+        fileBlobRepository.deleteAll(orphans);
+        return orphans.size();
+    }
+}
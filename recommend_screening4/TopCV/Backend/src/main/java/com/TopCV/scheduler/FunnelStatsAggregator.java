@@ -0,0 +1,39 @@
+package com.TopCV.scheduler;
+
+import com.TopCV.service.FunnelStatsService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gom funnel_events vào các bảng thống kê funnel, và định kỳ đối chiếu lại với applications
+ * để sửa lệch do dữ liệu cũ hoặc cập nhật ngoài các luồng có ghi event.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class FunnelStatsAggregator {
+    FunnelStatsService funnelStatsService;
+
+    @Scheduled(fixedDelayString = "${app.funnel.flush-interval-ms:10000}")
+    public void flush() {
+        int updated = funnelStatsService.flush();
+        if (updated > 0) {
+            log.debug("Flushed funnel events into {} daily rows", updated);
+        }
+    }
+
+    @Scheduled(cron = "${app.funnel.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        try {
+            funnelStatsService.reconcile();
+        } catch (RuntimeException e) {
+            // Node khác đang gom cùng lúc (lỗi serialization), để lần sau
+            log.warn("Funnel reconciliation skipped: {}", e.getMessage());
+        }
+    }
+}
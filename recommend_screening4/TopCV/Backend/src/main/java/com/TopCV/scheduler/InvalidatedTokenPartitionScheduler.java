@@ -0,0 +1,144 @@
+package com.TopCV.scheduler;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Bảng invalidated_token được chia partition theo ngày của expiry_time.
+ * Partition nào đã hết hạn toàn bộ thì DROP luôn thay vì DELETE từng dòng.
+ * Mọi DDL chạy dưới một advisory lock của PostgreSQL để các node không giẫm lên nhau,
+ * ngày lấy từ current_date của database để các node cùng một mốc.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class InvalidatedTokenPartitionScheduler {
+    JdbcTemplate jdbcTemplate;
+    TransactionTemplate transactionTemplate;
+
+    private static final String TABLE = "invalidated_token";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter SUFFIX_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    // Refresh token sống 7 ngày, tạo dư ra để không bao giờ thiếu partition.
+    // Tạo cả partition hôm qua vì expiry_time theo giờ JVM có thể chậm hơn ngày của database
+    @NonFinal
+    @Value("${app.security.invalidated-token.partition-days-ahead:9}")
+    int partitionDaysAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            convertToPartitionedTable();
+        });
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${app.security.invalidated-token.maintenance-cron:0 5 * * * *}")
+    public void maintainPartitions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock();
+            LocalDate today = today();
+            for (int i = -1; i <= partitionDaysAhead; i++) {
+                createPartition(today.plusDays(i));
+            }
+            dropExpiredPartitions(today);
+        });
+    }
+
+    // Giữ tới hết transaction; node khác chờ rồi thấy việc đã xong
+    private void lock() {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('" + TABLE + "'))");
+    }
+
+    private LocalDate today() {
+        return jdbcTemplate.queryForObject("SELECT current_date", LocalDate.class);
+    }
+
+    /** Hibernate tạo bảng thường, lần chạy đầu chuyển sang bảng partition và giữ lại token chưa hết hạn */
+    private void convertToPartitionedTable() {
+        Boolean partitioned = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table pt " +
+                        "JOIN pg_class c ON c.oid = pt.partrelid WHERE c.relname = ?)",
+                Boolean.class, TABLE);
+        if (Boolean.TRUE.equals(partitioned)) {
+            return;
+        }
+
+        log.info("Converting {} to a table partitioned by expiry_time", TABLE);
+        jdbcTemplate.execute("ALTER TABLE IF EXISTS " + TABLE + " RENAME TO " + TABLE + "_legacy");
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (" +
+                "id varchar(255) NOT NULL, " +
+                "expiry_time timestamp(6) NOT NULL, " +
+                "CONSTRAINT " + TABLE + "_pk PRIMARY KEY (id, expiry_time)" +
+                ") PARTITION BY RANGE (expiry_time)");
+
+        LocalDate today = today();
+        for (int i = -1; i <= partitionDaysAhead; i++) {
+            createPartition(today.plusDays(i));
+        }
+
+        Boolean legacyExists = jdbcTemplate.queryForObject(
+                "SELECT to_regclass(?) IS NOT NULL", Boolean.class, TABLE + "_legacy");
+        if (Boolean.TRUE.equals(legacyExists)) {
+            jdbcTemplate.update("INSERT INTO " + TABLE + " (id, expiry_time) " +
+                    "SELECT id, expiry_time FROM " + TABLE + "_legacy " +
+                    "WHERE expiry_time >= ? ON CONFLICT DO NOTHING", today.minusDays(1));
+            jdbcTemplate.execute("DROP TABLE " + TABLE + "_legacy");
+        }
+    }
+
+    private void createPartition(LocalDate day) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + PARTITION_PREFIX + day.format(SUFFIX_FORMAT) +
+                " PARTITION OF " + TABLE +
+                " FOR VALUES FROM ('" + day + "') TO ('" + day.plusDays(1) + "')");
+    }
+
+    private void dropExpiredPartitions(LocalDate today) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ?",
+                String.class, TABLE);
+
+        for (String partition : partitions) {
+            if (!partition.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+
+            LocalDate day;
+            try {
+                day = LocalDate.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX_FORMAT);
+            } catch (DateTimeParseException e) {
+                continue;
+            }
+
+            // expiry_time ghi theo giờ của JVM, có thể lệch múi giờ với database: chờ thêm một ngày
+            // sau cận trên của partition rồi mới DROP
+            if (day.plusDays(2).isAfter(today)) {
+                continue;
+            }
+
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+            log.info("Dropped expired partition {}", partition);
+        }
+    }
+}
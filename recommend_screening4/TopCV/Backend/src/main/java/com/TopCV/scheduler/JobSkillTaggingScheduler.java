@@ -0,0 +1,41 @@
+package com.TopCV.scheduler;
+
+import com.TopCV.service.JobSkillTaggingService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gắn skill suy ra cho job có từ trước khi có SkillMatcher, và gắn lại toàn bộ
+ * khi danh sách skill hoặc từ điển đồng nghĩa đổi. Mỗi lô một transaction ngắn.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class JobSkillTaggingScheduler {
+    JobSkillTaggingService jobSkillTaggingService;
+
+    @NonFinal
+    @Value("${app.job-post.skill-tagging.batch-size:200}")
+    int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.job-post.skill-tagging.interval-ms:300000}")
+    public void tagPending() {
+        long total = 0;
+        int processed;
+        do {
+            processed = jobSkillTaggingService.tagPending(batchSize);
+            total += processed;
+        } while (processed == batchSize);
+
+        if (total > 0) {
+            log.info("Tagged inferred skills for {} job posts", total);
+        }
+    }
+}
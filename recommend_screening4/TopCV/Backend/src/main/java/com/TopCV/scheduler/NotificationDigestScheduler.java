@@ -0,0 +1,178 @@
+package com.TopCV.scheduler;
+
+import com.TopCV.entity.Notification;
+import com.TopCV.enums.NotificationEmailStatus;
+import com.TopCV.repository.NotificationRepository;
+import com.TopCV.repository.UserRepository;
+import com.TopCV.repository.projection.UserContactView;
+import com.TopCV.service.EmailService;
+import com.TopCV.service.redis.NotificationRedisService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Gom các thông báo chờ gửi mail theo từng người nhận thành một mail digest
+ * rồi ghi vào outbox, MailOutboxDispatcher lo việc gửi và giới hạn tốc độ SMTP.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class NotificationDigestScheduler {
+    NotificationRepository notificationRepository;
+    UserRepository userRepository;
+    EmailService emailService;
+    NotificationRedisService notificationRedisService;
+    TransactionTemplate transactionTemplate;
+
+    @NonFinal
+    @Value("${app.notification.digest.batch-size:1000}")
+    int batchSize;
+
+    // Thông báo phải chờ ít nhất chừng này để các thay đổi liên tiếp rơi vào cùng một mail
+    @NonFinal
+    @Value("${app.notification.digest.coalesce-seconds:60}")
+    long coalesceSeconds;
+
+    @NonFinal
+    @Value("${app.notification.digest.min-interval-minutes:15}")
+    long minIntervalMinutes;
+
+    @NonFinal
+    @Value("${app.notification.digest.max-batches-per-run:10}")
+    int maxBatchesPerRun;
+
+    // Vị trí (user_id, id) đã duyệt tới, giữ qua các lần chạy để mỗi lần đi tiếp phần sau của hàng đợi
+    @NonFinal
+    String cursorUserId = "";
+
+    @NonFinal
+    long cursorId = 0;
+
+    @Scheduled(fixedDelayString = "${app.notification.digest.interval-ms:30000}")
+    public void sendDigests() {
+        for (int i = 0; i < maxBatchesPerRun; i++) {
+            DigestResult result = transactionTemplate.execute(status -> digestNextBatch());
+            if (result == null) {
+                return;
+            }
+            // Tới cuối hàng đợi thì lần sau bắt đầu lại từ đầu
+            if (result.locked() < batchSize) {
+                cursorUserId = "";
+                cursorId = 0;
+                return;
+            }
+        }
+    }
+
+    private DigestResult digestNextBatch() {
+        List<Notification> pending = notificationRepository.lockPendingEmails(
+                LocalDateTime.now().minusSeconds(coalesceSeconds), cursorUserId, cursorId, batchSize);
+        if (pending.isEmpty()) {
+            return new DigestResult(0, 0);
+        }
+        Notification last = pending.get(pending.size() - 1);
+
+        Map<String, List<Notification>> byRecipient = pending.stream()
+                .collect(Collectors.groupingBy(Notification::getUserId, LinkedHashMap::new, Collectors.toList()));
+        Map<String, UserContactView> contacts = userRepository.findContactsByIdIn(byRecipient.keySet()).stream()
+                .collect(Collectors.toMap(UserContactView::getId, Function.identity()));
+
+        List<Long> sentIds = new ArrayList<>();
+        List<Long> skippedIds = new ArrayList<>();
+        List<String> slotUserIds = new ArrayList<>();
+        int mailed = 0;
+        Duration minInterval = Duration.ofMinutes(minIntervalMinutes);
+
+        for (Map.Entry<String, List<Notification>> entry : byRecipient.entrySet()) {
+            List<Long> ids = entry.getValue().stream().map(Notification::getId).toList();
+            UserContactView contact = contacts.get(entry.getKey());
+            if (contact == null || contact.getEmail() == null) {
+                skippedIds.addAll(ids);
+                continue;
+            }
+            // Đã nhận digest gần đây thì để PENDING, lần sau gom tiếp
+            if (!notificationRedisService.tryAcquireDigestSlot(entry.getKey(), minInterval)) {
+                continue;
+            }
+            slotUserIds.add(entry.getKey());
+
+            emailService.sendApplicationStatusDigest(contact.getEmail(), contact.getFullname(),
+                    latestPerApplication(entry.getValue()));
+            sentIds.addAll(ids);
+            mailed++;
+        }
+
+        if (!sentIds.isEmpty()) {
+            notificationRepository.updateEmailStatus(sentIds, NotificationEmailStatus.SENT);
+        }
+        if (!skippedIds.isEmpty()) {
+            notificationRepository.updateEmailStatus(skippedIds, NotificationEmailStatus.SKIPPED);
+        }
+        releaseSlotsOnRollback(slotUserIds);
+
+        // Chỉ dời con trỏ khi batch commit, rollback thì lần sau đọc lại đúng đoạn này
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cursorUserId = last.getUserId();
+                cursorId = last.getId();
+            }
+        });
+        log.info("Queued {} digest mails covering {} notifications", mailed, sentIds.size());
+        return new DigestResult(pending.size(), mailed);
+    }
+
+    // Slot Redis lấy trong transaction; rollback thì outbox không có mail nên phải trả slot
+    private void releaseSlotsOnRollback(List<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    userIds.forEach(notificationRedisService::releaseDigestSlot);
+                }
+            }
+        });
+    }
+
+    // Một đơn đổi trạng thái nhiều lần thì mail chỉ báo trạng thái cuối
+    private List<Map<String, Object>> latestPerApplication(List<Notification> notifications) {
+        Map<Object, Notification> latest = new LinkedHashMap<>();
+        for (Notification notification : notifications) {
+            Object key = notification.getApplicationId() != null ? notification.getApplicationId() : notification.getId();
+            latest.merge(key, notification, (a, b) -> a.getId() > b.getId() ? a : b);
+        }
+
+        List<Map<String, Object>> updates = new ArrayList<>(latest.size());
+        for (Notification notification : latest.values()) {
+            Map<String, Object> update = new HashMap<>();
+            update.put("jobTitle", Objects.toString(notification.getJobTitle(), ""));
+            update.put("companyName", Objects.toString(notification.getCompanyName(), ""));
+            update.put("status", Objects.toString(notification.getApplicationStatus(), ""));
+            update.put("message", Objects.toString(notification.getMessage(), ""));
+            updates.add(update);
+        }
+        return updates;
+    }
+
+    private record DigestResult(int locked, int mailed) {
+    }
+}
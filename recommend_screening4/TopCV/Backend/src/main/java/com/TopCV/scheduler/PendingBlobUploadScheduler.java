@@ -0,0 +1,23 @@
+package com.TopCV.scheduler;
+
+import com.TopCV.service.FileBlobService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Đẩy lại các blob còn PENDING (upload lỗi, queue đầy hoặc node restart giữa chừng)
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class PendingBlobUploadScheduler {
+    FileBlobService fileBlobService;
+
+    @Scheduled(fixedDelayString = "${app.storage.pending-retry-interval-ms:60000}")
+    public void retryPendingUploads() {
+        fileBlobService.retryPendingUploads();
+    }
+}
@@ -0,0 +1,34 @@
+package com.TopCV.scheduler;
+
+import com.TopCV.service.ReferenceDataService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nạp snapshot danh mục lúc khởi động, sau đó định kỳ so version với Redis
+ * để node bị lỡ message invalidation (mất kết nối pub/sub) vẫn bắt kịp.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ReferenceDataVersionChecker {
+    ReferenceDataService referenceDataService;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.reference-data.version-check-ms:60000}")
+    public void check() {
+        try {
+            referenceDataService.checkVersion();
+        } catch (RuntimeException e) {
+            // Giữ snapshot đang có, lần sau thử lại
+            log.warn("Reference data refresh failed: {}", e.getMessage());
+        }
+    }
+}
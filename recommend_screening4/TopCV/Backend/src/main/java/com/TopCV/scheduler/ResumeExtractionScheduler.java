@@ -0,0 +1,36 @@
+package com.TopCV.scheduler;
+
+import com.TopCV.service.ResumeExtractionService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trích text cho resume còn chờ: resume tải lên trước khi có bước trích,
+ * hoặc job sau upload bị bỏ do queue đầy / node restart.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ResumeExtractionScheduler {
+    ResumeExtractionService resumeExtractionService;
+
+    @NonFinal
+    @Value("${app.resume.extraction.batch-size:50}")
+    int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.resume.extraction.retry-interval-ms:60000}",
+            initialDelayString = "${app.resume.extraction.retry-interval-ms:60000}")
+    public void extractPending() {
+        int processed = resumeExtractionService.extractPending(batchSize);
+        if (processed > 0) {
+            log.info("Extracted {} pending resumes", processed);
+        }
+    }
+}
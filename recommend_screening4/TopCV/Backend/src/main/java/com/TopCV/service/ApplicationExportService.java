@@ -0,0 +1,14 @@
+package com.TopCV.service;
+
+import com.TopCV.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ApplicationExportService {
+    /** Kiểm tra employer hiện tại sở hữu job, trả về tên file gợi ý. Gọi trên thread của request. */
+    String prepareJobExport(Integer jobId, ExportFormat format);
+
+    /** Ghi toàn bộ ứng viên của job ra stream, bộ nhớ không phụ thuộc số dòng */
+    void writeJobApplications(Integer jobId, ExportFormat format, OutputStream out) throws IOException;
+}
@@ -5,12 +5,11 @@ import com.TopCV.entity.Application;
 import com.TopCV.entity.JobPost;
 import com.TopCV.entity.User;
 import com.TopCV.entity.Resume;
+import com.TopCV.entity.ScreeningPoints;
 import com.TopCV.enums.ApplicationStatus;
 import com.TopCV.repository.ApplicationRepository;
 import com.TopCV.repository.JobPostRepository;
 import com.TopCV.repository.UserRepository;
-import com.TopCV.repository.ResumeRepository;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -18,6 +17,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -28,19 +28,18 @@ public class ApplicationScreeningService {
     private final ApplicationRepository applicationRepository;
     private final JobPostRepository jobPostRepository;
     private final UserRepository userRepository;
-    private final ResumeRepository resumeRepository;
-    private final ObjectMapper objectMapper;
+    private final AppliedCountService appliedCountService;
+    private final ShortlistService shortlistService;
+    private final FunnelStatsService funnelStatsService;
     
     /**
      * Lưu kết quả screening CV vào database
-     * Tạo Resume record trước, sau đó liên kết với Application
+     * Resume đã được tạo (hoặc dùng lại) từ file CV, Application chỉ liên kết tới nó
      */
     @Transactional
     public Application saveScreeningResult(CVScreeningResponse screeningResponse, 
                                          User candidate,
-                                         String cvFileName,
-                                         String originalFileName,
-                                         Long fileSize) {
+                                         Resume resume) {
         try {
             // Tìm job post
             Optional<JobPost> jobPostOpt = jobPostRepository.findById(screeningResponse.getJobId());
@@ -49,25 +48,14 @@ public class ApplicationScreeningService {
             }
             JobPost jobPost = jobPostOpt.get();
             
-            // 1. TẠO RESUME RECORD TRƯỚC
-            Resume resume = Resume.builder()
-                    .user(candidate)
-                    .filePath("uploads/resume/" + cvFileName) // Đường dẫn relative từ static resources
-                    .originalFilename(originalFileName)
-                    .fileSize(fileSize)
-                    .createdAt(LocalDateTime.now())
-                    .updatedAt(LocalDateTime.now())
-                    .build();
+            String cvFileName = resume.getFilePath().substring(resume.getFilePath().lastIndexOf("/") + 1);
             
-            Resume savedResume = resumeRepository.save(resume);
-            log.info("✅ Created Resume record with ID: {} for file: {}", savedResume.getId(), cvFileName);
-            
-            // 2. TẠO APPLICATION VÀ LIÊN KẾT VỚI RESUME
+            // TẠO APPLICATION VÀ LIÊN KẾT VỚI RESUME
             Application application = Application.builder()
                     .user(candidate)
                     .employer(jobPost.getCompany().getUser()) // Employer từ company của job post
                     .jobPost(jobPost)
-                    .resumes(savedResume) // ⭐ QUAN TRỌNG: Liên kết với Resume
+                    .resumes(resume) // ⭐ QUAN TRỌNG: Liên kết với Resume (file dùng chung)
                     .status(determineApplicationStatus(screeningResponse.getCandidateDecision()))
                     .coverLetter("Applied via AI Screening System")
                     .createdAt(LocalDateTime.now())
@@ -75,20 +63,25 @@ public class ApplicationScreeningService {
                     // Screening results
                     .screeningDecision(screeningResponse.getCandidateDecision())
                     .screeningScore(screeningResponse.getOverallScore())
-                    .matchingPoints(convertListToJson(screeningResponse.getMatchingPoints()))
-                    .notMatchingPoints(convertListToJson(screeningResponse.getNotMatchingPoints()))
+                    .matchingPoints(ScreeningPoints.of(screeningResponse.getMatchingPoints()))
+                    .notMatchingPoints(ScreeningPoints.of(screeningResponse.getNotMatchingPoints()))
                     .screeningRecommendation(screeningResponse.getRecommendation())
                     .screenedAt(LocalDateTime.now())
                     .cvFileName(cvFileName) // Giữ lại để backward compatibility
                     .build();
             
             Application savedApplication = applicationRepository.save(application);
+            applicationRepository.refreshSearchDocument(savedApplication.getId());
             log.info("✅ Created Application with Resume ID: {} for candidate: {} to job: {}", 
-                    savedResume.getId(), candidate.getFullname(), screeningResponse.getJobId());
+                    resume.getId(), candidate.getFullname(), screeningResponse.getJobId());
             
-            // 3. UPDATE JOB POST APPLIED COUNT
-            jobPost.setAppliedCount(jobPost.getAppliedCount() + 1);
-            jobPostRepository.save(jobPost);
+            // UPDATE JOB POST APPLIED COUNT
+            appliedCountService.increment(jobPost.getId());
+            funnelStatsService.record(List.of(FunnelStatsService.Transition.applied(
+                    jobPost.getId(), savedApplication.getEmployer().getId(), savedApplication.getStatus())));
+
+            // Đưa vào shortlist Redis của job sau khi commit
+            shortlistService.syncAfterCommit(List.of(savedApplication.getId()));
             
             return savedApplication;
             
@@ -98,17 +91,6 @@ public class ApplicationScreeningService {
         }
     }
     
-    /**
-     * Overloaded method để backward compatibility
-     */
-    @Transactional
-    public Application saveScreeningResult(CVScreeningResponse screeningResponse, 
-                                         User candidate,
-                                         String cvFileName) {
-        // Gọi method chính với default values
-        return saveScreeningResult(screeningResponse, candidate, cvFileName, cvFileName, 0L);
-    }
-    
     /**
      * Chuyển đổi screening decision thành application status
      * AI chỉ cung cấp thông tin phân tích, không tự động quyết định status
@@ -117,20 +99,4 @@ public class ApplicationScreeningService {
         // Luôn trả về PENDING - employer sẽ tự quyết định dựa trên AI analysis
         return ApplicationStatus.PENDING;
     }
-    
-    /**
-     * Convert List<String> thành JSON string để lưu DB
-     */
-    private String convertListToJson(java.util.List<String> list) {
-        if (list == null || list.isEmpty()) {
-            return "[]";
-        }
-        
-        try {
-            return objectMapper.writeValueAsString(list);
-        } catch (Exception e) {
-            log.error("Error converting list to JSON: {}", e.getMessage());
-            return "[]";
-        }
-    }
 } 
\ No newline at end of file
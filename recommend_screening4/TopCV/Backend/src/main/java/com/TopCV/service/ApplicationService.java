@@ -1,7 +1,9 @@
 package com.TopCV.service;
 
+import com.TopCV.dto.request.Application.ApplicantInboxRequest;
 import com.TopCV.dto.request.Application.ApplicationRequest;
 import com.TopCV.dto.request.Application.ApplicationStatusUpdateRequest;
+import com.TopCV.dto.response.ApplicantInboxResponse;
 import com.TopCV.dto.response.ApplicationResponse;
 import com.TopCV.dto.response.PageResponse;
 
@@ -18,6 +20,10 @@ public interface ApplicationService {
 
     PageResponse<ApplicationResponse> getAllApplicationsForEmployer(int page, int size);
 
+    ApplicantInboxResponse getJobApplicantInbox(Integer jobId, ApplicantInboxRequest request);
+
+    ApplicantInboxResponse getEmployerApplicantInbox(ApplicantInboxRequest request);
+
     ApplicationResponse getApplicationById(Integer applicationId);
 
     void updateApplicationStatus(Integer applicationId, ApplicationStatusUpdateRequest request);
@@ -0,0 +1,12 @@
+package com.TopCV.service;
+
+public interface AppliedCountService {
+    // Ghi nhận một lượt apply, chạy trong transaction tạo application
+    void increment(int jobPostId);
+
+    // Ghi nhận một lượt rút đơn
+    void decrement(int jobPostId);
+
+    // Cộng các shard vào job_posts.applied_count, trả về số job được cập nhật
+    int flush();
+}
@@ -13,7 +13,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import java.text.ParseException;
 
 public interface AuthenticationService{
-    AuthenticationResponse authenticate(AuthenticationRequest request, HttpServletResponse response);
+    AuthenticationResponse authenticate(AuthenticationRequest request, HttpServletRequest httpRequest, HttpServletResponse response);
 
     IntrospectResponse introspect(IntrospectRequest request);
 
@@ -2,10 +2,16 @@ package com.TopCV.service;
 
 import com.TopCV.enums.OtpType;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.List;
+import java.util.Map;
 
+/**
+ * Các hàm chỉ ghi mail vào outbox (cùng transaction với nghiệp vụ),
+ * việc gửi thật do MailOutboxDispatcher đảm nhận.
+ */
 public interface EmailService {
-    CompletableFuture<Void> sendOtpEmail(String toEmail, String otpCode, OtpType otpType);
-    CompletableFuture<Void> sendWelcomeEmail(String toEmail, String fullName);
+    void sendOtpEmail(String toEmail, String otpCode, OtpType otpType);
+    void sendWelcomeEmail(String toEmail, String fullName);
     void sendSimpleEmail(String toEmail, String subject, String content);
+    void sendApplicationStatusDigest(String toEmail, String fullName, List<Map<String, Object>> updates);
 }
@@ -0,0 +1,32 @@
+package com.TopCV.service;
+
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * Lưu file theo SHA-256 của nội dung: nội dung giống nhau chỉ lưu một lần,
+ * có đếm tham chiếu để biết khi nào được xóa.
+ */
+public interface FileBlobService {
+    /**
+     * Lưu (nếu chưa có) và tăng refCount, phải gọi trong transaction của nghiệp vụ.
+     * Việc đẩy lên BlobStore chạy nền sau khi commit, trong lúc đó blob ở trạng thái PENDING.
+     */
+    StoredBlob store(MultipartFile file, String folder);
+
+    /** Giảm refCount, về 0 thì file sẽ được GC dọn sau */
+    void release(String hash);
+
+    Resource open(String hash, String path);
+
+    Optional<URI> presignedDownloadUrl(String hash, String path, String contentDisposition, String contentType);
+
+    /** Đẩy lại các blob PENDING còn file staging trên node này */
+    void retryPendingUploads();
+
+    record StoredBlob(String hash, String path, long size) {
+    }
+}
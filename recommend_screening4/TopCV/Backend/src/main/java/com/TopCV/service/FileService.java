@@ -1,9 +1,14 @@
 package com.TopCV.service;
 
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
+import java.util.Optional;
+
 public interface FileService {
     String uploadFile(MultipartFile file, String folder);
     boolean deleteFile(String filePath);
-    byte[] getFile(String filePath);
+    Resource getFileResource(String filePath);
+    Optional<URI> getPresignedUrl(String filePath, String contentDisposition, String contentType);
 }
@@ -0,0 +1,41 @@
+package com.TopCV.service;
+
+import com.TopCV.dto.response.FunnelResponse;
+import com.TopCV.enums.ApplicationStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface FunnelStatsService {
+    // Ghi nhận các lần đổi trạng thái, chạy trong transaction đang thay đổi đơn
+    void record(List<Transition> transitions);
+
+    // Cộng các event vào bảng thống kê, trả về số dòng theo ngày được cập nhật
+    int flush();
+
+    // Đặt lại số đơn đang ở từng trạng thái theo bảng applications
+    void reconcile();
+
+    FunnelResponse getMyFunnel();
+
+    FunnelResponse getJobFunnel(Integer jobId, int days);
+
+    record Transition(int jobPostId, String employerId, ApplicationStatus from, ApplicationStatus to,
+                      boolean removed, LocalDateTime appliedAt) {
+
+        public static Transition applied(int jobPostId, String employerId, ApplicationStatus status) {
+            return new Transition(jobPostId, employerId, null, status, false, null);
+        }
+
+        public static Transition changed(int jobPostId, String employerId, ApplicationStatus from,
+                                         ApplicationStatus to, LocalDateTime appliedAt) {
+            return new Transition(jobPostId, employerId, from, to, false, appliedAt);
+        }
+
+        // Đơn bị xoá khỏi funnel (rút đơn)
+        public static Transition removed(int jobPostId, String employerId, ApplicationStatus from,
+                                         ApplicationStatus to, LocalDateTime appliedAt) {
+            return new Transition(jobPostId, employerId, from, to, true, appliedAt);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.TopCV.service;
+
+import com.TopCV.enums.FileType;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImageService {
+    // Lưu ảnh gốc theo hash nội dung, trả về key tương đối (vd: company-logos/img/<hash>.png)
+    String storeImage(MultipartFile file, FileType fileType);
+
+    // Sinh thumbnail/card trên pool riêng sau khi transaction hiện tại commit, xong thì chạy onReady trong transaction mới
+    void generateVariantsAfterCommit(String originalKey, Runnable onReady);
+}
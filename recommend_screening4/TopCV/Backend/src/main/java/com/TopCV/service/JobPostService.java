@@ -7,6 +7,8 @@ import com.TopCV.dto.response.JobPost.JobPostDashboardResponse;
 import com.TopCV.dto.response.JobPost.JobPostResponse;
 import com.TopCV.dto.response.PageResponse;
 
+import java.util.List;
+
 public interface JobPostService {
     PageResponse<JobPostDashboardResponse> searchJobPosts(JobPostSearchRequest request, int page, int size);
     JobPostResponse createJobPost(JobPostCreationRequest request);
@@ -24,4 +26,7 @@ public interface JobPostService {
     void favoriteJob(Integer jobId);
     void unFavoriteJob(Integer jobId);
     boolean isFavoriteJob(Integer jobId);
+
+    // Các job trong jobIds mà user hiện tại đã lưu, dùng cho cả một trang kết quả
+    List<Integer> findFavoriteJobIds(List<Integer> jobIds);
 }
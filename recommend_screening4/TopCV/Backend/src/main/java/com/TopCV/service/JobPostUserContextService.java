@@ -0,0 +1,13 @@
+package com.TopCV.service;
+
+import com.TopCV.dto.response.JobPost.JobPostDashboardResponse;
+import com.TopCV.dto.response.JobPost.JobPostResponse;
+
+import java.util.List;
+
+public interface JobPostUserContextService {
+    // Gắn isFavorite/canApply cho cả trang theo user hiện tại (hoặc khách), trả lại chính danh sách đó
+    List<JobPostDashboardResponse> applyToDashboards(List<JobPostDashboardResponse> jobs);
+
+    JobPostResponse applyToDetail(JobPostResponse job);
+}
@@ -0,0 +1,11 @@
+package com.TopCV.service;
+
+import com.TopCV.entity.JobPost;
+
+public interface JobSkillTaggingService {
+    // Gắn inferredSkills theo tiêu đề, mô tả, yêu cầu và skill đã khai báo hiện tại của job, gọi trước khi lưu
+    void tag(JobPost jobPost);
+
+    // Gắn lại một lô job chưa gắn hoặc gắn theo từ điển cũ, trả về số job đã xử lý
+    int tagPending(int batchSize);
+}
@@ -0,0 +1,19 @@
+package com.TopCV.service;
+
+import com.TopCV.dto.response.NotificationResponse;
+import com.TopCV.dto.response.PageResponse;
+import com.TopCV.enums.ApplicationStatus;
+
+import java.util.List;
+
+public interface NotificationService {
+    void createApplicationStatusNotifications(List<Integer> applicationIds, ApplicationStatus newStatus);
+
+    PageResponse<NotificationResponse> getMyNotifications(int page, int size);
+
+    long countMyUnread();
+
+    void markAsRead(Long notificationId);
+
+    void markAllAsRead();
+}
@@ -5,5 +5,9 @@ import com.TopCV.enums.OtpType;
 public interface OtpService {
     void generateAndSendOtp(String email, OtpType otpType);
 
+    String generateOtpCode();
+
+    void sendOtp(String email, String otp, OtpType otpType);
+
     boolean verifyOtp(String email, String providedOtp);
 }
@@ -0,0 +1,7 @@
+package com.TopCV.service;
+
+public interface PasswordHashingService {
+    String encode(String rawPassword);
+
+    boolean matches(String rawPassword, String encodedPassword);
+}
@@ -14,10 +14,21 @@ public interface PythonServiceClient {
     JobRecommendationResponse analyzeCV(MultipartFile cvFile, Integer topK, Double minScore, 
                                       String location, String jobType);
     
+    /**
+     * Như analyzeCV nhưng gửi text CV đã trích sẵn, Python không phải parse file
+     */
+    JobRecommendationResponse analyzeCVText(String cvText, String fileName, Integer topK, Double minScore,
+                                            String location, String jobType);
+
     /**
      * Gọi Python API để screening CV với job cụ thể
      */
     CVScreeningResponse screenCV(MultipartFile cvFile, Integer jobId);
+
+    /**
+     * Screening bằng text CV đã trích sẵn (Resume.extractedText)
+     */
+    CVScreeningResponse screenCVText(String cvText, String fileName, Integer jobId);
     
     /**
      * Sync job data từ Java sang Python
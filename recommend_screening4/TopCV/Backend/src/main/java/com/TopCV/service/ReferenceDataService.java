@@ -0,0 +1,32 @@
+package com.TopCV.service;
+
+import com.TopCV.entity.CompanyCategory;
+import com.TopCV.entity.JobLevel;
+import com.TopCV.entity.JobType;
+import com.TopCV.entity.Skill;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReferenceDataService {
+    ReferenceDataSnapshot snapshot();
+
+    // Entity chỉ mang id và tên lấy từ snapshot, dùng để gán quan hệ mà không đọc lại bảng
+    JobType requireJobType(Integer id);
+
+    JobLevel requireJobLevel(Integer id);
+
+    List<Skill> requireSkills(Collection<Integer> ids);
+
+    // Bỏ qua id không còn tồn tại
+    List<Skill> findSkills(Collection<Integer> ids);
+
+    List<CompanyCategory> requireCategories(Collection<Integer> ids);
+
+    // Gọi trong transaction admin sửa danh mục, các node nạp lại sau khi commit
+    void publishChange();
+
+    // Nạp lại nếu Redis có version mới hơn, phòng khi lỡ message pub/sub
+    void checkVersion();
+}
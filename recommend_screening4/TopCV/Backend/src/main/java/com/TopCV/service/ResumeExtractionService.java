@@ -0,0 +1,18 @@
+package com.TopCV.service;
+
+import com.TopCV.entity.Resume;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ResumeExtractionService {
+    // Trích text + skill cho resume mới, chạy nền sau khi transaction hiện tại commit
+    void extractAfterCommit(Integer resumeId);
+
+    // Text đã lưu của resume; chưa trích thì trích ngay. Null nếu file không đọc được
+    String getOrExtractText(Resume resume);
+
+    // Text của file chưa gắn resume: dùng lại theo hash nếu đã từng trích, không thì trích tại chỗ (không lưu)
+    String extractText(MultipartFile file);
+
+    // Trích các resume còn chờ (upload cũ, queue đầy, node restart). Trả về số resume đã xử lý
+    int extractPending(int limit);
+}
@@ -2,13 +2,18 @@ package com.TopCV.service;
 
 import com.TopCV.dto.response.FileUploadResponse;
 import com.TopCV.dto.response.ResumeResponse;
+import com.TopCV.entity.Resume;
+import com.TopCV.entity.User;
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 
 public interface ResumeService {
     FileUploadResponse uploadResume(MultipartFile file);
-    byte[] downloadResume(Integer resumeId);
+    Resource downloadResume(Integer resumeId);
     void deleteResume(Integer resumeId);
     List<ResumeResponse> getMyResumes();
 //    ResumeResponse updateResume(Integer resumeId, String userEmail);
@@ -16,8 +21,14 @@ public interface ResumeService {
     
     // Employer methods for candidate resume access
     ResumeResponse getCandidateResumeByApplicationId(Integer applicationId);
-    byte[] downloadCandidateResume(Integer applicationId);
+    Resource downloadCandidateResume(Integer applicationId);
     
+    // Dùng lại Resume sẵn có nếu user đã tải lên đúng nội dung này
+    Resume findOrCreateResume(User user, MultipartFile file);
+
+    // URL tải thẳng từ object storage (presigned), empty nếu phải stream qua backend
+    Optional<URI> getDirectDownloadUrl(ResumeResponse resume, String contentDisposition, String contentType);
+
     // User methods for AI screening
-    byte[] downloadResumeForAIScreening(Integer resumeId);
+    Resource downloadResumeForAIScreening(Integer resumeId);
 }
@@ -0,0 +1,17 @@
+package com.TopCV.service;
+
+import com.TopCV.dto.response.ShortlistRankResponse;
+import com.TopCV.dto.response.ShortlistResponse;
+
+import java.util.Collection;
+
+public interface ShortlistService {
+    /** Đọc điểm/trạng thái hiện tại trong transaction, đẩy vào Redis sau khi commit */
+    void syncAfterCommit(Collection<Integer> applicationIds);
+
+    void removeAfterCommit(int jobPostId, int applicationId);
+
+    ShortlistResponse getTopCandidates(Integer jobId, String status, int offset, int limit);
+
+    ShortlistRankResponse getRank(Integer applicationId, String status);
+}
@@ -11,6 +11,7 @@ import com.TopCV.dto.response.RegistrationResponse;
 import com.TopCV.dto.response.UserResponse;
 import com.TopCV.entity.User;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
 
 public interface UserService {
@@ -18,6 +19,8 @@ public interface UserService {
 
     UserResponse updateCurrentUser(UserUpdateRequest request);
 
+    UserResponse updateMyAvatar(MultipartFile file);
+
     UserResponse getUserById(String userId);
     
     User getUserEntityById(String userId); // Lấy User entity cho screening
@@ -0,0 +1,91 @@
+package com.TopCV.service.extraction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessRead;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.io.RandomAccessReadBufferedFile;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.hwpf.HWPFDocument;
+import org.apache.poi.hwpf.extractor.WordExtractor;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.regex.Pattern;
+
+/**
+ * Đọc text thô từ file CV (pdf, docx, doc), chuẩn hóa khoảng trắng.
+ * File scan (chỉ có ảnh) cho ra text rỗng.
+ */
+@Component
+@Slf4j
+public class ResumeTextExtractor {
+    private static final Pattern HORIZONTAL_SPACES = Pattern.compile("[\\t\\x0B\\f\\u00A0 ]+");
+    private static final Pattern BLANK_LINES = Pattern.compile("\\n\\s*\\n(\\s*\\n)+");
+
+    @Value("${app.resume.extraction.max-pages:20}")
+    private int maxPages;
+
+    @Value("${app.resume.extraction.max-chars:100000}")
+    private int maxChars;
+
+    public String extract(Resource file, String filename) throws IOException {
+        String name = filename != null ? filename.toLowerCase() : "";
+        String raw;
+        if (name.endsWith(".pdf")) {
+            raw = extractPdf(file);
+        } else if (name.endsWith(".docx")) {
+            try (InputStream in = file.getInputStream();
+                 XWPFDocument document = new XWPFDocument(in);
+                 XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+                raw = extractor.getText();
+            }
+        } else if (name.endsWith(".doc")) {
+            try (InputStream in = file.getInputStream();
+                 HWPFDocument document = new HWPFDocument(in);
+                 WordExtractor extractor = new WordExtractor(document)) {
+                raw = extractor.getText();
+            }
+        } else {
+            throw new IOException("Unsupported resume format: " + filename);
+        }
+        return normalize(raw);
+    }
+
+    private String extractPdf(Resource file) throws IOException {
+        // File trên đĩa thì PDFBox đọc theo vị trí, không nạp cả file vào heap
+        RandomAccessRead source = file.isFile()
+                ? new RandomAccessReadBufferedFile(file.getFile())
+                : new RandomAccessReadBuffer(file.getInputStream());
+        PDDocument loaded;
+        try {
+            loaded = Loader.loadPDF(source);
+        } catch (IOException e) {
+            source.close();
+            throw e;
+        }
+        // Đóng document thì PDFBox đóng luôn source
+        try (PDDocument document = loaded) {
+            PDFTextStripper stripper = new PDFTextStripper();
+            stripper.setSortByPosition(true); // CV hai cột đọc theo thứ tự dòng
+            stripper.setEndPage(maxPages);
+            return stripper.getText(document);
+        }
+    }
+
+    String normalize(String raw) {
+        if (raw == null) {
+            return "";
+        }
+        String text = raw.replace("\u0000", "").replace("\r\n", "\n").replace('\r', '\n');
+        text = HORIZONTAL_SPACES.matcher(text).replaceAll(" ");
+        text = BLANK_LINES.matcher(text).replaceAll("\n\n").trim();
+        return text.length() > maxChars ? text.substring(0, maxChars) : text;
+    }
+}
@@ -0,0 +1,153 @@
+package com.TopCV.service.extraction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Automaton Aho-Corasick cho tập tên skill: quét text một lượt, thời gian tuyến tính theo độ dài text
+ * cộng số lần khớp, không phụ thuộc số skill. Dựng một lần rồi dùng chung giữa các thread.
+ * So khớp trên ký tự đã chuẩn hoá (chữ thường, mọi khoảng trắng thành ' ') nên vị trí khớp trùng với text gốc.
+ */
+final class SkillAutomaton {
+    // Chuyển trạng thái: ký tự sắp tăng dần của mỗi state để tìm nhị phân
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    // State gần nhất trên chuỗi fail là kết thúc của một pattern, -1 nếu không có
+    private final int[] outputLink;
+    // Độ dài pattern kết thúc tại state, 0 nếu không phải kết thúc
+    private final int[] patternLength;
+    private final int[] payload;
+
+    interface MatchConsumer {
+        void accept(int start, int end, int payload);
+    }
+
+    private SkillAutomaton(char[][] keys, int[][] targets, int[] fail, int[] outputLink,
+                           int[] patternLength, int[] payload) {
+        this.keys = keys;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputLink = outputLink;
+        this.patternLength = patternLength;
+        this.payload = payload;
+    }
+
+    /** patterns: pattern đã chuẩn hoá -> payload, pattern rỗng bị bỏ qua */
+    static SkillAutomaton build(Map<String, Integer> patterns) {
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<Integer> lengths = new ArrayList<>();
+        List<Integer> payloads = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        lengths.add(0);
+        payloads.add(0);
+
+        for (Map.Entry<String, Integer> pattern : patterns.entrySet()) {
+            String text = pattern.getKey();
+            if (text.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < text.length(); i++) {
+                Integer next = trie.get(state).get(text.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.add(new TreeMap<>());
+                    lengths.add(0);
+                    payloads.add(0);
+                    trie.get(state).put(text.charAt(i), next);
+                }
+                state = next;
+            }
+            lengths.set(state, text.length());
+            payloads.set(state, pattern.getValue());
+        }
+
+        int size = trie.size();
+        char[][] keys = new char[size][];
+        int[][] targets = new int[size][];
+        for (int state = 0; state < size; state++) {
+            TreeMap<Character, Integer> edges = trie.get(state);
+            keys[state] = new char[edges.size()];
+            targets[state] = new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                keys[state][i] = edge.getKey();
+                targets[state][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        int[] patternLength = lengths.stream().mapToInt(Integer::intValue).toArray();
+        int[] payload = payloads.stream().mapToInt(Integer::intValue).toArray();
+        int[] fail = new int[size];
+        int[] outputLink = new int[size];
+        Arrays.fill(outputLink, -1);
+
+        // BFS theo độ sâu: fail của một state luôn nông hơn nên đã được tính trước
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < keys[state].length; i++) {
+                char c = keys[state][i];
+                int child = targets[state][i];
+                int f = fail[state];
+                int next = transition(keys, targets, f, c);
+                while (f != 0 && next < 0) {
+                    f = fail[f];
+                    next = transition(keys, targets, f, c);
+                }
+                fail[child] = next >= 0 ? next : 0;
+                outputLink[child] = patternLength[fail[child]] > 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+        return new SkillAutomaton(keys, targets, fail, outputLink, patternLength, payload);
+    }
+
+    /** Báo mọi lần khớp (kể cả chồng lấn) theo vị trí kết thúc tăng dần */
+    void scan(CharSequence text, MatchConsumer consumer) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = normalize(text.charAt(i));
+            int next = transition(keys, targets, state, c);
+            while (state != 0 && next < 0) {
+                state = fail[state];
+                next = transition(keys, targets, state, c);
+            }
+            state = next >= 0 ? next : 0;
+            for (int out = patternLength[state] > 0 ? state : outputLink[state]; out > 0; out = outputLink[out]) {
+                consumer.accept(i + 1 - patternLength[out], i + 1, payload[out]);
+            }
+        }
+    }
+
+    int stateCount() {
+        return fail.length;
+    }
+
+    static char normalize(char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c) ? ' ' : Character.toLowerCase(c);
+    }
+
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            normalized.append(normalize(text.charAt(i)));
+        }
+        return normalized.toString();
+    }
+
+    private static int transition(char[][] keys, int[][] targets, int state, char c) {
+        int index = Arrays.binarySearch(keys[state], c);
+        return index >= 0 ? targets[state][index] : -1;
+    }
+}
@@ -0,0 +1,198 @@
+package com.TopCV.service.extraction;
+
+import com.TopCV.service.ReferenceDataService;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Tìm các skill (theo bảng skills và từ điển đồng nghĩa) xuất hiện trong một đoạn text.
+ * Tên skill và đồng nghĩa được dựng thành một automaton Aho-Corasick, dựng lại khi snapshot danh mục đổi.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SkillMatcher {
+    private final ReferenceDataService referenceDataService;
+
+    // Mỗi dòng: <tên skill> = <đồng nghĩa>, <đồng nghĩa>...
+    @Value("${app.skill-matcher.synonyms:classpath:skill-synonyms.txt}")
+    private Resource synonymsResource;
+
+    private volatile Dictionary dictionary;
+    private volatile Map<String, List<String>> synonyms;
+
+    /** Id các skill có trong text, theo thứ tự xuất hiện đầu tiên */
+    public Set<Integer> match(String text) {
+        Set<Integer> skillIds = new LinkedHashSet<>();
+        if (text == null || text.isBlank()) {
+            return skillIds;
+        }
+        Dictionary current = dictionary();
+        if (current.automaton() == null) {
+            return skillIds;
+        }
+
+        List<int[]> candidates = new ArrayList<>();
+        current.automaton().scan(text, (start, end, skillId) -> {
+            if (isBoundary(text, start, end)) {
+                candidates.add(new int[]{start, end, skillId});
+            }
+        });
+
+        // Giống regex cũ: khớp trái nhất rồi dài nhất, không chồng lấn, để "Spring Boot" không thành thêm "Spring"
+        candidates.sort(Comparator.<int[]>comparingInt(match -> match[0])
+                .thenComparing(match -> match[1], Comparator.reverseOrder()));
+        int consumedUntil = 0;
+        for (int[] match : candidates) {
+            if (match[0] >= consumedUntil) {
+                skillIds.add(match[2]);
+                consumedUntil = match[1];
+            }
+        }
+        return skillIds;
+    }
+
+    /** Đổi khi danh sách skill hoặc từ điển đồng nghĩa đổi, dùng để biết kết quả gắn skill cũ đã lỗi thời */
+    public long version() {
+        return dictionary().version();
+    }
+
+    // Ranh giới tự chế vì tên như "C++", "C#", ".NET" không theo ranh giới từ thông thường
+    private static boolean isBoundary(String text, int start, int end) {
+        if (start > 0) {
+            char before = text.charAt(start - 1);
+            if (Character.isLetterOrDigit(before) || before == '+' || before == '#' || before == '.') {
+                return false;
+            }
+        }
+        if (end < text.length()) {
+            char after = text.charAt(end);
+            return !Character.isLetterOrDigit(after) && after != '+' && after != '#';
+        }
+        return true;
+    }
+
+    private Dictionary dictionary() {
+        ReferenceDataSnapshot snapshot = referenceDataService.snapshot();
+        Dictionary current = dictionary;
+        if (current == null || current.source() != snapshot) {
+            synchronized (this) {
+                current = dictionary;
+                if (current == null || current.source() != snapshot) {
+                    current = build(snapshot);
+                    dictionary = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Dictionary build(ReferenceDataSnapshot snapshot) {
+        Map<String, Integer> idsByName = new HashMap<>();
+        Map<String, Integer> patterns = new HashMap<>();
+        for (ReferenceDataSnapshot.Entry skill : snapshot.skills().all()) {
+            if (skill.name() != null && !skill.name().isBlank()) {
+                String name = SkillAutomaton.normalize(skill.name().trim());
+                idsByName.putIfAbsent(name, skill.id());
+                patterns.putIfAbsent(name, skill.id());
+            }
+        }
+
+        // Tên thật của skill luôn thắng đồng nghĩa trùng chữ
+        int synonymCount = 0;
+        for (Map.Entry<String, List<String>> entry : synonyms().entrySet()) {
+            Integer skillId = idsByName.get(entry.getKey());
+            if (skillId == null) {
+                continue;
+            }
+            for (String synonym : entry.getValue()) {
+                if (patterns.putIfAbsent(synonym, skillId) == null) {
+                    synonymCount++;
+                }
+            }
+        }
+
+        long version = contentVersion(patterns);
+        if (patterns.isEmpty()) {
+            return new Dictionary(null, snapshot, version);
+        }
+        SkillAutomaton automaton = SkillAutomaton.build(patterns);
+        log.info("Built skill matcher from {} skills and {} synonyms ({} states)",
+                idsByName.size(), synonymCount, automaton.stateCount());
+        return new Dictionary(automaton, snapshot, version);
+    }
+
+    // Băm theo nội dung (pattern -> skill id đã sắp xếp), không theo version chung của danh mục:
+    // sửa job type/level không làm job bị gắn lại, và các node có cùng danh sách skill luôn ra cùng version
+    private static long contentVersion(Map<String, Integer> patterns) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Map.Entry<String, Integer> pattern : new TreeMap<>(patterns).entrySet()) {
+                digest.update((pattern.getKey() + '\t' + pattern.getValue() + '\n').getBytes(StandardCharsets.UTF_8));
+            }
+            return ByteBuffer.wrap(digest.digest()).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private Map<String, List<String>> synonyms() {
+        Map<String, List<String>> current = synonyms;
+        if (current == null) {
+            current = loadSynonyms();
+            synonyms = current;
+        }
+        return current;
+    }
+
+    private Map<String, List<String>> loadSynonyms() {
+        Map<String, List<String>> loaded = new LinkedHashMap<>();
+        if (synonymsResource == null || !synonymsResource.exists()) {
+            return loaded;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(synonymsResource.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                int separator = line.indexOf('=');
+                if (line.isEmpty() || line.startsWith("#") || separator <= 0) {
+                    continue;
+                }
+                List<String> values = loaded.computeIfAbsent(
+                        SkillAutomaton.normalize(line.substring(0, separator).trim()), key -> new ArrayList<>());
+                for (String synonym : line.substring(separator + 1).split(",")) {
+                    if (!synonym.isBlank()) {
+                        values.add(SkillAutomaton.normalize(synonym.trim()));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Cannot read skill synonyms from {}: {}", synonymsResource, e.getMessage());
+        }
+        return loaded;
+    }
+
+    private record Dictionary(SkillAutomaton automaton, ReferenceDataSnapshot source, long version) {}
+}
@@ -0,0 +1,273 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.entity.ScreeningPoints;
+import com.TopCV.entity.User;
+import com.TopCV.enums.ExportFormat;
+import com.TopCV.exception.AppException;
+import com.TopCV.exception.ErrorCode;
+import com.TopCV.repository.JobPostRepository;
+import com.TopCV.repository.UserRepository;
+import com.TopCV.service.ApplicationExportService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Export ứng viên của một job ra CSV/XLSX.
+ * Đọc theo từng đoạn id (keyset), mỗi đoạn một transaction read-only ngắn với cursor forward-only
+ * và fetch size cố định, ghi từng dòng thẳng ra response nên bộ nhớ không tăng theo số dòng.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ApplicationExportServiceImpl implements ApplicationExportService {
+    JdbcTemplate jdbcTemplate;
+    PlatformTransactionManager transactionManager;
+    JobPostRepository jobPostRepository;
+    UserRepository userRepository;
+
+    @NonFinal
+    @Value("${app.export.fetch-size:500}")
+    int fetchSize;
+
+    // Số dòng tối đa trong một transaction, tránh giữ snapshot lâu trên primary
+    @NonFinal
+    @Value("${app.export.segment-size:10000}")
+    int segmentSize;
+
+    private static final String SELECT_SEGMENT =
+            "SELECT a.id, u.full_name, u.email, u.phone, a.status, a.screening_decision, a.screening_score, " +
+            "a.matching_points, a.not_matching_points, a.screening_recommendation, a.created_at, a.screened_at " +
+            "FROM applications a JOIN users u ON u.id = a.user_id " +
+            "WHERE a.job_id = ? AND a.id > ? ORDER BY a.id LIMIT ?";
+
+    private static final List<String> HEADER = List.of(
+            "Application ID", "Candidate", "Email", "Phone", "Status", "Screening decision", "Screening score",
+            "Matching points", "Not matching points", "Recommendation", "Applied at", "Screened at");
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    @Override
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public String prepareJobExport(Integer jobId, ExportFormat format) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+
+        String ownerId = jobPostRepository.findOwnerId(jobId)
+                .orElseThrow(() -> new AppException(ErrorCode.JOB_POST_NOT_EXISTED));
+
+        // Verify user owns the company that posted the job
+        if (!ownerId.equals(user.getId())) {
+            throw new AppException(ErrorCode.UNAUTHORIZED);
+        }
+
+        return "job-" + jobId + "-applications." + format.getExtension();
+    }
+
+    @Override
+    public void writeJobApplications(Integer jobId, ExportFormat format, OutputStream out) throws IOException {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        try (RowWriter writer = format == ExportFormat.XLSX ? new XlsxRowWriter(out) : new CsvRowWriter(out)) {
+            writer.writeRow(new ArrayList<>(HEADER));
+
+            long[] lastId = {0};
+            int[] rowsInSegment = new int[1];
+            long total = 0;
+            do {
+                rowsInSegment[0] = 0;
+                readOnly.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(SELECT_SEGMENT,
+                            ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    ps.setInt(1, jobId);
+                    ps.setLong(2, lastId[0]);
+                    ps.setInt(3, segmentSize);
+                    return ps;
+                }, rs -> {
+                    lastId[0] = rs.getLong("id");
+                    rowsInSegment[0]++;
+                    try {
+                        writer.writeRow(toRow(rs));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+                total += rowsInSegment[0];
+                writer.flush();
+            } while (rowsInSegment[0] == segmentSize);
+
+            log.info("Exported {} applications of job {} as {}", total, jobId, format);
+        } catch (UncheckedIOException e) {
+            // Client ngắt kết nối giữa chừng
+            throw e.getCause();
+        }
+    }
+
+    private List<Object> toRow(ResultSet rs) throws SQLException {
+        List<Object> row = new ArrayList<>(HEADER.size());
+        row.add(rs.getInt("id"));
+        row.add(rs.getString("full_name"));
+        row.add(rs.getString("email"));
+        row.add(rs.getString("phone"));
+        row.add(rs.getString("status"));
+        row.add(rs.getString("screening_decision"));
+        row.add(rs.getObject("screening_score", Double.class));
+        row.add(joinPoints(rs.getString("matching_points")));
+        row.add(joinPoints(rs.getString("not_matching_points")));
+        row.add(rs.getString("screening_recommendation"));
+        row.add(formatTimestamp(rs.getTimestamp("created_at")));
+        row.add(formatTimestamp(rs.getTimestamp("screened_at")));
+        return row;
+    }
+
+    private String joinPoints(String json) {
+        ScreeningPoints points = ScreeningPoints.ofJson(json);
+        return points != null ? String.join("; ", points.values()) : null;
+    }
+
+    private String formatTimestamp(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().format(DATE_TIME_FORMAT) : null;
+    }
+
+    private interface RowWriter extends Closeable {
+        void writeRow(List<Object> values) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+            // BOM để Excel đọc đúng tiếng Việt
+            writer.write('\uFEFF');
+        }
+
+        @Override
+        public void writeRow(List<Object> values) throws IOException {
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = values.get(i);
+                if (value instanceof Number) {
+                    writer.write(value.toString());
+                } else if (value != null) {
+                    writer.write(escape(neutralizeFormula(value.toString())));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        // Tên, email... do người dùng nhập: ô bắt đầu bằng = + - @ tab CR bị Excel hiểu là công thức
+        private String neutralizeFormula(String value) {
+            if (value.isEmpty()) {
+                return value;
+            }
+            char first = value.charAt(0);
+            if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+                return "'" + value;
+            }
+            return value;
+        }
+
+        private String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    // SXSSF chỉ giữ một cửa sổ dòng trong heap, phần còn lại đẩy ra file tạm đã nén
+    private static class XlsxRowWriter implements RowWriter {
+        private final OutputStream out;
+        private final SXSSFWorkbook workbook;
+        private final Sheet sheet;
+        private int rowIndex;
+
+        XlsxRowWriter(OutputStream out) {
+            this.out = out;
+            this.workbook = new SXSSFWorkbook(100);
+            this.workbook.setCompressTempFiles(true);
+            this.sheet = workbook.createSheet("Applications");
+        }
+
+        @Override
+        public void writeRow(List<Object> values) {
+            Row row = sheet.createRow(rowIndex++);
+            for (int i = 0; i < values.size(); i++) {
+                Object value = values.get(i);
+                if (value == null) {
+                    continue;
+                }
+                Cell cell = row.createCell(i);
+                if (value instanceof Number number) {
+                    cell.setCellValue(number.doubleValue());
+                } else {
+                    cell.setCellValue(value.toString());
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+            // File xlsx chỉ ghi ra được khi đã đủ dữ liệu
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                workbook.write(out);
+                out.flush();
+            } finally {
+                // POI 5: close() cũng xoá các file tạm của SXSSF
+                workbook.close();
+            }
+        }
+    }
+}
@@ -1,21 +1,30 @@
 package com.TopCV.service.impl;
 
+import com.TopCV.dto.request.Application.ApplicantInboxRequest;
 import com.TopCV.dto.request.Application.ApplicationRequest;
 import com.TopCV.dto.request.Application.ApplicationStatusUpdateRequest;
+import com.TopCV.dto.response.ApplicantInboxResponse;
 import com.TopCV.dto.response.ApplicationResponse;
 import com.TopCV.dto.response.PageResponse;
 import com.TopCV.entity.*;
 import com.TopCV.enums.ApplicationStatus;
 import com.TopCV.enums.JobPostStatus;
+import com.TopCV.event.ApplicationStatusChangedEvent;
 import com.TopCV.exception.AppException;
 import com.TopCV.exception.ErrorCode;
 import com.TopCV.mapper.ApplicationMapper;
 import com.TopCV.repository.*;
+import com.TopCV.repository.projection.ApplicantInboxRow;
+import com.TopCV.repository.projection.ApplicationOwnershipView;
 import com.TopCV.service.ApplicationService;
+import com.TopCV.service.AppliedCountService;
+import com.TopCV.service.FunnelStatsService;
+import com.TopCV.service.ShortlistService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -25,9 +34,14 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.chrono.ChronoLocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
@@ -39,6 +53,12 @@ public class ApplicationServiceImpl implements ApplicationService {
     UserRepository userRepository;
     ResumeRepository resumeRepository;
     ApplicationMapper applicationMapper;
+    ApplicationEventPublisher applicationEventPublisher;
+    AppliedCountService appliedCountService;
+    ShortlistService shortlistService;
+    FunnelStatsService funnelStatsService;
+
+    private static final int MAX_INBOX_PAGE_SIZE = 100;
 
     @Override
     @Transactional
@@ -83,10 +103,12 @@ public class ApplicationServiceImpl implements ApplicationService {
                 .build();
 
         Application savedApplication = applicationRepository.save(application);
+        applicationRepository.refreshSearchDocument(savedApplication.getId());
 
-        // Update job post applied count
-        jobPost.setAppliedCount(jobPost.getAppliedCount() + 1);
-        jobPostRepository.save(jobPost);
+        // Cộng nguyên tử vào shard, không đọc-sửa-ghi cả dòng job_posts
+        appliedCountService.increment(jobPost.getId());
+        funnelStatsService.record(List.of(FunnelStatsService.Transition.applied(
+                jobPost.getId(), savedApplication.getEmployer().getId(), ApplicationStatus.PENDING)));
 
         return applicationMapper.toResponse(savedApplication);
     }
@@ -124,12 +146,14 @@ public class ApplicationServiceImpl implements ApplicationService {
         }
 
         // Decrease job post applied count before deleting
-        JobPost jobPost = application.getJobPost();
-        jobPost.setAppliedCount(Math.max(0, jobPost.getAppliedCount() - 1));
-        jobPostRepository.save(jobPost);
+        appliedCountService.decrement(application.getJobPost().getId());
+        funnelStatsService.record(List.of(FunnelStatsService.Transition.removed(
+                application.getJobPost().getId(), application.getEmployer().getId(),
+                application.getStatus(), ApplicationStatus.WITHDRAWN, application.getCreatedAt())));
 
         // Delete the application record completely
         applicationRepository.delete(application);
+        shortlistService.removeAfterCommit(application.getJobPost().getId(), applicationId);
         
         log.info("Application with ID {} has been withdrawn and deleted from database by user {}", 
                 applicationId, user.getEmail());
@@ -150,7 +174,7 @@ public class ApplicationServiceImpl implements ApplicationService {
                 .totalPages(pageData.getTotalPages())
                 .totalElements(pageData.getTotalElements())
                 .data(pageData.getContent().stream()
-                        .map(applicationMapper::toResponse)
+                        .map(applicationMapper::toSummaryResponse)
                         .toList())
                 .build();
     }
@@ -178,7 +202,7 @@ public class ApplicationServiceImpl implements ApplicationService {
                 .totalPages(pageData.getTotalPages())
                 .totalElements(pageData.getTotalElements())
                 .data(pageData.getContent().stream()
-                        .map(applicationMapper::toResponseForEmployer)
+                        .map(applicationMapper::toSummaryResponseForEmployer)
                         .toList())
                 .build();
     }
@@ -198,11 +222,43 @@ public class ApplicationServiceImpl implements ApplicationService {
                 .totalPages(pageData.getTotalPages())
                 .totalElements(pageData.getTotalElements())
                 .data(pageData.getContent().stream()
-                        .map(applicationMapper::toResponseForEmployer)
+                        .map(applicationMapper::toSummaryResponseForEmployer)
                         .toList())
                 .build();
     }
 
+    @Override
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public ApplicantInboxResponse getJobApplicantInbox(Integer jobId, ApplicantInboxRequest request) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+
+        String ownerId = jobPostRepository.findOwnerId(jobId)
+                .orElseThrow(() -> new AppException(ErrorCode.JOB_POST_NOT_EXISTED));
+
+        // Verify user owns the company that posted the job
+        if (!ownerId.equals(user.getId())) {
+            throw new AppException(ErrorCode.UNAUTHORIZED);
+        }
+
+        // Inbox theo job mặc định xếp theo điểm screening
+        ApplicantInboxQuery query = toInboxQuery(request, !"newest".equalsIgnoreCase(request.getSortBy()));
+        return toInboxResponse(applicationRepository.findJobInbox(jobId, query), query);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public ApplicantInboxResponse getEmployerApplicantInbox(ApplicantInboxRequest request) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+
+        // Inbox tổng của employer mặc định xếp theo đơn mới nhất
+        ApplicantInboxQuery query = toInboxQuery(request, "score".equalsIgnoreCase(request.getSortBy()));
+        return toInboxResponse(applicationRepository.findEmployerInbox(user.getId(), query), query);
+    }
+
     @Override
     @Transactional
     @PreAuthorize("hasRole('EMPLOYER')")
@@ -232,11 +288,21 @@ public class ApplicationServiceImpl implements ApplicationService {
         //     throw new AppException(ErrorCode.INVALID_STATUS_TRANSITION);
         // }
 
+        if (application.getStatus() == newStatus) {
+            return;
+        }
+
+        funnelStatsService.record(List.of(FunnelStatsService.Transition.changed(
+                application.getJobPost().getId(), user.getId(), application.getStatus(), newStatus,
+                application.getCreatedAt())));
         application.setStatus(newStatus);
 
         applicationRepository.save(application);
+        shortlistService.syncAfterCommit(List.of(application.getId()));
 
-        // Send notification to applicant
+        // Thông báo cho ứng viên được tạo sau khi commit, không chặn request
+        applicationEventPublisher.publishEvent(
+                new ApplicationStatusChangedEvent(List.of(application.getId()), newStatus));
     }
 
     @Override
@@ -251,15 +317,16 @@ public class ApplicationServiceImpl implements ApplicationService {
             throw new AppException(ErrorCode.APPLICATION_IDS_REQUIRED);
         }
 
-        List<Application> applications = applicationRepository.findAllById(request.getApplicationIds());
+        Set<Integer> applicationIds = new HashSet<>(request.getApplicationIds());
+        List<ApplicationOwnershipView> applications = applicationRepository.findOwnershipViews(applicationIds);
 
-        if (applications.size() != request.getApplicationIds().size()) {
+        if (applications.size() != applicationIds.size()) {
             throw new AppException(ErrorCode.SOME_APPLICATIONS_NOT_FOUND);
         }
 
         // Verify user owns all job posts
-        for (Application application : applications) {
-            if (!application.getJobPost().getCompany().getUser().getId().equals(user.getId())) {
+        for (ApplicationOwnershipView application : applications) {
+            if (!user.getId().equals(application.getOwnerId())) {
                 throw new AppException(ErrorCode.UNAUTHORIZED);
             }
         }
@@ -271,15 +338,24 @@ public class ApplicationServiceImpl implements ApplicationService {
             throw new AppException(ErrorCode.INVALID_APPLICATION_STATUS);
         }
 
-        // Update all applications - allow free status transition
-        for (Application application : applications) {
-            // Allow any status transition - employer has full control
-                application.setStatus(newStatus);
+        // Allow any status transition - employer has full control
+        List<ApplicationOwnershipView> changed = applications.stream()
+                .filter(application -> application.getStatus() != newStatus)
+                .toList();
+        List<Integer> changedIds = changed.stream()
+                .map(ApplicationOwnershipView::getApplicationId)
+                .toList();
+
+        // Một câu UPDATE cho cả lô thay vì saveAll từng entity
+        if (!changedIds.isEmpty()) {
+            applicationRepository.updateStatus(changedIds, newStatus);
+            funnelStatsService.record(changed.stream()
+                    .map(application -> FunnelStatsService.Transition.changed(application.getJobPostId(),
+                            application.getOwnerId(), application.getStatus(), newStatus, application.getCreatedAt()))
+                    .toList());
+            shortlistService.syncAfterCommit(changedIds);
+            applicationEventPublisher.publishEvent(new ApplicationStatusChangedEvent(changedIds, newStatus));
         }
-
-        applicationRepository.saveAll(applications);
-
-        //send notification
     }
 
     @Override
@@ -293,7 +369,7 @@ public class ApplicationServiceImpl implements ApplicationService {
                 .totalPages(pageData.getTotalPages())
                 .totalElements(pageData.getTotalElements())
                 .data(pageData.getContent().stream()
-                        .map(applicationMapper::toResponseForEmployer)
+                        .map(applicationMapper::toSummaryResponseForEmployer)
                         .toList())
                 .build();
     }
@@ -316,6 +392,68 @@ public class ApplicationServiceImpl implements ApplicationService {
         return applicationMapper.toResponseForEmployer(application);
     }
 
+    private ApplicantInboxQuery toInboxQuery(ApplicantInboxRequest request, boolean sortByScore) {
+        ApplicationStatus status = null;
+        if (request.getStatus() != null && !request.getStatus().isBlank()) {
+            try {
+                status = ApplicationStatus.valueOf(request.getStatus().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new AppException(ErrorCode.INVALID_APPLICATION_STATUS);
+            }
+        }
+        String decision = request.getDecision() != null && !request.getDecision().isBlank()
+                ? request.getDecision().toUpperCase()
+                : null;
+        int size = Math.clamp(request.getSize(), 1, MAX_INBOX_PAGE_SIZE);
+
+        // Lấy dư một dòng để biết còn trang sau hay không
+        String matchingPoint = request.getMatchingPoint() != null && !request.getMatchingPoint().isBlank()
+                ? request.getMatchingPoint().trim()
+                : null;
+        return new ApplicantInboxQuery(status, decision, request.getMinScore(), request.getMaxScore(), matchingPoint,
+                sortByScore, decodeInboxCursor(request.getCursor(), sortByScore), size + 1);
+    }
+
+    private ApplicantInboxResponse toInboxResponse(List<ApplicantInboxRow> rows, ApplicantInboxQuery query) {
+        int pageSize = query.limit() - 1;
+        boolean hasNext = rows.size() > pageSize;
+        List<ApplicantInboxRow> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        return ApplicantInboxResponse.builder()
+                .pageSize(pageSize)
+                .nextCursor(hasNext ? encodeInboxCursor(page.getLast(), query.sortByScore()) : null)
+                .data(page.stream()
+                        .map(applicationMapper::toInboxItem)
+                        .toList())
+                .build();
+    }
+
+    // Cursor dạng "s|score|id" hoặc "t|createdAt|id", base64 để client coi như chuỗi mờ
+    private String encodeInboxCursor(ApplicantInboxRow last, boolean sortByScore) {
+        String raw = sortByScore
+                ? "s|" + (last.screeningScore() != null ? last.screeningScore() : "") + "|" + last.applicationId()
+                : "t|" + last.createdAt() + "|" + last.applicationId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ApplicantInboxQuery.Cursor decodeInboxCursor(String cursor, boolean sortByScore) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3 || !parts[0].equals(sortByScore ? "s" : "t")) {
+                throw new AppException(ErrorCode.INVALID_INBOX_CURSOR);
+            }
+            int id = Integer.parseInt(parts[2]);
+            return sortByScore
+                    ? new ApplicantInboxQuery.Cursor(parts[1].isEmpty() ? null : Double.valueOf(parts[1]), null, id)
+                    : new ApplicantInboxQuery.Cursor(null, LocalDateTime.parse(parts[1]), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new AppException(ErrorCode.INVALID_INBOX_CURSOR);
+        }
+    }
+
     // DISABLED: Allow free status transition - employer has full control
     // private boolean isValidStatusTransition(ApplicationStatus currentStatus, ApplicationStatus newStatus) {
     //     return switch (currentStatus) {
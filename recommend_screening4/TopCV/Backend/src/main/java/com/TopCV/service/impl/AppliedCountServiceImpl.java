@@ -0,0 +1,55 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.repository.JobPostCounterShardRepository;
+import com.TopCV.repository.JobPostRepository;
+import com.TopCV.service.AppliedCountService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class AppliedCountServiceImpl implements AppliedCountService {
+    JobPostCounterShardRepository jobPostCounterShardRepository;
+    JobPostRepository jobPostRepository;
+
+    // <= 1: cộng thẳng vào job_posts (một câu UPDATE), > 1: ghi vào shard ngẫu nhiên
+    @NonFinal
+    @Value("${app.job-post.applied-count.shards:8}")
+    int shards;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void increment(int jobPostId) {
+        add(jobPostId, 1);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void decrement(int jobPostId) {
+        add(jobPostId, -1);
+    }
+
+    @Override
+    @Transactional
+    public int flush() {
+        return shards > 1 ? jobPostCounterShardRepository.drainIntoJobPosts() : 0;
+    }
+
+    private void add(int jobPostId, int delta) {
+        if (shards <= 1) {
+            jobPostRepository.addAppliedCount(jobPostId, delta);
+            return;
+        }
+        short shard = (short) ThreadLocalRandom.current().nextInt(shards);
+        jobPostCounterShardRepository.addAppliedDelta(jobPostId, shard, delta);
+    }
+}
@@ -14,6 +14,8 @@ import com.TopCV.exception.ErrorCode;
 import com.TopCV.repository.InvalidatedTokenRepository;
 import com.TopCV.repository.UserRepository;
 import com.TopCV.service.AuthenticationService;
+import com.TopCV.service.PasswordHashingService;
+import com.TopCV.service.redis.LoginThrottleService;
 import com.TopCV.service.redis.UserRedisService;
 import com.nimbusds.jose.*;
 import com.nimbusds.jose.crypto.MACSigner;
@@ -29,8 +31,6 @@ import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -38,7 +38,10 @@ import java.text.ParseException;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
 import java.util.StringJoiner;
 import java.util.UUID;
 
@@ -51,6 +54,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     InvalidatedTokenRepository invalidatedTokenRepository;
     OtpServiceImpl otpService;
     private final UserRedisService userRedisService;
+    PasswordHashingService passwordHashingService;
+    LoginThrottleService loginThrottleService;
 
     @NonFinal
     @Value("${jwt.signerKey}")
@@ -75,7 +80,13 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 //    @NonFinal
 //    protected String GRANT_TYPE = "authorization_code";
 
-    public AuthenticationResponse authenticate(AuthenticationRequest request, HttpServletResponse response) {
+    public AuthenticationResponse authenticate(AuthenticationRequest request,
+                                               HttpServletRequest httpRequest,
+                                               HttpServletResponse response) {
+        if (!loginThrottleService.tryAcquire(request.getEmail(), getClientIp(httpRequest))) {
+            throw new AppException(ErrorCode.TOO_MANY_LOGIN_ATTEMPTS);
+        }
+
         var user = userRepository
                 .findByEmail(request.getEmail())
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
@@ -84,8 +95,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             throw new AppException(ErrorCode.USER_DEACTIVATED);
         }
 
-        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
-        boolean authenticated = passwordEncoder.matches(request.getPassword(), user.getPassword());
+        boolean authenticated = passwordHashingService.matches(request.getPassword(), user.getPassword());
 
         if (!authenticated) throw new AppException(ErrorCode.UNAUTHENTICATED);
 
@@ -122,7 +132,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 .expiryTime(signedJWT.getJWTClaimsSet().getExpirationTime())
                 .build();
 
-        invalidatedTokenRepository.save(invalidatedToken);
+        invalidatedTokenRepository.invalidateAll(List.of(invalidatedToken));
 
         var user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new AppException(ErrorCode.UNAUTHENTICATED));
@@ -150,39 +160,22 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     public void logout(HttpServletRequest request, HttpServletResponse response) {
         try {
+            List<InvalidatedToken> revokedTokens = new ArrayList<>(2);
+
             // Invalidate access token if present
             String authHeader = request.getHeader("Authorization");
             if (authHeader != null && authHeader.startsWith("Bearer ")) {
-                try {
-                    var signToken = SignedJWT.parse(authHeader.substring(7));
-                    String jit = signToken.getJWTClaimsSet().getJWTID();
-                    Date expiryTime = signToken.getJWTClaimsSet().getExpirationTime();
-
-                    InvalidatedToken invalidatedToken = InvalidatedToken.builder()
-                            .id(jit)
-                            .expiryTime(expiryTime)
-                            .build();
-                    invalidatedTokenRepository.save(invalidatedToken);
-                } catch (Exception e) {
-                    log.warn("Error invalidating access token during logout", e);
-                }
+                toRevoke(authHeader.substring(7)).ifPresent(revokedTokens::add);
             }
 
             String refreshToken = getRefreshTokenFromCookie(request);
             if (refreshToken != null) {
-
-                var refreshJWT = SignedJWT.parse(refreshToken);
-                String tokenId = refreshJWT.getJWTClaimsSet().getJWTID();
-
-                // add to blacklist
-                InvalidatedToken invalidatedToken = InvalidatedToken.builder()
-                        .id(tokenId)
-                        .expiryTime(refreshJWT.getJWTClaimsSet().getExpirationTime())
-                        .build();
-                invalidatedTokenRepository.save(invalidatedToken);
-
+                toRevoke(refreshToken).ifPresent(revokedTokens::add);
             }
 
+            // Access token và refresh token được ghi chung một batch
+            invalidatedTokenRepository.invalidateAll(revokedTokens);
+
             // Clear refresh token cookie
             clearRefreshTokenCookie(response);
         } catch (Exception e) {
@@ -190,6 +183,21 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         }
     }
 
+    // Chỉ ghi token do server ký và còn hiệu lực. Token hết hạn, đã thu hồi hay giả mạo thì không dùng được nữa,
+    // còn exp của token giả có thể nằm ngoài các partition của invalidated_token và làm hỏng cả batch
+    private Optional<InvalidatedToken> toRevoke(String token) {
+        try {
+            var claims = verifyToken(token).getJWTClaimsSet();
+            return Optional.of(InvalidatedToken.builder()
+                    .id(claims.getJWTID())
+                    .expiryTime(claims.getExpirationTime())
+                    .build());
+        } catch (AppException | ParseException e) {
+            log.debug("Skip revoking token during logout: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
     public void forgotPassword(ForgotPasswordRequest request) {
         // Check if user exists
         var user = userRepository.findByEmail(request.getEmail())
@@ -206,7 +214,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
 
     @Transactional
     public void resetPassword(ResetPasswordRequest request) {
-        otpService.verifyOtp(request.getEmail(), request.getOtp());
+        if (!otpService.verifyOtp(request.getEmail(), request.getOtp())) {
+            throw new AppException(ErrorCode.INVALID_OTP);
+        }
 
         // Find user
         var user = userRepository.findByEmail(request.getEmail())
@@ -218,8 +228,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         }
 
         // Update password
-        PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
-        String encodedPassword = passwordEncoder.encode(request.getNewPassword());
+        String encodedPassword = passwordHashingService.encode(request.getNewPassword());
 
         userRepository.updatePasswordByEmail(request.getEmail(), encodedPassword, LocalDateTime.now());
     }
@@ -231,7 +240,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
             Date expiryTime = signedJWT.getJWTClaimsSet().getExpirationTime();
 
 
-            if (!expiryTime.after(new Date())) {
+            if (expiryTime == null || !expiryTime.after(new Date())) {
                 throw new AppException(ErrorCode.EXPIRED_TOKEN);
             }
 
@@ -239,7 +248,8 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 throw new AppException(ErrorCode.UNAUTHENTICATED);
             }
 
-            if (invalidatedTokenRepository.existsById(signedJWT.getJWTClaimsSet().getJWTID())) {
+            if (invalidatedTokenRepository.existsByIdAndExpiryTime(
+                    signedJWT.getJWTClaimsSet().getJWTID(), expiryTime)) {
                 throw new AppException(ErrorCode.UNAUTHENTICATED);
             }
 
@@ -351,6 +361,12 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         response.addCookie(cookie);
     }
 
+    // Không đọc X-Forwarded-For trực tiếp vì client tự đặt được; Tomcat RemoteIpValve
+    // (server.forward-headers-strategy: native) chỉ nhận header từ proxy tin cậy rồi ghi vào remoteAddr
+    private String getClientIp(HttpServletRequest request) {
+        return request.getRemoteAddr();
+    }
+
     private String getRefreshTokenFromCookie(HttpServletRequest request) {
         if (request.getCookies() != null) {
             for (Cookie cookie : request.getCookies()) {
@@ -8,6 +8,8 @@ import com.TopCV.exception.ErrorCode;
 import com.TopCV.mapper.CompanyCategoryMapper;
 import com.TopCV.repository.CompanyCategoryRepository;
 import com.TopCV.service.CompanyCategoryService;
+import com.TopCV.service.ReferenceDataService;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +28,7 @@ public class CompanyCategoryServiceImpl implements CompanyCategoryService {
 
     CompanyCategoryRepository companyCategoryRepository;
     CompanyCategoryMapper companyCategoryMapper;
+    ReferenceDataService referenceDataService;
 
     @Override
     @Transactional
@@ -36,21 +39,25 @@ public class CompanyCategoryServiceImpl implements CompanyCategoryService {
         }
 
         CompanyCategory category = companyCategoryMapper.toEntity(request);
-        return companyCategoryMapper.toResponse(companyCategoryRepository.save(category));
+        CompanyCategory saved = companyCategoryRepository.save(category);
+        referenceDataService.publishChange();
+        return companyCategoryMapper.toResponse(saved);
     }
 
     @Override
     public List<CompanyCategoryResponse> getAllCompanyCategories() {
-        return companyCategoryRepository.findAll().stream()
+        return referenceDataService.snapshot().categories().all().stream()
                 .map(companyCategoryMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     public CompanyCategoryResponse getCompanyCategoryById(Integer id) {
-        CompanyCategory category = companyCategoryRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.CATEGORY_NOT_EXISTED));
-        return companyCategoryMapper.toResponse(category);
+        ReferenceDataSnapshot.Entry entry = referenceDataService.snapshot().categories().get(id);
+        if (entry == null) {
+            throw new AppException(ErrorCode.CATEGORY_NOT_EXISTED);
+        }
+        return companyCategoryMapper.toResponse(entry);
     }
 
     @Override
@@ -60,7 +67,9 @@ public class CompanyCategoryServiceImpl implements CompanyCategoryService {
                 .orElseThrow(() -> new AppException(ErrorCode.CATEGORY_NOT_EXISTED));
 
         companyCategoryMapper.updateEntity(category, request);
-        return companyCategoryMapper.toResponse(companyCategoryRepository.save(category));
+        CompanyCategory saved = companyCategoryRepository.save(category);
+        referenceDataService.publishChange();
+        return companyCategoryMapper.toResponse(saved);
     }
 
     @Override
@@ -70,5 +79,6 @@ public class CompanyCategoryServiceImpl implements CompanyCategoryService {
             throw new AppException(ErrorCode.CATEGORY_NOT_EXISTED);
         }
         companyCategoryRepository.deleteById(category_id);
+        referenceDataService.publishChange();
     }
 }
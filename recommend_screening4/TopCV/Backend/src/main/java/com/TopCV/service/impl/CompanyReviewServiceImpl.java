@@ -26,6 +26,7 @@ import com.TopCV.mapper.CompanyReviewMapper;
 import com.TopCV.repository.CompanyRepository;
 import com.TopCV.repository.CompanyReviewRepository;
 import com.TopCV.repository.UserRepository;
+import com.TopCV.repository.projection.CompanyRatingView;
 import com.TopCV.service.CompanyReviewService;
 
 import lombok.AccessLevel;
@@ -68,6 +69,7 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
         review.setId(reviewKey);
 
         reviewRepository.save(review);
+        companyRepository.applyRatingChange(request.getCompanyId(), review.getRateStar(), 0);
         return reviewMapper.toResponse(review);
     }
 
@@ -110,15 +112,20 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
         CompanyReview review = reviewRepository.findById(reviewKey)
                 .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_EXISTED));
 
+        int oldStar = review.getRateStar();
         review.setRateStar(request.getRateStar());
         review.setReviewText(request.getReviewText());
 
         reviewRepository.save(review);
+        if (oldStar != review.getRateStar()) {
+            companyRepository.applyRatingChange(request.getCompanyId(), review.getRateStar(), oldStar);
+        }
 
         return reviewMapper.toResponse(review);
     }
 
     @Override
+    @Transactional
     public void deleteReview(String userId, Integer companyId) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
 
@@ -133,9 +140,8 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
         reviewKey.setUserId(userId);
         reviewKey.setCompanyId(companyId);
 
-        if (!reviewRepository.existsById(reviewKey)) {
-            throw new AppException(ErrorCode.REVIEW_NOT_EXISTED);
-        }
+        CompanyReview review = reviewRepository.findById(reviewKey)
+                .orElseThrow(() -> new AppException(ErrorCode.REVIEW_NOT_EXISTED));
 
         if (user.getRole() != Role.ADMIN) {
             if (!userId.equals(user.getId())) {
@@ -143,7 +149,8 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
             }
         }
 
-        reviewRepository.deleteById(reviewKey);
+        reviewRepository.delete(review);
+        companyRepository.applyRatingChange(companyId, 0, review.getRateStar());
     }
 
     @Override
@@ -166,16 +173,15 @@ public class CompanyReviewServiceImpl implements CompanyReviewService {
     @Override
     @Transactional(readOnly = true)
     public CompanyReviewStatsResponse getReviewStats(Integer companyId) {
-        if (!companyRepository.existsById(companyId)) {
-            throw new AppException(ErrorCode.COMPANY_NOT_EXISTED);
-        }
-
-        Double avgRating = reviewRepository.getAverageRatingByCompanyId(companyId);
-        Integer reviewCount = reviewRepository.countByCompanyId(companyId);
+        // Đọc tổng hợp đã lưu trên companies, không quét company_reviews
+        CompanyRatingView rating = companyRepository.findRatingView(companyId)
+                .orElseThrow(() -> new AppException(ErrorCode.COMPANY_NOT_EXISTED));
 
         return CompanyReviewStatsResponse.builder()
-                .averageRating(avgRating != null ? avgRating : 0.0)
-                .totalReviews(reviewCount != null ? reviewCount : 0)
+                .averageRating(rating.getRatingAverage())
+                .totalReviews(rating.getRatingCount())
+                .starCounts(List.of(rating.getRatingStar1(), rating.getRatingStar2(), rating.getRatingStar3(),
+                        rating.getRatingStar4(), rating.getRatingStar5()))
                 .build();
     }
 }
\ No newline at end of file
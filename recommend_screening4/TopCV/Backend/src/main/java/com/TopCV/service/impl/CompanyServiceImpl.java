@@ -15,13 +15,14 @@ import com.TopCV.exception.ErrorCode;
 import com.TopCV.mapper.CompanyCategoryMapper;
 import com.TopCV.mapper.CompanyMapper;
 import com.TopCV.mapper.CompanyReviewMapper;
-import com.TopCV.repository.CompanyCategoryRepository;
+import com.TopCV.repository.ApplicationRepository;
 import com.TopCV.repository.CompanyRepository;
 import com.TopCV.repository.CompanyReviewRepository;
 import com.TopCV.repository.UserRepository;
 import com.TopCV.service.CompanyCategoryService;
-import com.TopCV.service.CompanyReviewService;
 import com.TopCV.service.CompanyService;
+import com.TopCV.service.ImageService;
+import com.TopCV.service.ReferenceDataService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -39,6 +40,7 @@ import org.springframework.util.FileSystemUtils;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 import java.nio.file.StandardCopyOption;
 import java.util.UUID;
@@ -48,12 +50,13 @@ import java.util.UUID;
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 @Slf4j
 public class CompanyServiceImpl implements CompanyService {
-    CompanyReviewService reviewService;
     CompanyRepository companyRepository;
     CompanyMapper companyMapper;
     UserRepository userRepository;
-    CompanyCategoryRepository categoryRepository;
+    ReferenceDataService referenceDataService;
+    ApplicationRepository applicationRepository;
     CompanyCategoryMapper categoryMapper;
+    ImageService imageService;
 
     @Override
     @Transactional
@@ -73,11 +76,7 @@ public class CompanyServiceImpl implements CompanyService {
 
         List<CompanyCategory> companyCategories = List.of();
         if (request.getCategoryIds() != null && !request.getCategoryIds().isEmpty()) {
-            companyCategories = categoryRepository.findAllById(request.getCategoryIds());
-
-            if (companyCategories.size() != request.getCategoryIds().size()) {
-                throw new AppException(ErrorCode.CATEGORY_NOT_EXISTED);
-            }
+            companyCategories = referenceDataService.requireCategories(request.getCategoryIds());
         }
 
         Company company = companyMapper.toEntity(request);
@@ -109,11 +108,7 @@ public class CompanyServiceImpl implements CompanyService {
     public CompanyResponse getCompanyById(Integer id) {
         Company company = companyRepository.findById(id)
                 .orElseThrow(() -> new AppException(ErrorCode.COMPANY_NOT_EXISTED));
-        CompanyResponse response = companyMapper.toResponse(company);
-
-        response.setReviewStats( reviewService.getReviewStats(id) );
-
-        return response;
+        return companyMapper.toResponse(company);
     }
 
     @Override
@@ -137,22 +132,22 @@ public class CompanyServiceImpl implements CompanyService {
             throw new AppException(ErrorCode.COMPANY_NAME_EXISTED);
         }
 
+        String oldName = company.getName();
         companyMapper.updateEntity(company, request);
 
         if (request.getCategoryIds() != null) {
             if (request.getCategoryIds().isEmpty()) {
                 company.setCategories(List.of());
             } else {
-                List<CompanyCategory> companyCategories = categoryRepository.findAllById(request.getCategoryIds());
-
-                if (companyCategories.size() != request.getCategoryIds().size()) {
-                    throw new AppException(ErrorCode.CATEGORY_NOT_EXISTED);
-                }
-
-                company.setCategories(companyCategories);
+                company.setCategories(referenceDataService.requireCategories(request.getCategoryIds()));
             }
         }
-        return companyMapper.toResponse(companyRepository.save(company));
+
+        Company savedCompany = companyRepository.save(company);
+        if (!Objects.equals(oldName, savedCompany.getName())) {
+            applicationRepository.refreshSearchDocumentsForCompany(savedCompany.getId());
+        }
+        return companyMapper.toResponse(savedCompany);
     }
 
     @Override
@@ -196,15 +191,11 @@ public class CompanyServiceImpl implements CompanyService {
             throw new AppException(ErrorCode.COMPANY_NOT_ACTIVE);
         }
 
-        if (user.getFollowCompanies().contains(company)) {
+        // Một dòng vào bảng nối, không load danh sách đang follow của user
+        if (companyRepository.insertFollower(user.getId(), companyId) == 0) {
             throw new AppException(ErrorCode.ALREADY_FOLLOWING_COMPANY);
         }
-
-        user.getFollowCompanies().add(company);
-        company.setFollowerCount(company.getFollowerCount() + 1);
-
-        userRepository.save(user);
-        companyRepository.save(company);
+        companyRepository.addFollowerCount(companyId, 1);
     }
 
     @Override
@@ -214,19 +205,14 @@ public class CompanyServiceImpl implements CompanyService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
 
-        Company company = companyRepository.findById(companyId)
-                .orElseThrow(() -> new AppException(ErrorCode.COMPANY_NOT_EXISTED));
-
+        if (!companyRepository.existsById(companyId)) {
+            throw new AppException(ErrorCode.COMPANY_NOT_EXISTED);
+        }
 
-        if (!user.getFollowCompanies().contains(company)) {
+        if (companyRepository.deleteFollower(user.getId(), companyId) == 0) {
             throw new AppException(ErrorCode.NOT_FOLLOWING_COMPANY);
         }
-
-        user.getFollowCompanies().remove(company);
-        company.setFollowerCount(Math.max(0, company.getFollowerCount() - 1));
-
-        userRepository.save(user);
-        companyRepository.save(company);
+        companyRepository.addFollowerCount(companyId, -1);
     }
 
     @Override
@@ -235,8 +221,7 @@ public class CompanyServiceImpl implements CompanyService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
 
-        return user.getFollowCompanies().stream()
-                .anyMatch(company -> company.getId() == companyId);
+        return companyRepository.isFollowing(user.getId(), companyId);
     }
 
     @Override
@@ -249,10 +234,7 @@ public class CompanyServiceImpl implements CompanyService {
         Company company = companyRepository.findByUserId(user.getId())
                 .orElseThrow(() -> new AppException(ErrorCode.COMPANY_NOT_EXISTED));
         
-        CompanyResponse response = companyMapper.toResponse(company);
-        response.setReviewStats(reviewService.getReviewStats(company.getId()));
-        
-        return response;
+        return companyMapper.toResponse(company);
     }
 
     @Override
@@ -285,6 +267,8 @@ public class CompanyServiceImpl implements CompanyService {
             switch (sortBy.toLowerCase()) {
                 case "name" -> sortField = "name";
                 case "followercount", "followers", "popular", "popularity" -> sortField = "followerCount";
+                case "rating", "ratingaverage", "rated" -> sortField = "ratingAverage";
+                case "reviews", "reviewcount" -> sortField = "ratingCount";
                 case "createdat", "created" -> sortField = "createdAt";
                 case "updatedat", "updated" -> sortField = "updatedAt";
                 case "employeerange", "size" -> sortField = "employeeRange";
@@ -366,5 +350,8 @@ public class CompanyServiceImpl implements CompanyService {
         // No need to prepend "company-logos/" again.
         company.setLogo(logoPath);
         this.companyRepository.save(company);
+
+        imageService.generateVariantsAfterCommit(logoPath,
+                () -> companyRepository.markLogoVariantsReady(companyId, logoPath));
     }
 }
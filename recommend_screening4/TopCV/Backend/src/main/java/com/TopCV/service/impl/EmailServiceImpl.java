@@ -1,34 +1,32 @@
 package com.TopCV.service.impl;
 
+import com.TopCV.entity.MailOutbox;
 import com.TopCV.enums.OtpType;
+import com.TopCV.exception.AppException;
+import com.TopCV.exception.ErrorCode;
+import com.TopCV.repository.MailOutboxRepository;
 import com.TopCV.service.EmailService;
-import jakarta.mail.internet.MimeMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.experimental.NonFinal;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.thymeleaf.TemplateEngine;
-import org.thymeleaf.context.Context;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.concurrent.CompletableFuture;
+import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
 public class EmailServiceImpl implements EmailService {
-    JavaMailSender mailSender;
-    TemplateEngine templateEngine;
-
-    @NonFinal
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    MailOutboxRepository mailOutboxRepository;
+    ObjectMapper objectMapper;
 
     @NonFinal
     @Value("${app.name:TopCV}")
@@ -38,76 +36,56 @@ public class EmailServiceImpl implements EmailService {
     @Value("${app.url:http://localhost:3000}")
     private String appUrl;
 
-    public CompletableFuture<Void> sendOtpEmail(String toEmail, String otpCode, OtpType otpType) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                MimeMessage message = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-                helper.setFrom(fromEmail);
-                helper.setTo(toEmail);
-                helper.setSubject(getEmailSubject(otpType));
-
-                Context context = new Context();
-                context.setVariable("otpCode", otpCode);
-                context.setVariable("appName", appName);
-                context.setVariable("appUrl", appUrl);
-                context.setVariable("recipientEmail", toEmail);
-
-                String htmlContent = templateEngine.process(getTemplateName(otpType), context);
-                helper.setText(htmlContent, true);
-
-                mailSender.send(message);
-                log.info("OTP email sent successfully to: {}", toEmail);
-
-            } catch (Exception e) {
-                log.error("Failed to send OTP email to: {}", toEmail, e);
-                throw new RuntimeException("Failed to send email", e);
-            }
-        });
+    @Transactional
+    public void sendOtpEmail(String toEmail, String otpCode, OtpType otpType) {
+        enqueue(toEmail, getEmailSubject(otpType), getTemplateName(otpType), Map.of(
+                "otpCode", otpCode,
+                "appName", appName,
+                "appUrl", appUrl,
+                "recipientEmail", toEmail));
+        log.info("OTP email queued for: {}", toEmail);
     }
 
-    public CompletableFuture<Void> sendWelcomeEmail(String toEmail, String fullName) {
-        return CompletableFuture.runAsync(() -> {
-            try {
-                MimeMessage message = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-                helper.setFrom(fromEmail);
-                helper.setTo(toEmail);
-                helper.setSubject("Welcome to " + appName + "!");
-
-                Context context = new Context();
-                context.setVariable("fullName", fullName);
-                context.setVariable("appName", appName);
-                context.setVariable("appUrl", appUrl);
-
-                String htmlContent = templateEngine.process("welcome-email", context);
-                helper.setText(htmlContent, true);
-
-                mailSender.send(message);
-                log.info("Welcome email sent successfully to: {}", toEmail);
-
-            } catch (Exception e) {
-                log.error("Failed to send welcome email to: {}", toEmail, e);
-            }
-        });
+    @Transactional
+    public void sendWelcomeEmail(String toEmail, String fullName) {
+        enqueue(toEmail, "Welcome to " + appName + "!", "welcome-email", Map.of(
+                "fullName", fullName != null ? fullName : "",
+                "appName", appName,
+                "appUrl", appUrl));
+        log.info("Welcome email queued for: {}", toEmail);
     }
 
+    @Transactional
     public void sendSimpleEmail(String toEmail, String subject, String content) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(toEmail);
-            message.setSubject(subject);
-            message.setText(content);
+        mailOutboxRepository.save(MailOutbox.builder()
+                .recipient(toEmail)
+                .subject(subject)
+                .body(content)
+                .build());
+        log.info("Simple email queued for: {}", toEmail);
+    }
 
-            mailSender.send(message);
-            log.info("Simple email sent successfully to: {}", toEmail);
+    @Transactional
+    public void sendApplicationStatusDigest(String toEmail, String fullName, List<Map<String, Object>> updates) {
+        enqueue(toEmail, appName + " - Application status updates", "application-status-digest", Map.of(
+                "fullName", fullName != null ? fullName : "",
+                "updates", updates,
+                "appName", appName,
+                "appUrl", appUrl));
+        log.info("Application status digest ({} updates) queued for: {}", updates.size(), toEmail);
+    }
 
-        } catch (Exception e) {
-            log.error("Failed to send simple email to: {}", toEmail, e);
-            throw new RuntimeException("Failed to send email", e);
+    private void enqueue(String toEmail, String subject, String templateName, Map<String, Object> variables) {
+        try {
+            mailOutboxRepository.save(MailOutbox.builder()
+                    .recipient(toEmail)
+                    .subject(subject)
+                    .templateName(templateName)
+                    .templateVariables(objectMapper.writeValueAsString(variables))
+                    .build());
+        } catch (JsonProcessingException e) {
+            log.error("Failed to queue email to: {}", toEmail, e);
+            throw new AppException(ErrorCode.EMAIL_SEND_FAILED, e);
         }
     }
 
@@ -0,0 +1,213 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.entity.FileBlob;
+import com.TopCV.enums.BlobStatus;
+import com.TopCV.repository.FileBlobRepository;
+import com.TopCV.service.FileBlobService;
+import com.TopCV.service.storage.BlobStore;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class FileBlobServiceImpl implements FileBlobService {
+    FileBlobRepository fileBlobRepository;
+    BlobStore blobStore;
+    ThreadPoolTaskExecutor blobUploadExecutor;
+    TransactionTemplate transactionTemplate;
+
+    // Hash đang được upload trên node này, tránh hai thread cùng đẩy một file staging
+    Set<String> uploadsInFlight = ConcurrentHashMap.newKeySet();
+
+    @NonFinal
+    @Value("${file.upload-dir:uploads}")
+    String uploadDir;
+
+    @NonFinal
+    @Value("${app.storage.pending-retry-after-seconds:120}")
+    long pendingRetryAfterSeconds;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public StoredBlob store(MultipartFile file, String folder) {
+        Path tempFile = null;
+        try {
+            Path tempDir = Paths.get(uploadDir, "tmp");
+            Files.createDirectories(tempDir);
+            tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+
+            // Băm trong lúc ghi ra file tạm, không đọc lại file lần hai
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                size = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String relativePath = folder + "/blobs/" + hash.substring(0, 2) + "/" + hash;
+
+            // Tăng refCount trước rồi mới kiểm tra file, để GC không xóa mất giữa chừng
+            fileBlobRepository.acquire(hash, relativePath, size, file.getContentType(), LocalDateTime.now());
+            FileBlob blob = fileBlobRepository.findById(hash).orElseThrow();
+
+            if (blob.getStatus() == BlobStatus.AVAILABLE && blobStore.exists(relativePath)) {
+                log.info("Reusing stored blob {} ({} bytes)", hash, size);
+                return new StoredBlob(hash, relativePath, size);
+            }
+
+            if (blob.getStatus() != BlobStatus.PENDING) {
+                fileBlobRepository.updateStatus(hash, BlobStatus.PENDING);
+            }
+            stageAfterCompletion(tempFile, hash, relativePath, file.getContentType());
+            tempFile = null;
+            log.info("Stored new blob {} ({} bytes), staged after commit", hash, size);
+            return new StoredBlob(hash, relativePath, size);
+
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("Failed to store blob: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to store file: " + e.getMessage(), e);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void release(String hash) {
+        if (fileBlobRepository.release(hash, LocalDateTime.now()) == 0) {
+            log.warn("Released blob {} that has no references", hash);
+        }
+    }
+
+    @Override
+    public Resource open(String hash, String path) {
+        // Còn ở staging (chưa upload xong) thì đọc luôn từ đó
+        Path staging = stagingPath(hash);
+        if (Files.isRegularFile(staging)) {
+            return new FileSystemResource(staging);
+        }
+        return blobStore.get(path);
+    }
+
+    @Override
+    public Optional<URI> presignedDownloadUrl(String hash, String path, String contentDisposition, String contentType) {
+        boolean available = fileBlobRepository.findById(hash)
+                .map(blob -> blob.getStatus() == BlobStatus.AVAILABLE)
+                .orElse(false);
+        return available
+                ? blobStore.presignedDownloadUrl(path, contentDisposition, contentType)
+                : Optional.empty();
+    }
+
+    @Override
+    public void retryPendingUploads() {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(pendingRetryAfterSeconds);
+        for (FileBlob blob : fileBlobRepository.findByStatusAndCreatedAtBefore(BlobStatus.PENDING, cutoff)) {
+            if (Files.isRegularFile(stagingPath(blob.getHash()))) {
+                upload(blob.getHash(), blob.getStoragePath(), blob.getContentType());
+            }
+        }
+    }
+
+    // Chỉ đưa file vào staging khi transaction đã commit: rollback thì không còn file nào mà không có FileBlob trỏ tới
+    private void stageAfterCompletion(Path tempFile, String hash, String path, String contentType) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            // afterCommit chạy theo thứ tự đăng ký, trước task trích text đăng ký sau đó cũng đọc file staging
+            @Override
+            public void afterCommit() {
+                try {
+                    Files.createDirectories(stagingPath(hash).getParent());
+                    Files.move(tempFile, stagingPath(hash), StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Upload cùng nội dung khác đã stage trước
+                    deleteQuietly(tempFile);
+                } catch (IOException e) {
+                    log.error("Failed to stage blob {}: {}", hash, e.getMessage(), e);
+                    deleteQuietly(tempFile);
+                    return;
+                }
+                try {
+                    blobUploadExecutor.execute(() -> upload(hash, path, contentType));
+                } catch (TaskRejectedException e) {
+                    // Để PENDING, retryPendingUploads sẽ đẩy lại
+                    log.warn("Blob upload queue full, {} will be retried later", hash);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    deleteQuietly(tempFile);
+                }
+            }
+        });
+    }
+
+    private void upload(String hash, String path, String contentType) {
+        if (!uploadsInFlight.add(hash)) {
+            return;
+        }
+        try {
+            Path staging = stagingPath(hash);
+            if (!Files.isRegularFile(staging)) {
+                return;
+            }
+            blobStore.put(path, staging, contentType);
+            transactionTemplate.executeWithoutResult(status ->
+                    fileBlobRepository.updateStatus(hash, BlobStatus.AVAILABLE));
+            log.info("Blob {} is now available at {}", hash, path);
+        } catch (Exception e) {
+            log.error("Failed to upload blob {}: {}", hash, e.getMessage(), e);
+        } finally {
+            uploadsInFlight.remove(hash);
+        }
+    }
+
+    private Path stagingPath(String hash) {
+        return Paths.get(uploadDir, "tmp", "staging", hash);
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temp file {}: {}", file, e.getMessage());
+        }
+    }
+}
@@ -1,22 +1,34 @@
 package com.TopCV.service.impl;
 
 import com.TopCV.service.FileService;
+import com.TopCV.service.storage.BlobStore;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class FileServiceImpl implements FileService {
+    private final BlobStore blobStore;
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
 
     @Value("${file.upload-dir:uploads}")
     private String uploadDir;
@@ -26,20 +38,25 @@ public class FileServiceImpl implements FileService {
         validateFile(file);
         String validatedFolder = validateAndNormalizeFolder(folder);
 
-        try {
-            // Create directory structure: uploads/{folder}/
-            String dirPath = uploadDir + File.separator + validatedFolder;
-            Path directoryPath = Paths.get(dirPath);
-            Files.createDirectories(directoryPath);
+        String relativePath = observe("upload", () -> store(file, validatedFolder));
+        recordBytes("write", file.getSize());
+        return relativePath;
+    }
 
+    private String store(MultipartFile file, String validatedFolder) {
+        Path tempFile = null;
+        try {
             // Generate unique filename
             String fileName = generateUniqueFileName(file.getOriginalFilename());
-            Path filePath = directoryPath.resolve(fileName);
+            String relativePath = validatedFolder + "/" + fileName;
 
-            // Save file using NIO (more efficient than FileOutputStream)
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            // Ghi ra file tạm rồi giao cho BlobStore (local: move, object storage: upload)
+            Path tempDir = Paths.get(uploadDir, "tmp");
+            Files.createDirectories(tempDir);
+            tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+            file.transferTo(tempFile);
+            blobStore.put(relativePath, tempFile, file.getContentType());
 
-            String relativePath = validatedFolder + "/" + fileName;
             log.info("File uploaded successfully: {} (size: {} bytes)", relativePath, file.getSize());
 
             return relativePath;
@@ -47,6 +64,14 @@ public class FileServiceImpl implements FileService {
         } catch (IOException e) {
             log.error("Failed to upload file: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to upload file: " + e.getMessage(), e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    log.warn("Failed to delete temp file {}: {}", tempFile, e.getMessage());
+                }
+            }
         }
     }
 
@@ -57,63 +82,59 @@ public class FileServiceImpl implements FileService {
             return false;
         }
 
-        try {
-            Path path = Paths.get(uploadDir, filePath).normalize();
-
-            // Security check: ensure path is within upload directory
-            Path uploadPath = Paths.get(uploadDir).normalize();
-            if (!path.startsWith(uploadPath)) {
-                log.error("Security violation: Attempted to delete file outside upload directory: {}", path);
-                throw new SecurityException("File path is outside allowed directory");
-            }
-
-            boolean deleted = Files.deleteIfExists(path);
-            if (deleted) {
-                log.info("File deleted successfully: {}", filePath);
-            } else {
-                log.warn("File not found for deletion: {}", filePath);
-            }
-            return deleted;
-
-        } catch (IOException e) {
-            log.error("Failed to delete file: {} - {}", filePath, e.getMessage(), e);
-            throw new RuntimeException("Failed to delete file: " + e.getMessage(), e);
+        boolean deleted = observe("delete", () -> blobStore.delete(normalizeFilePath(filePath)));
+        if (deleted) {
+            log.info("File deleted successfully: {}", filePath);
+        } else {
+            log.warn("File not found for deletion: {}", filePath);
         }
+        return deleted;
     }
 
+    /**
+     * Trả về file dưới dạng Resource để controller stream ra response,
+     * không đọc cả file vào bộ nhớ.
+     */
     @Override
-    public byte[] getFile(String filePath) {
+    public Resource getFileResource(String filePath) {
         if (filePath == null || filePath.trim().isEmpty()) {
             throw new IllegalArgumentException("File path cannot be null or empty");
         }
 
+        // 🔥 NORMALIZE FILE PATH để handle inconsistent data
+        String normalizedPath = normalizeFilePath(filePath);
+        log.debug("Original path: {}, Normalized path: {}", filePath, normalizedPath);
+
+        Resource resource = observe("read", () -> blobStore.get(normalizedPath));
         try {
-            // 🔥 NORMALIZE FILE PATH để handle inconsistent data
-            String normalizedPath = normalizeFilePath(filePath);
-            log.debug("Original path: {}, Normalized path: {}", filePath, normalizedPath);
-            
-            Path path = Paths.get(uploadDir, normalizedPath).normalize();
-
-            // Security check: ensure path is within upload directory
-            Path uploadPath = Paths.get(uploadDir).normalize();
-            if (!path.startsWith(uploadPath)) {
-                log.error("Security violation: Attempted to access file outside upload directory: {}", path);
-                throw new SecurityException("File path is outside allowed directory");
-            }
+            recordBytes("read", resource.contentLength());
+        } catch (IOException e) {
+            log.debug("Cannot read content length of {}: {}", normalizedPath, e.getMessage());
+        }
+        return resource;
+    }
 
-            if (!Files.exists(path)) {
-                log.error("File not found: {} (normalized: {}, full path: {})", filePath, normalizedPath, path);
-                throw new RuntimeException("File not found: " + filePath);
-            }
+    @Override
+    public Optional<URI> getPresignedUrl(String filePath, String contentDisposition, String contentType) {
+        return blobStore.presignedDownloadUrl(normalizeFilePath(filePath), contentDisposition, contentType);
+    }
 
-            byte[] fileData = Files.readAllBytes(path);
-            log.debug("File read successfully: {} (size: {} bytes)", normalizedPath, fileData.length);
-            return fileData;
+    // Đo thời gian thao tác với BlobStore, tag operation cố định để không nổ cardinality theo tên file
+    private <T> T observe(String operation, Supplier<T> action) {
+        return Observation.createNotStarted("topcv.file.io", observationRegistry)
+                .lowCardinalityKeyValue("operation", operation)
+                .observe(action);
+    }
 
-        } catch (IOException e) {
-            log.error("Failed to read file: {} - {}", filePath, e.getMessage(), e);
-            throw new RuntimeException("Failed to read file: " + e.getMessage(), e);
+    private void recordBytes(String direction, long bytes) {
+        if (bytes < 0) {
+            return;
         }
+        DistributionSummary.builder("topcv.file.bytes")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .register(meterRegistry)
+                .record(bytes);
     }
 
     /**
@@ -0,0 +1,168 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.dto.response.FunnelResponse;
+import com.TopCV.entity.EmployerFunnelStat;
+import com.TopCV.entity.FunnelEvent;
+import com.TopCV.entity.JobFunnelStat;
+import com.TopCV.entity.User;
+import com.TopCV.enums.ApplicationStatus;
+import com.TopCV.exception.AppException;
+import com.TopCV.exception.ErrorCode;
+import com.TopCV.repository.EmployerFunnelStatRepository;
+import com.TopCV.repository.FunnelEventRepository;
+import com.TopCV.repository.JobFunnelDailyRepository;
+import com.TopCV.repository.JobFunnelStatRepository;
+import com.TopCV.repository.JobPostRepository;
+import com.TopCV.repository.UserRepository;
+import com.TopCV.service.FunnelStatsService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Funnel tuyển dụng theo job và theo employer.
+ * Đổi trạng thái chỉ INSERT một event (không tranh dòng thống kê khi nhiều người apply cùng job),
+ * FunnelStatsAggregator gom định kỳ nên dashboard đọc vài dòng đã cộng sẵn, trễ tối đa một chu kỳ.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class FunnelStatsServiceImpl implements FunnelStatsService {
+    FunnelEventRepository funnelEventRepository;
+    JobFunnelStatRepository jobFunnelStatRepository;
+    EmployerFunnelStatRepository employerFunnelStatRepository;
+    JobFunnelDailyRepository jobFunnelDailyRepository;
+    JobPostRepository jobPostRepository;
+    UserRepository userRepository;
+
+    @NonFinal
+    @Value("${app.funnel.max-days:90}")
+    int maxDays;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<Transition> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Sequence pooled + batch insert: cả lô bulk update chỉ tốn vài round-trip
+        funnelEventRepository.saveAll(transitions.stream()
+                .map(transition -> FunnelEvent.builder()
+                        .jobPostId(transition.jobPostId())
+                        .employerId(transition.employerId())
+                        .fromStatus(transition.from())
+                        .toStatus(transition.to())
+                        .removed(transition.removed())
+                        .occurredAt(now)
+                        .secondsSinceApplied(transition.appliedAt() != null
+                                ? Math.max(0, Duration.between(transition.appliedAt(), now).getSeconds())
+                                : 0)
+                        .build())
+                .toList());
+    }
+
+    @Override
+    @Transactional
+    public int flush() {
+        return funnelEventRepository.drainIntoStats();
+    }
+
+    /**
+     * Gom event còn lại rồi đếm lại từ applications trong cùng một snapshot REPEATABLE READ:
+     * event chưa commit thì thay đổi đơn tương ứng cũng chưa thấy, không bị cộng hai lần.
+     */
+    @Override
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public void reconcile() {
+        funnelEventRepository.drainIntoStats();
+        int jobRows = funnelEventRepository.reconcileJobCounts() + funnelEventRepository.clearStaleJobCounts();
+        int employerRows = funnelEventRepository.reconcileEmployerCounts();
+        if (jobRows > 0 || employerRows > 0) {
+            log.info("Funnel reconciliation corrected {} job rows and {} employer rows", jobRows, employerRows);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public FunnelResponse getMyFunnel() {
+        User user = currentUser();
+        List<FunnelResponse.Stage> stages = employerFunnelStatRepository.findByEmployerId(user.getId()).stream()
+                .sorted(Comparator.comparing(EmployerFunnelStat::getStatus))
+                .map(stat -> toStage(stat.getStatus(), stat.getCurrentCount(), stat.getEnteredCount(),
+                        stat.getTimeToStatusSeconds()))
+                .toList();
+        return FunnelResponse.builder()
+                .stages(stages)
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public FunnelResponse getJobFunnel(Integer jobId, int days) {
+        User user = currentUser();
+        String ownerId = jobPostRepository.findOwnerId(jobId)
+                .orElseThrow(() -> new AppException(ErrorCode.JOB_POST_NOT_EXISTED));
+
+        // Verify user owns the company that posted the job
+        if (!ownerId.equals(user.getId())) {
+            throw new AppException(ErrorCode.UNAUTHORIZED);
+        }
+
+        List<FunnelResponse.Stage> stages = jobFunnelStatRepository.findByJobPostId(jobId).stream()
+                .sorted(Comparator.comparing(JobFunnelStat::getStatus))
+                .map(stat -> toStage(stat.getStatus(), stat.getCurrentCount(), stat.getEnteredCount(),
+                        stat.getTimeToStatusSeconds()))
+                .toList();
+
+        LocalDate from = LocalDate.now().minusDays(Math.min(Math.max(days, 1), maxDays) - 1L);
+        List<FunnelResponse.DailyEntry> daily = jobFunnelDailyRepository
+                .findByJobPostIdAndDayGreaterThanEqualOrderByDayAsc(jobId, from).stream()
+                .map(entry -> FunnelResponse.DailyEntry.builder()
+                        .day(entry.getDay())
+                        .status(entry.getStatus())
+                        .enteredCount(entry.getEnteredCount())
+                        .build())
+                .toList();
+
+        return FunnelResponse.builder()
+                .jobPostId(jobId)
+                .stages(stages)
+                .daily(daily)
+                .build();
+    }
+
+    private FunnelResponse.Stage toStage(ApplicationStatus status, long currentCount, long enteredCount,
+                                         long timeToStatusSeconds) {
+        return FunnelResponse.Stage.builder()
+                .status(status)
+                .currentCount(currentCount)
+                .enteredCount(enteredCount)
+                .avgHoursToStatus(enteredCount > 0 ? timeToStatusSeconds / 3600.0 / enteredCount : null)
+                .build();
+    }
+
+    private User currentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+    }
+}
@@ -0,0 +1,261 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.enums.FileType;
+import com.TopCV.enums.ImageVariant;
+import com.TopCV.exception.AppException;
+import com.TopCV.exception.ErrorCode;
+import com.TopCV.service.ImageService;
+import com.TopCV.service.storage.BlobStore;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ImageServiceImpl implements ImageService {
+    BlobStore blobStore;
+    ThreadPoolTaskExecutor imageDerivativeExecutor;
+    PlatformTransactionManager transactionManager;
+
+    @NonFinal
+    @Value("${file.upload-dir:uploads}")
+    String uploadDir;
+
+    // Ảnh quá lớn (decompression bomb) thì không sinh variant, client dùng ảnh gốc
+    @NonFinal
+    @Value("${app.image.max-pixels:50000000}")
+    long maxPixels;
+
+    @NonFinal
+    @Value("${app.image.jpeg-quality:0.85}")
+    float jpegQuality;
+
+    @Override
+    public String storeImage(MultipartFile file, FileType fileType) {
+        String originalFilename = file.getOriginalFilename();
+        if (file.isEmpty() || originalFilename == null || !originalFilename.contains(".")) {
+            throw new AppException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+        String extension = originalFilename.substring(originalFilename.lastIndexOf('.') + 1).toLowerCase();
+        if (!fileType.isExtensionAllowed(extension) || file.getSize() > fileType.getMaxFileSize()) {
+            throw new AppException(ErrorCode.FILE_UPLOAD_FAILED);
+        }
+
+        Path tempFile = null;
+        try {
+            Path tempDir = Paths.get(uploadDir, "tmp");
+            Files.createDirectories(tempDir);
+            tempFile = Files.createTempFile(tempDir, "image-", ".part");
+
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            // Tên file là hash nội dung: đổi ảnh thì đổi URL, URL cũ cache vĩnh viễn được
+            String hash = HexFormat.of().formatHex(digest.digest()).substring(0, 32);
+            String key = fileType.getDirectory() + "/img/" + hash + "." + extension;
+
+            if (!blobStore.exists(key)) {
+                blobStore.put(key, tempFile, fileType.getContentType(extension));
+                tempFile = null;
+            }
+            log.info("Stored image {} ({} bytes)", key, file.getSize());
+            return key;
+
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("Failed to store image: {}", e.getMessage(), e);
+            throw new AppException(ErrorCode.FILE_UPLOAD_FAILED);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    @Override
+    public void generateVariantsAfterCommit(String originalKey, Runnable onReady) {
+        if (!ImageVariant.supports(originalKey)) {
+            return; // svg: ảnh vector, dùng luôn bản gốc
+        }
+        Runnable task = () -> {
+            if (generateVariants(originalKey)) {
+                // Transaction riêng: khi queue đầy, CallerRunsPolicy chạy task ngay trong afterCommit,
+                // REQUIRED sẽ nhập vào transaction đã commit và cập nhật không được ghi
+                TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+                requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                requiresNew.executeWithoutResult(status -> onReady.run());
+            }
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    imageDerivativeExecutor.execute(task);
+                }
+            });
+        } else {
+            imageDerivativeExecutor.execute(task);
+        }
+    }
+
+    boolean generateVariants(String originalKey) {
+        try {
+            BufferedImage source = decode(originalKey);
+            if (source == null) {
+                return false;
+            }
+            String format = ImageVariant.formatFor(originalKey);
+            for (ImageVariant variant : ImageVariant.values()) {
+                String key = variant.keyFor(originalKey);
+                if (blobStore.exists(key)) {
+                    continue; // cùng hash thì variant đã có từ lần upload trước
+                }
+                writeVariant(key, resize(source, variant.getMaxSize()), format);
+            }
+            log.info("Generated image variants for {}", originalKey);
+            return true;
+        } catch (Exception e) {
+            log.warn("Cannot generate variants for {}: {}", originalKey, e.getMessage());
+            return false;
+        }
+    }
+
+    // Đọc kích thước trước, ảnh lớn thì decode có subsampling cho nhẹ bộ nhớ
+    private BufferedImage decode(String originalKey) throws IOException {
+        try (InputStream in = blobStore.get(originalKey).getInputStream();
+             ImageInputStream imageInput = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                log.warn("Unsupported image format: {}", originalKey);
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.warn("Image {} is too large ({}x{}), skipping variants", originalKey, width, height);
+                    return null;
+                }
+
+                int largest = 0;
+                for (ImageVariant variant : ImageVariant.values()) {
+                    largest = Math.max(largest, variant.getMaxSize());
+                }
+                // Giữ ít nhất gấp đôi kích thước variant lớn nhất để thu nhỏ vẫn nét
+                int subsampling = Math.max(1, Math.max(width, height) / (largest * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Thu nhỏ từng nửa một (bilinear) để tránh răng cưa khi giảm kích thước nhiều lần
+    static BufferedImage resize(BufferedImage source, int maxSize) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = source;
+        do {
+            int nextWidth = Math.max(targetWidth, current.getWidth() / 2);
+            int nextHeight = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+        return current;
+    }
+
+    private void writeVariant(String key, BufferedImage image, String format) throws IOException {
+        Path tempDir = Paths.get(uploadDir, "tmp");
+        Files.createDirectories(tempDir);
+        Path tempFile = Files.createTempFile(tempDir, "variant-", ".part");
+        try {
+            if ("jpg".equals(format)) {
+                writeJpeg(image, tempFile);
+            } else if (!ImageIO.write(image, "png", tempFile.toFile())) {
+                throw new IOException("No PNG writer available");
+            }
+            blobStore.put(key, tempFile, "jpg".equals(format) ? "image/jpeg" : "image/png");
+            tempFile = null;
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(target.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(output);
+            // Ghi lại từ pixel nên metadata EXIF (GPS, máy chụp...) của ảnh gốc bị bỏ
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete temp file {}: {}", file, e.getMessage());
+        }
+    }
+}
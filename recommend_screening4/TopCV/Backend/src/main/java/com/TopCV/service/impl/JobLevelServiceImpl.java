@@ -8,6 +8,8 @@ import com.TopCV.exception.ErrorCode;
 import com.TopCV.mapper.JobLevelMapper;
 import com.TopCV.repository.JobLevelRepository;
 import com.TopCV.service.JobLevelService;
+import com.TopCV.service.ReferenceDataService;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -25,6 +27,7 @@ public class JobLevelServiceImpl implements JobLevelService {
 
     JobLevelRepository jobLevelRepository;
     JobLevelMapper jobLevelMapper;
+    ReferenceDataService referenceDataService;
 
     @Override
     @Transactional
@@ -34,21 +37,25 @@ public class JobLevelServiceImpl implements JobLevelService {
             throw new AppException(ErrorCode.LEVEL_NAME_EXISTED);
         }
         JobLevel jobLevel = jobLevelMapper.toEntity(request);
-        return jobLevelMapper.toResponse(jobLevelRepository.save(jobLevel));
+        JobLevel saved = jobLevelRepository.save(jobLevel);
+        referenceDataService.publishChange();
+        return jobLevelMapper.toResponse(saved);
     }
 
     @Override
     public List<JobLevelResponse> getAllJobLevels() {
-        return jobLevelRepository.findAll().stream()
+        return referenceDataService.snapshot().jobLevels().all().stream()
                 .map(jobLevelMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     public JobLevelResponse getJobLevelById(Integer id) {
-        JobLevel jobLevel = jobLevelRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.LEVEL_NOT_EXISTED));
-        return jobLevelMapper.toResponse(jobLevel);
+        ReferenceDataSnapshot.Entry entry = referenceDataService.snapshot().jobLevels().get(id);
+        if (entry == null) {
+            throw new AppException(ErrorCode.LEVEL_NOT_EXISTED);
+        }
+        return jobLevelMapper.toResponse(entry);
     }
 
     @Override
@@ -58,7 +65,9 @@ public class JobLevelServiceImpl implements JobLevelService {
         JobLevel jobLevel = jobLevelRepository.findById(levelId)
                 .orElseThrow(() -> new AppException(ErrorCode.LEVEL_NOT_EXISTED));
         jobLevelMapper.updateEntity(jobLevel, request);
-        return jobLevelMapper.toResponse(jobLevelRepository.save(jobLevel));
+        JobLevel saved = jobLevelRepository.save(jobLevel);
+        referenceDataService.publishChange();
+        return jobLevelMapper.toResponse(saved);
     }
 
     @Override
@@ -69,5 +78,6 @@ public class JobLevelServiceImpl implements JobLevelService {
             throw new AppException(ErrorCode.LEVEL_NOT_EXISTED);
         }
         jobLevelRepository.deleteById(levelId);
+        referenceDataService.publishChange();
     }
 }
\ No newline at end of file
@@ -13,6 +13,17 @@ import com.TopCV.exception.ErrorCode;
 import com.TopCV.mapper.JobPostMapper;
 import com.TopCV.repository.*;
 import com.TopCV.service.JobPostService;
+import com.TopCV.service.JobPostUserContextService;
+import com.TopCV.service.JobSkillTaggingService;
+import com.TopCV.service.ReferenceDataService;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -29,7 +40,10 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -39,11 +53,15 @@ public class JobPostServiceImpl implements JobPostService {
     JobPostRepository jobPostRepository;
     CompanyRepository companyRepository;
     UserRepository userRepository;
-    JobTypeRepository jobTypeRepository;
-    JobLevelRepository jobLevelRepository;
-    SkillRepository skillRepository;
+    ReferenceDataService referenceDataService;
+    JobSkillTaggingService jobSkillTaggingService;
     ApplicationRepository applicationRepository;
     JobPostMapper jobPostMapper;
+    JobPostUserContextService jobPostUserContextService;
+    ObservationRegistry observationRegistry;
+
+    // Một trang kết quả tìm kiếm không vượt quá số này
+    private static final int MAX_FAVORITE_CHECK_IDS = 200;
 
     @Override
     @Transactional
@@ -60,20 +78,13 @@ public class JobPostServiceImpl implements JobPostService {
             throw new AppException(ErrorCode.COMPANY_NOT_ACTIVE);
         }
 
-        // Validate job type and level
-        JobType jobType = jobTypeRepository.findById(request.getJobTypeId())
-                .orElseThrow(() -> new AppException(ErrorCode.TYPE_NOT_EXISTED));
-
-        JobLevel jobLevel = jobLevelRepository.findById(request.getJobLevelId())
-                .orElseThrow(() -> new AppException(ErrorCode.LEVEL_NOT_EXISTED));
+        // Validate job type, level and skills against the reference data snapshot
+        JobType jobType = referenceDataService.requireJobType(request.getJobTypeId());
+        JobLevel jobLevel = referenceDataService.requireJobLevel(request.getJobLevelId());
 
-        // Validate skills
         List<Skill> skills = List.of();
         if (request.getSkillIds() != null && !request.getSkillIds().isEmpty()) {
-            skills = skillRepository.findAllById(request.getSkillIds());
-            if (skills.size() != request.getSkillIds().size()) {
-                throw new AppException(ErrorCode.SKILL_NOT_EXISTED);
-            }
+            skills = referenceDataService.requireSkills(request.getSkillIds());
         }
 
         JobPost jobPost = jobPostMapper.toEntity(request);
@@ -81,6 +92,7 @@ public class JobPostServiceImpl implements JobPostService {
         jobPost.setType(jobType);
         jobPost.setLevel(jobLevel);
         jobPost.setSkills(skills);
+        jobSkillTaggingService.tag(jobPost);
         jobPost.setStatus(JobPostStatus.PENDING);
         jobPost.setAppliedCount(0);
 
@@ -108,20 +120,17 @@ public class JobPostServiceImpl implements JobPostService {
             throw new AppException(ErrorCode.CANNOT_UPDATE_JOB_POST);
         }
 
+        String oldTitle = jobPost.getTitle();
         jobPostMapper.updateEntity(jobPost, request);
 
         // Update job type if provided
         if (request.getJobTypeId() != null) {
-            JobType jobType = jobTypeRepository.findById(request.getJobTypeId())
-                    .orElseThrow(() -> new AppException(ErrorCode.TYPE_NOT_EXISTED));
-            jobPost.setType(jobType);
+            jobPost.setType(referenceDataService.requireJobType(request.getJobTypeId()));
         }
 
         // Update job level if provided
         if (request.getJobLevelId() != null) {
-            JobLevel jobLevel = jobLevelRepository.findById(request.getJobLevelId())
-                    .orElseThrow(() -> new AppException(ErrorCode.LEVEL_NOT_EXISTED));
-            jobPost.setLevel(jobLevel);
+            jobPost.setLevel(referenceDataService.requireJobLevel(request.getJobLevelId()));
         }
 
         // Update skills if provided
@@ -129,20 +138,23 @@ public class JobPostServiceImpl implements JobPostService {
             if (request.getSkillIds().isEmpty()) {
                 jobPost.setSkills(List.of());
             } else {
-                List<Skill> skills = skillRepository.findAllById(request.getSkillIds());
-                if (skills.size() != request.getSkillIds().size()) {
-                    throw new AppException(ErrorCode.SKILL_NOT_EXISTED);
-                }
-                jobPost.setSkills(skills);
+                jobPost.setSkills(referenceDataService.requireSkills(request.getSkillIds()));
             }
         }
 
+        jobSkillTaggingService.tag(jobPost);
+
         // Reset to PENDING if was ACTIVE (needs re-approval)
         if (jobPost.getStatus() == JobPostStatus.ACTIVE) {
             jobPost.setStatus(JobPostStatus.PENDING);
         }
 
-        return jobPostMapper.toResponse(jobPostRepository.save(jobPost));
+        JobPost savedJobPost = jobPostRepository.save(jobPost);
+        if (!Objects.equals(oldTitle, savedJobPost.getTitle())) {
+            applicationRepository.refreshSearchDocumentsForJobPost(savedJobPost.getId());
+        }
+
+        return jobPostMapper.toResponse(savedJobPost);
     }
 
     @Override
@@ -161,7 +173,8 @@ public class JobPostServiceImpl implements JobPostService {
         }
 
         // Can only delete if no applications or if status is PENDING
-        if (jobPost.getAppliedCount() > 0 && jobPost.getStatus() != JobPostStatus.PENDING) {
+        // Hỏi bảng applications thay vì appliedCount (có thể trễ vài giây do gom shard)
+        if (jobPost.getStatus() != JobPostStatus.PENDING && applicationRepository.existsByJobPostId(jobId)) {
             throw new AppException(ErrorCode.CANNOT_DELETE_JOB_POST_WITH_APPLICATIONS);
         }
 
@@ -196,7 +209,7 @@ public class JobPostServiceImpl implements JobPostService {
         JobPost jobPost = jobPostRepository.findById(jobId)
                 .orElseThrow(() -> new AppException(ErrorCode.JOB_POST_NOT_EXISTED));
 
-        return jobPostMapper.toResponse(jobPost);
+        return jobPostUserContextService.applyToDetail(jobPostMapper.toResponse(jobPost));
     }
 
     @Override
@@ -312,9 +325,9 @@ public class JobPostServiceImpl implements JobPostService {
                 .pageSize(pageData.getSize())
                 .totalPages(pageData.getTotalPages())
                 .totalElements(pageData.getTotalElements())
-                .data(pageData.getContent().stream()
+                .data(jobPostUserContextService.applyToDashboards(pageData.getContent().stream()
                         .map(jobPostMapper::toJobPostDashboard)
-                        .toList())
+                        .toList()))
                 .build();
     }
 
@@ -333,12 +346,10 @@ public class JobPostServiceImpl implements JobPostService {
             throw new AppException(ErrorCode.JOB_POST_NOT_ACTIVE);
         }
 
-        if (user.getFavoriteJobs().contains(jobPost)) {
+        // Một dòng vào bảng nối, không load danh sách job yêu thích của user
+        if (jobPostRepository.insertFavorite(user.getId(), jobId) == 0) {
             throw new AppException(ErrorCode.ALREADY_FAVORITED_JOB);
         }
-
-        user.getFavoriteJobs().add(jobPost);
-        userRepository.save(user);
     }
 
     @Override
@@ -349,15 +360,13 @@ public class JobPostServiceImpl implements JobPostService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
 
-        JobPost jobPost = jobPostRepository.findById(jobId)
-                .orElseThrow(() -> new AppException(ErrorCode.JOB_POST_NOT_EXISTED));
+        if (!jobPostRepository.existsById(jobId)) {
+            throw new AppException(ErrorCode.JOB_POST_NOT_EXISTED);
+        }
 
-        if (!user.getFavoriteJobs().contains(jobPost)) {
+        if (jobPostRepository.deleteFavorite(user.getId(), jobId) == 0) {
             throw new AppException(ErrorCode.NOT_FAVORITED_JOB);
         }
-
-        user.getFavoriteJobs().remove(jobPost);
-        userRepository.save(user);
     }
 
     @Override
@@ -367,8 +376,23 @@ public class JobPostServiceImpl implements JobPostService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
 
-        return user.getFavoriteJobs().stream()
-                .anyMatch(job -> job.getId() == jobId);
+        return jobPostRepository.isFavorite(user.getId(), jobId);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('USER')")
+    public List<Integer> findFavoriteJobIds(List<Integer> jobIds) {
+        if (jobIds == null || jobIds.isEmpty()) {
+            return List.of();
+        }
+        if (jobIds.size() > MAX_FAVORITE_CHECK_IDS) {
+            throw new AppException(ErrorCode.TOO_MANY_JOB_IDS);
+        }
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+
+        return jobPostRepository.findFavoriteJobIds(user.getId(), new HashSet<>(jobIds));
     }
 
     private Specification<JobPost> buildSearchSpecification(JobPostSearchRequest request) {
@@ -431,11 +455,11 @@ public class JobPostServiceImpl implements JobPostService {
                         criteriaBuilder.equal(root.get("company").get("id"), request.getCompanyId()));
             }
 
-            // Skills filter
+            // Skills filter: khớp skill khai báo hoặc skill suy ra từ nội dung, EXISTS để không nhân bản dòng
             if (request.getSkillIds() != null && !request.getSkillIds().isEmpty()) {
-                var skillJoin = root.join("skills");
-                predicates = criteriaBuilder.and(predicates,
-                        skillJoin.get("id").in(request.getSkillIds()));
+                predicates = criteriaBuilder.and(predicates, criteriaBuilder.or(
+                        hasSkill(root, query, criteriaBuilder, "skills", request.getSkillIds()),
+                        hasSkill(root, query, criteriaBuilder, "inferredSkills", request.getSkillIds())));
             }
 
             if(request.getSalaryRange() != null) {
@@ -454,24 +478,55 @@ public class JobPostServiceImpl implements JobPostService {
         };
     }
 
+    private Predicate hasSkill(Root<JobPost> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder,
+                               String association, List<Integer> skillIds) {
+        Subquery<Integer> subquery = query.subquery(Integer.class);
+        Join<JobPost, Skill> skill = subquery.correlate(root).join(association);
+        subquery.select(skill.get("id")).where(skill.get("id").in(skillIds));
+        return criteriaBuilder.exists(subquery);
+    }
+
     @Override
     public PageResponse<JobPostDashboardResponse> searchJobPosts(JobPostSearchRequest request, int page, int size) {
         Specification<JobPost> spec = buildSearchSpecification(request);
         Sort sort = buildSort(request.getSortBy(), request.getSortDirection());
         Pageable pageable = PageRequest.of(page - 1, size, sort);
 
-        Page<JobPost> pageData = jobPostRepository.findAll(spec, pageable);
+        // Tag là tổ hợp bộ lọc đang dùng (không phải giá trị) để so latency giữa các kiểu tìm kiếm
+        Sort.Order order = sort.iterator().next();
+        Page<JobPost> pageData = Observation.createNotStarted("topcv.job.search", observationRegistry)
+                .lowCardinalityKeyValue("filters", filterShape(request))
+                .lowCardinalityKeyValue("sort", order.getProperty() + "." + order.getDirection().name().toLowerCase())
+                .observe(() -> jobPostRepository.findAll(spec, pageable));
 
         return PageResponse.<JobPostDashboardResponse>builder()
                 .pageSize(pageData.getSize())
                 .totalPages(pageData.getTotalPages())
                 .totalElements(pageData.getTotalElements())
-                .data(pageData.getContent().stream()
+                .data(jobPostUserContextService.applyToDashboards(pageData.getContent().stream()
                         .map(jobPostMapper::toJobPostDashboard)
-                        .toList())
+                        .toList()))
                 .build();
     }
 
+    private static String filterShape(JobPostSearchRequest request) {
+        List<String> filters = new ArrayList<>();
+        if (hasText(request.getKeyword())) filters.add("keyword");
+        if (hasText(request.getLocation())) filters.add("location");
+        if (request.getJobTypeIds() != null && !request.getJobTypeIds().isEmpty()) filters.add("type");
+        if (request.getJobLevelIds() != null && !request.getJobLevelIds().isEmpty()) filters.add("level");
+        if (request.getCompanyId() != null) filters.add("company");
+        if (request.getSkillIds() != null && !request.getSkillIds().isEmpty()) filters.add("skills");
+        if (request.getSalaryRange() != null) filters.add("salary");
+        if (hasText(request.getExperienceLevel())) filters.add("experience");
+        if (request.getStatus() != null) filters.add("status");
+        return filters.isEmpty() ? "none" : String.join("+", filters);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+
     private Sort buildSort(String sortBy, String sortDirection) {
         Sort.Direction direction = Sort.Direction.DESC;
 
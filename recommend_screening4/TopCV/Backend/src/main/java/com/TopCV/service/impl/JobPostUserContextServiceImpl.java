@@ -0,0 +1,99 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.dto.response.JobPost.JobPostDashboardResponse;
+import com.TopCV.dto.response.JobPost.JobPostResponse;
+import com.TopCV.enums.JobPostStatus;
+import com.TopCV.enums.Role;
+import com.TopCV.repository.ApplicationRepository;
+import com.TopCV.repository.JobPostRepository;
+import com.TopCV.repository.UserRepository;
+import com.TopCV.repository.projection.UserRoleView;
+import com.TopCV.service.JobPostUserContextService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Cờ theo user cho danh sách job: mỗi trang tốn đúng hai query set-based (favor_job, applications)
+ * theo id của trang, thay vì kiểm tra từng job. Khách chưa đăng nhập không tốn query nào.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class JobPostUserContextServiceImpl implements JobPostUserContextService {
+    UserRepository userRepository;
+    JobPostRepository jobPostRepository;
+    ApplicationRepository applicationRepository;
+
+    @Override
+    public List<JobPostDashboardResponse> applyToDashboards(List<JobPostDashboardResponse> jobs) {
+        if (jobs.isEmpty()) {
+            return jobs;
+        }
+        UserJobContext context = loadContext(jobs.stream().map(JobPostDashboardResponse::getId).toList());
+        LocalDate today = LocalDate.now();
+        for (JobPostDashboardResponse job : jobs) {
+            job.setIsFavorite(context.favorite(job.getId()));
+            job.setCanApply(context.canApply(job.getId(), job.getStatus(), job.getDeadline(), today));
+        }
+        return jobs;
+    }
+
+    @Override
+    public JobPostResponse applyToDetail(JobPostResponse job) {
+        UserJobContext context = loadContext(List.of(job.getId()));
+        job.setIsFavorite(context.favorite(job.getId()));
+        job.setCanApply(context.canApply(job.getId(), job.getStatus(), job.getDeadline(), LocalDate.now()));
+        return job;
+    }
+
+    private UserJobContext loadContext(Collection<Integer> jobIds) {
+        Optional<UserRoleView> user = currentUser();
+        if (user.isEmpty()) {
+            return new UserJobContext(null, Set.of(), Set.of());
+        }
+        String userId = user.get().getId();
+        Set<Integer> ids = new HashSet<>(jobIds);
+        // Chỉ ứng viên mới lưu/ứng tuyển được, employer/admin bỏ qua hai query
+        if (user.get().getRole() != Role.USER) {
+            return new UserJobContext(user.get().getRole(), Set.of(), Set.of());
+        }
+        return new UserJobContext(Role.USER,
+                new HashSet<>(jobPostRepository.findFavoriteJobIds(userId, ids)),
+                new HashSet<>(applicationRepository.findAppliedJobIds(userId, ids)));
+    }
+
+    // Endpoint danh sách là public: khách đi qua với AnonymousAuthenticationToken
+    private Optional<UserRoleView> currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return Optional.empty();
+        }
+        return userRepository.findRoleViewByEmail(authentication.getName());
+    }
+
+    private record UserJobContext(Role role, Set<Integer> favoriteJobIds, Set<Integer> appliedJobIds) {
+
+        boolean favorite(int jobId) {
+            return favoriteJobIds.contains(jobId);
+        }
+
+        // Khách vẫn thấy nút ứng tuyển (đăng nhập khi bấm), employer/admin thì không
+        boolean canApply(int jobId, JobPostStatus status, LocalDate deadline, LocalDate today) {
+            boolean open = status == JobPostStatus.ACTIVE && (deadline == null || !deadline.isBefore(today));
+            return open && (role == null || role == Role.USER) && !appliedJobIds.contains(jobId);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.entity.JobPost;
+import com.TopCV.entity.Skill;
+import com.TopCV.repository.JobPostRepository;
+import com.TopCV.repository.projection.JobPostSkillSourceView;
+import com.TopCV.service.JobSkillTaggingService;
+import com.TopCV.service.ReferenceDataService;
+import com.TopCV.service.extraction.SkillMatcher;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Suy ra skill của job từ nội dung bằng SkillMatcher, lưu riêng ở job_inferred_skills
+ * để không lẫn với skill employer khai báo. Job được gắn lại khi version từ điển đổi.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class JobSkillTaggingServiceImpl implements JobSkillTaggingService {
+    SkillMatcher skillMatcher;
+    ReferenceDataService referenceDataService;
+    JobPostRepository jobPostRepository;
+    TransactionTemplate transactionTemplate;
+
+    @Override
+    public void tag(JobPost jobPost) {
+        // Lấy version trước khi so khớp: từ điển đổi giữa chừng thì job bị coi là cũ và được gắn lại
+        long version = skillMatcher.version();
+        Set<Integer> declared = jobPost.getSkills() == null ? Set.of() : jobPost.getSkills().stream()
+                .map(Skill::getId)
+                .collect(Collectors.toSet());
+
+        Set<Integer> inferred = infer(jobPost.getTitle(), jobPost.getDescription(), jobPost.getRequirements(), declared);
+        jobPost.setInferredSkills(referenceDataService.findSkills(inferred));
+        jobPost.setSkillTagsVersion(version);
+    }
+
+    @Override
+    public int tagPending(int batchSize) {
+        long version = skillMatcher.version();
+        Integer processed = transactionTemplate.execute(status -> {
+            List<Integer> jobPostIds = jobPostRepository.lockJobsToTag(version, batchSize);
+            if (jobPostIds.isEmpty()) {
+                return 0;
+            }
+
+            Map<Integer, Set<Integer>> declaredByJob = new HashMap<>();
+            jobPostRepository.findDeclaredSkills(jobPostIds).forEach(row ->
+                    declaredByJob.computeIfAbsent(row.getJobId(), id -> new HashSet<>()).add(row.getSkillId()));
+
+            // Ghi thẳng bảng nối và cột version, không qua entity để updated_at của job không đổi
+            jobPostRepository.deleteInferredSkills(jobPostIds);
+            for (JobPostSkillSourceView source : jobPostRepository.findSkillSources(jobPostIds)) {
+                Set<Integer> inferred = infer(source.getTitle(), source.getDescription(), source.getRequirements(),
+                        declaredByJob.getOrDefault(source.getId(), Set.of()));
+                if (!inferred.isEmpty()) {
+                    jobPostRepository.insertInferredSkills(source.getId(), inferred);
+                }
+            }
+            jobPostRepository.markSkillsTagged(jobPostIds, version);
+            return jobPostIds.size();
+        });
+        return processed != null ? processed : 0;
+    }
+
+    private Set<Integer> infer(String title, String description, String requirements, Collection<Integer> declared) {
+        String text = Stream.of(title, description, requirements)
+                .filter(Objects::nonNull)
+                .collect(Collectors.joining("\n"));
+        Set<Integer> skillIds = skillMatcher.match(text);
+        skillIds.removeAll(declared);
+        return skillIds;
+    }
+}
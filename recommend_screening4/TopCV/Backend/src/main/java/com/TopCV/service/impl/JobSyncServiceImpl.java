@@ -13,7 +13,9 @@ import org.springframework.stereotype.Service;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -105,14 +107,14 @@ public class JobSyncServiceImpl implements JobSyncService {
             
             log.debug("JobPost ID: {} (type: Integer)", job.getId());
             
-            // Skills
-            String skills = "";
-            if (job.getSkills() != null && !job.getSkills().isEmpty()) {
-                skills = job.getSkills().stream()
-                        .map(Skill::getName)
-                        .filter(name -> name != null && !name.trim().isEmpty())
-                        .collect(Collectors.joining(", "));
-            }
+            // Skills: skill employer khai báo trước, sau đó skill suy ra từ nội dung
+            String skills = Stream.of(job.getSkills(), job.getInferredSkills())
+                    .filter(Objects::nonNull)
+                    .flatMap(List::stream)
+                    .map(Skill::getName)
+                    .filter(name -> name != null && !name.trim().isEmpty())
+                    .distinct()
+                    .collect(Collectors.joining(", "));
             jobData.put("core_skills", skills);
             
             // Experience
@@ -8,6 +8,8 @@ import com.TopCV.exception.ErrorCode;
 import com.TopCV.mapper.JobTypeMapper;
 import com.TopCV.repository.JobTypeRepository;
 import com.TopCV.service.JobTypeService;
+import com.TopCV.service.ReferenceDataService;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
@@ -25,6 +27,7 @@ public class JobTypeServiceImpl implements JobTypeService {
 
     JobTypeRepository jobTypeRepository;
     JobTypeMapper jobTypeMapper;
+    ReferenceDataService referenceDataService;
 
     @Override
     @Transactional
@@ -34,21 +37,25 @@ public class JobTypeServiceImpl implements JobTypeService {
             throw new AppException(ErrorCode.TYPE_NAME_EXISTED);
         }
         JobType jobType = jobTypeMapper.toEntity(request);
-        return jobTypeMapper.toResponse(jobTypeRepository.save(jobType));
+        JobType saved = jobTypeRepository.save(jobType);
+        referenceDataService.publishChange();
+        return jobTypeMapper.toResponse(saved);
     }
 
     @Override
     public List<JobTypeResponse> getAllJobTypes() {
-        return jobTypeRepository.findAll().stream()
+        return referenceDataService.snapshot().jobTypes().all().stream()
                 .map(jobTypeMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     public JobTypeResponse getJobTypeById(Integer id) {
-        JobType jobType = jobTypeRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.TYPE_NOT_EXISTED));
-        return jobTypeMapper.toResponse(jobType);
+        ReferenceDataSnapshot.Entry entry = referenceDataService.snapshot().jobTypes().get(id);
+        if (entry == null) {
+            throw new AppException(ErrorCode.TYPE_NOT_EXISTED);
+        }
+        return jobTypeMapper.toResponse(entry);
     }
 
     @Override
@@ -58,7 +65,9 @@ public class JobTypeServiceImpl implements JobTypeService {
         JobType jobType = jobTypeRepository.findById(typeId)
                 .orElseThrow(() -> new AppException(ErrorCode.TYPE_NOT_EXISTED));
         jobTypeMapper.updateEntity(jobType, request);
-        return jobTypeMapper.toResponse(jobTypeRepository.save(jobType));
+        JobType saved = jobTypeRepository.save(jobType);
+        referenceDataService.publishChange();
+        return jobTypeMapper.toResponse(saved);
     }
 
     @Override
@@ -69,5 +78,6 @@ public class JobTypeServiceImpl implements JobTypeService {
             throw new AppException(ErrorCode.TYPE_NOT_EXISTED);
         }
         jobTypeRepository.deleteById(typeId);
+        referenceDataService.publishChange();
     }
 }
\ No newline at end of file
@@ -0,0 +1,136 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.dto.response.NotificationResponse;
+import com.TopCV.dto.response.PageResponse;
+import com.TopCV.entity.Notification;
+import com.TopCV.entity.User;
+import com.TopCV.enums.ApplicationStatus;
+import com.TopCV.enums.NotificationEmailStatus;
+import com.TopCV.enums.NotificationType;
+import com.TopCV.exception.AppException;
+import com.TopCV.exception.ErrorCode;
+import com.TopCV.mapper.NotificationMapper;
+import com.TopCV.repository.ApplicationRepository;
+import com.TopCV.repository.NotificationRepository;
+import com.TopCV.repository.UserRepository;
+import com.TopCV.repository.projection.ApplicationNotificationView;
+import com.TopCV.service.NotificationService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class NotificationServiceImpl implements NotificationService {
+    NotificationRepository notificationRepository;
+    ApplicationRepository applicationRepository;
+    UserRepository userRepository;
+    NotificationMapper notificationMapper;
+
+    @NonFinal
+    @Value("${app.notification.chunk-size:500}")
+    int chunkSize;
+
+    // Các trạng thái ứng viên cần được báo qua email, còn lại chỉ hiện trong app
+    private static final Set<ApplicationStatus> EMAIL_STATUSES = EnumSet.of(
+            ApplicationStatus.SHORTLISTED,
+            ApplicationStatus.INTERVIEWED,
+            ApplicationStatus.HIRED,
+            ApplicationStatus.REJECTED);
+
+    @Override
+    @Transactional
+    public void createApplicationStatusNotifications(List<Integer> applicationIds, ApplicationStatus newStatus) {
+        int created = 0;
+        for (int from = 0; from < applicationIds.size(); from += chunkSize) {
+            List<Integer> chunk = applicationIds.subList(from, Math.min(from + chunkSize, applicationIds.size()));
+            List<Notification> notifications = applicationRepository.findNotificationViews(chunk).stream()
+                    .map(view -> toStatusNotification(view, newStatus))
+                    .toList();
+            notificationRepository.saveAll(notifications);
+            created += notifications.size();
+        }
+        log.info("Created {} notifications for status change to {}", created, newStatus);
+    }
+
+    @Override
+    public PageResponse<NotificationResponse> getMyNotifications(int page, int size) {
+        User user = getCurrentUser();
+
+        Pageable pageable = PageRequest.of(page - 1, size, Sort.by("createdAt").descending());
+        Page<Notification> pageData = notificationRepository.findByUserId(user.getId(), pageable);
+
+        return PageResponse.<NotificationResponse>builder()
+                .pageSize(pageData.getSize())
+                .totalPages(pageData.getTotalPages())
+                .totalElements(pageData.getTotalElements())
+                .data(pageData.getContent().stream()
+                        .map(notificationMapper::toResponse)
+                        .toList())
+                .build();
+    }
+
+    @Override
+    public long countMyUnread() {
+        return notificationRepository.countByUserIdAndReadFalse(getCurrentUser().getId());
+    }
+
+    @Override
+    @Transactional
+    public void markAsRead(Long notificationId) {
+        User user = getCurrentUser();
+        Notification notification = notificationRepository.findByIdAndUserId(notificationId, user.getId())
+                .orElseThrow(() -> new AppException(ErrorCode.NOTIFICATION_NOT_EXISTED));
+
+        if (!notification.isRead()) {
+            notification.setRead(true);
+            notification.setReadAt(LocalDateTime.now());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void markAllAsRead() {
+        notificationRepository.markAllRead(getCurrentUser().getId(), LocalDateTime.now());
+    }
+
+    private Notification toStatusNotification(ApplicationNotificationView view, ApplicationStatus newStatus) {
+        return Notification.builder()
+                .userId(view.getUserId())
+                .type(NotificationType.APPLICATION_STATUS_CHANGED)
+                .applicationId(view.getApplicationId())
+                .applicationStatus(newStatus)
+                .jobTitle(view.getJobTitle())
+                .companyName(view.getCompanyName())
+                .title("Application status updated")
+                .message("Your application for " + view.getJobTitle() + " at " + view.getCompanyName()
+                        + " is now " + newStatus.name())
+                .emailStatus(EMAIL_STATUSES.contains(newStatus)
+                        ? NotificationEmailStatus.PENDING
+                        : NotificationEmailStatus.SKIPPED)
+                .build();
+    }
+
+    private User getCurrentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+    }
+}
@@ -1,12 +1,16 @@
 package com.TopCV.service.impl;
 
 import com.TopCV.enums.OtpType;
+import com.TopCV.enums.OtpVerificationResult;
+import com.TopCV.exception.AppException;
+import com.TopCV.exception.ErrorCode;
 import com.TopCV.service.EmailService;
 import com.TopCV.service.OtpService;
 import com.TopCV.service.redis.UserRedisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +26,9 @@ public class OtpServiceImpl implements OtpService {
     @Value("${app.security.otp.length:6}")
     private int otpLength;
 
+    @Value("${app.security.otp.max-attempts:5}")
+    private int maxAttempts;
+
     private static final SecureRandom RANDOM = new SecureRandom();
 
     @Transactional
@@ -30,46 +37,37 @@ public class OtpServiceImpl implements OtpService {
 
         userRedisService.saveOtp(email, otp);
 
-        emailService.sendOtpEmail(email, otp, otpType)
-                .exceptionally(throwable -> {
-                    log.error("Failed to send OTP email for {}: {}", email, throwable.getMessage());
-                    return null;
-                });
+        sendOtp(email, otp, otpType);
     }
 
+    public void sendOtp(String email, String otp, OtpType otpType) {
+        emailService.sendOtpEmail(email, otp, otpType);
+    }
 
     public boolean verifyOtp(String email, String providedOtp) {
-        try {
-            log.info("🔍 Verifying OTP for email: {}", email);
-            log.info("🔍 Provided OTP: '{}'", providedOtp);
-            
-            String storedOtp = userRedisService.getOtp(email);
-            log.info("🔍 Stored OTP: '{}'", storedOtp);
-
-            if (storedOtp == null) {
-                log.warn("❌ No OTP found for email: {}", email);
-                return false;
-            }
-
-            boolean isValid = storedOtp.equals(providedOtp);
-            log.info("🔍 OTP comparison result: {} (stored: '{}' vs provided: '{}')", isValid, storedOtp, providedOtp);
-
-            if (isValid) {
-                userRedisService.deleteOtp(email);
-                log.info("✅ OTP verified successfully for email: {}", email);
-            } else {
-                log.warn("❌ Invalid OTP provided for email: {}. Expected: '{}', Got: '{}'", email, storedOtp, providedOtp);
-            }
-
-            return isValid;
+        if (providedOtp == null || providedOtp.isBlank()) {
+            return false;
+        }
 
-        } catch (Exception e) {
-            log.error("❌ Error verifying OTP for email: {}", email, e);
+        OtpVerificationResult result;
+        try {
+            result = userRedisService.verifyAndConsumeOtp(email, providedOtp, maxAttempts);
+        } catch (DataAccessException e) {
+            log.error("Error verifying OTP for email: {}", email, e);
             return false;
         }
+
+        if (result == OtpVerificationResult.LOCKED) {
+            log.warn("OTP locked after too many failed attempts for email: {}", email);
+            throw new AppException(ErrorCode.OTP_ATTEMPTS_EXCEEDED);
+        }
+        if (result != OtpVerificationResult.VALID) {
+            log.debug("OTP verification for email {} returned {}", email, result);
+        }
+        return result == OtpVerificationResult.VALID;
     }
 
-    private String generateOtpCode() {
+    public String generateOtpCode() {
         StringBuilder otp = new StringBuilder();
         for (int i = 0; i < otpLength; i++) {
             otp.append(RANDOM.nextInt(10));
@@ -0,0 +1,80 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.exception.AppException;
+import com.TopCV.exception.ErrorCode;
+import com.TopCV.service.PasswordHashingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+    PasswordEncoder passwordEncoder;
+    ThreadPoolTaskExecutor passwordHashingExecutor;
+    MeterRegistry meterRegistry;
+
+    @NonFinal
+    @Value("${app.security.password-hashing.timeout-ms:5000}")
+    long timeoutMs;
+
+    @Override
+    public String encode(String rawPassword) {
+        return execute("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    private <T> T execute(String operation, Callable<T> task) {
+        Timer timer = Timer.builder("auth.password.hashing")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", operation)
+                .register(meterRegistry);
+
+        Future<T> future;
+        try {
+            future = passwordHashingExecutor.submit(() -> timer.recordCallable(task));
+        } catch (TaskRejectedException e) {
+            meterRegistry.counter("auth.password.hashing.rejected", "operation", operation).increment();
+            log.warn("Password hashing queue is full, rejecting {}", operation);
+            throw new AppException(ErrorCode.SERVER_BUSY);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            meterRegistry.counter("auth.password.hashing.rejected", "operation", operation).increment();
+            throw new AppException(ErrorCode.SERVER_BUSY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new AppException(ErrorCode.SERVER_BUSY);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AppException(ErrorCode.UNCATEGORIZED_EXCEPTION, e.getCause());
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.TopCV.dto.response.JobRecommendationResponse;
 import com.TopCV.exception.AppException;
 import com.TopCV.exception.ErrorCode;
 import com.TopCV.service.PythonServiceClient;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.extern.slf4j.Slf4j;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,10 +15,12 @@ import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClientResponseException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 @Service
@@ -25,13 +29,16 @@ public class PythonServiceClientImpl implements PythonServiceClient {
     
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final ObservationRegistry observationRegistry;
     
     @Value("${python-service.base-url:http://localhost:8000}")
     private String pythonServiceBaseUrl;
     
-    public PythonServiceClientImpl(RestTemplate restTemplate, ObjectMapper objectMapper) {
+    public PythonServiceClientImpl(RestTemplate restTemplate, ObjectMapper objectMapper,
+                                   ObservationRegistry observationRegistry) {
         this.restTemplate = restTemplate;
         this.objectMapper = objectMapper;
+        this.observationRegistry = observationRegistry;
     }
     
     @PostConstruct
@@ -42,15 +49,8 @@ public class PythonServiceClientImpl implements PythonServiceClient {
     @Override
     public JobRecommendationResponse analyzeCV(MultipartFile cvFile, Integer topK, Double minScore, 
                                              String location, String jobType) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
         try {
-            String url = pythonServiceBaseUrl + "/cv/upload";
-            
-            // Prepare multipart request
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-            
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            
             // Add file
             ByteArrayResource fileResource = new ByteArrayResource(cvFile.getBytes()) {
                 @Override
@@ -59,6 +59,33 @@ public class PythonServiceClientImpl implements PythonServiceClient {
                 }
             };
             body.add("file", fileResource);
+        } catch (Exception e) {
+            log.error("Cannot read CV file {}: {}", cvFile.getOriginalFilename(), e.getMessage(), e);
+            throw new AppException(ErrorCode.EXTERNAL_SERVICE_ERROR);
+        }
+        return requestRecommendations(body, cvFile.getOriginalFilename(), topK, minScore, location, jobType);
+    }
+
+    @Override
+    public JobRecommendationResponse analyzeCVText(String cvText, String fileName, Integer topK, Double minScore,
+                                                   String location, String jobType) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("cv_text", textPart(cvText));
+        if (fileName != null) {
+            body.add("file_name", fileName);
+        }
+        return requestRecommendations(body, fileName, topK, minScore, location, jobType);
+    }
+
+    private JobRecommendationResponse requestRecommendations(MultiValueMap<String, Object> body, String fileName,
+                                                             Integer topK, Double minScore,
+                                                             String location, String jobType) {
+        try {
+            String url = pythonServiceBaseUrl + "/cv/upload";
+            
+            // Prepare multipart request
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
             
             // Add parameters with defaults to match Python FastAPI expectations
             body.add("top_k", topK != null ? topK : 5);
@@ -73,9 +100,9 @@ public class PythonServiceClientImpl implements PythonServiceClient {
             HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
             
             log.info("Calling Python CV analysis API: {} with file: {}, topK: {}, minScore: {}, location: {}, jobType: {}", 
-                    url, cvFile.getOriginalFilename(), topK, minScore, location, jobType);
+                    url, fileName, topK, minScore, location, jobType);
             log.debug("Request body parameters: {}", body);
-            ResponseEntity<JobRecommendationResponse> response = restTemplate.exchange(
+            ResponseEntity<JobRecommendationResponse> response = exchange("analyze_cv",
                 url, HttpMethod.POST, requestEntity, JobRecommendationResponse.class
             );
             
@@ -95,15 +122,8 @@ public class PythonServiceClientImpl implements PythonServiceClient {
 
     @Override
     public CVScreeningResponse screenCV(MultipartFile cvFile, Integer jobId) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
         try {
-            String url = pythonServiceBaseUrl + "/screening/apply-job?job_id=" + jobId;
-            
-            // Prepare multipart request
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-            
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            
             // Add file
             ByteArrayResource fileResource = new ByteArrayResource(cvFile.getBytes()) {
                 @Override
@@ -112,12 +132,43 @@ public class PythonServiceClientImpl implements PythonServiceClient {
                 }
             };
             body.add("cv_file", fileResource);
+        } catch (Exception e) {
+            log.error("Cannot read CV file {}: {}", cvFile.getOriginalFilename(), e.getMessage(), e);
+            throw new AppException(ErrorCode.EXTERNAL_SERVICE_ERROR);
+        }
+        return requestScreening(body, jobId);
+    }
+
+    @Override
+    public CVScreeningResponse screenCVText(String cvText, String fileName, Integer jobId) {
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("cv_text", textPart(cvText));
+        if (fileName != null) {
+            body.add("file_name", fileName);
+        }
+        return requestScreening(body, jobId);
+    }
+
+    // Ghi rõ UTF-8 để text tiếng Việt không phụ thuộc charset mặc định của converter
+    private static HttpEntity<String> textPart(String text) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+        return new HttpEntity<>(text, headers);
+    }
+
+    private CVScreeningResponse requestScreening(MultiValueMap<String, Object> body, Integer jobId) {
+        try {
+            String url = pythonServiceBaseUrl + "/screening/apply-job?job_id={jobId}";
+            
+            // Prepare multipart request
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
             
             HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
             
             log.info("Calling Python CV screening API: {} for job: {}", url, jobId);
-            ResponseEntity<CVScreeningResponse> response = restTemplate.exchange(
-                url, HttpMethod.POST, requestEntity, CVScreeningResponse.class
+            ResponseEntity<CVScreeningResponse> response = exchange("screen_cv",
+                url, HttpMethod.POST, requestEntity, CVScreeningResponse.class, jobId
             );
             
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
@@ -168,7 +219,7 @@ public class PythonServiceClientImpl implements PythonServiceClient {
             log.info("Job data being sent: {}", jobData);
             log.info("Request headers: {}", headers);
             log.info("Request body size: {} bytes", jobData.toString().length());
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<String> response = exchange("sync_job",
                 url, HttpMethod.POST, requestEntity, String.class
             );
             log.debug("Python response: {}", response.getBody());
@@ -199,7 +250,7 @@ public class PythonServiceClientImpl implements PythonServiceClient {
             String url = pythonServiceBaseUrl + "/jobs/clear";
             
             log.info("Clearing Python jobs database");
-            ResponseEntity<String> response = restTemplate.exchange(
+            ResponseEntity<String> response = exchange("clear_jobs",
                 url, HttpMethod.DELETE, null, String.class
             );
             
@@ -218,11 +269,48 @@ public class PythonServiceClientImpl implements PythonServiceClient {
     public boolean isPythonServiceHealthy() {
         try {
             String url = pythonServiceBaseUrl + "/health";
-            ResponseEntity<String> response = restTemplate.getForEntity(url, String.class);
+            ResponseEntity<String> response = exchange("health", url, HttpMethod.GET, null, String.class);
             return response.getStatusCode().is2xxSuccessful();
         } catch (Exception e) {
             log.error("Python service health check failed: {}", e.getMessage());
             return false;
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Mọi lời gọi sang Python đi qua đây: metric topcv.python.calls theo operation, status, outcome
+     * và một span bao quanh span http.client.requests của RestTemplate (span đó mang traceparent sang Python).
+     */
+    private <T> ResponseEntity<T> exchange(String operation, String url, HttpMethod method, HttpEntity<?> requestEntity,
+                                           Class<T> responseType, Object... uriVariables) {
+        Observation observation = Observation.createNotStarted("topcv.python.calls", observationRegistry)
+                .lowCardinalityKeyValue("operation", operation)
+                .start();
+        String status = "IO_ERROR";
+        try (Observation.Scope scope = observation.openScope()) {
+            ResponseEntity<T> response = restTemplate.exchange(url, method, requestEntity, responseType, uriVariables);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } catch (RestClientResponseException e) {
+            status = String.valueOf(e.getStatusCode().value());
+            observation.error(e);
+            throw e;
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("status", status);
+            observation.lowCardinalityKeyValue("outcome", outcome(status));
+            observation.stop();
+        }
+    }
+
+    private static String outcome(String status) {
+        return switch (status.charAt(0)) {
+            case '2' -> "SUCCESS";
+            case '4' -> "CLIENT_ERROR";
+            case '5' -> "SERVER_ERROR";
+            default -> "UNKNOWN";
+        };
+    }
+}
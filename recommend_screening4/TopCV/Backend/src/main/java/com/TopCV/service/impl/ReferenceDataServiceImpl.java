@@ -0,0 +1,239 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.entity.CompanyCategory;
+import com.TopCV.entity.JobLevel;
+import com.TopCV.entity.JobType;
+import com.TopCV.entity.Skill;
+import com.TopCV.exception.AppException;
+import com.TopCV.exception.ErrorCode;
+import com.TopCV.repository.CompanyCategoryRepository;
+import com.TopCV.repository.JobLevelRepository;
+import com.TopCV.repository.JobTypeRepository;
+import com.TopCV.repository.SkillRepository;
+import com.TopCV.service.ReferenceDataService;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
+import com.TopCV.service.reference.ReferenceDataSnapshot.Entry;
+import jakarta.annotation.PostConstruct;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Giữ dữ liệu danh mục trong một snapshot bất biến trên mỗi node, đọc không chạm PostgreSQL.
+ * Admin sửa danh mục thì sau commit tăng reference-data:version trong Redis, nạp lại tại chỗ
+ * và publish version mới để các node khác nạp lại. Node lỡ message sẽ bắt kịp khi kiểm tra version định kỳ.
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ReferenceDataServiceImpl implements ReferenceDataService, MessageListener {
+    SkillRepository skillRepository;
+    JobTypeRepository jobTypeRepository;
+    JobLevelRepository jobLevelRepository;
+    CompanyCategoryRepository companyCategoryRepository;
+    StringRedisTemplate stringRedisTemplate;
+    RedisMessageListenerContainer redisMessageListenerContainer;
+    PlatformTransactionManager transactionManager;
+
+    private static final String VERSION_KEY = "reference-data:version";
+    private static final String CHANNEL = "reference-data:changed";
+
+    @NonFinal
+    volatile ReferenceDataSnapshot snapshot;
+
+    @PostConstruct
+    void subscribe() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @Override
+    public ReferenceDataSnapshot snapshot() {
+        ReferenceDataSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            current = snapshot;
+            return current != null ? current : reload(readVersion());
+        }
+    }
+
+    @Override
+    public JobType requireJobType(Integer id) {
+        Entry entry = snapshot().jobTypes().get(id);
+        if (entry == null) {
+            throw new AppException(ErrorCode.TYPE_NOT_EXISTED);
+        }
+        return JobType.builder().id(entry.id()).name(entry.name()).build();
+    }
+
+    @Override
+    public JobLevel requireJobLevel(Integer id) {
+        Entry entry = snapshot().jobLevels().get(id);
+        if (entry == null) {
+            throw new AppException(ErrorCode.LEVEL_NOT_EXISTED);
+        }
+        return JobLevel.builder().id(entry.id()).name(entry.name()).build();
+    }
+
+    @Override
+    public List<Skill> requireSkills(Collection<Integer> ids) {
+        List<Skill> skills = findSkills(ids);
+        if (skills.size() != Set.copyOf(ids).size()) {
+            throw new AppException(ErrorCode.SKILL_NOT_EXISTED);
+        }
+        return skills;
+    }
+
+    @Override
+    public List<Skill> findSkills(Collection<Integer> ids) {
+        ReferenceDataSnapshot.Table table = snapshot().skills();
+        List<Skill> skills = new ArrayList<>(ids.size());
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            Entry entry = table.get(id);
+            if (entry != null) {
+                skills.add(Skill.builder().id(entry.id()).name(entry.name()).build());
+            }
+        }
+        return skills;
+    }
+
+    @Override
+    public List<CompanyCategory> requireCategories(Collection<Integer> ids) {
+        ReferenceDataSnapshot.Table table = snapshot().categories();
+        List<CompanyCategory> categories = new ArrayList<>(ids.size());
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            Entry entry = table.get(id);
+            if (entry == null) {
+                throw new AppException(ErrorCode.CATEGORY_NOT_EXISTED);
+            }
+            categories.add(CompanyCategory.builder().id(entry.id()).name(entry.name()).build());
+        }
+        return categories;
+    }
+
+    @Override
+    public void publishChange() {
+        Runnable task = () -> {
+            Long version = incrementVersion();
+            synchronized (this) {
+                reload(version != null ? version : currentVersion());
+            }
+            if (version != null) {
+                publish(version);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            task.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                task.run();
+            }
+        });
+    }
+
+    @Override
+    public void checkVersion() {
+        refreshIfOlderThan(readVersion());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            refreshIfOlderThan(Long.parseLong(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed reference data version message");
+        }
+    }
+
+    // Message do chính node này publish có version bằng snapshot hiện tại nên bị bỏ qua
+    private void refreshIfOlderThan(long version) {
+        if (snapshot != null && snapshot.version() >= version) {
+            return;
+        }
+        synchronized (this) {
+            if (snapshot == null || snapshot.version() < version) {
+                reload(version);
+            }
+        }
+    }
+
+    // Gọi khi đang giữ lock; version đọc trước khi đọc bảng nên thay đổi xen giữa sẽ được nạp ở lần sau
+    private ReferenceDataSnapshot reload(long version) {
+        // Transaction riêng vì có thể chạy trong afterCommit của transaction admin vừa ghi
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        ReferenceDataSnapshot loaded = readOnly.execute(status -> new ReferenceDataSnapshot(version,
+                new ReferenceDataSnapshot.Table(skillRepository.findAll().stream()
+                        .map(skill -> new Entry(skill.getId(), skill.getName())).toList()),
+                new ReferenceDataSnapshot.Table(jobTypeRepository.findAll().stream()
+                        .map(type -> new Entry(type.getId(), type.getName())).toList()),
+                new ReferenceDataSnapshot.Table(jobLevelRepository.findAll().stream()
+                        .map(level -> new Entry(level.getId(), level.getName())).toList()),
+                new ReferenceDataSnapshot.Table(companyCategoryRepository.findAll().stream()
+                        .map(category -> new Entry(category.getId(), category.getName())).toList())));
+        snapshot = loaded;
+        log.info("Loaded reference data version {}: {} skills, {} job types, {} job levels, {} categories",
+                version, loaded.skills().size(), loaded.jobTypes().size(), loaded.jobLevels().size(),
+                loaded.categories().size());
+        return loaded;
+    }
+
+    private long currentVersion() {
+        ReferenceDataSnapshot current = snapshot;
+        return current != null ? current.version() : 0;
+    }
+
+    // Redis lỗi thì giữ version đang có, snapshot cũ vẫn dùng được
+    private long readVersion() {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(VERSION_KEY);
+            return value != null ? Long.parseLong(value) : 0;
+        } catch (Exception e) {
+            log.warn("Cannot read reference data version: {}", e.getMessage());
+            return currentVersion();
+        }
+    }
+
+    private Long incrementVersion() {
+        try {
+            return stringRedisTemplate.opsForValue().increment(VERSION_KEY);
+        } catch (Exception e) {
+            log.warn("Cannot bump reference data version, other nodes keep their snapshot until the next change: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void publish(long version) {
+        try {
+            stringRedisTemplate.convertAndSend(CHANNEL, String.valueOf(version));
+        } catch (Exception e) {
+            log.warn("Cannot publish reference data version {}: {}", version, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.entity.Resume;
+import com.TopCV.enums.ResumeExtractionStatus;
+import com.TopCV.repository.ResumeRepository;
+import com.TopCV.service.FileBlobService;
+import com.TopCV.service.FileService;
+import com.TopCV.service.ReferenceDataService;
+import com.TopCV.service.ResumeExtractionService;
+import com.TopCV.service.extraction.ResumeTextExtractor;
+import com.TopCV.service.extraction.SkillMatcher;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ResumeExtractionServiceImpl implements ResumeExtractionService {
+    ResumeRepository resumeRepository;
+    ReferenceDataService referenceDataService;
+    ResumeTextExtractor resumeTextExtractor;
+    SkillMatcher skillMatcher;
+    FileBlobService fileBlobService;
+    FileService fileService;
+    ThreadPoolTaskExecutor resumeExtractionExecutor;
+    TransactionTemplate transactionTemplate;
+
+    // Resume mới hơn mốc này đang được trích bởi upload, scheduler bỏ qua
+    @NonFinal
+    @Value("${app.resume.extraction.pending-after-seconds:120}")
+    long pendingAfterSeconds;
+
+    @NonFinal
+    @Value("${app.resume.extraction.claim-timeout-seconds:300}")
+    long claimTimeoutSeconds;
+
+    @Override
+    public void extractAfterCommit(Integer resumeId) {
+        Runnable task = () -> extract(resumeId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            submit(resumeId, task);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(resumeId, task);
+            }
+        });
+    }
+
+    @Override
+    public String getOrExtractText(Resume resume) {
+        if (resume.getExtractionStatus() == ResumeExtractionStatus.COMPLETED) {
+            return resume.getExtractedText();
+        }
+        if (resume.getExtractionStatus() == ResumeExtractionStatus.FAILED) {
+            return null;
+        }
+        // Upload vừa xong, job nền chưa chạy tới: trích luôn trên thread hiện tại.
+        // Job nền đang trích thì trả null, caller gửi file sang Python như khi trích lỗi
+        return extract(resume.getId());
+    }
+
+    @Override
+    public String extractText(MultipartFile file) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+
+            Optional<Resume> extracted = resumeRepository
+                    .findFirstByContentHashAndExtractionStatus(hash, ResumeExtractionStatus.COMPLETED);
+            if (extracted.isPresent()) {
+                return extracted.get().getExtractedText();
+            }
+
+            String text = resumeTextExtractor.extract(file.getResource(), file.getOriginalFilename());
+            return text.isBlank() ? null : text;
+        } catch (Exception e) {
+            log.warn("Cannot extract text from {}: {}", file.getOriginalFilename(), e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public int extractPending(int limit) {
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(pendingAfterSeconds);
+        List<Integer> ids = resumeRepository.findIdsAwaitingExtraction(
+                ResumeExtractionStatus.PENDING, cutoff, PageRequest.of(0, limit));
+        for (Integer id : ids) {
+            extract(id);
+        }
+        return ids.size();
+    }
+
+    private void submit(Integer resumeId, Runnable task) {
+        try {
+            resumeExtractionExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            // Giữ PENDING, ResumeExtractionScheduler sẽ trích sau
+            log.warn("Resume extraction queue full, resume {} will be extracted later", resumeId);
+        }
+    }
+
+    /**
+     * Đọc file ngoài transaction (IO chậm), chỉ mở transaction lúc ghi kết quả
+     */
+    private String extract(Integer resumeId) {
+        Resume resume = resumeRepository.findById(resumeId).orElse(null);
+        if (resume == null) {
+            return null;
+        }
+        if (resume.getExtractionStatus() == ResumeExtractionStatus.COMPLETED) {
+            return resume.getExtractedText();
+        }
+        if (!claim(resumeId)) {
+            log.debug("Resume {} is already being extracted", resumeId);
+            return null;
+        }
+
+        // Cùng nội dung đã được trích cho resume khác (user khác upload cùng file)
+        if (resume.getContentHash() != null) {
+            Optional<Resume> sameContent = resumeRepository.findFirstByContentHashAndExtractionStatus(
+                    resume.getContentHash(), ResumeExtractionStatus.COMPLETED);
+            if (sameContent.isPresent()) {
+                String text = sameContent.get().getExtractedText();
+                saveResult(resumeId, text, skillMatcher.match(text), ResumeExtractionStatus.COMPLETED);
+                return text;
+            }
+        }
+
+        try {
+            Resource file = resume.getContentHash() != null
+                    ? fileBlobService.open(resume.getContentHash(), resume.getFilePath())
+                    : fileService.getFileResource(resume.getFilePath());
+            String text = resumeTextExtractor.extract(file, resume.getOriginalFilename());
+            if (text.isBlank()) {
+                log.warn("Resume {} has no extractable text (scanned document?)", resumeId);
+                saveResult(resumeId, null, Set.of(), ResumeExtractionStatus.FAILED);
+                return null;
+            }
+
+            Set<Integer> skillIds = skillMatcher.match(text);
+            saveResult(resumeId, text, skillIds, ResumeExtractionStatus.COMPLETED);
+            log.info("Extracted {} chars and {} skills from resume {}", text.length(), skillIds.size(), resumeId);
+            return text;
+        } catch (Exception e) {
+            log.error("Failed to extract resume {}: {}", resumeId, e.getMessage());
+            saveResult(resumeId, null, Set.of(), ResumeExtractionStatus.FAILED);
+            return null;
+        }
+    }
+
+    private boolean claim(Integer resumeId) {
+        LocalDateTime now = LocalDateTime.now();
+        Integer claimed = transactionTemplate.execute(tx -> resumeRepository.claimExtraction(
+                resumeId, ResumeExtractionStatus.PENDING, now, now.minusSeconds(claimTimeoutSeconds)));
+        return claimed != null && claimed > 0;
+    }
+
+    private void saveResult(Integer resumeId, String text, Set<Integer> skillIds, ResumeExtractionStatus status) {
+        transactionTemplate.executeWithoutResult(tx -> resumeRepository.findById(resumeId).ifPresent(resume -> {
+            resume.setExtractedText(text);
+            resume.setExtractionStatus(status);
+            resume.setExtractedAt(LocalDateTime.now());
+            resume.setSkills(referenceDataService.findSkills(skillIds));
+            resumeRepository.save(resume);
+        }));
+    }
+}
@@ -6,25 +6,31 @@ import com.TopCV.entity.Application;
 import com.TopCV.entity.Resume;
 import com.TopCV.entity.User;
 import com.TopCV.enums.FileType;
+import com.TopCV.enums.ResumeExtractionStatus;
 import com.TopCV.exception.AppException;
 import com.TopCV.exception.ErrorCode;
 import com.TopCV.mapper.ResumeMapper;
 import com.TopCV.repository.ApplicationRepository;
 import com.TopCV.repository.ResumeRepository;
 import com.TopCV.repository.UserRepository;
+import com.TopCV.service.FileBlobService;
 import com.TopCV.service.FileService;
+import com.TopCV.service.ResumeExtractionService;
 import com.TopCV.service.ResumeService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.FieldDefaults;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -33,6 +39,8 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ResumeServiceImpl implements ResumeService {
     FileService fileService;
+    FileBlobService fileBlobService;
+    ResumeExtractionService resumeExtractionService;
     ResumeRepository resumeRepository;
     UserRepository userRepository;
     ResumeMapper resumeMapper;
@@ -51,17 +59,7 @@ public class ResumeServiceImpl implements ResumeService {
         log.info("User {} uploading resume: {}", user.getEmail(), originalFilename);
 
         try {
-            // Upload file to uploads/resume/ directory
-            String filePath = fileService.uploadFile(file, FileType.RESUME.getDirectory());
-
-            Resume resume = Resume.builder()
-                    .user(user)
-                    .originalFilename(originalFilename)
-                    .fileSize(file.getSize())
-                    .filePath(filePath)
-                    .build();
-
-            Resume savedResume = resumeRepository.save(resume);
+            Resume savedResume = findOrCreateResume(user, file);
             log.info("Resume saved successfully with ID: {} for user: {}", savedResume.getId(), user.getEmail());
 
             return buildFileUploadResponse(file, savedResume, user);
@@ -72,15 +70,54 @@ public class ResumeServiceImpl implements ResumeService {
         }
     }
 
+    @Override
+    @Transactional
+    public Resume findOrCreateResume(User user, MultipartFile file) {
+        // Lưu theo SHA-256 vào uploads/resume/blobs/, nội dung trùng thì chỉ có một file
+        FileBlobService.StoredBlob blob = fileBlobService.store(file, FileType.RESUME.getDirectory());
+
+        Optional<Resume> existing = resumeRepository.findFirstByUserIdAndContentHash(user.getId(), blob.hash());
+        if (existing.isPresent()) {
+            // Không tạo Resume mới nên trả lại tham chiếu vừa lấy
+            fileBlobService.release(blob.hash());
+            log.info("User {} re-uploaded resume {}, reusing it", user.getEmail(), existing.get().getId());
+            return existing.get();
+        }
+
+        Resume saved = resumeRepository.save(Resume.builder()
+                .user(user)
+                .originalFilename(file.getOriginalFilename())
+                .fileSize(blob.size())
+                .filePath(blob.path())
+                .contentHash(blob.hash())
+                .extractionStatus(ResumeExtractionStatus.PENDING)
+                .build());
+
+        // Trích text + skill một lần, các lần screening sau chỉ gửi text sang Python
+        resumeExtractionService.extractAfterCommit(saved.getId());
+        return saved;
+    }
+
+    /**
+     * resume phải lấy từ getResumeById/getCandidateResumeByApplicationId (đã kiểm tra quyền)
+     */
+    @Override
+    public Optional<URI> getDirectDownloadUrl(ResumeResponse resume, String contentDisposition, String contentType) {
+        return resume.getContentHash() != null
+                ? fileBlobService.presignedDownloadUrl(resume.getContentHash(), resume.getFilePath(),
+                        contentDisposition, contentType)
+                : fileService.getPresignedUrl(resume.getFilePath(), contentDisposition, contentType);
+    }
+
     @Override
     @PreAuthorize("hasRole('USER')")
-    public byte[] downloadResume(Integer resumeId) {
+    public Resource downloadResume(Integer resumeId) {
         User user = getCurrentUser();
         Resume resume = getResumeAndValidateOwnership(resumeId, user);
 
         try {
             log.info("User {} downloading resume ID: {}", user.getEmail(), resumeId);
-            return fileService.getFile(resume.getFilePath());
+            return openResumeFile(resume.getContentHash(), resume.getFilePath());
         } catch (Exception e) {
             log.error("Failed to download resume ID {} for user {}: {}", resumeId, user.getEmail(), e.getMessage(), e);
             throw new AppException(ErrorCode.RESUME_DOWNLOAD_FAILED);
@@ -95,10 +132,15 @@ public class ResumeServiceImpl implements ResumeService {
         Resume resume = getResumeAndValidateOwnership(resumeId, user);
 
         try {
-            // Delete physical file first
-            boolean fileDeleted = fileService.deleteFile(resume.getFilePath());
-            if (!fileDeleted) {
-                log.warn("Physical file not found or failed to delete: {}", resume.getFilePath());
+            if (resume.getContentHash() != null) {
+                // File dùng chung, chỉ giảm refCount; GC xóa khi không còn ai dùng
+                fileBlobService.release(resume.getContentHash());
+            } else {
+                // Delete physical file first
+                boolean fileDeleted = fileService.deleteFile(resume.getFilePath());
+                if (!fileDeleted) {
+                    log.warn("Physical file not found or failed to delete: {}", resume.getFilePath());
+                }
             }
 
             // Delete database record
@@ -158,6 +200,15 @@ public class ResumeServiceImpl implements ResumeService {
         return resume;
     }
 
+    /**
+     * Resume dedup đọc qua FileBlobService (có thể còn ở staging), resume cũ đọc thẳng theo path
+     */
+    private Resource openResumeFile(String contentHash, String filePath) {
+        return contentHash != null
+                ? fileBlobService.open(contentHash, filePath)
+                : fileService.getFileResource(filePath);
+    }
+
     /**
      * Comprehensive file validation
      */
@@ -273,7 +324,7 @@ public class ResumeServiceImpl implements ResumeService {
     
     @Override 
     @PreAuthorize("hasRole('EMPLOYER')")
-    public byte[] downloadCandidateResume(Integer applicationId) {
+    public Resource downloadCandidateResume(Integer applicationId) {
         User employer = getCurrentUser();
         log.info("🔥 EMPLOYER {} trying to download resume for application: {}", employer.getEmail(), applicationId);
         
@@ -294,9 +345,9 @@ public class ResumeServiceImpl implements ResumeService {
             log.info("Employer {} downloading candidate resume for application: {}", 
                     employer.getEmail(), applicationId);
             log.info("🔥 DEBUG: Original filePath from DB: '{}'", resume.getFilePath());
-            byte[] fileData = fileService.getFile(resume.getFilePath());
-            log.info("✅ Successfully loaded file data: {} bytes", fileData.length);
-            return fileData;
+            Resource file = openResumeFile(resume.getContentHash(), resume.getFilePath());
+            log.info("✅ Successfully resolved file: {} bytes", file.contentLength());
+            return file;
         } catch (Exception e) {
             log.error("Failed to download candidate resume for application {} by employer {}: {}", 
                     applicationId, employer.getEmail(), e.getMessage(), e);
@@ -325,7 +376,7 @@ public class ResumeServiceImpl implements ResumeService {
     
     @Override
     @PreAuthorize("hasRole('USER')")
-    public byte[] downloadResumeForAIScreening(Integer resumeId) {
+    public Resource downloadResumeForAIScreening(Integer resumeId) {
         User user = getCurrentUser();
         log.info("🤖 USER {} downloading resume {} for AI screening", user.getEmail(), resumeId);
         
@@ -333,9 +384,9 @@ public class ResumeServiceImpl implements ResumeService {
         Resume resume = getResumeAndValidateOwnership(resumeId, user);
         
         try {
-            byte[] fileData = fileService.getFile(resume.getFilePath());
-            log.info("✅ Successfully loaded resume for AI screening: {} bytes", fileData.length);
-            return fileData;
+            Resource file = openResumeFile(resume.getContentHash(), resume.getFilePath());
+            log.info("✅ Successfully resolved resume for AI screening: {} bytes", file.contentLength());
+            return file;
         } catch (Exception e) {
             log.error("❌ Failed to download resume {} for AI screening: {}", resumeId, e.getMessage(), e);
             throw new AppException(ErrorCode.RESUME_DOWNLOAD_FAILED);
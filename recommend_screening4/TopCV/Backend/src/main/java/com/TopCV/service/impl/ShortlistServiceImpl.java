@@ -0,0 +1,333 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.dto.response.ShortlistRankResponse;
+import com.TopCV.dto.response.ShortlistResponse;
+import com.TopCV.entity.User;
+import com.TopCV.enums.ApplicationStatus;
+import com.TopCV.exception.AppException;
+import com.TopCV.exception.ErrorCode;
+import com.TopCV.mapper.ApplicationMapper;
+import com.TopCV.repository.ApplicationRepository;
+import com.TopCV.repository.JobPostRepository;
+import com.TopCV.repository.UserRepository;
+import com.TopCV.repository.projection.ApplicantInboxRow;
+import com.TopCV.repository.projection.ApplicationOwnershipView;
+import com.TopCV.repository.projection.ApplicationShortlistView;
+import com.TopCV.service.ShortlistService;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Shortlist theo job trên Redis: mỗi job một sorted set cho mọi trạng thái và một set cho từng trạng thái.
+ * Score gộp điểm screening và thời điểm nộp (nộp sớm xếp trước khi bằng điểm), nên top-N chỉ là ZREVRANGE.
+ * Set được dựng lại từ DB khi chưa có hoặc marker hết hạn (cold start, Redis bị xoá).
+ */
+@Service
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class ShortlistServiceImpl implements ShortlistService {
+    StringRedisTemplate stringRedisTemplate;
+    ApplicationRepository applicationRepository;
+    JobPostRepository jobPostRepository;
+    UserRepository userRepository;
+    ApplicationMapper applicationMapper;
+
+    // Dựng lại định kỳ để sửa lệch nếu có lần ghi Redis bị lỗi
+    @NonFinal
+    @Value("${app.shortlist.rebuild-after-hours:24}")
+    long rebuildAfterHours;
+
+    @NonFinal
+    @Value("${app.shortlist.max-limit:100}")
+    int maxLimit;
+
+    private static final String KEY_PREFIX = "shortlist:job:";
+    // Phần dành cho thời điểm nộp trong score gộp, lớn hơn epoch second hiện tại
+    private static final long TIE_RANGE = 10_000_000_000L;
+    private static final int ZADD_CHUNK = 1000;
+
+    private record Member(int applicationId, int jobPostId, Double score, LocalDateTime createdAt,
+                          ApplicationStatus status) {
+    }
+
+    @Override
+    public void syncAfterCommit(Collection<Integer> applicationIds) {
+        if (applicationIds.isEmpty()) {
+            return;
+        }
+        // Đọc trong transaction hiện tại, chỉ ghi Redis khi dữ liệu đã commit
+        List<Member> members = applicationRepository.findShortlistViews(applicationIds).stream()
+                .map(this::toMember)
+                .toList();
+        afterCommit(() -> writeMembers(members));
+    }
+
+    @Override
+    public void removeAfterCommit(int jobPostId, int applicationId) {
+        afterCommit(() -> stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                ZSetOperations<String, String> zSet = stringOps(operations).opsForZSet();
+                String member = String.valueOf(applicationId);
+                zSet.remove(allKey(jobPostId), member);
+                for (ApplicationStatus status : ApplicationStatus.values()) {
+                    zSet.remove(statusKey(jobPostId, status), member);
+                }
+                return null;
+            }
+        }));
+    }
+
+    @Override
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public ShortlistResponse getTopCandidates(Integer jobId, String status, int offset, int limit) {
+        User user = currentUser();
+        String ownerId = jobPostRepository.findOwnerId(jobId)
+                .orElseThrow(() -> new AppException(ErrorCode.JOB_POST_NOT_EXISTED));
+
+        // Verify user owns the company that posted the job
+        if (!ownerId.equals(user.getId())) {
+            throw new AppException(ErrorCode.UNAUTHORIZED);
+        }
+
+        ApplicationStatus statusFilter = parseStatus(status);
+        int from = Math.max(offset, 0);
+        int size = Math.clamp(limit, 1, maxLimit);
+
+        ensureBuilt(jobId);
+        String key = statusFilter != null ? statusKey(jobId, statusFilter) : allKey(jobId);
+        Long total = stringRedisTemplate.opsForZSet().zCard(key);
+        Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(key, from, from + size - 1L);
+
+        List<Integer> ids = members == null ? List.of() : members.stream().map(Integer::valueOf).toList();
+        Map<Integer, ApplicantInboxRow> rows = applicationRepository.findInboxRowsByIds(ids).stream()
+                .collect(Collectors.toMap(ApplicantInboxRow::applicationId, Function.identity()));
+
+        List<ShortlistResponse.Entry> entries = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            ApplicantInboxRow row = rows.get(ids.get(i));
+            // Đơn vừa bị xoá nhưng Redis chưa kịp cập nhật thì bỏ qua
+            if (row != null) {
+                entries.add(ShortlistResponse.Entry.builder()
+                        .rank(from + i + 1L)
+                        .application(applicationMapper.toInboxItem(row))
+                        .build());
+            }
+        }
+
+        return ShortlistResponse.builder()
+                .jobPostId(jobId)
+                .status(statusFilter)
+                .total(total != null ? total : 0)
+                .data(entries)
+                .build();
+    }
+
+    @Override
+    @PreAuthorize("hasRole('EMPLOYER')")
+    public ShortlistRankResponse getRank(Integer applicationId, String status) {
+        User user = currentUser();
+        ApplicationOwnershipView application = applicationRepository.findOwnershipViews(List.of(applicationId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new AppException(ErrorCode.APPLICATION_NOT_EXISTED));
+
+        if (!user.getId().equals(application.getOwnerId())) {
+            throw new AppException(ErrorCode.UNAUTHORIZED);
+        }
+
+        ApplicationStatus statusFilter = parseStatus(status);
+        int jobId = application.getJobPostId();
+
+        ensureBuilt(jobId);
+        String key = statusFilter != null ? statusKey(jobId, statusFilter) : allKey(jobId);
+        Long rank = stringRedisTemplate.opsForZSet().reverseRank(key, String.valueOf(applicationId));
+        Long total = stringRedisTemplate.opsForZSet().zCard(key);
+
+        return ShortlistRankResponse.builder()
+                .applicationId(applicationId)
+                .jobPostId(jobId)
+                .status(application.getStatus())
+                .rank(rank != null ? rank + 1 : null)
+                .total(total != null ? total : 0)
+                .build();
+    }
+
+    /** Điểm cao xếp trước, bằng điểm thì đơn nộp sớm hơn xếp trước. Điểm làm tròn 3 chữ số thập phân. */
+    static double rankScore(double score, LocalDateTime createdAt) {
+        long scoreUnits = Math.round(score * 1000);
+        long epochSeconds = createdAt != null ? createdAt.toEpochSecond(ZoneOffset.UTC) : 0;
+        return (double) scoreUnits * TIE_RANGE + (TIE_RANGE - 1 - epochSeconds);
+    }
+
+    private void ensureBuilt(int jobPostId) {
+        if (Boolean.TRUE.equals(stringRedisTemplate.hasKey(readyKey(jobPostId)))) {
+            return;
+        }
+        // Instance khác đang dựng thì dùng tạm dữ liệu hiện có
+        String lockKey = KEY_PREFIX + jobPostId + ":rebuilding";
+        if (!Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(lockKey, "1", Duration.ofMinutes(1)))) {
+            return;
+        }
+        try {
+            rebuild(jobPostId);
+        } finally {
+            stringRedisTemplate.delete(lockKey);
+        }
+    }
+
+    private void rebuild(int jobPostId) {
+        Map<String, Set<ZSetOperations.TypedTuple<String>>> byKey = new HashMap<>();
+        byKey.put(allKey(jobPostId), new HashSet<>());
+        for (ApplicationStatus status : ApplicationStatus.values()) {
+            byKey.put(statusKey(jobPostId, status), new HashSet<>());
+        }
+
+        List<ApplicationShortlistView> views = applicationRepository.findScoredShortlistViews(jobPostId);
+        for (ApplicationShortlistView view : views) {
+            Member member = toMember(view);
+            ZSetOperations.TypedTuple<String> tuple = new DefaultTypedTuple<>(
+                    String.valueOf(member.applicationId()), rankScore(member.score(), member.createdAt()));
+            byKey.get(allKey(jobPostId)).add(tuple);
+            byKey.get(statusKey(jobPostId, member.status())).add(tuple);
+        }
+
+        // Dựng vào key tạm rồi RENAME để người đọc không thấy set rỗng giữa chừng
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                RedisOperations<String, String> ops = stringOps(operations);
+                byKey.forEach((key, tuples) -> {
+                    if (tuples.isEmpty()) {
+                        ops.delete(key);
+                        return;
+                    }
+                    String tmpKey = key + ":tmp";
+                    ops.delete(tmpKey);
+                    List<ZSetOperations.TypedTuple<String>> list = new ArrayList<>(tuples);
+                    for (int from = 0; from < list.size(); from += ZADD_CHUNK) {
+                        ops.opsForZSet().add(tmpKey,
+                                new HashSet<>(list.subList(from, Math.min(from + ZADD_CHUNK, list.size()))));
+                    }
+                    ops.rename(tmpKey, key);
+                });
+                ops.opsForValue().set(readyKey(jobPostId), "1", Duration.ofHours(rebuildAfterHours));
+                return null;
+            }
+        });
+        log.info("Rebuilt shortlist of job {} with {} scored applications", jobPostId, views.size());
+    }
+
+    private void writeMembers(List<Member> members) {
+        stringRedisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            public <K, V> Object execute(RedisOperations<K, V> operations) {
+                ZSetOperations<String, String> zSet = stringOps(operations).opsForZSet();
+                for (Member member : members) {
+                    String value = String.valueOf(member.applicationId());
+                    for (ApplicationStatus status : ApplicationStatus.values()) {
+                        if (status != member.status()) {
+                            zSet.remove(statusKey(member.jobPostId(), status), value);
+                        }
+                    }
+                    if (member.score() == null) {
+                        zSet.remove(allKey(member.jobPostId()), value);
+                        zSet.remove(statusKey(member.jobPostId(), member.status()), value);
+                        continue;
+                    }
+                    double rankScore = rankScore(member.score(), member.createdAt());
+                    zSet.add(allKey(member.jobPostId()), value, rankScore);
+                    zSet.add(statusKey(member.jobPostId(), member.status()), value, rankScore);
+                }
+                return null;
+            }
+        });
+    }
+
+    // Redis lỗi không được làm hỏng request đã commit, marker hết hạn sẽ dựng lại set
+    private void afterCommit(Runnable task) {
+        Runnable safeTask = () -> {
+            try {
+                task.run();
+            } catch (Exception e) {
+                log.warn("Failed to update shortlist in Redis: {}", e.getMessage());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            safeTask.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                safeTask.run();
+            }
+        });
+    }
+
+    private Member toMember(ApplicationShortlistView view) {
+        return new Member(view.getApplicationId(), view.getJobPostId(), view.getScreeningScore(),
+                view.getCreatedAt(), view.getStatus());
+    }
+
+    private ApplicationStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return ApplicationStatus.valueOf(status.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new AppException(ErrorCode.INVALID_APPLICATION_STATUS);
+        }
+    }
+
+    private User currentUser() {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisOperations<String, String> stringOps(RedisOperations<?, ?> operations) {
+        return (RedisOperations<String, String>) operations;
+    }
+
+    private static String allKey(int jobPostId) {
+        return KEY_PREFIX + jobPostId;
+    }
+
+    private static String statusKey(int jobPostId, ApplicationStatus status) {
+        return KEY_PREFIX + jobPostId + ":" + status.name();
+    }
+
+    private static String readyKey(int jobPostId) {
+        return KEY_PREFIX + jobPostId + ":ready";
+    }
+}
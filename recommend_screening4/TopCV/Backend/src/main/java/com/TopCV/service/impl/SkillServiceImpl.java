@@ -7,7 +7,9 @@ import com.TopCV.exception.AppException;
 import com.TopCV.exception.ErrorCode;
 import com.TopCV.mapper.SkillMapper;
 import com.TopCV.repository.SkillRepository;
+import com.TopCV.service.ReferenceDataService;
 import com.TopCV.service.SkillService;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
 
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -26,6 +28,7 @@ public class SkillServiceImpl implements SkillService {
 
     SkillRepository skillRepository;
     SkillMapper skillMapper;
+    ReferenceDataService referenceDataService;
 
     @Override
     @Transactional
@@ -36,21 +39,25 @@ public class SkillServiceImpl implements SkillService {
         }
 
         Skill skill = skillMapper.toEntity(request);
-        return skillMapper.toResponse(skillRepository.save(skill));
+        Skill saved = skillRepository.save(skill);
+        referenceDataService.publishChange();
+        return skillMapper.toResponse(saved);
     }
 
     @Override
     public List<SkillResponse> getAllSkills() {
-        return skillRepository.findAll().stream()
+        return referenceDataService.snapshot().skills().all().stream()
                 .map(skillMapper::toResponse)
                 .collect(Collectors.toList());
     }
 
     @Override
     public SkillResponse getSkillById(Integer id) {
-        Skill skill = skillRepository.findById(id)
-                .orElseThrow(() -> new AppException(ErrorCode.SKILL_NOT_EXISTED));
-        return skillMapper.toResponse(skill);
+        ReferenceDataSnapshot.Entry entry = referenceDataService.snapshot().skills().get(id);
+        if (entry == null) {
+            throw new AppException(ErrorCode.SKILL_NOT_EXISTED);
+        }
+        return skillMapper.toResponse(entry);
     }
 
     @Override
@@ -61,7 +68,9 @@ public class SkillServiceImpl implements SkillService {
                 .orElseThrow(() -> new AppException(ErrorCode.SKILL_NOT_EXISTED));
 
         skillMapper.updateEntity(skill, request);
-        return skillMapper.toResponse(skillRepository.save(skill));
+        Skill saved = skillRepository.save(skill);
+        referenceDataService.publishChange();
+        return skillMapper.toResponse(saved);
     }
 
     @Override
@@ -71,6 +80,8 @@ public class SkillServiceImpl implements SkillService {
         if (!skillRepository.existsById(skillId)) {
             throw new AppException(ErrorCode.SKILL_NOT_EXISTED);
         }
+        skillRepository.deleteInferredTags(skillId);
         skillRepository.deleteById(skillId);
+        referenceDataService.publishChange();
     }
 }
\ No newline at end of file
@@ -10,11 +10,15 @@ import com.TopCV.entity.Company;
 import com.TopCV.entity.JobPost;
 import com.TopCV.entity.User;
 import com.TopCV.entity.Application;
+import com.TopCV.enums.FileType;
 import com.TopCV.enums.OtpType;
 import com.TopCV.enums.Role;
 import com.TopCV.mapper.CompanyMapper;
 import com.TopCV.mapper.JobPostMapper;
 import com.TopCV.service.EmailService;
+import com.TopCV.service.ImageService;
+import com.TopCV.service.JobPostUserContextService;
+import com.TopCV.service.PasswordHashingService;
 import com.TopCV.service.redis.UserRedisService;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
@@ -26,7 +30,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import com.TopCV.exception.AppException;
 import com.TopCV.exception.ErrorCode;
 import com.TopCV.mapper.UserMapper;
@@ -35,8 +38,10 @@ import com.TopCV.repository.ApplicationRepository;
 import com.TopCV.service.UserService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
 @Service
@@ -46,13 +51,15 @@ import java.util.concurrent.CompletableFuture;
 public class UserServiceImpl implements UserService {
     UserMapper userMapper;
     UserRepository userRepository;
-    PasswordEncoder passwordEncoder;
+    PasswordHashingService passwordHashingService;
     OtpServiceImpl otpService;
     EmailService emailService;
     UserRedisService userRedisService;
     CompanyMapper companyMapper;
     JobPostMapper jobPostMapper;
+    JobPostUserContextService jobPostUserContextService;
     ApplicationRepository applicationRepository;
+    ImageService imageService;
 
     @Transactional
     public RegistrationResponse createUser(UserCreationRequest request) {
@@ -63,13 +70,14 @@ public class UserServiceImpl implements UserService {
         UserCreationRequest encryptedRequest = UserCreationRequest.builder()
                 .email(request.getEmail())
                 .fullname(request.getFullname())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .role(request.getRole())
                 .build();
 
-        String keyRedisToken = userRedisService.saveTemporaryRegistration(encryptedRequest);
+        String otp = otpService.generateOtpCode();
+        String keyRedisToken = userRedisService.saveTemporaryRegistrationWithOtp(encryptedRequest, otp);
 
-        otpService.generateAndSendOtp(request.getEmail(), OtpType.EMAIL_VERIFICATION);
+        otpService.sendOtp(request.getEmail(), otp, OtpType.EMAIL_VERIFICATION);
 
         return RegistrationResponse.builder()
                 .email(request.getEmail())
@@ -114,14 +122,39 @@ public class UserServiceImpl implements UserService {
         return userMapper.toResponse(user);
     }
 
+    @Transactional
     public UserResponse updateCurrentUser(UserUpdateRequest request) {
         String email = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
 
+        String oldFullname = user.getFullname();
         userMapper.updateUser(user, request);
         User updatedUser = userRepository.save(user);
 
+        // Đổi tên thì search_document của các đơn ứng tuyển cũng phải đổi theo
+        if (!Objects.equals(oldFullname, updatedUser.getFullname())) {
+            applicationRepository.refreshSearchDocumentsForUser(updatedUser.getId());
+        }
+
+        return userMapper.toResponse(updatedUser);
+    }
+
+    @Transactional
+    public UserResponse updateMyAvatar(MultipartFile file) {
+        String email = SecurityContextHolder.getContext().getAuthentication().getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
+
+        String avatarPath = imageService.storeImage(file, FileType.AVATAR);
+        user.setAvt(avatarPath);
+        user.setUpdatedAt(LocalDateTime.now());
+        User updatedUser = userRepository.save(user);
+
+        String userId = updatedUser.getId();
+        imageService.generateVariantsAfterCommit(avatarPath,
+                () -> userRepository.markAvtVariantsReady(userId, avatarPath));
+
         return userMapper.toResponse(updatedUser);
     }
 
@@ -179,25 +212,16 @@ public class UserServiceImpl implements UserService {
 
     @Transactional
     public UserResponse verifyEmail(VerifyOtpRequest request) {
-        log.info("🔍 Starting email verification with keyRedisToken: {}", request.getKeyRedisToken());
-        log.info("🔍 Provided OTP: {}", request.getOtp());
-
         UserCreationRequest registrationData = userRedisService.getTemporaryRegistration(request.getKeyRedisToken());
         
         if (registrationData == null) {
             log.error("❌ No registration data found for token: {}", request.getKeyRedisToken());
             throw new AppException(ErrorCode.INVALID_OTP);
         }
-        
-        log.info("🔍 Found registration data for email: {}", registrationData.getEmail());
-        log.info("🔍 Attempting to verify OTP for email: {}", registrationData.getEmail());
 
         boolean isOtpValid = otpService.verifyOtp(registrationData.getEmail(), request.getOtp());
-        
-        log.info("🔍 OTP verification result: {}", isOtpValid);
 
         if (!isOtpValid) {
-            log.error("❌ OTP verification failed for email: {} with OTP: {}", registrationData.getEmail(), request.getOtp());
             throw new AppException(ErrorCode.INVALID_OTP);
         }
 
@@ -226,12 +250,12 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new AppException(ErrorCode.USER_NOT_EXISTED));
 
         // Verify current password
-        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+        if (!passwordHashingService.matches(request.getCurrentPassword(), user.getPassword())) {
             throw new AppException(ErrorCode.INVALID_CURRENT_PASSWORD);
         }
 
         // Update password
-        String encodedNewPassword = passwordEncoder.encode(request.getNewPassword());
+        String encodedNewPassword = passwordHashingService.encode(request.getNewPassword());
         userRepository.updatePasswordByEmail(email, encodedNewPassword, LocalDateTime.now());
     }
 
@@ -285,9 +309,9 @@ public class UserServiceImpl implements UserService {
                 .pageSize(pageData.getSize())
                 .totalPages(pageData.getTotalPages())
                 .totalElements(pageData.getTotalElements())
-                .data(pageData.getContent().stream()
+                .data(jobPostUserContextService.applyToDashboards(pageData.getContent().stream()
                         .map(jobPostMapper::toJobPostDashboard)
-                        .toList())
+                        .toList()))
                 .build();
     }
 
@@ -0,0 +1,263 @@
+package com.TopCV.service.mail;
+
+import com.TopCV.entity.MailOutbox;
+import com.TopCV.enums.MailStatus;
+import com.TopCV.repository.MailOutboxRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.TemplateEngine;
+import org.thymeleaf.context.Context;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lấy mail PENDING từ bảng mail_outbox theo batch và gửi trên pool riêng.
+ * Mỗi batch dùng một kết nối SMTP lấy từ SmtpTransportPool.
+ */
+@Component
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+@Slf4j
+public class MailOutboxDispatcher {
+    MailOutboxRepository mailOutboxRepository;
+    SmtpTransportPool smtpTransportPool;
+    JavaMailSenderImpl mailSender;
+    TemplateEngine mailTemplateEngine;
+    ThreadPoolTaskExecutor mailSenderExecutor;
+    TransactionTemplate transactionTemplate;
+    ObjectMapper objectMapper;
+    ObservationRegistry observationRegistry;
+
+    @NonFinal
+    @Value("${spring.mail.username}")
+    String fromEmail;
+
+    @NonFinal
+    @Value("${app.mail.outbox.batch-size:50}")
+    int batchSize;
+
+    @NonFinal
+    @Value("${app.mail.outbox.sender-threads:2}")
+    int senderThreads;
+
+    @NonFinal
+    @Value("${app.mail.outbox.max-attempts:6}")
+    int maxAttempts;
+
+    @NonFinal
+    @Value("${app.mail.outbox.initial-backoff-seconds:30}")
+    long initialBackoffSeconds;
+
+    @NonFinal
+    @Value("${app.mail.outbox.max-backoff-seconds:3600}")
+    long maxBackoffSeconds;
+
+    @NonFinal
+    @Value("${app.mail.outbox.stale-after-seconds:300}")
+    long staleAfterSeconds;
+
+    @NonFinal
+    @Value("${app.mail.outbox.max-per-second:0}")
+    int maxPerSecond;
+
+    // Mốc (nanoTime) sớm nhất được gửi mail kế tiếp, dùng chung cho mọi sender thread
+    AtomicLong nextSendSlot = new AtomicLong(System.nanoTime());
+
+    private static final TypeReference<Map<String, Object>> VARIABLES_TYPE = new TypeReference<>() {};
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval-ms:1000}")
+    public void drain() {
+        transactionTemplate.executeWithoutResult(status -> mailOutboxRepository.releaseStale(
+                MailStatus.PENDING, MailStatus.SENDING, LocalDateTime.now().minusSeconds(staleAfterSeconds)));
+
+        List<MailOutbox> claimed;
+        do {
+            claimed = claimNextBatch(batchSize * senderThreads);
+            if (claimed.isEmpty()) {
+                return;
+            }
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int from = 0; from < claimed.size(); from += batchSize) {
+                List<MailOutbox> batch = claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+                futures.add(CompletableFuture.runAsync(() -> sendBatch(batch), mailSenderExecutor));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } while (claimed.size() == batchSize * senderThreads);
+    }
+
+    @Scheduled(cron = "${app.mail.outbox.purge-cron:0 30 3 * * *}")
+    public void purgeSent() {
+        Integer deleted = transactionTemplate.execute(status -> mailOutboxRepository.deleteSentBefore(
+                MailStatus.SENT, LocalDateTime.now().minusDays(7)));
+        log.info("Purged {} sent mails from outbox", deleted);
+    }
+
+    private List<MailOutbox> claimNextBatch(int limit) {
+        return transactionTemplate.execute(status -> {
+            List<MailOutbox> mails = mailOutboxRepository.lockNextBatch(LocalDateTime.now(), limit);
+            if (!mails.isEmpty()) {
+                mailOutboxRepository.markLocked(
+                        mails.stream().map(MailOutbox::getId).toList(), MailStatus.SENDING, LocalDateTime.now());
+            }
+            return mails;
+        });
+    }
+
+    void sendBatch(List<MailOutbox> batch) {
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        List<MailOutbox> failed = new ArrayList<>();
+
+        Transport transport = null;
+        try {
+            transport = smtpTransportPool.borrow();
+            for (MailOutbox mail : batch) {
+                try {
+                    MimeMessage message = buildMessage(mail);
+                    awaitSendSlot();
+                    send(transport, mail, message);
+                    sentIds.add(mail.getId());
+                } catch (Exception e) {
+                    log.warn("Failed to send mail {} to {}: {}", mail.getId(), mail.getRecipient(), e.getMessage());
+                    mail.setLastError(truncate(e.getMessage()));
+                    failed.add(mail);
+
+                    // Kết nối hỏng thì mở lại cho các mail còn lại trong batch
+                    if (!transport.isConnected()) {
+                        smtpTransportPool.invalidate(transport);
+                        transport = smtpTransportPool.borrow();
+                    }
+                }
+            }
+        } catch (MessagingException e) {
+            log.error("Cannot connect to SMTP server: {}", e.getMessage());
+            for (MailOutbox mail : batch) {
+                if (!sentIds.contains(mail.getId()) && !failed.contains(mail)) {
+                    mail.setLastError(truncate(e.getMessage()));
+                    failed.add(mail);
+                }
+            }
+        } finally {
+            if (transport != null) {
+                smtpTransportPool.release(transport);
+            }
+        }
+
+        recordResults(sentIds, failed);
+    }
+
+    // Chỉ đo lệnh gửi SMTP, không tính thời gian chờ giới hạn tốc độ
+    private void send(Transport transport, MailOutbox mail, MimeMessage message) throws MessagingException {
+        Observation observation = Observation.createNotStarted("topcv.mail.send", observationRegistry)
+                .lowCardinalityKeyValue("template", mail.getTemplateName() != null ? mail.getTemplateName() : "plain")
+                .start();
+        String outcome = "FAILURE";
+        try (Observation.Scope scope = observation.openScope()) {
+            transport.sendMessage(message, message.getAllRecipients());
+            outcome = "SUCCESS";
+        } catch (MessagingException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome);
+            observation.stop();
+        }
+    }
+
+    // Giãn đều các lần gửi để không vượt maxPerSecond (nhà cung cấp SMTP thường chặn theo tốc độ)
+    private void awaitSendSlot() {
+        if (maxPerSecond <= 0) {
+            return;
+        }
+        long interval = 1_000_000_000L / maxPerSecond;
+        long now = System.nanoTime();
+        long slot = Math.max(nextSendSlot.getAndUpdate(prev -> Math.max(prev, now) + interval), now);
+        if (slot > now) {
+            LockSupport.parkNanos(slot - now);
+        }
+    }
+
+    private void recordResults(List<Long> sentIds, List<MailOutbox> failed) {
+        LocalDateTime now = LocalDateTime.now();
+        for (MailOutbox mail : failed) {
+            int attempts = mail.getAttempts() + 1;
+            mail.setAttempts(attempts);
+            mail.setLockedAt(null);
+            if (attempts >= maxAttempts) {
+                mail.setStatus(MailStatus.FAILED);
+                log.error("Giving up on mail {} to {} after {} attempts", mail.getId(), mail.getRecipient(), attempts);
+            } else {
+                mail.setStatus(MailStatus.PENDING);
+                mail.setNextAttemptAt(now.plus(backoff(attempts)));
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                mailOutboxRepository.markSent(sentIds, MailStatus.SENT, now);
+            }
+            if (!failed.isEmpty()) {
+                mailOutboxRepository.saveAll(failed);
+            }
+        });
+    }
+
+    // 30s, 60s, 120s, ... tối đa maxBackoffSeconds
+    private Duration backoff(int attempts) {
+        long seconds = initialBackoffSeconds << Math.min(attempts - 1, 20);
+        return Duration.ofSeconds(Math.min(seconds, maxBackoffSeconds));
+    }
+
+    private MimeMessage buildMessage(MailOutbox mail) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+
+        helper.setFrom(fromEmail);
+        helper.setTo(mail.getRecipient());
+        helper.setSubject(mail.getSubject());
+
+        if (mail.getTemplateName() != null) {
+            Context context = new Context();
+            if (mail.getTemplateVariables() != null) {
+                context.setVariables(objectMapper.readValue(mail.getTemplateVariables(), VARIABLES_TYPE));
+            }
+            helper.setText(mailTemplateEngine.process(mail.getTemplateName(), context), true);
+        } else {
+            helper.setText(mail.getBody(), false);
+        }
+
+        message.saveChanges();
+        return message;
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -0,0 +1,81 @@
+package com.TopCV.service.mail;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Giữ các kết nối SMTP đã đăng nhập để dùng lại giữa các batch,
+ * tránh phải bắt tay TLS + AUTH cho từng email.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SmtpTransportPool implements DisposableBean {
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<Transport> idleTransports = new LinkedBlockingQueue<>();
+
+    public Transport borrow() throws MessagingException {
+        Transport transport;
+        while ((transport = idleTransports.poll()) != null) {
+            // isConnected() gửi NOOP, server đã đóng kết nối thì mở cái mới
+            if (transport.isConnected()) {
+                return transport;
+            }
+            closeQuietly(transport);
+        }
+        return connect();
+    }
+
+    public void release(Transport transport) {
+        if (transport.isConnected()) {
+            idleTransports.offer(transport);
+        } else {
+            closeQuietly(transport);
+        }
+    }
+
+    public void invalidate(Transport transport) {
+        closeQuietly(transport);
+    }
+
+    @Override
+    public void destroy() {
+        Transport transport;
+        while ((transport = idleTransports.poll()) != null) {
+            closeQuietly(transport);
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Session session = mailSender.getSession();
+        String protocol = mailSender.getProtocol() != null
+                ? mailSender.getProtocol()
+                : session.getProperty("mail.transport.protocol");
+        Transport transport = session.getTransport(protocol != null ? protocol : "smtp");
+
+        String username = StringUtils.hasLength(mailSender.getUsername()) ? mailSender.getUsername() : null;
+        String password = StringUtils.hasLength(mailSender.getPassword()) ? mailSender.getPassword() : null;
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+
+        log.debug("Opened SMTP connection to {}:{}", mailSender.getHost(), mailSender.getPort());
+        return transport;
+    }
+
+    private void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+}
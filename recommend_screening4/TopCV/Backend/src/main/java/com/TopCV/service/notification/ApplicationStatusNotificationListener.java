@@ -0,0 +1,31 @@
+package com.TopCV.service.notification;
+
+import com.TopCV.event.ApplicationStatusChangedEvent;
+import com.TopCV.service.NotificationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Tạo thông báo sau khi transaction đổi trạng thái đã commit, chạy trên
+ * notificationExecutor nên request của employer không phải chờ.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ApplicationStatusNotificationListener {
+    private final NotificationService notificationService;
+
+    @Async("notificationExecutor")
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onApplicationStatusChanged(ApplicationStatusChangedEvent event) {
+        try {
+            notificationService.createApplicationStatusNotifications(event.applicationIds(), event.newStatus());
+        } catch (Exception e) {
+            log.error("Failed to create notifications for {} applications", event.applicationIds().size(), e);
+        }
+    }
+}
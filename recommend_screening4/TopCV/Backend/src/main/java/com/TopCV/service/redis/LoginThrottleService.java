@@ -0,0 +1,67 @@
+package com.TopCV.service.redis;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class LoginThrottleService {
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private static final String ACCOUNT_KEY_PREFIX = "login:throttle:account:";
+    private static final String IP_KEY_PREFIX = "login:throttle:ip:";
+    private static final RedisScript<Long> TOKEN_BUCKET_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/token_bucket.lua"), Long.class);
+
+    @Value("${app.security.login-throttle.account-capacity:5}")
+    private int accountCapacity;
+
+    @Value("${app.security.login-throttle.account-refill-per-minute:5}")
+    private double accountRefillPerMinute;
+
+    @Value("${app.security.login-throttle.ip-capacity:30}")
+    private int ipCapacity;
+
+    @Value("${app.security.login-throttle.ip-refill-per-minute:30}")
+    private double ipRefillPerMinute;
+
+    /**
+     * Lấy một token từ bucket của tài khoản và của IP trong một lần gọi Redis.
+     * Trả về false nếu một trong hai bucket đã cạn.
+     */
+    public boolean tryAcquire(String email, String clientIp) {
+        // Email null vẫn đi tiếp để lỗi validation/không tồn tại trả về như bình thường
+        String account = email != null ? email.trim().toLowerCase(Locale.ROOT) : "";
+        List<String> keys = List.of(
+                ACCOUNT_KEY_PREFIX + account,
+                IP_KEY_PREFIX + clientIp);
+
+        try {
+            Long allowed = stringRedisTemplate.execute(TOKEN_BUCKET_SCRIPT, keys,
+                    String.valueOf(accountCapacity), String.valueOf(accountRefillPerMinute / 60),
+                    String.valueOf(ipCapacity), String.valueOf(ipRefillPerMinute / 60));
+
+            if (allowed != null && allowed == 0L) {
+                meterRegistry.counter("auth.login.throttled").increment();
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            // Redis lỗi thì vẫn cho login, pool hashing giới hạn tải phía sau
+            log.warn("Login throttle unavailable, allowing request: {}", e.getMessage());
+            return true;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.TopCV.service.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRedisService {
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private static final String DIGEST_KEY_PREFIX = "notification:digest:";
+
+    /**
+     * Mỗi người nhận tối đa một mail digest trong khoảng minInterval.
+     * Redis lỗi thì cho qua, thà gửi thêm mail còn hơn kẹt thông báo.
+     */
+    public boolean tryAcquireDigestSlot(String userId, Duration minInterval) {
+        try {
+            Boolean acquired = stringRedisTemplate.opsForValue()
+                    .setIfAbsent(DIGEST_KEY_PREFIX + userId, "1", minInterval);
+            return !Boolean.FALSE.equals(acquired);
+        } catch (Exception e) {
+            log.warn("Digest rate limit unavailable, allowing user {}: {}", userId, e.getMessage());
+            return true;
+        }
+    }
+
+    // Trả slot khi transaction ghi outbox rollback, mail chưa được gửi
+    public void releaseDigestSlot(String userId) {
+        try {
+            stringRedisTemplate.delete(DIGEST_KEY_PREFIX + userId);
+        } catch (Exception e) {
+            log.warn("Cannot release digest slot for user {}: {}", userId, e.getMessage());
+        }
+    }
+}
@@ -1,51 +1,66 @@
 package com.TopCV.service.redis;
 
 import com.TopCV.dto.request.UserCreationRequest;
+import com.TopCV.enums.OtpVerificationResult;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserRedisService {
-    private final RedisTemplate<String, Object> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
     private final ObjectMapper objectMapper;
+    private final ObservationRegistry observationRegistry;
 
     private static final String USER_REGISTRATION_KEY_PREFIX = "user:registration:";
     private static final String OTP_KEY_PREFIX = "otp:";
+    private static final String OTP_ATTEMPTS_KEY_PREFIX = "otp:attempts:";
     private static final Duration REGISTRATION_TTL = Duration.ofMinutes(30); // 30 minutes
     private static final Duration OTP_TTL = Duration.ofMinutes(10); // 10 minutes
-
-    public String saveTemporaryRegistration(UserCreationRequest userCreationRequest) {
-        try {
-            String keyRedisToken = generateRedisToken();
-            String redisKey = USER_REGISTRATION_KEY_PREFIX + keyRedisToken;
-
-            String userDataJson = objectMapper.writeValueAsString(userCreationRequest);
-
-            redisTemplate.opsForValue().set(redisKey, userDataJson, REGISTRATION_TTL);
-
-            log.info("Saved temporary registration data for token: {}", keyRedisToken);
-            return keyRedisToken;
-
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing user creation request", e);
-            throw new RuntimeException("Failed to save registration data", e);
-        }
+    private static final RedisScript<Long> OTP_VERIFY_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/otp_verify.lua"), Long.class);
+
+    /**
+     * Lưu thông tin đăng ký và OTP trong cùng một pipeline (một round trip).
+     */
+    public String saveTemporaryRegistrationWithOtp(UserCreationRequest userCreationRequest, String otp) {
+        String keyRedisToken = generateRedisToken();
+        String registrationKey = USER_REGISTRATION_KEY_PREFIX + keyRedisToken;
+        String userDataJson = toJson(userCreationRequest);
+        String email = userCreationRequest.getEmail();
+
+        observe("save_registration", () -> stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.setEx(registrationKey, REGISTRATION_TTL.toSeconds(), userDataJson);
+            stringConnection.setEx(otpKey(email), OTP_TTL.toSeconds(), otp);
+            stringConnection.del(otpAttemptsKey(email));
+            return null;
+        }));
+
+        log.debug("Saved temporary registration data and OTP for token: {}", keyRedisToken);
+        return keyRedisToken;
     }
 
     public UserCreationRequest getTemporaryRegistration(String keyRedisToken) {
         try {
             String redisKey = USER_REGISTRATION_KEY_PREFIX + keyRedisToken;
-            String userDataJson = (String) redisTemplate.opsForValue().get(redisKey);
+            String userDataJson = observe("get_registration", () -> stringRedisTemplate.opsForValue().get(redisKey));
 
             if (userDataJson == null) {
                 log.warn("No registration data found for token: {}", keyRedisToken);
@@ -62,38 +77,70 @@ public class UserRedisService {
 
     public void deleteTemporaryRegistration(String keyRedisToken) {
         String redisKey = USER_REGISTRATION_KEY_PREFIX + keyRedisToken;
-        Boolean deleted = redisTemplate.delete(redisKey);
+        Boolean deleted = observe("delete_registration", () -> stringRedisTemplate.delete(redisKey));
 
-        if (deleted) {
-            log.info("Deleted temporary registration data for token: {}", keyRedisToken);
+        if (Boolean.TRUE.equals(deleted)) {
+            log.debug("Deleted temporary registration data for token: {}", keyRedisToken);
         } else {
             log.warn("No registration data found to delete for token: {}", keyRedisToken);
         }
     }
 
+    /** OTP mới thì bộ đếm nhập sai cũng bắt đầu lại */
     public void saveOtp(String email, String otp) {
-        String redisKey = OTP_KEY_PREFIX + email;
-        redisTemplate.opsForValue().set(redisKey, otp, OTP_TTL);
-        log.info("Saved OTP for email: {}", email);
+        observe("save_otp", () -> stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            stringConnection.setEx(otpKey(email), OTP_TTL.toSeconds(), otp);
+            stringConnection.del(otpAttemptsKey(email));
+            return null;
+        }));
+        log.debug("Saved OTP for email: {}", email);
     }
 
-    public String getOtp(String email) {
-        String redisKey = OTP_KEY_PREFIX + email;
-        log.info("🔍 Getting OTP for email: {} with key: {}", email, redisKey);
-        String otp = (String) redisTemplate.opsForValue().get(redisKey);
-        log.info("🔍 Retrieved OTP: '{}'", otp);
-        return otp;
+    /**
+     * So khớp và xóa OTP bằng script chạy trên Redis: một round trip, không bị race
+     * khi người dùng gửi nhiều lần cùng lúc.
+     */
+    public OtpVerificationResult verifyAndConsumeOtp(String email, String providedOtp, int maxAttempts) {
+        Long result = observe("verify_otp", () -> stringRedisTemplate.execute(OTP_VERIFY_SCRIPT,
+                List.of(otpKey(email), otpAttemptsKey(email)),
+                providedOtp, String.valueOf(maxAttempts)));
+
+        if (result == null) {
+            return OtpVerificationResult.INVALID;
+        }
+        return switch (result.intValue()) {
+            case 1 -> OtpVerificationResult.VALID;
+            case -1 -> OtpVerificationResult.EXPIRED;
+            case -2 -> OtpVerificationResult.LOCKED;
+            default -> OtpVerificationResult.INVALID;
+        };
     }
 
-    public void deleteOtp(String email) {
-        String redisKey = OTP_KEY_PREFIX + email;
-        Boolean deleted = redisTemplate.delete(redisKey);
+    // Một timer cho mỗi thao tác nghiệp vụ (pipeline/script tính là một), không gắn key vào tag
+    private <T> T observe(String operation, Supplier<T> action) {
+        return Observation.createNotStarted("topcv.redis.ops", observationRegistry)
+                .lowCardinalityKeyValue("operation", operation)
+                .observe(action);
+    }
 
-        if (deleted) {
-            log.info("Deleted OTP for email: {}", email);
-        }
+    // Hash tag {email} giữ hai key trên cùng slot nếu chạy Redis Cluster
+    private String otpKey(String email) {
+        return OTP_KEY_PREFIX + "{" + email + "}";
     }
 
+    private String otpAttemptsKey(String email) {
+        return OTP_ATTEMPTS_KEY_PREFIX + "{" + email + "}";
+    }
+
+    private String toJson(UserCreationRequest userCreationRequest) {
+        try {
+            return objectMapper.writeValueAsString(userCreationRequest);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing user creation request", e);
+            throw new RuntimeException("Failed to save registration data", e);
+        }
+    }
 
     private String generateRedisToken() {
         return UUID.randomUUID().toString();
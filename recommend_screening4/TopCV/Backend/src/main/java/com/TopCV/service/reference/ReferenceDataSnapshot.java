@@ -0,0 +1,43 @@
+package com.TopCV.service.reference;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ảnh chụp bất biến của dữ liệu danh mục (skill, loại job, cấp bậc, lĩnh vực công ty) trên một node.
+ * version là giá trị reference-data:version trong Redis lúc đọc, node nào có version nhỏ hơn thì nạp lại.
+ */
+public record ReferenceDataSnapshot(long version, Table skills, Table jobTypes, Table jobLevels, Table categories) {
+
+    public record Entry(int id, String name) {}
+
+    public static final class Table {
+        private final Map<Integer, Entry> byId;
+        private final List<Entry> all;
+
+        public Table(List<Entry> entries) {
+            List<Entry> sorted = entries.stream()
+                    .sorted(Comparator.comparingInt(Entry::id))
+                    .toList();
+            Map<Integer, Entry> index = new LinkedHashMap<>();
+            sorted.forEach(entry -> index.put(entry.id(), entry));
+            this.byId = Map.copyOf(index);
+            this.all = sorted;
+        }
+
+        public Entry get(Integer id) {
+            return id != null ? byId.get(id) : null;
+        }
+
+        // Theo id tăng dần, giống thứ tự findAll trước đây
+        public List<Entry> all() {
+            return all;
+        }
+
+        public int size() {
+            return all.size();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.TopCV.service.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Nơi lưu file thật (đĩa local hoặc object storage). Key là đường dẫn tương đối
+ * như "resume/blobs/ab/abcd...", giống giá trị đang lưu trong DB.
+ */
+public interface BlobStore {
+
+    /** Ghi file nguồn vào key. File nguồn thuộc về store sau khi gọi (có thể bị move/xóa) */
+    void put(String key, Path source, String contentType) throws IOException;
+
+    boolean exists(String key);
+
+    Resource get(String key);
+
+    boolean delete(String key);
+
+    /** URL tải trực tiếp từ storage, file không đi qua JVM. Backend không hỗ trợ thì trả về empty */
+    Optional<URI> presignedDownloadUrl(String key, String contentDisposition, String contentType);
+}
@@ -0,0 +1,208 @@
+package com.TopCV.service.storage;
+
+import com.google.cloud.storage.Blob;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BlobInfo;
+import com.google.cloud.storage.Storage;
+import com.google.common.io.ByteStreams;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.NonFinal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lưu file trên Google Cloud Storage (hoặc emulator như fake-gcs-server khi đặt
+ * app.storage.gcs.endpoint). File lớn được chia phần, upload song song rồi compose.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "gcs")
+@RequiredArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE, makeFinal = true)
+public class GcsBlobStore implements BlobStore {
+    Storage storage;
+    ThreadPoolTaskExecutor blobChunkUploadExecutor;
+
+    // Giới hạn số object nguồn của một lệnh compose
+    private static final int MAX_COMPOSE_COMPONENTS = 32;
+
+    @NonFinal
+    @Value("${app.storage.gcs.bucket}")
+    String bucket;
+
+    @NonFinal
+    @Value("${app.storage.gcs.composite-threshold-bytes:16777216}")
+    long compositeThresholdBytes;
+
+    @NonFinal
+    @Value("${app.storage.gcs.chunk-size-bytes:8388608}")
+    long chunkSizeBytes;
+
+    @NonFinal
+    @Value("${app.storage.gcs.presign-enabled:true}")
+    boolean presignEnabled;
+
+    @NonFinal
+    @Value("${app.storage.gcs.presign-ttl-minutes:10}")
+    long presignTtlMinutes;
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        BlobInfo target = BlobInfo.newBuilder(bucket, key).setContentType(contentType).build();
+        long size = Files.size(source);
+
+        if (size <= compositeThresholdBytes) {
+            storage.createFrom(target, source);
+        } else {
+            parallelCompositeUpload(target, source, size);
+        }
+        Files.deleteIfExists(source);
+        log.info("Uploaded {} ({} bytes) to gs://{}", key, size, bucket);
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return storage.get(BlobId.of(bucket, key)) != null;
+    }
+
+    @Override
+    public Resource get(String key) {
+        Blob blob = storage.get(BlobId.of(bucket, key));
+        if (blob == null) {
+            log.error("Object not found: gs://{}/{}", bucket, key);
+            throw new RuntimeException("File not found: " + key);
+        }
+        return new GcsObjectResource(storage, blob);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        return storage.delete(BlobId.of(bucket, key));
+    }
+
+    @Override
+    public Optional<URI> presignedDownloadUrl(String key, String contentDisposition, String contentType) {
+        if (!presignEnabled) {
+            return Optional.empty();
+        }
+        URL url = storage.signUrl(BlobInfo.newBuilder(bucket, key).build(),
+                presignTtlMinutes, TimeUnit.MINUTES,
+                Storage.SignUrlOption.withV4Signature(),
+                Storage.SignUrlOption.withQueryParams(Map.of(
+                        "response-content-disposition", contentDisposition,
+                        "response-content-type", contentType)));
+        try {
+            return Optional.of(url.toURI());
+        } catch (URISyntaxException e) {
+            log.warn("Invalid signed URL for {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void parallelCompositeUpload(BlobInfo target, Path source, long size) throws IOException {
+        int parts = (int) Math.min(MAX_COMPOSE_COMPONENTS, (size + chunkSizeBytes - 1) / chunkSizeBytes);
+        long partSize = (size + parts - 1) / parts;
+
+        List<String> partNames = new ArrayList<>(parts);
+        List<CompletableFuture<Void>> futures = new ArrayList<>(parts);
+        for (int i = 0; i < parts; i++) {
+            String partName = target.getName() + ".parts/" + i;
+            long offset = i * partSize;
+            long length = Math.min(partSize, size - offset);
+            partNames.add(partName);
+            futures.add(CompletableFuture.runAsync(
+                    () -> uploadPart(partName, source, offset, length), blobChunkUploadExecutor));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            storage.compose(Storage.ComposeRequest.newBuilder()
+                    .addSource(partNames)
+                    .setTarget(target)
+                    .build());
+        } catch (CompletionException e) {
+            throw new IOException("Parallel upload of " + target.getName() + " failed", e.getCause());
+        } finally {
+            storage.delete(partNames.stream().map(name -> BlobId.of(bucket, name)).toList());
+        }
+    }
+
+    private void uploadPart(String partName, Path source, long offset, long length) {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            channel.position(offset);
+            InputStream in = ByteStreams.limit(Channels.newInputStream(channel), length);
+            storage.createFrom(BlobInfo.newBuilder(bucket, partName).build(), in);
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    /** Đọc object theo luồng, mỗi lần getInputStream mở một ReadChannel mới */
+    private static class GcsObjectResource extends AbstractResource {
+        private final Storage storage;
+        private final Blob blob;
+
+        GcsObjectResource(Storage storage, Blob blob) {
+            this.storage = storage;
+            this.blob = blob;
+        }
+
+        // Chỉ được tạo từ Blob đã đọc được metadata
+        @Override
+        public boolean exists() {
+            return true;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return Channels.newInputStream(storage.reader(blob.getBlobId()));
+        }
+
+        @Override
+        public long contentLength() {
+            return blob.getSize();
+        }
+
+        @Override
+        public long lastModified() {
+            return blob.getUpdateTimeOffsetDateTime() != null
+                    ? blob.getUpdateTimeOffsetDateTime().toInstant().toEpochMilli()
+                    : 0L;
+        }
+
+        @Override
+        public String getFilename() {
+            return blob.getName().substring(blob.getName().lastIndexOf('/') + 1);
+        }
+
+        @Override
+        public String getDescription() {
+            return "GCS object [gs://" + blob.getBucket() + "/" + blob.getName() + "]";
+        }
+    }
+}
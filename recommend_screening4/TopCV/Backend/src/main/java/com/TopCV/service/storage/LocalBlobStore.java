@@ -0,0 +1,78 @@
+package com.TopCV.service.storage;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    @Override
+    public void put(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.isRegularFile(resolve(key));
+    }
+
+    @Override
+    public Resource get(String key) {
+        Path path = resolve(key);
+        if (!Files.isRegularFile(path)) {
+            log.error("File not found: {} (full path: {})", key, path);
+            throw new RuntimeException("File not found: " + key);
+        }
+        return new FileSystemResource(path);
+    }
+
+    @Override
+    public boolean delete(String key) {
+        try {
+            return Files.deleteIfExists(resolve(key));
+        } catch (IOException e) {
+            log.error("Failed to delete file: {} - {}", key, e.getMessage(), e);
+            throw new RuntimeException("Failed to delete file: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Optional<URI> presignedDownloadUrl(String key, String contentDisposition, String contentType) {
+        return Optional.empty();
+    }
+
+    // Security check: ensure path is within upload directory
+    private Path resolve(String key) {
+        Path uploadPath = Paths.get(uploadDir).normalize();
+        Path path = uploadPath.resolve(key).normalize();
+        if (!path.startsWith(uploadPath)) {
+            log.error("Security violation: Attempted to access file outside upload directory: {}", path);
+            throw new SecurityException("File path is outside allowed directory");
+        }
+        return path;
+    }
+}
@@ -0,0 +1,30 @@
+-- So khớp và xóa OTP trong một lần gọi.
+-- KEYS[1]: otp key, KEYS[2]: bộ đếm nhập sai; ARGV[1]: OTP người dùng nhập, ARGV[2]: số lần sai tối đa
+-- Trả về: 1 đúng, 0 sai, -1 không có hoặc đã hết hạn, -2 bị khóa
+local maxAttempts = tonumber(ARGV[2])
+local attempts = tonumber(redis.call('GET', KEYS[2]) or '0')
+if attempts >= maxAttempts then
+    return -2
+end
+
+local stored = redis.call('GET', KEYS[1])
+if not stored then
+    return -1
+end
+
+if stored == ARGV[1] then
+    redis.call('DEL', KEYS[1], KEYS[2])
+    return 1
+end
+
+attempts = redis.call('INCR', KEYS[2])
+-- Bộ đếm hết hạn cùng lúc với OTP
+local ttl = redis.call('PTTL', KEYS[1])
+if ttl > 0 then
+    redis.call('PEXPIRE', KEYS[2], ttl)
+end
+
+if attempts >= maxAttempts then
+    return -2
+end
+return 0
@@ -0,0 +1,28 @@
+-- Token bucket cho nhiều key trong một lần gọi.
+-- KEYS[i]: bucket key; ARGV[2i-1]: capacity, ARGV[2i]: số token nạp lại mỗi giây.
+-- Chỉ trừ token khi tất cả bucket đều còn, trả về 1 nếu được phép, 0 nếu bị chặn.
+local time = redis.call('TIME')
+local nowMs = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local states = {}
+for i, key in ipairs(KEYS) do
+    local capacity = tonumber(ARGV[(i - 1) * 2 + 1])
+    local refillPerMs = tonumber(ARGV[(i - 1) * 2 + 2]) / 1000
+    local bucket = redis.call('HMGET', key, 'tokens', 'ts')
+    local tokens = tonumber(bucket[1]) or capacity
+    local ts = tonumber(bucket[2]) or nowMs
+
+    tokens = math.min(capacity, tokens + math.max(0, nowMs - ts) * refillPerMs)
+    if tokens < 1 then
+        return 0
+    end
+    states[i] = { tokens - 1, capacity, refillPerMs }
+end
+
+for i, key in ipairs(KEYS) do
+    local tokens, capacity, refillPerMs = states[i][1], states[i][2], states[i][3]
+    redis.call('HSET', key, 'tokens', tostring(tokens), 'ts', tostring(nowMs))
+    -- Hết TTL thì bucket đã đầy lại, xóa key cũng không sai
+    redis.call('PEXPIRE', key, math.ceil((capacity - tokens) / refillPerMs) + 1000)
+end
+return 1
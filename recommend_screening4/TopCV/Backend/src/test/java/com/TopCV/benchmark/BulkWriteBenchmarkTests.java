@@ -0,0 +1,123 @@
+package com.TopCV.benchmark;
+
+import com.TopCV.entity.Application;
+import com.TopCV.entity.Company;
+import com.TopCV.entity.JobPost;
+import com.TopCV.entity.User;
+import com.TopCV.enums.ApplicationStatus;
+import com.TopCV.enums.JobPostStatus;
+import com.TopCV.enums.Role;
+import com.TopCV.repository.ApplicationRepository;
+import com.TopCV.repository.CompanyRepository;
+import com.TopCV.repository.JobPostRepository;
+import com.TopCV.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Đo ghi hàng loạt trên PostgreSQL thật (10k job, 10k đơn ứng tuyển). Mọi thứ rollback sau khi chạy.
+ * Chạy: mvn test -Dtest=BulkWriteBenchmarkTests -Dbenchmark=true
+ */
+@SpringBootTest(properties = "spring.jpa.show-sql=false")
+@Transactional
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class BulkWriteBenchmarkTests {
+
+    private static final int ROWS = 10_000;
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    CompanyRepository companyRepository;
+
+    @Autowired
+    JobPostRepository jobPostRepository;
+
+    @Autowired
+    ApplicationRepository applicationRepository;
+
+    @Test
+    void importJobsAndBulkUpdateApplications() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User employer = userRepository.save(User.builder()
+                .userName("bench-employer-" + suffix).email("bench-employer-" + suffix + "@topcv.test")
+                .role(Role.EMPLOYER).build());
+        User candidate = userRepository.save(User.builder()
+                .userName("bench-candidate-" + suffix).email("bench-candidate-" + suffix + "@topcv.test")
+                .role(Role.USER).build());
+        Company company = companyRepository.save(Company.builder().name("Bench " + suffix).user(employer).build());
+        flushAndClear();
+
+        long start = System.nanoTime();
+        List<JobPost> jobs = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            jobs.add(JobPost.builder()
+                    .title("Bench job " + i)
+                    .description("Benchmark")
+                    .location("Ha Noi")
+                    .deadline(LocalDate.now().plusDays(30))
+                    .status(JobPostStatus.ACTIVE)
+                    .company(entityManager.getReference(Company.class, company.getId()))
+                    .build());
+        }
+        jobPostRepository.saveAll(jobs);
+        flushAndClear();
+        log.info("Imported {} job posts in {} ms", ROWS, elapsedMillis(start));
+
+        start = System.nanoTime();
+        List<Application> applications = new ArrayList<>(ROWS);
+        for (JobPost job : jobs) {
+            applications.add(Application.builder()
+                    .user(entityManager.getReference(User.class, candidate.getId()))
+                    .employer(entityManager.getReference(User.class, employer.getId()))
+                    .jobPost(entityManager.getReference(JobPost.class, job.getId()))
+                    .status(ApplicationStatus.PENDING)
+                    .build());
+        }
+        applicationRepository.saveAll(applications);
+        flushAndClear();
+        log.info("Inserted {} applications in {} ms", ROWS, elapsedMillis(start));
+
+        List<Integer> ids = applications.stream().map(Application::getId).toList();
+
+        // Cách cũ: load entity rồi saveAll, Hibernate sinh một UPDATE cho mỗi dòng
+        start = System.nanoTime();
+        List<Application> loaded = applicationRepository.findAllById(ids);
+        loaded.forEach(application -> application.setStatus(ApplicationStatus.REVIEWING));
+        applicationRepository.saveAll(loaded);
+        flushAndClear();
+        log.info("Updated {} applications entity-by-entity in {} ms", ROWS, elapsedMillis(start));
+
+        start = System.nanoTime();
+        int updated = applicationRepository.updateStatus(ids, ApplicationStatus.SHORTLISTED);
+        log.info("Updated {} applications with one UPDATE in {} ms", updated, elapsedMillis(start));
+
+        assertThat(updated).isEqualTo(ROWS);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long elapsedMillis(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
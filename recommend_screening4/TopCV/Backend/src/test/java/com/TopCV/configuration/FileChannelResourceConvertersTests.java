@@ -0,0 +1,78 @@
+package com.TopCV.configuration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class FileChannelResourceConvertersTests {
+
+    @TempDir
+    Path tempDir;
+
+    MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("resume.pdf"), "0123456789abcdefghij", StandardCharsets.US_ASCII);
+        mockMvc = MockMvcBuilders.standaloneSetup(new FileController(new FileSystemResource(file)))
+                .setMessageConverters(new FileChannelResourceHttpMessageConverter(),
+                        new FileChannelResourceRegionHttpMessageConverter())
+                .build();
+    }
+
+    @Test
+    void servesWholeFile() throws Exception {
+        mockMvc.perform(get("/file"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"etag\""))
+                .andExpect(content().string("0123456789abcdefghij"));
+    }
+
+    @Test
+    void servesRequestedRangeAsPartialContent() throws Exception {
+        mockMvc.perform(get("/file").header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 5))
+                .andExpect(content().string("56789"));
+    }
+
+    @Test
+    void returnsNotModifiedForMatchingEtag() throws Exception {
+        mockMvc.perform(get("/file").header(HttpHeaders.IF_NONE_MATCH, "\"etag\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @RestController
+    static class FileController {
+        private final Resource file;
+
+        FileController(Resource file) {
+            this.file = file;
+        }
+
+        @GetMapping("/file")
+        ResponseEntity<Resource> file() {
+            return ResponseEntity.ok().eTag("\"etag\"").body(file);
+        }
+    }
+}
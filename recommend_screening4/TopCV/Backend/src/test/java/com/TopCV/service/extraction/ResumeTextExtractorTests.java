@@ -0,0 +1,71 @@
+package com.TopCV.service.extraction;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeTextExtractorTests {
+
+    @TempDir
+    Path tempDir;
+
+    ResumeTextExtractor extractor;
+
+    @BeforeEach
+    void setUp() {
+        extractor = new ResumeTextExtractor();
+        ReflectionTestUtils.setField(extractor, "maxPages", 20);
+        ReflectionTestUtils.setField(extractor, "maxChars", 100_000);
+    }
+
+    @Test
+    void extractsTextFromPdfOnDisk() throws Exception {
+        Path pdf = tempDir.resolve("cv.pdf");
+        try (PDDocument document = new PDDocument()) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            try (PDPageContentStream content = new PDPageContentStream(document, page)) {
+                content.beginText();
+                content.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 12);
+                content.newLineAtOffset(50, 700);
+                content.showText("Backend developer:   Java,   Spring Boot");
+                content.endText();
+            }
+            document.save(pdf.toFile());
+        }
+
+        String text = extractor.extract(new FileSystemResource(pdf), "cv.pdf");
+
+        assertThat(text).isEqualTo("Backend developer: Java, Spring Boot");
+    }
+
+    @Test
+    void extractsTextFromDocx() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (XWPFDocument document = new XWPFDocument()) {
+            document.createParagraph().createRun().setText("Kỹ năng: ReactJS, C++");
+            document.createParagraph();
+            document.createParagraph();
+            document.createParagraph().createRun().setText("Kinh nghiệm 3 năm");
+            document.write(out);
+        }
+
+        String text = extractor.extract(new ByteArrayResource(out.toByteArray()), "CV.DOCX");
+
+        assertThat(text).isEqualTo("Kỹ năng: ReactJS, C++\n\nKinh nghiệm 3 năm");
+    }
+}
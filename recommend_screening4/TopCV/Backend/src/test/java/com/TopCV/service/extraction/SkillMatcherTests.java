@@ -0,0 +1,105 @@
+package com.TopCV.service.extraction;
+
+import com.TopCV.service.ReferenceDataService;
+import com.TopCV.service.reference.ReferenceDataSnapshot;
+import com.TopCV.service.reference.ReferenceDataSnapshot.Entry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SkillMatcherTests {
+
+    @Test
+    void matchesSkillsOnTokenBoundaries() {
+        SkillMatcher matcher = matcher(snapshot(1, List.of(
+                new Entry(1, "Java"), new Entry(2, "JavaScript"), new Entry(3, "C++"), new Entry(4, "Go"),
+                new Entry(5, "Spring Boot"))), "");
+
+        assertThat(matcher.match("JAVASCRIPT, c++ and spring boot. Good at Google search"))
+                .containsExactly(2, 3, 5);
+    }
+
+    @Test
+    void prefersLongestMatchAtTheSameStart() {
+        SkillMatcher matcher = matcher(snapshot(1, List.of(
+                new Entry(1, "Spring"), new Entry(2, "Spring Boot"), new Entry(3, "Boot"))), "");
+
+        assertThat(matcher.match("Spring\nBoot microservices, Spring MVC")).containsExactly(2, 1);
+    }
+
+    @Test
+    void resolvesSynonymsToTheirSkill() {
+        SkillMatcher matcher = matcher(snapshot(1, List.of(
+                new Entry(1, "Kubernetes"), new Entry(2, "JavaScript"), new Entry(3, "Node.js"))),
+                """
+                # comment
+                Kubernetes = k8s
+                JavaScript = js, ecmascript
+                Node.js = nodejs
+                Unknown Skill = whatever
+                """);
+
+        assertThat(matcher.match("Deploy NodeJS services on K8s; strong ES6/ECMAScript and js skills; whatever"))
+                .containsExactly(3, 1, 2);
+    }
+
+    @Test
+    void findsPatternsThatOverlapThroughFailureLinks() {
+        SkillMatcher matcher = matcher(snapshot(1, List.of(
+                new Entry(1, "ab cd"), new Entry(2, "b cd e"), new Entry(3, "cd"))), "");
+
+        assertThat(matcher.match("ab cd e")).containsExactly(1);
+        assertThat(matcher.match("xb cd e")).containsExactly(3);
+        assertThat(matcher.match("x b cd e")).containsExactly(2);
+        assertThat(matcher.match("a b cd")).containsExactly(3);
+    }
+
+    @Test
+    void rebuildsWhenReferenceDataChanges() {
+        ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+        when(referenceDataService.snapshot()).thenReturn(snapshot(1, List.of(new Entry(1, "Java"))));
+        SkillMatcher matcher = new SkillMatcher(referenceDataService);
+        assertThat(matcher.match("Java, Kotlin")).containsExactly(1);
+        long version = matcher.version();
+
+        when(referenceDataService.snapshot()).thenReturn(snapshot(2, List.of(new Entry(1, "Java"), new Entry(2, "Kotlin"))));
+
+        assertThat(matcher.match("Java, Kotlin")).containsExactly(1, 2);
+        assertThat(matcher.version()).isNotEqualTo(version);
+    }
+
+    @Test
+    void keepsVersionWhenOnlyOtherReferenceDataChanges() {
+        ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+        when(referenceDataService.snapshot()).thenReturn(snapshot(1, List.of(new Entry(1, "Java"), new Entry(2, "Go"))));
+        SkillMatcher matcher = new SkillMatcher(referenceDataService);
+        long version = matcher.version();
+
+        // Snapshot mới (vd sửa job level) nhưng danh sách skill giữ nguyên, chỉ khác thứ tự
+        when(referenceDataService.snapshot()).thenReturn(snapshot(7, List.of(new Entry(2, "Go"), new Entry(1, "Java"))));
+
+        assertThat(matcher.version()).isEqualTo(version);
+        assertThat(new SkillMatcher(referenceDataService).version()).isEqualTo(version);
+    }
+
+    private static SkillMatcher matcher(ReferenceDataSnapshot snapshot, String synonyms) {
+        ReferenceDataService referenceDataService = mock(ReferenceDataService.class);
+        when(referenceDataService.snapshot()).thenReturn(snapshot);
+        SkillMatcher matcher = new SkillMatcher(referenceDataService);
+        ReflectionTestUtils.setField(matcher, "synonymsResource",
+                new ByteArrayResource(synonyms.getBytes(StandardCharsets.UTF_8)));
+        return matcher;
+    }
+
+    private static ReferenceDataSnapshot snapshot(long version, List<Entry> skills) {
+        ReferenceDataSnapshot.Table empty = new ReferenceDataSnapshot.Table(List.of());
+        return new ReferenceDataSnapshot(version, new ReferenceDataSnapshot.Table(skills), empty, empty, empty);
+    }
+}
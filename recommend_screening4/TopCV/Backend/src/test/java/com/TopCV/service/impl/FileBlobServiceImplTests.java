@@ -0,0 +1,162 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.entity.FileBlob;
+import com.TopCV.enums.BlobStatus;
+import com.TopCV.repository.FileBlobRepository;
+import com.TopCV.service.FileBlobService.StoredBlob;
+import com.TopCV.service.storage.LocalBlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FileBlobServiceImplTests {
+
+    @TempDir
+    Path uploadDir;
+
+    FileBlobRepository fileBlobRepository;
+    LocalBlobStore blobStore;
+    ThreadPoolTaskExecutor executor;
+    FileBlobServiceImpl fileBlobService;
+
+    @BeforeEach
+    void setUp() {
+        fileBlobRepository = mock(FileBlobRepository.class);
+
+        blobStore = new LocalBlobStore();
+        ReflectionTestUtils.setField(blobStore, "uploadDir", uploadDir.toString());
+
+        // Upload chạy luôn trên thread gọi để kiểm tra kết quả ngay sau commit
+        executor = mock(ThreadPoolTaskExecutor.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any(Runnable.class));
+
+        TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Object>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        fileBlobService = new FileBlobServiceImpl(fileBlobRepository, blobStore, executor, transactionTemplate);
+        ReflectionTestUtils.setField(fileBlobService, "uploadDir", uploadDir.toString());
+
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void uploadsNewContentOnlyAfterCommit() throws Exception {
+        blobRow(BlobStatus.PENDING);
+
+        StoredBlob stored = fileBlobService.store(cv("cv-1.pdf", "same content"), "resume");
+
+        // Trước commit: chưa có file ở staging hay trên store
+        assertThat(uploadDir.resolve("tmp/staging")).doesNotExist();
+        assertThat(blobStore.exists(stored.path())).isFalse();
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(Files.readString(uploadDir.resolve(stored.path()))).isEqualTo("same content");
+        assertThat(stored.path()).isEqualTo("resume/blobs/" + stored.hash().substring(0, 2) + "/" + stored.hash());
+        verify(fileBlobRepository).updateStatus(stored.hash(), BlobStatus.AVAILABLE);
+        assertThat(tempFiles()).isZero();
+    }
+
+    @Test
+    void leavesNoFileBehindWhenTransactionRollsBack() throws Exception {
+        blobRow(BlobStatus.PENDING);
+
+        StoredBlob stored = fileBlobService.store(cv("cv-1.pdf", "rolled back"), "resume");
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(blobStore.exists(stored.path())).isFalse();
+        assertThat(uploadDir.resolve("tmp/staging")).doesNotExist();
+        assertThat(tempFiles()).isZero();
+        verify(executor, never()).execute(any(Runnable.class));
+    }
+
+    @Test
+    void reusesStoredBlobForSameContentAndCountsEveryReference() throws Exception {
+        blobRow(BlobStatus.PENDING);
+        StoredBlob first = fileBlobService.store(cv("cv-1.pdf", "same content"), "resume");
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        TransactionSynchronizationManager.initSynchronization();
+        blobRow(BlobStatus.AVAILABLE);
+        StoredBlob second = fileBlobService.store(cv("cv-copy.pdf", "same content"), "resume");
+
+        // Cùng nội dung: cùng hash và đường dẫn, không upload lại nhưng refCount vẫn tăng
+        assertThat(second).isEqualTo(first);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+        verify(fileBlobRepository, times(2))
+                .acquire(eq(first.hash()), eq(first.path()), anyLong(), anyString(), any(LocalDateTime.class));
+        verify(executor, times(1)).execute(any(Runnable.class));
+        assertThat(tempFiles()).isZero();
+
+        when(fileBlobRepository.release(eq(first.hash()), any(LocalDateTime.class))).thenReturn(1);
+        fileBlobService.release(first.hash());
+        verify(fileBlobRepository).release(eq(first.hash()), any(LocalDateTime.class));
+    }
+
+    private void blobRow(BlobStatus status) {
+        when(fileBlobRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.of(FileBlob.builder()
+                        .hash(invocation.getArgument(0))
+                        .status(status)
+                        .refCount(1)
+                        .build()));
+    }
+
+    private static MockMultipartFile cv(String name, String content) {
+        return new MockMultipartFile("file", name, "application/pdf", content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void complete(int status) {
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (status == TransactionSynchronization.STATUS_COMMITTED) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private long tempFiles() throws Exception {
+        try (var files = Files.list(uploadDir.resolve("tmp"))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.TopCV.service.impl;
+
+import com.TopCV.enums.FileType;
+import com.TopCV.enums.ImageVariant;
+import com.TopCV.service.storage.LocalBlobStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImageServiceImplTests {
+
+    @TempDir
+    Path uploadDir;
+
+    ThreadPoolTaskExecutor executor;
+    ImageServiceImpl imageService;
+    PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        LocalBlobStore blobStore = new LocalBlobStore();
+        ReflectionTestUtils.setField(blobStore, "uploadDir", uploadDir.toString());
+
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+
+        imageService = new ImageServiceImpl(blobStore, executor, transactionManager);
+        ReflectionTestUtils.setField(imageService, "uploadDir", uploadDir.toString());
+        ReflectionTestUtils.setField(imageService, "maxPixels", 50_000_000L);
+        ReflectionTestUtils.setField(imageService, "jpegQuality", 0.85f);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void storesByContentHashAndGeneratesVariants() throws Exception {
+        MockMultipartFile logo = new MockMultipartFile("file", "logo.png", "image/png", png(1200, 600));
+
+        String key = imageService.storeImage(logo, FileType.COMPANY_LOGO);
+        String sameKey = imageService.storeImage(
+                new MockMultipartFile("file", "other-name.png", "image/png", logo.getBytes()), FileType.COMPANY_LOGO);
+
+        assertThat(key).startsWith("company-logos/img/").endsWith(".png").isEqualTo(sameKey);
+
+        CountDownLatch ready = new CountDownLatch(1);
+        imageService.generateVariantsAfterCommit(key, ready::countDown);
+        assertThat(ready.await(10, TimeUnit.SECONDS)).isTrue();
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getPropagationBehavior())
+                .isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        BufferedImage card = ImageIO.read(uploadDir.resolve(ImageVariant.CARD.keyFor(key)).toFile());
+        BufferedImage thumb = ImageIO.read(uploadDir.resolve(ImageVariant.THUMBNAIL.keyFor(key)).toFile());
+        assertThat(card.getWidth()).isEqualTo(240);
+        assertThat(card.getHeight()).isEqualTo(120);
+        assertThat(card.getColorModel().hasAlpha()).isTrue();
+        assertThat(thumb.getWidth()).isEqualTo(64);
+        assertThat(thumb.getHeight()).isEqualTo(32);
+    }
+
+    @Test
+    void resolvesToOriginalUntilVariantsAreReady() {
+        String key = "avt/img/abc.jpeg";
+
+        assertThat(ImageVariant.THUMBNAIL.resolve(key, null)).isEqualTo(key);
+        assertThat(ImageVariant.THUMBNAIL.resolve(key, "avt/img/old.jpeg")).isEqualTo(key);
+        assertThat(ImageVariant.THUMBNAIL.resolve(key, key)).isEqualTo("avt/img/abc-thumb.jpg");
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.BLUE);
+        g.fillOval(0, 0, width, height);
+        g.dispose();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,30 @@
+package com.TopCV.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShortlistServiceImplTests {
+
+    private static final LocalDateTime EARLY = LocalDateTime.of(2024, 1, 1, 8, 0);
+    private static final LocalDateTime LATE = LocalDateTime.of(2026, 6, 30, 23, 59, 59);
+
+    @Test
+    void higherScoreAlwaysRanksFirst() {
+        // Chênh 0.001 điểm vẫn thắng dù nộp muộn hơn nhiều
+        assertThat(ShortlistServiceImpl.rankScore(4.251, LATE))
+                .isGreaterThan(ShortlistServiceImpl.rankScore(4.250, EARLY));
+        assertThat(ShortlistServiceImpl.rankScore(5.0, LATE))
+                .isGreaterThan(ShortlistServiceImpl.rankScore(0.0, EARLY));
+    }
+
+    @Test
+    void earlierApplicationWinsTies() {
+        assertThat(ShortlistServiceImpl.rankScore(3.5, EARLY))
+                .isGreaterThan(ShortlistServiceImpl.rankScore(3.5, EARLY.plusSeconds(1)));
+        assertThat(ShortlistServiceImpl.rankScore(3.5, EARLY))
+                .isGreaterThan(ShortlistServiceImpl.rankScore(3.5, LATE));
+    }
+}
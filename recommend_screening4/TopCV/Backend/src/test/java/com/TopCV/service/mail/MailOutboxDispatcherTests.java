@@ -0,0 +1,143 @@
+package com.TopCV.service.mail;
+
+import com.TopCV.configuration.MailConfig;
+import com.TopCV.entity.MailOutbox;
+import com.TopCV.enums.MailStatus;
+import com.TopCV.repository.MailOutboxRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MailOutboxDispatcherTests {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    MailOutboxRepository repository;
+    SmtpTransportPool transportPool;
+    ThreadPoolTaskExecutor executor;
+    MailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        repository = mock(MailOutboxRepository.class);
+        transportPool = new SmtpTransportPool(mailSender);
+        executor = new ThreadPoolTaskExecutor();
+        executor.initialize();
+
+        dispatcher = new MailOutboxDispatcher(repository, transportPool, mailSender,
+                new MailConfig().mailTemplateEngine(), executor,
+                new TransactionTemplate(transactionManager), new ObjectMapper(), ObservationRegistry.NOOP);
+        ReflectionTestUtils.setField(dispatcher, "fromEmail", "no-reply@topcv.test");
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 10);
+        ReflectionTestUtils.setField(dispatcher, "senderThreads", 1);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "initialBackoffSeconds", 30L);
+        ReflectionTestUtils.setField(dispatcher, "maxBackoffSeconds", 3600L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transportPool.destroy();
+        executor.shutdown();
+    }
+
+    @Test
+    void sendsTemplatedAndPlainMailsOverOneConnection() throws Exception {
+        MailOutbox welcome = MailOutbox.builder()
+                .id(1L)
+                .recipient("candidate@topcv.test")
+                .subject("Welcome")
+                .templateName("welcome-email")
+                .templateVariables("{\"fullName\":\"Nguyen Van A\",\"appName\":\"TopCV\",\"appUrl\":\"http://localhost\"}")
+                .status(MailStatus.PENDING)
+                .build();
+        MailOutbox plain = MailOutbox.builder()
+                .id(2L)
+                .recipient("employer@topcv.test")
+                .subject("Hello")
+                .body("Plain body")
+                .status(MailStatus.PENDING)
+                .build();
+
+        dispatcher.sendBatch(List.of(welcome, plain));
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(2);
+        assertThat(received[0].getSubject()).isEqualTo("Welcome");
+        assertThat(received[1].getSubject()).isEqualTo("Hello");
+        verify(repository).markSent(eq(List.of(1L, 2L)), eq(MailStatus.SENT), any());
+        verify(repository, never()).saveAll(anyCollection());
+    }
+
+    @Test
+    void rendersApplicationStatusDigest() throws Exception {
+        MailOutbox digest = MailOutbox.builder()
+                .id(4L)
+                .recipient("candidate@topcv.test")
+                .subject("Updates")
+                .templateName("application-status-digest")
+                .templateVariables("{\"fullName\":\"Nguyen Van A\",\"appName\":\"TopCV\",\"appUrl\":\"http://localhost\"," +
+                        "\"updates\":[{\"jobTitle\":\"Java Developer\",\"companyName\":\"ACME\",\"status\":\"SHORTLISTED\"}," +
+                        "{\"jobTitle\":\"Tester\",\"companyName\":\"Globex\",\"status\":\"REJECTED\"}]}")
+                .status(MailStatus.PENDING)
+                .build();
+
+        dispatcher.sendBatch(List.of(digest));
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(1);
+        String body = GreenMailUtil.getBody(received[0]);
+        assertThat(body).contains("Java Developer", "ACME", "Globex", "REJECTED");
+    }
+
+    @Test
+    void schedulesRetryWhenTemplateCannotBeRendered() {
+        MailOutbox broken = MailOutbox.builder()
+                .id(3L)
+                .recipient("candidate@topcv.test")
+                .subject("Broken")
+                .templateName("missing-template")
+                .status(MailStatus.PENDING)
+                .build();
+
+        dispatcher.sendBatch(List.of(broken));
+
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+        assertThat(broken.getStatus()).isEqualTo(MailStatus.PENDING);
+        assertThat(broken.getAttempts()).isEqualTo(1);
+        assertThat(broken.getNextAttemptAt()).isNotNull();
+        verify(repository).saveAll(List.of(broken));
+    }
+}
@@ -0,0 +1,133 @@
+package com.TopCV.service.storage;
+
+import com.google.cloud.NoCredentials;
+import com.google.cloud.storage.BlobId;
+import com.google.cloud.storage.BucketInfo;
+import com.google.cloud.storage.Storage;
+import com.google.cloud.storage.StorageOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class GcsBlobStoreTests {
+    private static final String BUCKET = "topcv-test";
+
+    @Container
+    static final GenericContainer<?> FAKE_GCS = new GenericContainer<>("fsouza/fake-gcs-server:1.49.3")
+            .withExposedPorts(4443)
+            .withCommand("-scheme", "http", "-port", "4443")
+            .waitingFor(Wait.forHttp("/storage/v1/b").forPort(4443));
+
+    static Storage storage;
+
+    @TempDir
+    Path tempDir;
+
+    ThreadPoolTaskExecutor executor;
+    GcsBlobStore blobStore;
+
+    @BeforeAll
+    static void createBucket() throws Exception {
+        String endpoint = "http://" + FAKE_GCS.getHost() + ":" + FAKE_GCS.getMappedPort(4443);
+        // Resumable upload trả về URL theo externalUrl, phải trỏ về port đã map ra ngoài container
+        HttpClient.newHttpClient().send(HttpRequest.newBuilder(URI.create(endpoint + "/_internal/config"))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"externalUrl\":\"" + endpoint + "\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        storage = StorageOptions.newBuilder()
+                .setHost(endpoint)
+                .setProjectId("test")
+                .setCredentials(NoCredentials.getInstance())
+                .build()
+                .getService();
+        storage.create(BucketInfo.of(BUCKET));
+    }
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+
+        blobStore = new GcsBlobStore(storage, executor);
+        ReflectionTestUtils.setField(blobStore, "bucket", BUCKET);
+        ReflectionTestUtils.setField(blobStore, "compositeThresholdBytes", 64 * 1024L);
+        ReflectionTestUtils.setField(blobStore, "chunkSizeBytes", 16 * 1024L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void storesReadsAndDeletesSmallObject() throws Exception {
+        byte[] content = randomBytes(10_000);
+        Path source = write(content);
+
+        blobStore.put("resume/blobs/ab/small", source, "application/pdf");
+
+        assertThat(source).doesNotExist();
+        assertThat(blobStore.exists("resume/blobs/ab/small")).isTrue();
+        Resource resource = blobStore.get("resume/blobs/ab/small");
+        assertThat(resource.contentLength()).isEqualTo(content.length);
+        assertThat(resource.getFilename()).isEqualTo("small");
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+
+        assertThat(blobStore.delete("resume/blobs/ab/small")).isTrue();
+        assertThat(blobStore.exists("resume/blobs/ab/small")).isFalse();
+    }
+
+    @Test
+    void composesLargeObjectFromParallelParts() throws Exception {
+        // Không chia hết cho chunk size để phần cuối ngắn hơn
+        byte[] content = randomBytes(200_000 + 123);
+        Path source = write(content);
+
+        blobStore.put("resume/blobs/cd/large", source, "application/pdf");
+
+        try (InputStream in = blobStore.get("resume/blobs/cd/large").getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(content);
+        }
+        // Các phần tạm đã bị xóa sau khi compose
+        assertThat(storage.list(BUCKET, Storage.BlobListOption.prefix("resume/blobs/cd/large.parts/"))
+                .iterateAll()).isEmpty();
+        assertThat(storage.get(BlobId.of(BUCKET, "resume/blobs/cd/large")).getContentType())
+                .isEqualTo("application/pdf");
+    }
+
+    private Path write(byte[] content) throws Exception {
+        return Files.write(Files.createTempFile(tempDir, "blob-", ".part"), content);
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -57,6 +57,12 @@ class CVExtractor:
                 
         except Exception as e:
             print(f"Lỗi extract CV: {str(e)}")
+    def extract_from_text(self, text: str) -> CVData:
+        """Extract từ text CV đã được backend Java trích sẵn (không đọc file)"""
+        if not text or not text.strip():
+            raise ValueError("CV text trống")
+        return self._process_with_llm(text)
+
     def _process_with_llm(self, text: str) -> CVData:
         """
         Xử lý văn bản CV bằng LLM để trích xuất thông tin
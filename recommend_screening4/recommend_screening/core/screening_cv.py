@@ -80,7 +80,23 @@ def screen_cv(cv_path: str, jd_data: Dict[str, Any]) -> Dict[str, Any]:
         except Exception as e:
             print(f"Failed to read CV file: {str(e)}")
             raise
-        
+    except Exception as e:
+        print(f"Error in screening CV: {str(e)}")
+        return {
+            "error": str(e),
+            "overall_score": 0,
+            "matching_points": [],
+            "not_matching_points": ["Error occurred during evaluation: " + str(e)]
+        }
+
+    return screen_cv_text(cv_text, jd_data)
+
+def screen_cv_text(cv_text: str, jd_data: Dict[str, Any]) -> Dict[str, Any]:
+    """Đánh giá CV từ text đã trích sẵn (backend Java gửi sang), không phải đọc file"""
+    try:
+        if not cv_text or not cv_text.strip() or not jd_data:
+            raise ValueError("CV text and JD data are required")
+
         # Tạo prompt với context
         prompt = ChatPromptTemplate.from_template(SCREENING_PROMPT)
         
@@ -18,7 +18,7 @@ from core.extract_cv import CVExtractor
 from core.recommen_engine  import ModernRecommendationEngine as RecommendationEngine
 from models.skills import SkillManager
 from config import Config
-from core.screening_cv import screen_cv
+from core.screening_cv import screen_cv, screen_cv_text
 
 
 app = FastAPI(
@@ -194,48 +194,54 @@ async def health_check():
 
 @app.post("/cv/upload")
 async def upload_cv_and_recommend(
-    file: UploadFile = File(...),
+    file: Optional[UploadFile] = File(None),
+    cv_text: Optional[str] = Form(None),
     top_k: int = Form(5),
     min_score: float = Form(0.3),
     location: Optional[str] = Form(None),
     job_type: Optional[str] = Form(None)
 ):
-    """Upload CV file và nhận job recommendations - EXACT Java format"""
+    """Upload CV file (hoặc cv_text đã trích sẵn từ backend) và nhận job recommendations - EXACT Java format"""
     if not cv_extractor or not recommendation_engine:
         raise HTTPException(status_code=503, detail="Services chưa sẵn sàng")
+
+    # Backend gửi text đã trích: bỏ qua bước đọc PDF/DOCX
+    use_text = bool(cv_text and cv_text.strip())
+    if not use_text:
+        if file is None or not file.filename:
+            raise HTTPException(status_code=400, detail="Cần file CV hoặc cv_text")
     
-    # Validate file
-    if not file.filename:
-        raise HTTPException(status_code=400, detail="Tên file không hợp lệ")
-    
-    file_ext = Path(file.filename).suffix.lower()
-    if file_ext not in config.SUPPORTED_FILE_TYPES:
-        raise HTTPException(
-            status_code=400,
-            detail=f"File type không được hỗ trợ. Hỗ trợ: {config.SUPPORTED_FILE_TYPES}"
-        )
+        file_ext = Path(file.filename).suffix.lower()
+        if file_ext not in config.SUPPORTED_FILE_TYPES:
+            raise HTTPException(
+                status_code=400,
+                detail=f"File type không được hỗ trợ. Hỗ trợ: {config.SUPPORTED_FILE_TYPES}"
+            )
     
-    # Check file size
-    content = await file.read()
-    if len(content) > config.MAX_FILE_SIZE_MB * 1024 * 1024:
-        raise HTTPException(
-            status_code=400,
-            detail=f"File quá lớn. Tối đa: {config.MAX_FILE_SIZE_MB}MB"
-        )
+        # Check file size
+        content = await file.read()
+        if len(content) > config.MAX_FILE_SIZE_MB * 1024 * 1024:
+            raise HTTPException(
+                status_code=400,
+                detail=f"File quá lớn. Tối đa: {config.MAX_FILE_SIZE_MB}MB"
+            )
     
     try:
         start_time = time.time()
         
-        # Save temporary file
-        with tempfile.NamedTemporaryFile(delete=False, suffix=file_ext) as tmp_file:
-            tmp_file.write(content)
-            tmp_file_path = tmp_file.name
+        if use_text:
+            cv_data = cv_extractor.extract_from_text(cv_text)
+        else:
+            # Save temporary file
+            with tempfile.NamedTemporaryFile(delete=False, suffix=file_ext) as tmp_file:
+                tmp_file.write(content)
+                tmp_file_path = tmp_file.name
         
-        # Extract CV data
-        cv_data = cv_extractor.extract_from_file(tmp_file_path)
+            # Extract CV data
+            cv_data = cv_extractor.extract_from_file(tmp_file_path)
         
-        # Clean up temp file
-        os.unlink(tmp_file_path)
+            # Clean up temp file
+            os.unlink(tmp_file_path)
         
         # Create CV summary
         cv_summary = _create_cv_summary(cv_data)
@@ -413,7 +419,8 @@ async def clear_all_jobs():
 
 @app.post("/screening/apply-job", response_model=ScreeningResponse)
 async def apply_job_with_cv_screening(
-    cv_file: UploadFile = File(...),
+    cv_file: Optional[UploadFile] = File(None),
+    cv_text: Optional[str] = Form(None),
     job_id: int = Query(...)
 ) -> ScreeningResponse:
     """
@@ -424,22 +431,28 @@ async def apply_job_with_cv_screening(
     """
     temp_path = None
     try:
-        print(f"🔍 DEBUG: Received CV file: {cv_file.filename}, Job ID: {job_id}")
-        print(f"🔍 DEBUG: CV file size: {cv_file.size} bytes")
-        
-        # Validate CV file
-        file_ext = Path(cv_file.filename).suffix.lower() if cv_file.filename else ""
-        if file_ext not in [".pdf", ".docx"]:
-            raise HTTPException(
-                status_code=400,
-                detail="Only PDF and DOCX files are supported"
-            )
-
-        # Save CV file temporarily
-        content = await cv_file.read()
-        with tempfile.NamedTemporaryFile(delete=False, suffix=file_ext) as tmp_file:
-            tmp_file.write(content)
-            temp_path = tmp_file.name
+        # Backend gửi text đã trích sẵn thì không cần file
+        use_text = bool(cv_text and cv_text.strip())
+        if not use_text:
+            if cv_file is None:
+                raise HTTPException(status_code=400, detail="cv_file or cv_text is required")
+            print(f"🔍 DEBUG: Received CV file: {cv_file.filename}, Job ID: {job_id}")
+
+            # Validate CV file
+            file_ext = Path(cv_file.filename).suffix.lower() if cv_file.filename else ""
+            if file_ext not in [".pdf", ".docx"]:
+                raise HTTPException(
+                    status_code=400,
+                    detail="Only PDF and DOCX files are supported"
+                )
+
+            # Save CV file temporarily
+            content = await cv_file.read()
+            with tempfile.NamedTemporaryFile(delete=False, suffix=file_ext) as tmp_file:
+                tmp_file.write(content)
+                temp_path = tmp_file.name
+        else:
+            print(f"🔍 DEBUG: Received CV text ({len(cv_text)} chars), Job ID: {job_id}")
 
         print(f"🔍 DEBUG: Searching for job ID {job_id} in database with {len(job_database)} jobs")
         
@@ -483,7 +496,10 @@ async def apply_job_with_cv_screening(
 
         print(f"🔍 DEBUG: Starting CV screening with AI...")
         # Process CV screening với AI
-        screening_result = screen_cv(temp_path, jd_for_screening)
+        if use_text:
+            screening_result = screen_cv_text(cv_text, jd_for_screening)
+        else:
+            screening_result = screen_cv(temp_path, jd_for_screening)
         print(f"✅ DEBUG: AI screening completed with score: {screening_result.get('overall_score', 0)}")
         print(f"🔍 DEBUG: Full screening result: {screening_result}")
         